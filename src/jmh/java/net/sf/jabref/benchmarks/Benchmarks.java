@@ -1,8 +1,11 @@
 package net.sf.jabref.benchmarks;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
@@ -14,19 +17,27 @@ import net.sf.jabref.MetaData;
 import net.sf.jabref.importer.ParserResult;
 import net.sf.jabref.importer.fileformat.BibtexParser;
 import net.sf.jabref.importer.fileformat.ParseException;
+import net.sf.jabref.logic.bst.VM;
 import net.sf.jabref.logic.exporter.BibtexDatabaseWriter;
+import net.sf.jabref.logic.exporter.ExportFormat;
 import net.sf.jabref.logic.exporter.SavePreferences;
 import net.sf.jabref.logic.exporter.StringSaveSession;
 import net.sf.jabref.logic.formatter.bibtexfields.HtmlToLatexFormatter;
 import net.sf.jabref.logic.groups.GroupHierarchyType;
 import net.sf.jabref.logic.groups.KeywordGroup;
+import net.sf.jabref.logic.journals.JournalAbbreviationLoader;
 import net.sf.jabref.logic.layout.format.HTMLChars;
 import net.sf.jabref.logic.layout.format.LatexToUnicodeFormatter;
+import net.sf.jabref.logic.search.DatabaseSearcher;
 import net.sf.jabref.logic.search.SearchQuery;
+import net.sf.jabref.model.DuplicateCheck;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseMode;
 import net.sf.jabref.model.database.BibDatabaseModeDetection;
+import net.sf.jabref.model.database.DuplicateCandidateIndex;
+import net.sf.jabref.model.entry.AuthorList;
 import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.performance.BibtexEntryGenerator;
 import net.sf.jabref.preferences.JabRefPreferences;
 
 import org.openjdk.jmh.Main;
@@ -40,13 +51,20 @@ import org.openjdk.jmh.runner.RunnerException;
 public class Benchmarks {
 
     private String bibtexString;
+    private ParserResult duplicatesDatabase;
+    private BibDatabaseContext incrementalSaveContext;
+    private int incrementalSaveCounter;
     private final BibDatabase database = new BibDatabase();
+    private final List<String> authors = new ArrayList<>();
     private String latexConversionString;
     private String htmlConversionString;
+    private File exportFile;
+    private VM bstVM;
 
     @Setup
     public void init() throws Exception {
         Globals.prefs = JabRefPreferences.getInstance();
+        Globals.journalAbbreviationLoader = new JournalAbbreviationLoader();
 
         Random randomizer = new Random();
         for (int i = 0; i < 1000; i++) {
@@ -66,9 +84,27 @@ public class Benchmarks {
                 new SavePreferences());
         bibtexString = saveSession.getStringValue();
 
+        incrementalSaveContext = new BibDatabaseContext(BibtexParser.parse(bibtexString).getDatabase(), new MetaData(),
+                new Defaults());
+
+        duplicatesDatabase = BibtexParser.parse(new BibtexEntryGenerator().generateBibtexEntriesWithDuplicates(2000));
+
+        // the same author fields are formatted again and again, e.g., whenever the table is redrawn
+        for (int i = 0; i < 5; i++) {
+            for (BibEntry entry : duplicatesDatabase.getDatabase().getEntries()) {
+                entry.getFieldOptional("author").ifPresent(authors::add);
+            }
+        }
+
         latexConversionString = "{A} \\textbf{bold} approach {\\it to} ${{\\Sigma}}{\\Delta}$ modulator \\textsuperscript{2} \\$";
 
         htmlConversionString = "<b>&Ouml;sterreich</b> &#8211; &amp; characters &#x2aa2; <i>italic</i>";
+
+        exportFile = File.createTempFile("export", ".tmp");
+        exportFile.deleteOnExit();
+
+        // standard style of the BibTeX distribution, compiled once and run again by each invocation
+        bstVM = new VM(new File(Benchmarks.class.getResource("/net/sf/jabref/logic/bst/abbrv.bst").toURI()));
     }
 
     @Benchmark
@@ -78,6 +114,51 @@ public class Benchmarks {
         return parser.parse();
     }
 
+    @Benchmark
+    public ParserResult parseCharSequence() throws IOException {
+        return BibtexParser.parse(bibtexString);
+    }
+
+    @Benchmark
+    public ParserResult parseInParallel() throws IOException {
+        return BibtexParser.parseInParallel(new StringReader(bibtexString));
+    }
+
+    @Benchmark
+    public List<BibEntry[]> findDuplicates() {
+        BibDatabase database = duplicatesDatabase.getDatabase();
+        List<BibEntry[]> duplicates = new ArrayList<>();
+        Iterator<BibEntry[]> pairs = new DuplicateCandidateIndex(database.getEntries()).getCandidatePairs();
+        while (pairs.hasNext()) {
+            BibEntry[] pair = pairs.next();
+            if (DuplicateCheck.isDuplicate(pair[0], pair[1], BibDatabaseMode.BIBTEX)) {
+                duplicates.add(pair);
+            }
+        }
+        return duplicates;
+    }
+
+    @Benchmark
+    public int parseAuthors() {
+        int numberOfAuthors = 0;
+        for (String author : authors) {
+            numberOfAuthors += AuthorList.parse(author).getNumberOfAuthors();
+        }
+        return numberOfAuthors;
+    }
+
+    @Benchmark
+    public List<String> fixAuthors() {
+        List<String> result = new ArrayList<>(authors.size() * 4);
+        for (String author : authors) {
+            result.add(AuthorList.fixAuthorLastNameFirst(author));
+            result.add(AuthorList.fixAuthorFirstNameFirstCommas(author, true, false));
+            result.add(AuthorList.fixAuthorForAlphabetization(author));
+            result.add(AuthorList.fixAuthorNatbib(author));
+        }
+        return result;
+    }
+
     @Benchmark
     public String write() throws Exception {
         BibtexDatabaseWriter<StringSaveSession> databaseWriter = new BibtexDatabaseWriter<>(StringSaveSession::new);
@@ -87,10 +168,69 @@ public class Benchmarks {
         return saveSession.getStringValue();
     }
 
+    @Benchmark
+    public String writeIncremental() throws Exception {
+        // a single entry changed since the last save
+        List<BibEntry> entries = incrementalSaveContext.getDatabase().getEntries();
+        entries.get(incrementalSaveCounter++ % entries.size()).setField("rnd", String.valueOf(incrementalSaveCounter));
+
+        BibtexDatabaseWriter<StringSaveSession> databaseWriter = new BibtexDatabaseWriter<>(StringSaveSession::new);
+        StringSaveSession saveSession = databaseWriter.saveDatabase(incrementalSaveContext,
+                new SavePreferences().withIncrementalSave(true));
+        return saveSession.getStringValue();
+    }
+
+    @Benchmark
+    public long htmlExport() throws Exception {
+        return export(new ExportFormat("HTML", "html", "html", null, ".html"));
+    }
+
+    @Benchmark
+    public long risExport() throws Exception {
+        return export(new ExportFormat("RIS", "ris", "ris", "ris", ".ris"));
+    }
+
+    @Benchmark
+    public String bstStyle() {
+        return bstVM.run(duplicatesDatabase.getDatabase());
+    }
+
+    private long export(ExportFormat exportFormat) throws Exception {
+        BibDatabaseContext context = new BibDatabaseContext(duplicatesDatabase.getDatabase(), new MetaData(),
+                new Defaults());
+        exportFormat.performExport(context, exportFile.getPath(), StandardCharsets.UTF_8,
+                duplicatesDatabase.getDatabase().getEntries());
+        return exportFile.length();
+    }
+
     @Benchmark
     public List<BibEntry> search() {
+        return search(new SearchQuery("Journal Title 500", false, false));
+    }
+
+    @Benchmark
+    public List<BibEntry> searchGrammar() {
+        return search(new SearchQuery("author = lastnameb and (title = 500 or year == 1999) and rnd != 42", false,
+                false));
+    }
+
+    @Benchmark
+    public List<BibEntry> searchGrammarWithRegularExpressions() {
+        return search(new SearchQuery("a.*or = lastnameb.*5 and j.* = title.50[0-9]", false, true));
+    }
+
+    @Benchmark
+    public List<BibEntry> searchRegularExpression() {
+        return search(new SearchQuery("Journal Title 50[0-9]", false, true));
+    }
+
+    @Benchmark
+    public List<BibEntry> searchInParallel() {
+        return new DatabaseSearcher(new SearchQuery("Journal Title 500", false, false), database).getMatches();
+    }
+
+    private List<BibEntry> search(SearchQuery searchQuery) {
         // FIXME: Reuse SearchWorker here
-        SearchQuery searchQuery = new SearchQuery("Journal Title 500", false, false);
         List<BibEntry> matchedEntries = new ArrayList<>();
         matchedEntries.addAll(database.getEntries().stream().filter(searchQuery::isMatch).collect(Collectors.toList()));
         return matchedEntries;
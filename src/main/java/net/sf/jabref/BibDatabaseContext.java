@@ -6,6 +6,9 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
+import net.sf.jabref.logic.exporter.IncrementalSaveState;
+import net.sf.jabref.logic.groups.GroupMembershipIndex;
+import net.sf.jabref.logic.integrity.IncrementalIntegrityCheck;
 import net.sf.jabref.logic.layout.format.FileLinkPreferences;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseMode;
@@ -23,6 +26,9 @@ public class BibDatabaseContext {
     private final BibDatabase database;
     private final MetaData metaData;
     private final Defaults defaults;
+    private final IncrementalSaveState incrementalSaveState = new IncrementalSaveState();
+    private GroupMembershipIndex groupMembershipIndex;
+    private IncrementalIntegrityCheck integrityCheck;
     /** The file where this database was last saved to. */
     private File file;
 
@@ -102,6 +108,33 @@ public class BibDatabaseContext {
         return metaData;
     }
 
+    /**
+     * Returns the entries written by the last incremental save of this database.
+     */
+    public IncrementalSaveState getIncrementalSaveState() {
+        return incrementalSaveState;
+    }
+
+    /**
+     * Returns the index of the entries contained in the groups, which is created when it is used first.
+     */
+    public synchronized GroupMembershipIndex getGroupMembershipIndex() {
+        if (groupMembershipIndex == null) {
+            groupMembershipIndex = new GroupMembershipIndex(database);
+        }
+        return groupMembershipIndex;
+    }
+
+    /**
+     * Returns the integrity check of this database, which only checks the entries changed since its previous run.
+     */
+    public synchronized IncrementalIntegrityCheck getIncrementalIntegrityCheck() {
+        if (integrityCheck == null) {
+            integrityCheck = new IncrementalIntegrityCheck(this);
+        }
+        return integrityCheck;
+    }
+
     public boolean isBiblatexMode() {
         return getMode() == BibDatabaseMode.BIBLATEX;
     }
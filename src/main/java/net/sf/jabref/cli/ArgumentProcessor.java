@@ -35,8 +35,8 @@ import net.sf.jabref.logic.exporter.SaveException;
 import net.sf.jabref.logic.exporter.SavePreferences;
 import net.sf.jabref.logic.exporter.SaveSession;
 import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.logic.labelpattern.BibtexKeyGenerator;
 import net.sf.jabref.logic.labelpattern.LabelPatternPreferences;
-import net.sf.jabref.logic.labelpattern.LabelPatternUtil;
 import net.sf.jabref.logic.logging.JabRefLogger;
 import net.sf.jabref.logic.search.DatabaseSearcher;
 import net.sf.jabref.logic.search.SearchQuery;
@@ -434,11 +434,8 @@ public class ArgumentProcessor {
             MetaData metaData = parserResult.getMetaData();
             if (metaData != null) {
                 LOGGER.info(Localization.lang("Regenerating BibTeX keys according to metadata"));
-                for (BibEntry entry : database.getEntries()) {
-                    // try to make a new label
-                    LabelPatternUtil.makeLabel(metaData, database, entry,
-                            LabelPatternPreferences.fromPreferences(Globals.prefs));
-                }
+                new BibtexKeyGenerator(metaData.getLabelPattern(), database,
+                        LabelPatternPreferences.fromPreferences(Globals.prefs)).generateAndSetKeys(database.getEntries());
             } else {
                 LOGGER.info(Localization.lang("No meta data present in BIB_file. Cannot regenerate BibTeX keys"));
             }
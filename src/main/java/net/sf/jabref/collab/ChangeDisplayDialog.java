@@ -49,6 +49,7 @@ class ChangeDisplayDialog extends JDialog implements TreeSelectionListener {
     private Change selected;
     private JComponent infoShown;
     private boolean okPressed;
+    private boolean allAccepted;
 
 
     public ChangeDisplayDialog(JFrame owner, final BasePanel panel,
@@ -119,6 +120,7 @@ class ChangeDisplayDialog extends JDialog implements TreeSelectionListener {
             }
             panel.setUpdatedExternally(false);
             dispose();
+            allAccepted = !anyDisabled;
             okPressed = true;
         });
 
@@ -129,6 +131,14 @@ class ChangeDisplayDialog extends JDialog implements TreeSelectionListener {
         return okPressed;
     }
 
+    /**
+     * Returns whether OK was pressed and all changes were accepted, so that the database in memory contains all
+     * changes made on disk.
+     */
+    public boolean isAllAccepted() {
+        return allAccepted;
+    }
+
     private void setInfo(JComponent comp) {
         if (infoShown != null) {
             infoPanel.remove(infoShown);
@@ -17,7 +17,10 @@ package net.sf.jabref.collab;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -38,7 +41,6 @@ import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.JabRefFrame;
 import net.sf.jabref.importer.OpenDatabaseAction;
 import net.sf.jabref.importer.ParserResult;
-import net.sf.jabref.logic.bibtex.comparator.EntryComparator;
 import net.sf.jabref.logic.exporter.BibDatabaseWriter;
 import net.sf.jabref.logic.exporter.BibtexDatabaseWriter;
 import net.sf.jabref.logic.exporter.FileSaveSession;
@@ -47,13 +49,10 @@ import net.sf.jabref.logic.exporter.SavePreferences;
 import net.sf.jabref.logic.exporter.SaveSession;
 import net.sf.jabref.logic.groups.GroupTreeNode;
 import net.sf.jabref.logic.l10n.Localization;
-import net.sf.jabref.model.DuplicateCheck;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseMode;
-import net.sf.jabref.model.database.EntrySorter;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.BibtexString;
-import net.sf.jabref.model.entry.FieldName;
 import net.sf.jabref.preferences.JabRefPreferences;
 
 import org.apache.commons.logging.Log;
@@ -61,8 +60,6 @@ import org.apache.commons.logging.LogFactory;
 
 public class ChangeScanner implements Runnable {
 
-    private static final String[] SORT_BY = new String[] {FieldName.YEAR, FieldName.AUTHOR, FieldName.TITLE};
-
     private final File f;
 
     private final BibDatabase inMem;
@@ -73,9 +70,13 @@ public class ChangeScanner implements Runnable {
     private BibDatabase inTemp;
     private MetaData mdInTemp;
 
-    private static final Log LOGGER = LogFactory.getLog(ChangeScanner.class);
+    /**
+     * Modification time and size of the file on disk when it was scanned
+     */
+    private FileTime scannedModificationTime;
+    private long scannedSize;
 
-    private static final double MATCH_THRESHOLD = 0.4;
+    private static final Log LOGGER = LogFactory.getLog(ChangeScanner.class);
 
     /**
      * We create an ArrayList to hold the changes we find. These will be added in the form
@@ -104,30 +105,18 @@ public class ChangeScanner implements Runnable {
             inTemp = pr.getDatabase();
             mdInTemp = pr.getMetaData();
             // Parse the modified file.
+            scannedModificationTime = Files.getLastModifiedTime(f.toPath());
+            scannedSize = Files.size(f.toPath());
             pr = OpenDatabaseAction.loadDatabase(f, Globals.prefs.getDefaultEncoding());
             BibDatabase onDisk = pr.getDatabase();
             MetaData mdOnDisk = pr.getMetaData();
 
-            // Sort both databases according to a common sort key.
-            EntryComparator comp = new EntryComparator(false, true, SORT_BY[2]);
-            comp = new EntryComparator(false, true, SORT_BY[1], comp);
-            comp = new EntryComparator(false, true, SORT_BY[0], comp);
-            EntrySorter sInTemp = inTemp.getSorter(comp);
-            comp = new EntryComparator(false, true, SORT_BY[2]);
-            comp = new EntryComparator(false, true, SORT_BY[1], comp);
-            comp = new EntryComparator(false, true, SORT_BY[0], comp);
-            EntrySorter sOnDisk = onDisk.getSorter(comp);
-            comp = new EntryComparator(false, true, SORT_BY[2]);
-            comp = new EntryComparator(false, true, SORT_BY[1], comp);
-            comp = new EntryComparator(false, true, SORT_BY[0], comp);
-            EntrySorter sInMem = inMem.getSorter(comp);
-
             // Start looking at changes.
             scanMetaData(mdInMem, mdInTemp, mdOnDisk);
             scanPreamble(inMem, inTemp, onDisk);
             scanStrings(inMem, inTemp, onDisk);
 
-            scanEntries(sInMem, sInTemp, sOnDisk);
+            scanEntries(inMem, inTemp, onDisk);
 
             scanGroups(mdInTemp, mdOnDisk);
 
@@ -147,7 +136,10 @@ public class ChangeScanner implements Runnable {
                 dial.setLocationRelativeTo(frame);
                 dial.setVisible(true);
                 fup.scanResultsResolved(dial.isOkPressed());
-                if (dial.isOkPressed()) {
+                if (dial.isAllAccepted()) {
+                    // The temp database equals the file on disk now:
+                    copyToTempDatabase();
+                } else if (dial.isOkPressed()) {
                     // Overwrite the temp database:
                     storeTempDatabase();
                 }
@@ -160,6 +152,27 @@ public class ChangeScanner implements Runnable {
         }
     }
 
+    /**
+     * Copies the file on disk to the temp file instead of writing the temp database. Only possible if the file has not
+     * been changed again since it was scanned.
+     */
+    private void copyToTempDatabase() {
+        JabRefExecutorService.INSTANCE.execute(() -> {
+            try {
+                Path file = f.toPath();
+                if (Files.getLastModifiedTime(file).equals(scannedModificationTime)
+                        && (Files.size(file) == scannedSize)) {
+                    Files.copy(file, Globals.getFileUpdateMonitor().getTempFile(panel.fileMonitorHandle()),
+                            StandardCopyOption.REPLACE_EXISTING);
+                    return;
+                }
+            } catch (IOException ex) {
+                LOGGER.info("Could not copy changed file to tmp file, writing it instead", ex);
+            }
+            storeTempDatabase();
+        });
+    }
+
     private void storeTempDatabase() {
         JabRefExecutorService.INSTANCE.execute(() -> {
             try {
@@ -210,149 +223,18 @@ public class ChangeScanner implements Runnable {
         }
     }
 
-    private void scanEntries(EntrySorter mem, EntrySorter tmp, EntrySorter disk) {
-
-        // Create pointers that are incremented as the entries of each base are used in
-        // successive order from the beginning. Entries "further down" in the "disk" base
-        // can also be matched.
-        int piv1;
-        int piv2 = 0;
-
-        // Create a HashSet where we can put references to entry numbers in the "disk"
-        // database that we have matched. This is to avoid matching them twice.
-        Set<String> used = new HashSet<>(disk.getEntryCount());
-        Set<Integer> notMatched = new HashSet<>(tmp.getEntryCount());
-
-        // Loop through the entries of the "tmp" database, looking for exact matches in the "disk" one.
-        // We must finish scanning for exact matches before looking for near matches, to avoid an exact
-        // match being "stolen" from another entry.
-        mainLoop:
-        for (piv1 = 0; piv1 < tmp.getEntryCount(); piv1++) {
-
-            // First check if the similarly placed entry in the other base matches exactly.
-            double comp = -1;
-            // (if there are not any entries left in the "disk" database, comp will stay at -1,
-            // and this entry will be marked as nonmatched).
-            if (!used.contains(String.valueOf(piv2)) && (piv2 < disk.getEntryCount())) {
-                comp = DuplicateCheck.compareEntriesStrictly(tmp.getEntryAt(piv1), disk.getEntryAt(piv2));
-            }
-            if (comp > 1) {
-                used.add(String.valueOf(piv2));
-                piv2++;
-                continue;
-            }
-
-            // No? Then check if another entry matches exactly.
-            if (piv2 < (disk.getEntryCount() - 1)) {
-                for (int i = piv2 + 1; i < disk.getEntryCount(); i++) {
-                    if (used.contains(String.valueOf(i))) {
-                        comp = -1;
-                    } else {
-                        comp = DuplicateCheck.compareEntriesStrictly(tmp.getEntryAt(piv1), disk.getEntryAt(i));
-                    }
-
-                    if (comp > 1) {
-                        used.add(String.valueOf(i));
-                        continue mainLoop;
-                    }
-                }
-            }
-
-            // No? Add this entry to the list of nonmatched entries.
-            notMatched.add(piv1);
-        }
-
-        // Now we've found all exact matches, look through the remaining entries, looking
-        // for close matches.
-        if (!notMatched.isEmpty()) {
-
-            for (Iterator<Integer> it = notMatched.iterator(); it.hasNext(); ) {
-
-                piv1 = it.next();
-
-                // These two variables will keep track of which entry most closely matches the
-                // one we're looking at, in case none matches completely.
-                int bestMatchI = -1;
-                double bestMatch = 0;
-                double comp;
-
-                if (piv2 < (disk.getEntryCount() - 1)) {
-                    for (int i = piv2; i < disk.getEntryCount(); i++) {
-                        if (used.contains(String.valueOf(i))) {
-                            comp = -1;
-                        } else {
-                            comp = DuplicateCheck.compareEntriesStrictly(tmp.getEntryAt(piv1), disk.getEntryAt(i));
-                        }
-
-                        if (comp > bestMatch) {
-                            bestMatch = comp;
-                            bestMatchI = i;
-                        }
-                    }
-                }
-
-                if (bestMatch > MATCH_THRESHOLD) {
-                    used.add(String.valueOf(bestMatchI));
-                    it.remove();
-
-                    EntryChange ec = new EntryChange(bestFit(tmp, mem, piv1), tmp.getEntryAt(piv1),
-                            disk.getEntryAt(bestMatchI));
-                    changes.add(ec);
-                } else {
-                    EntryDeleteChange ec = new EntryDeleteChange(bestFit(tmp, mem, piv1), tmp.getEntryAt(piv1));
-                    changes.add(ec);
-                }
-
-            }
-
-        }
-
-        // Finally, look if there are still untouched entries in the disk database. These
-        // may have been added.
-        if (used.size() < disk.getEntryCount()) {
-            for (int i = 0; i < disk.getEntryCount(); i++) {
-                if (!used.contains(String.valueOf(i))) {
-
-                    // See if there is an identical dupe in the mem database:
-                    boolean hasAlready = false;
-                    for (int j = 0; j < mem.getEntryCount(); j++) {
-                        if (DuplicateCheck.compareEntriesStrictly(mem.getEntryAt(j), disk.getEntryAt(i)) >= 1) {
-                            hasAlready = true;
-                            break;
-                        }
-                    }
-                    if (!hasAlready) {
-                        EntryAddChange ec = new EntryAddChange(disk.getEntryAt(i));
-                        changes.add(ec);
-                    }
-                }
-            }
-        }
-    }
-
-    /**
-     * Finds the entry in neu best fitting the specified entry in old. If no entries get a score
-     * above zero, an entry is still returned.
-     *
-     * @param old   EntrySorter
-     * @param neu   EntrySorter
-     * @param index int
-     * @return BibEntry
-     */
-    private static BibEntry bestFit(EntrySorter old, EntrySorter neu, int index) {
-        double comp = -1;
-        int found = 0;
-        for (int i = 0; i < neu.getEntryCount(); i++) {
-            double res = DuplicateCheck.compareEntriesStrictly(old.getEntryAt(index), neu.getEntryAt(i));
-            if (res > comp) {
-                comp = res;
-                found = i;
-            }
-            if (comp > 1) {
-                break;
+    private void scanEntries(BibDatabase inMem1, BibDatabase onTmp, BibDatabase onDisk) {
+        for (EntryDiff.Difference difference : EntryDiff.compare(inMem1.getEntries(), onTmp.getEntries(),
+                onDisk.getEntries())) {
+            if (difference.isAdded()) {
+                changes.add(new EntryAddChange(difference.getDiskEntry().get()));
+            } else if (difference.isDeleted()) {
+                changes.add(new EntryDeleteChange(difference.getMemEntry().get(), difference.getTmpEntry().get()));
+            } else {
+                changes.add(new EntryChange(difference.getMemEntry().get(), difference.getTmpEntry().get(),
+                        difference.getDiskEntry().get()));
             }
         }
-        return neu.getEntryAt(found);
     }
 
     private void scanPreamble(BibDatabase inMem1, BibDatabase onTmp, BibDatabase onDisk) {
@@ -0,0 +1,229 @@
+package net.sf.jabref.collab;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import net.sf.jabref.model.DuplicateCheck;
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Three-way comparison of the entries in memory, in the temporary file (the state of the last save or load) and on
+ * disk.
+ * <p>
+ * Entries are matched in three passes, each one only considering the entries left over by the previous ones:
+ * <ol>
+ * <li>entries with exactly the same fields, looked up by their content,</li>
+ * <li>entries with the same citation key,</li>
+ * <li>the most similar entries according to {@link DuplicateCheck#compareEntriesStrictly(BibEntry, BibEntry)}.</li>
+ * </ol>
+ * The first two passes take linear time, so that the comparison of large databases with a few external changes is
+ * fast. Only the last pass compares all pairs of the remaining entries.
+ */
+class EntryDiff {
+
+    /**
+     * Minimum similarity of two entries to be considered the same entry in different versions
+     */
+    static final double MATCH_THRESHOLD = 0.4;
+
+    private final List<BibEntry> memEntries;
+    private final Map<Map<String, String>, BibEntry> memByContent = new HashMap<>();
+    private final Map<String, List<BibEntry>> memByKey = new HashMap<>();
+
+
+    private EntryDiff(List<BibEntry> memEntries) {
+        this.memEntries = memEntries;
+        for (BibEntry entry : memEntries) {
+            memByContent.putIfAbsent(content(entry), entry);
+            citeKey(entry).ifPresent(key -> memByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(entry));
+        }
+    }
+
+    /**
+     * Compares the entries of the three versions of a database.
+     *
+     * @return the modified and deleted entries in the order of the temporary file, followed by the added entries in the
+     * order of the file on disk
+     */
+    public static List<Difference> compare(List<BibEntry> memEntries, List<BibEntry> tmpEntries,
+            List<BibEntry> diskEntries) {
+        return new EntryDiff(memEntries).compare(tmpEntries, diskEntries);
+    }
+
+    private List<Difference> compare(List<BibEntry> tmpEntries, List<BibEntry> diskEntries) {
+        Set<BibEntry> usedDiskEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        // exact matches, several identical entries are matched one by one
+        Map<Map<String, String>, Deque<BibEntry>> diskByContent = new HashMap<>();
+        for (BibEntry entry : diskEntries) {
+            diskByContent.computeIfAbsent(content(entry), k -> new ArrayDeque<>()).add(entry);
+        }
+        List<BibEntry> unmatchedTmpEntries = new ArrayList<>();
+        for (BibEntry entry : tmpEntries) {
+            Deque<BibEntry> identical = diskByContent.get(content(entry));
+            if ((identical == null) || identical.isEmpty()) {
+                unmatchedTmpEntries.add(entry);
+            } else {
+                usedDiskEntries.add(identical.poll());
+            }
+        }
+
+        List<BibEntry> unmatchedDiskEntries = new ArrayList<>();
+        Map<String, List<BibEntry>> unmatchedDiskByKey = new HashMap<>();
+        for (BibEntry entry : diskEntries) {
+            if (!usedDiskEntries.contains(entry)) {
+                unmatchedDiskEntries.add(entry);
+                citeKey(entry)
+                        .ifPresent(key -> unmatchedDiskByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(entry));
+            }
+        }
+
+        // modified entries keeping their key
+        Map<BibEntry, BibEntry> modified = new IdentityHashMap<>();
+        List<BibEntry> remainingTmpEntries = new ArrayList<>();
+        for (BibEntry entry : unmatchedTmpEntries) {
+            Optional<BibEntry> match = citeKey(entry).map(unmatchedDiskByKey::get)
+                    .flatMap(candidates -> bestMatch(entry, candidates, usedDiskEntries));
+            if (match.isPresent()) {
+                usedDiskEntries.add(match.get());
+                modified.put(entry, match.get());
+            } else {
+                remainingTmpEntries.add(entry);
+            }
+        }
+
+        // all other entries, which should be few
+        for (BibEntry entry : remainingTmpEntries) {
+            bestMatch(entry, unmatchedDiskEntries, usedDiskEntries).ifPresent(match -> {
+                usedDiskEntries.add(match);
+                modified.put(entry, match);
+            });
+        }
+
+        List<Difference> differences = new ArrayList<>();
+        for (BibEntry entry : unmatchedTmpEntries) {
+            differences.add(new Difference(bestFit(entry), entry, modified.get(entry)));
+        }
+        for (BibEntry entry : unmatchedDiskEntries) {
+            // an entry added on disk may have been added in memory as well
+            if (!usedDiskEntries.contains(entry) && !memByContent.containsKey(content(entry))) {
+                differences.add(new Difference(null, null, entry));
+            }
+        }
+        return differences;
+    }
+
+    /**
+     * Returns the unused candidate most similar to the given entry, if the similarity is above
+     * {@link #MATCH_THRESHOLD}.
+     */
+    private static Optional<BibEntry> bestMatch(BibEntry entry, List<BibEntry> candidates, Set<BibEntry> used) {
+        BibEntry bestMatch = null;
+        double bestScore = MATCH_THRESHOLD;
+        for (BibEntry candidate : candidates) {
+            if (!used.contains(candidate)) {
+                double score = DuplicateCheck.compareEntriesStrictly(entry, candidate);
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMatch = candidate;
+                }
+            }
+        }
+        return Optional.ofNullable(bestMatch);
+    }
+
+    /**
+     * Finds the entry in memory best fitting the given entry of the temporary file. If no entry is similar, an entry is
+     * still returned.
+     */
+    private BibEntry bestFit(BibEntry tmpEntry) {
+        BibEntry identical = memByContent.get(content(tmpEntry));
+        if (identical != null) {
+            return identical;
+        }
+
+        Optional<BibEntry> sameKey = citeKey(tmpEntry).map(memByKey::get)
+                .flatMap(candidates -> bestMatch(tmpEntry, candidates, Collections.emptySet()));
+        if (sameKey.isPresent()) {
+            return sameKey.get();
+        }
+
+        BibEntry bestFit = memEntries.isEmpty() ? null : memEntries.get(0);
+        double bestScore = -1;
+        for (BibEntry entry : memEntries) {
+            double score = DuplicateCheck.compareEntriesStrictly(tmpEntry, entry);
+            if (score > bestScore) {
+                bestScore = score;
+                bestFit = entry;
+            }
+        }
+        return bestFit;
+    }
+
+    private static Optional<String> citeKey(BibEntry entry) {
+        return entry.hasCiteKey() ? Optional.of(entry.getCiteKey()) : Optional.empty();
+    }
+
+    /**
+     * Returns a copy of the fields of the entry, which is equal for entries considered identical by
+     * {@link DuplicateCheck#compareEntriesStrictly(BibEntry, BibEntry)}.
+     */
+    private static Map<String, String> content(BibEntry entry) {
+        return new HashMap<>(entry.getFieldMap());
+    }
+
+
+    /**
+     * An entry which differs between the temporary file and the file on disk.
+     */
+    static class Difference {
+
+        private final BibEntry memEntry;
+        private final BibEntry tmpEntry;
+        private final BibEntry diskEntry;
+
+
+        Difference(BibEntry memEntry, BibEntry tmpEntry, BibEntry diskEntry) {
+            this.memEntry = memEntry;
+            this.tmpEntry = tmpEntry;
+            this.diskEntry = diskEntry;
+        }
+
+        /**
+         * Returns the entry in memory best fitting the entry of the temporary file, empty for added entries.
+         */
+        public Optional<BibEntry> getMemEntry() {
+            return Optional.ofNullable(memEntry);
+        }
+
+        /**
+         * Returns the entry of the temporary file, empty for added entries.
+         */
+        public Optional<BibEntry> getTmpEntry() {
+            return Optional.ofNullable(tmpEntry);
+        }
+
+        /**
+         * Returns the entry on disk, empty for deleted entries.
+         */
+        public Optional<BibEntry> getDiskEntry() {
+            return Optional.ofNullable(diskEntry);
+        }
+
+        public boolean isAdded() {
+            return tmpEntry == null;
+        }
+
+        public boolean isDeleted() {
+            return diskEntry == null;
+        }
+    }
+}
@@ -17,10 +17,26 @@ package net.sf.jabref.collab;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import net.sf.jabref.logic.util.io.FileUtil;
 
@@ -29,38 +45,170 @@ import org.apache.commons.logging.LogFactory;
 
 /**
  * This thread monitors a set of files, each associated with a FileUpdateListener, for changes
- * in the file's last modification time stamp. The
+ * in the file's last modification time stamp or size.
+ * <p>
+ * The directories of the files are watched by a {@link WatchService}, so that a file is only checked when the
+ * operating system reports a change in its directory. Several changes in a short time, e.g., while another program
+ * writes the file in parts, result in a single check. Files on file systems which do not report changes, e.g.,
+ * network shares, are polled instead.
  */
 public class FileUpdateMonitor implements Runnable {
 
     private static final Log LOGGER = LogFactory.getLog(FileUpdateMonitor.class);
 
+    // Milliseconds between two checks of the polled files
     private static final int WAIT = 4000;
+    // Milliseconds without further changes before a changed file is checked
+    private static final int DEBOUNCE_DELAY = 300;
+
+    // Types of file stores which do not report changes of files reliably
+    private static final List<String> UNWATCHABLE_FILE_STORE_TYPES = Arrays.asList("nfs", "nfs4", "cifs", "smbfs",
+            "smb2", "afpfs", "webdav", "davfs", "fuse.sshfs");
 
     private int numberOfUpdateListener;
-    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final WatchService watchService;
+    // directory -> its key and the entries of files in it, guarded by itself
+    private final Map<Path, WatchedDirectory> watchedDirectories = new HashMap<>();
+    // entry -> time (in milliseconds) when it is checked, guarded by itself
+    private final Map<Entry, Long> pendingChecks = new IdentityHashMap<>();
+
+
+    public FileUpdateMonitor() {
+        WatchService service = null;
+        try {
+            service = FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.info("File changes are not reported by the file system, polling all files instead", e);
+        }
+        watchService = service;
+    }
 
     @Override
     public void run() {
-        // The running variable is used to make the thread stop when needed.
-        while (true) {
-            for(Entry e : entries.values()) {
-                try {
-                    if (e.hasBeenUpdated()) {
-                        e.notifyListener();
+        long nextPoll = System.currentTimeMillis() + WAIT;
+        try {
+            while (true) {
+                long now = System.currentTimeMillis();
+                long timeout = Math.max(1, Math.min(nextPoll, getNextPendingCheck()) - now);
+
+                if (watchService == null) {
+                    Thread.sleep(timeout);
+                } else {
+                    WatchKey key = watchService.poll(timeout, TimeUnit.MILLISECONDS);
+                    // collect all keys signalled meanwhile
+                    while (key != null) {
+                        scheduleChecks(key);
+                        key = watchService.poll();
+                    }
+                }
+
+                now = System.currentTimeMillis();
+                for (Entry entry : getDueChecks(now)) {
+                    check(entry);
+                }
+                if (now >= nextPoll) {
+                    for (Entry entry : entries.values()) {
+                        if (entry.isPolled()) {
+                            check(entry);
+                        }
                     }
+                    nextPoll = now + WAIT;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            LOGGER.debug("FileUpdateMonitor has been interrupted. Terminating...", ex);
+        } finally {
+            if (watchService != null) {
+                try {
+                    watchService.close();
                 } catch (IOException ex) {
-                    e.notifyFileRemoved();
+                    LOGGER.debug("Cannot close watch service", ex);
                 }
             }
+        }
+    }
 
-            // Sleep for a while before starting a new polling round.
-            try {
-                Thread.sleep(WAIT);
-            } catch (InterruptedException ex) {
-                LOGGER.debug("FileUpdateMonitor has been interrupted. Terminating...", ex);
+    private static void check(Entry entry) {
+        try {
+            if (entry.hasBeenUpdated()) {
+                entry.notifyListener();
+            }
+        } catch (IOException ex) {
+            entry.notifyFileRemoved();
+        }
+    }
+
+    /**
+     * Schedules a check of the files in the directory of the given key which changed according to its events.
+     */
+    private void scheduleChecks(WatchKey key) {
+        List<Entry> changedEntries;
+        synchronized (watchedDirectories) {
+            WatchedDirectory directory = watchedDirectories.values().stream()
+                    .filter(watchedDirectory -> watchedDirectory.key == key).findFirst().orElse(null);
+            if (directory == null) {
+                // the key was cancelled meanwhile
+                key.pollEvents();
                 return;
             }
+
+            boolean checkAll = false;
+            Set<Path> changedFileNames = new HashSet<>();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // events were lost
+                    checkAll = true;
+                } else {
+                    changedFileNames.add((Path) event.context());
+                }
+            }
+            boolean valid = key.reset();
+            if (!valid) {
+                // the directory itself is no longer accessible, e.g., it has been deleted or its drive unmounted
+                checkAll = true;
+                watchedDirectories.values().remove(directory);
+            }
+
+            changedEntries = new ArrayList<>();
+            for (Entry entry : directory.entries) {
+                if (checkAll || changedFileNames.contains(entry.getFile().toPath().getFileName())) {
+                    changedEntries.add(entry);
+                }
+                if (!valid) {
+                    // the directory may have been recreated already, otherwise the file is polled from now on
+                    entry.setPolled(!watch(entry));
+                }
+            }
+        }
+
+        // the check is delayed until no further changes are reported
+        long checkTime = System.currentTimeMillis() + DEBOUNCE_DELAY;
+        synchronized (pendingChecks) {
+            for (Entry entry : changedEntries) {
+                pendingChecks.put(entry, checkTime);
+            }
+        }
+    }
+
+    private long getNextPendingCheck() {
+        synchronized (pendingChecks) {
+            return pendingChecks.values().stream().min(Long::compare).orElse(Long.MAX_VALUE);
+        }
+    }
+
+    private List<Entry> getDueChecks(long now) {
+        synchronized (pendingChecks) {
+            List<Entry> dueChecks = new ArrayList<>();
+            pendingChecks.entrySet().removeIf(pendingCheck -> {
+                if (pendingCheck.getValue() <= now) {
+                    dueChecks.add(pendingCheck.getKey());
+                    return true;
+                }
+                return false;
+            });
+            return dueChecks;
         }
     }
 
@@ -74,12 +222,75 @@ public class FileUpdateMonitor implements Runnable {
         if (!file.exists()) {
             throw new IOException("File not found");
         }
-        numberOfUpdateListener++;
-        String key = String.valueOf(numberOfUpdateListener);
-        entries.put(key, new Entry(ul, file));
+        String key;
+        synchronized (this) {
+            numberOfUpdateListener++;
+            key = String.valueOf(numberOfUpdateListener);
+        }
+        Entry entry = new Entry(ul, file);
+        entry.setPolled(!watch(entry));
+        entries.put(key, entry);
         return key;
     }
 
+    /**
+     * Registers the directory of the file of the given entry at the watch service, if this was not done for another
+     * file in the same directory already.
+     *
+     * @return whether the file is watched, otherwise it has to be polled
+     */
+    private boolean watch(Entry entry) {
+        if (watchService == null) {
+            return false;
+        }
+
+        Path directory = entry.getFile().getAbsoluteFile().toPath().getParent();
+        synchronized (watchedDirectories) {
+            WatchedDirectory watchedDirectory = watchedDirectories.get(directory);
+            if ((watchedDirectory != null) && !watchedDirectory.key.isValid()) {
+                // the directory is no longer accessible, but this has not been handled by the monitor thread yet
+                watchedDirectories.remove(directory);
+                for (Entry watchedEntry : watchedDirectory.entries) {
+                    watchedEntry.setPolled(true);
+                }
+                watchedDirectory = null;
+            }
+            if (watchedDirectory == null) {
+                try {
+                    String fileStoreType = Files.getFileStore(directory).type().toLowerCase(Locale.ROOT);
+                    if (UNWATCHABLE_FILE_STORE_TYPES.contains(fileStoreType)) {
+                        LOGGER.debug("Polling " + entry.getFile() + " on file system of type " + fileStoreType);
+                        return false;
+                    }
+                    WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                    watchedDirectory = new WatchedDirectory(key);
+                    watchedDirectories.put(directory, watchedDirectory);
+                } catch (IOException | UnsupportedOperationException | ClosedWatchServiceException e) {
+                    LOGGER.debug("Cannot watch " + directory + ", polling " + entry.getFile() + " instead", e);
+                    return false;
+                }
+            }
+            watchedDirectory.entries.add(entry);
+            return true;
+        }
+    }
+
+    private void unwatch(Entry entry) {
+        Path directory = entry.getFile().getAbsoluteFile().toPath().getParent();
+        synchronized (watchedDirectories) {
+            WatchedDirectory watchedDirectory = watchedDirectories.get(directory);
+            if ((watchedDirectory != null) && watchedDirectory.entries.remove(entry)
+                    && watchedDirectory.entries.isEmpty()) {
+                watchedDirectory.key.cancel();
+                watchedDirectories.remove(directory);
+            }
+        }
+        synchronized (pendingChecks) {
+            pendingChecks.remove(entry);
+        }
+    }
+
     /**
      * Forces a check on the file, and returns the result. Does not
      * force a report to all listeners before the next routine check.
@@ -105,11 +316,15 @@ public class FileUpdateMonitor implements Runnable {
      * @param handle the handle to the correct file.
      */
     public void perturbTimestamp(String handle) {
-        Object o = entries.get(handle);
-        if (o == null) {
+        Entry entry = entries.get(handle);
+        if (entry == null) {
             return;
         }
-        ((Entry) o).decreaseTimeStamp();
+        entry.decreaseTimeStamp();
+        // the file itself does not change again, so the next check is scheduled as for polled files
+        synchronized (pendingChecks) {
+            pendingChecks.put(entry, System.currentTimeMillis() + WAIT);
+        }
     }
 
     /**
@@ -117,7 +332,10 @@ public class FileUpdateMonitor implements Runnable {
      * @param handle String The handle for the listener to remove.
      */
     public void removeUpdateListener(String handle) {
-        entries.remove(handle);
+        Entry entry = entries.remove(handle);
+        if (entry != null) {
+            unwatch(entry);
+        }
     }
 
     public void updateTimeStamp(String key) {
@@ -144,8 +362,23 @@ public class FileUpdateMonitor implements Runnable {
     }
 
 
+    /**
+     * A watched directory with the entries of the monitored files in it.
+     */
+    private static class WatchedDirectory {
+
+        private final WatchKey key;
+        private final Set<Entry> entries = Collections.newSetFromMap(new IdentityHashMap<>());
+
+
+        WatchedDirectory(WatchKey key) {
+            this.key = key;
+        }
+    }
+
     /**
      * A class containing the File, the FileUpdateListener and the current time stamp for one file.
+     * The time stamp is accessed by the monitor thread and the thread of the caller, e.g., after saving.
      */
     static class Entry {
 
@@ -154,6 +387,7 @@ public class FileUpdateMonitor implements Runnable {
         private final Path tmpFile;
         private long timeStamp;
         private long fileSize;
+        private boolean polled;
 
 
         public Entry(FileUpdateListener ul, File f) {
@@ -173,7 +407,7 @@ public class FileUpdateMonitor implements Runnable {
          * @throws IOException if the file does no longer exist.
          * @return boolean true if the file has changed.
          */
-        public boolean hasBeenUpdated() throws IOException {
+        public synchronized boolean hasBeenUpdated() throws IOException {
             long modified = file.lastModified();
             if (modified == 0L) {
                 throw new IOException("File deleted");
@@ -182,7 +416,7 @@ public class FileUpdateMonitor implements Runnable {
             return (timeStamp != modified) || (fileSize != fileSizeNow);
         }
 
-        public void updateTimeStamp() {
+        public synchronized void updateTimeStamp() {
             timeStamp = file.lastModified();
             if (timeStamp == 0L) {
                 notifyFileRemoved();
@@ -208,8 +442,10 @@ public class FileUpdateMonitor implements Runnable {
          */
         public void notifyListener() {
             // Update time stamp.
-            timeStamp = file.lastModified();
-            fileSize = file.length();
+            synchronized (this) {
+                timeStamp = file.lastModified();
+                fileSize = file.length();
+            }
             listener.fileUpdated();
         }
 
@@ -224,9 +460,24 @@ public class FileUpdateMonitor implements Runnable {
             return tmpFile;
         }
 
-        public void decreaseTimeStamp() {
+        public File getFile() {
+            return file;
+        }
+
+        public synchronized void decreaseTimeStamp() {
             timeStamp--;
         }
+
+        /**
+         * Returns whether the file has to be polled, as its changes are not reported.
+         */
+        public synchronized boolean isPolled() {
+            return polled;
+        }
+
+        public synchronized void setPolled(boolean polled) {
+            this.polled = polled;
+        }
     }
 
 
@@ -17,8 +17,10 @@ package net.sf.jabref.external;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.JOptionPane;
 
@@ -36,14 +38,15 @@ import org.apache.commons.logging.LogFactory;
 
 /**
  * Try to download fulltext PDF for selected entry(ies) by following URL or DOI link.
+ * The documents of several entries are looked up in parallel.
  */
 public class FindFullTextAction extends AbstractWorker {
 
     private static final Log LOGGER = LogFactory.getLog(FindFullTextAction.class);
 
     private final BasePanel basePanel;
-    private BibEntry entry;
-    private Optional<URL> result;
+    private List<BibEntry> entries = Collections.emptyList();
+    private List<Optional<URL>> results = Collections.emptyList();
 
 
     public FindFullTextAction(BasePanel basePanel) {
@@ -57,47 +60,76 @@ public class FindFullTextAction extends AbstractWorker {
 
     @Override
     public void run() {
-        // TODO: just download for all entries and save files without dialog
-        entry = basePanel.getSelectedEntries().get(0);
+        entries = basePanel.getSelectedEntries();
+        basePanel.frame().setProgressBarValue(0);
+        basePanel.frame().setProgressBarMaximum(entries.size());
+        basePanel.frame().setProgressBarVisible(true);
+
+        AtomicInteger finished = new AtomicInteger();
         FulltextFetchers fft = new FulltextFetchers();
-        result = fft.findFullTextPDF(entry);
+        results = fft.findFullTextPDFs(entries, (entry, result) -> {
+            int progress = finished.incrementAndGet();
+            basePanel.frame().setProgressBarValue(progress);
+            basePanel.output(Localization.lang("Progress: %0 of %1", String.valueOf(progress),
+                    String.valueOf(entries.size())));
+        });
+
+        basePanel.frame().setProgressBarVisible(false);
     }
 
     @Override
     public void update() {
-        if (result.isPresent()) {
-            List<String> dirs = basePanel.getBibDatabaseContext().getFileDirectory();
-            if (dirs.isEmpty()) {
-                JOptionPane.showMessageDialog(basePanel.frame(),
-                        Localization.lang("Main file directory not set!") + " " + Localization.lang("Preferences")
-                                + " -> " + Localization.lang("External programs"),
-                        Localization.lang("Directory not found"), JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            String bibtexKey = entry.getCiteKey();
-            // TODO: this needs its own thread as it blocks the UI!
-            DownloadExternalFile def = new DownloadExternalFile(basePanel.frame(), basePanel.getBibDatabaseContext(), bibtexKey);
-            try {
-                def.download(result.get(), file -> {
-                    FileListTableModel tm = new FileListTableModel();
-                    entry.getFieldOptional(FieldName.FILE).ifPresent(tm::setContent);
-                    tm.addEntry(tm.getRowCount(), file);
-                    String newValue = tm.getStringRepresentation();
-                    UndoableFieldChange edit = new UndoableFieldChange(entry, FieldName.FILE,
-                            entry.getFieldOptional(FieldName.FILE).orElse(null), newValue);
-                    entry.setField(FieldName.FILE, newValue);
-                    basePanel.getUndoManager().addEdit(edit);
-                    basePanel.markBaseChanged();
-                });
-            } catch (IOException e) {
-                LOGGER.warn("Problem downloading file", e);
+        boolean found = false;
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).isPresent()) {
+                found = true;
+                if (!download(entries.get(i), results.get(i).get())) {
+                    return;
+                }
             }
-            basePanel.output(Localization.lang("Finished downloading full text document"));
         }
-        else {
+
+        if (found) {
+            basePanel.output(Localization.lang("Finished downloading full text document"));
+        } else {
             String message = Localization.lang("Full text document download failed");
             basePanel.output(message);
             JOptionPane.showMessageDialog(basePanel.frame(), message, message, JOptionPane.ERROR_MESSAGE);
         }
     }
+
+    /**
+     * Downloads the full text document of the given entry and links it to the entry.
+     *
+     * @return false if the file directory is not set, so that no document can be downloaded
+     */
+    private boolean download(BibEntry entry, URL url) {
+        List<String> dirs = basePanel.getBibDatabaseContext().getFileDirectory();
+        if (dirs.isEmpty()) {
+            JOptionPane.showMessageDialog(basePanel.frame(),
+                    Localization.lang("Main file directory not set!") + " " + Localization.lang("Preferences")
+                            + " -> " + Localization.lang("External programs"),
+                    Localization.lang("Directory not found"), JOptionPane.ERROR_MESSAGE);
+            return false;
+        }
+        String bibtexKey = entry.getCiteKey();
+        // TODO: this needs its own thread as it blocks the UI!
+        DownloadExternalFile def = new DownloadExternalFile(basePanel.frame(), basePanel.getBibDatabaseContext(), bibtexKey);
+        try {
+            def.download(url, file -> {
+                FileListTableModel tm = new FileListTableModel();
+                entry.getFieldOptional(FieldName.FILE).ifPresent(tm::setContent);
+                tm.addEntry(tm.getRowCount(), file);
+                String newValue = tm.getStringRepresentation();
+                UndoableFieldChange edit = new UndoableFieldChange(entry, FieldName.FILE,
+                        entry.getFieldOptional(FieldName.FILE).orElse(null), newValue);
+                entry.setField(FieldName.FILE, newValue);
+                basePanel.getUndoManager().addEdit(edit);
+                basePanel.markBaseChanged();
+            });
+        } catch (IOException e) {
+            LOGGER.warn("Problem downloading file", e);
+        }
+        return true;
+    }
 }
@@ -40,6 +40,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TimerTask;
+import java.util.stream.Collectors;
 
 import javax.swing.AbstractAction;
 import javax.swing.BorderFactory;
@@ -116,8 +117,8 @@ import net.sf.jabref.logic.exporter.SavePreferences;
 import net.sf.jabref.logic.exporter.SaveSession;
 import net.sf.jabref.logic.l10n.Encodings;
 import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.logic.labelpattern.BibtexKeyGenerator;
 import net.sf.jabref.logic.labelpattern.LabelPatternPreferences;
-import net.sf.jabref.logic.labelpattern.LabelPatternUtil;
 import net.sf.jabref.logic.layout.Layout;
 import net.sf.jabref.logic.layout.LayoutFormatterPreferences;
 import net.sf.jabref.logic.layout.LayoutHelper;
@@ -132,7 +133,8 @@ import net.sf.jabref.model.entry.EntryType;
 import net.sf.jabref.model.entry.FieldName;
 import net.sf.jabref.model.entry.IdGenerator;
 import net.sf.jabref.model.event.EntryAddedEvent;
-import net.sf.jabref.model.event.EntryChangedEvent;
+import net.sf.jabref.model.event.EntryRemovedEvent;
+import net.sf.jabref.model.event.FieldChangedEvent;
 import net.sf.jabref.preferences.HighlightMatchingGroupPreferences;
 import net.sf.jabref.preferences.JabRefPreferences;
 import net.sf.jabref.specialfields.Printed;
@@ -577,12 +579,11 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
                 final NamedCompound ce = new NamedCompound(Localization.lang("Autogenerate BibTeX keys"));
 
                 // Finally, set the new keys:
+                new BibtexKeyGenerator(bibDatabaseContext.getMetaData().getLabelPattern(), database,
+                        LabelPatternPreferences.fromPreferences(Globals.prefs)).generateAndSetKeys(entries);
                 for (BibEntry entry : entries) {
-                    bes = entry;
-                    LabelPatternUtil.makeLabel(bibDatabaseContext.getMetaData(), database, bes,
-                            LabelPatternPreferences.fromPreferences(Globals.prefs));
-                    ce.addEdit(new UndoableKeyChange(database, bes, (String) oldvals.get(bes),
-                            bes.getCiteKey()));
+                    ce.addEdit(new UndoableKeyChange(database, entry, (String) oldvals.get(entry),
+                            entry.getCiteKey()));
                 }
                 ce.end();
                 getUndoManager().addEdit(ce);
@@ -1341,25 +1342,14 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         }
 
         @Subscribe
-        public void listen(EntryChangedEvent entryChangedEvent) {
-            searchAutoCompleter.addBibtexEntry(entryChangedEvent.getBibEntry());
-        }
-    }
-
-    /**
-     * Ensures that auto completers are up to date when entries are changed AKA Let the auto completer, if any, harvest
-     * words from the entry
-     */
-    private class AutoCompleteListener {
-
-        @Subscribe
-        public void listen(EntryAddedEvent addedEntryEvent) {
-            BasePanel.this.autoCompleters.addEntry(addedEntryEvent.getBibEntry());
+        public void listen(EntryRemovedEvent removedEntryEvent) {
+            searchAutoCompleter.removeBibtexEntry(removedEntryEvent.getBibEntry());
         }
 
         @Subscribe
-        public void listen(EntryChangedEvent entryChangedEvent) {
-            BasePanel.this.autoCompleters.addEntry(entryChangedEvent.getBibEntry());
+        public void listen(FieldChangedEvent fieldChangedEvent) {
+            searchAutoCompleter.updateField(fieldChangedEvent.getFieldName(), fieldChangedEvent.getOldValue(),
+                    fieldChangedEvent.getNewValue());
         }
     }
 
@@ -1578,10 +1568,9 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         AutoCompletePreferences autoCompletePreferences = new AutoCompletePreferences(Globals.prefs);
         // Set up AutoCompleters for this panel:
         if (Globals.prefs.getBoolean(JabRefPreferences.AUTO_COMPLETE)) {
+            // the autocompleters keep themselves in sync with the entries
             autoCompleters = new ContentAutoCompleters(getDatabase(), bibDatabaseContext.getMetaData(),
                     autoCompletePreferences, Globals.journalAbbreviationLoader);
-            // ensure that the autocompleters are in sync with entries
-            this.getDatabase().registerListener(new AutoCompleteListener());
         } else {
             // create empty ContentAutoCompleters() if autoCompletion is deactivated
             autoCompleters = new ContentAutoCompleters();
@@ -1989,19 +1978,16 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
     public void autoGenerateKeysBeforeSaving() {
         if (Globals.prefs.getBoolean(JabRefPreferences.GENERATE_KEYS_BEFORE_SAVING)) {
             NamedCompound ce = new NamedCompound(Localization.lang("Autogenerate BibTeX keys"));
-            boolean any = false;
-
-            for (BibEntry bes : database.getEntries()) {
-                String oldKey = bes.getCiteKey();
-                if ((oldKey == null) || oldKey.isEmpty()) {
-                    LabelPatternUtil.makeLabel(bibDatabaseContext.getMetaData(), database, bes,
-                            LabelPatternPreferences.fromPreferences(Globals.prefs));
-                    ce.addEdit(new UndoableKeyChange(database, bes, null, bes.getCiteKey()));
-                    any = true;
-                }
+
+            List<BibEntry> entriesWithoutKey = database.getEntries().stream().filter(entry -> !entry.hasCiteKey())
+                    .collect(Collectors.toList());
+            new BibtexKeyGenerator(bibDatabaseContext.getMetaData().getLabelPattern(), database,
+                    LabelPatternPreferences.fromPreferences(Globals.prefs)).generateAndSetKeys(entriesWithoutKey);
+            for (BibEntry entry : entriesWithoutKey) {
+                ce.addEdit(new UndoableKeyChange(database, entry, null, entry.getCiteKey()));
             }
             // Store undo information, if any:
-            if (any) {
+            if (!entriesWithoutKey.isEmpty()) {
                 ce.end();
                 getUndoManager().addEdit(ce);
             }
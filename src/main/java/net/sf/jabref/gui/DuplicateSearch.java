@@ -22,6 +22,7 @@
 package net.sf.jabref.gui;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import javax.swing.SwingUtilities;
@@ -171,18 +172,20 @@ public class DuplicateSearch implements Runnable {
 
         @Override
         public void run() {
-            for (int i = 0; (i < (bes.size() - 1)) && !finished; i++) {
-                for (int j = i + 1; (j < bes.size()) && !finished; j++) {
-                    BibEntry first = bes.get(i);
-                    BibEntry second = bes.get(j);
-                    boolean eq = DuplicateCheck.isDuplicate(first, second, panel.getBibDatabaseContext().getMode());
-
-                    // If (suspected) duplicates, add them to the duplicates vector.
-                    if (eq) {
-                        synchronized (duplicates) {
-                            duplicates.add(new BibEntry[]{first, second});
-                            duplicates.notifyAll(); // send wake up all
-                        }
+            // only pairs sharing a blocking key are compared
+            Iterator<BibEntry[]> candidatePairs = panel.getDatabase().getDuplicateCandidateIndex()
+                    .getCandidatePairs();
+            while (candidatePairs.hasNext() && !finished) {
+                BibEntry[] candidatePair = candidatePairs.next();
+                BibEntry first = candidatePair[0];
+                BibEntry second = candidatePair[1];
+                boolean eq = DuplicateCheck.isDuplicate(first, second, panel.getBibDatabaseContext().getMode());
+
+                // If (suspected) duplicates, add them to the duplicates vector.
+                if (eq) {
+                    synchronized (duplicates) {
+                        duplicates.add(new BibEntry[]{first, second});
+                        duplicates.notifyAll(); // send wake up all
                     }
                 }
             }
@@ -33,6 +33,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -91,12 +92,14 @@ import net.sf.jabref.logic.groups.EntriesGroupChange;
 import net.sf.jabref.logic.groups.GroupTreeNode;
 import net.sf.jabref.logic.help.HelpFile;
 import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.logic.labelpattern.BibtexKeyGenerator;
 import net.sf.jabref.logic.labelpattern.LabelPatternPreferences;
 import net.sf.jabref.logic.labelpattern.LabelPatternUtil;
 import net.sf.jabref.logic.util.UpdateField;
 import net.sf.jabref.model.DuplicateCheck;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.database.DuplicateCandidateIndex;
 import net.sf.jabref.model.entry.AuthorList;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.EntryUtil;
@@ -104,6 +107,7 @@ import net.sf.jabref.model.entry.FieldName;
 import net.sf.jabref.model.entry.FieldProperties;
 import net.sf.jabref.model.entry.IdGenerator;
 import net.sf.jabref.model.entry.InternalBibtexFields;
+import net.sf.jabref.model.event.FieldChangedEvent;
 import net.sf.jabref.preferences.JabRefPreferences;
 
 import ca.odell.glazedlists.BasicEventList;
@@ -117,6 +121,7 @@ import ca.odell.glazedlists.swing.DefaultEventSelectionModel;
 import ca.odell.glazedlists.swing.DefaultEventTableModel;
 import ca.odell.glazedlists.swing.GlazedListsSwing;
 import ca.odell.glazedlists.swing.TableComparatorChooser;
+import com.google.common.eventbus.Subscribe;
 import com.jgoodies.forms.builder.ButtonBarBuilder;
 import com.jgoodies.forms.builder.ButtonStackBuilder;
 import org.apache.commons.logging.Log;
@@ -160,6 +165,14 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
     private final EventList<BibEntry> entries = new BasicEventList<>();
     private final SortedList<BibEntry> sortedList;
 
+    /**
+     * Blocking index of the entries in the table, used to find duplicates among them. Rebuilt after entries were
+     * removed, and updated when entries are edited.
+     */
+    private volatile DuplicateCandidateIndex entriesDuplicateIndex;
+    private final DuplicateIndexUpdater duplicateIndexUpdater = new DuplicateIndexUpdater();
+    private final Set<BibEntry> entriesListenedTo = Collections.newSetFromMap(new IdentityHashMap<>());
+
     /**
      * Duplicate resolving may require deletion of old entries.
      */
@@ -221,6 +234,7 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
                 .eventSelectionModelWithThreadProxyList(sortedList);
         glTable.setSelectionModel(selectionModel);
         selectionModel.getSelected().addListEventListener(new EntrySelectionListener());
+        entries.addListEventListener(this::invalidateDuplicateIndexOnRemoval);
         comparatorChooser = TableComparatorChooser.install(glTable, sortedList,
                 AbstractTableComparatorChooser.MULTIPLE_COLUMN_KEYBOARD);
         setupComparatorChooser();
@@ -383,7 +397,7 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
             // applicable) and against entries already in the table.
             if ((panel != null) && (DuplicateCheck
                     .containsDuplicate(panel.getDatabase(), entry, panel.getBibDatabaseContext().getMode()).isPresent()
-                    || (internalDuplicate(this.entries, entry).isPresent()))) {
+                    || (internalDuplicate(entry).isPresent()))) {
                 entry.setGroupHit(true);
                 deselectAllDuplicates.setEnabled(true);
             }
@@ -393,19 +407,35 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
             } finally {
                 this.entries.getReadWriteLock().writeLock().unlock();
             }
+            getEntriesDuplicateIndex().addEntry(entry);
+            synchronized (entriesListenedTo) {
+                if (entriesListenedTo.add(entry)) {
+                    entry.registerListener(duplicateIndexUpdater);
+                }
+            }
         }
     }
 
+    @Override
+    public void dispose() {
+        synchronized (entriesListenedTo) {
+            for (BibEntry entry : entriesListenedTo) {
+                entry.unregisterListener(duplicateIndexUpdater);
+            }
+            entriesListenedTo.clear();
+        }
+        super.dispose();
+    }
+
     /**
-     * Checks if there are duplicates to the given entry in the Collection. Does
-     * not report the entry as duplicate of itself if it is in the Collection.
+     * Checks if there are duplicates to the given entry in the table. Does
+     * not report the entry as duplicate of itself if it is in the table.
      *
-     * @param entriesDupe A Collection of BibEntry instances.
      * @param entry       The entry to search for duplicates of.
      * @return A possible duplicate, if any, or null if none were found.
      */
-    private Optional<BibEntry> internalDuplicate(Collection<BibEntry> entriesDupe, BibEntry entry) {
-        for (BibEntry othEntry : entriesDupe) {
+    private Optional<BibEntry> internalDuplicate(BibEntry entry) {
+        for (BibEntry othEntry : getEntriesDuplicateIndex().getCandidates(entry)) {
             if (othEntry.equals(entry)) {
                 continue; // Don't compare the entry to itself
             }
@@ -416,6 +446,28 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
         return Optional.empty();
     }
 
+    private DuplicateCandidateIndex getEntriesDuplicateIndex() {
+        DuplicateCandidateIndex index = entriesDuplicateIndex;
+        if (index == null) {
+            entries.getReadWriteLock().readLock().lock();
+            try {
+                index = new DuplicateCandidateIndex(entries);
+            } finally {
+                entries.getReadWriteLock().readLock().unlock();
+            }
+            entriesDuplicateIndex = index;
+        }
+        return index;
+    }
+
+    private void invalidateDuplicateIndexOnRemoval(ListEvent<BibEntry> listChanges) {
+        while (listChanges.next()) {
+            if (listChanges.getType() == ListEvent.DELETE) {
+                entriesDuplicateIndex = null;
+            }
+        }
+    }
+
     /* (non-Javadoc)
      * @see net.sf.jabref.gui.ImportInspection#entryListComplete()
      */
@@ -495,20 +547,14 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
                 localMetaData = panel.getBibDatabaseContext().getMetaData();
             }
 
-            List<String> keys = new ArrayList<>(entries.size());
             // Iterate over the entries, add them to the database we are working
             // with,
             // and generate unique keys:
             for (BibEntry entry : entries) {
-
                 entry.setId(IdGenerator.next());
-                database.insertEntry(entry);
-
-                LabelPatternUtil.makeLabel(localMetaData, database, entry,
-                        LabelPatternPreferences.fromPreferences(Globals.prefs));
-                // Add the generated key to our list:
-                keys.add(entry.getCiteKey());
             }
+            new BibtexKeyGenerator(localMetaData.getLabelPattern(), database,
+                    LabelPatternPreferences.fromPreferences(Globals.prefs)).insertAndGenerateKeys(entries);
 
             preview.update();
             preview.repaint();
@@ -878,6 +924,20 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
         }
     }
 
+    /**
+     * Recomputes the blocking keys of entries edited in the table.
+     */
+    private class DuplicateIndexUpdater {
+
+        @Subscribe
+        public void listen(FieldChangedEvent event) {
+            DuplicateCandidateIndex index = entriesDuplicateIndex;
+            if (index != null) {
+                index.updateEntry(event.getBibEntry());
+            }
+        }
+    }
+
     private class EntrySelectionListener implements ListEventListener<BibEntry> {
 
         @Override
@@ -1091,7 +1151,7 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
                     }
                 }
                 // Check if the duplicate is of another entry in the import:
-                other = internalDuplicate(entries, first);
+                other = internalDuplicate(first);
                 if (other.isPresent()) {
                     DuplicateResolverDialog diag = new DuplicateResolverDialog(ImportInspectionDialog.this, first,
                             other.get(), DuplicateResolverDialog.DuplicateResolverType.DUPLICATE_SEARCH);
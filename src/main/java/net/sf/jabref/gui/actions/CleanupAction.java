@@ -15,12 +15,14 @@
  */
 package net.sf.jabref.gui.actions;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import javax.swing.JOptionPane;
 
-import net.sf.jabref.BibDatabaseContext;
 import net.sf.jabref.Globals;
 import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.JabRefFrame;
@@ -102,18 +104,24 @@ public class CleanupAction extends AbstractWorker {
             }
         }
 
-        for (BibEntry entry : panel.getSelectedEntries()) {
-            // undo granularity is on entry level
-            NamedCompound ce = new NamedCompound(Localization.lang("Cleanup entry"));
-
-            doCleanup(cleanupPreset, entry, ce);
+        // the entries are cleaned up in parallel
+        CleanupWorker cleaner = new CleanupWorker(panel.getBibDatabaseContext(), Globals.journalAbbreviationLoader,
+                Globals.prefs);
+        List<FieldChange> changes = cleaner.cleanupEntries(cleanupPreset, panel.getSelectedEntries());
+        unsuccessfulRenames = cleaner.getUnsuccessfulRenames();
 
-            ce.end();
-            if (ce.hasEdits()) {
-                modifiedEntriesCount++;
-                panel.getUndoManager().addEdit(ce);
-            }
+        // the whole cleanup is undone at once
+        NamedCompound ce = new NamedCompound(Localization.lang("Cleanup entries"));
+        Set<BibEntry> modifiedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (FieldChange change : changes) {
+            ce.addEdit(new UndoableFieldChange(change));
+            modifiedEntries.add(change.getEntry());
         }
+        ce.end();
+        if (ce.hasEdits()) {
+            panel.getUndoManager().addEdit(ce);
+        }
+        modifiedEntriesCount = modifiedEntries.size();
     }
 
     @Override
@@ -154,25 +162,4 @@ public class CleanupAction extends AbstractWorker {
         return JOptionPane.showConfirmDialog(frame, messages, dialogTitle, JOptionPane.OK_CANCEL_OPTION,
                 JOptionPane.QUESTION_MESSAGE);
     }
-
-    /**
-     * Runs the cleanup on the entry and records the change.
-     */
-    private void doCleanup(CleanupPreset preset, BibEntry entry, NamedCompound ce) {
-        // Create and run cleaner
-        BibDatabaseContext bibDatabaseContext = panel.getBibDatabaseContext();
-        CleanupWorker cleaner = new CleanupWorker(bibDatabaseContext, Globals.journalAbbreviationLoader, Globals.prefs);
-        List<FieldChange> changes = cleaner.cleanup(preset, entry);
-
-        unsuccessfulRenames = cleaner.getUnsuccessfulRenames();
-
-        if (changes.isEmpty()) {
-            return;
-        }
-
-        // Register undo action
-        for (FieldChange change : changes) {
-            ce.addEdit(new UndoableFieldChange(change));
-        }
-    }
 }
@@ -21,7 +21,6 @@ import javax.swing.table.TableRowSorter;
 
 import net.sf.jabref.Globals;
 import net.sf.jabref.gui.JabRefFrame;
-import net.sf.jabref.logic.integrity.IntegrityCheck;
 import net.sf.jabref.logic.integrity.IntegrityMessage;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.preferences.JabRefPreferences;
@@ -44,8 +43,9 @@ public class IntegrityCheckAction extends MnemonicAwareAction {
 
     @Override
     public void actionPerformed(ActionEvent e) {
-        IntegrityCheck check = new IntegrityCheck(frame.getCurrentBasePanel().getBibDatabaseContext());
-        List<IntegrityMessage> messages = check.checkBibtexDatabase();
+        // only the entries changed since the last check are checked again
+        List<IntegrityMessage> messages = frame.getCurrentBasePanel().getBibDatabaseContext()
+                .getIncrementalIntegrityCheck().check();
 
         if (messages.isEmpty()) {
             JOptionPane.showMessageDialog(frame.getCurrentBasePanel(), Localization.lang("No problems found."));
@@ -31,6 +31,7 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.swing.AbstractAction;
 import javax.swing.Action;
@@ -76,9 +77,6 @@ import net.sf.jabref.logic.groups.MoveGroupChange;
 import net.sf.jabref.logic.help.HelpFile;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.search.SearchMatcher;
-import net.sf.jabref.logic.search.matchers.MatcherSet;
-import net.sf.jabref.logic.search.matchers.MatcherSets;
-import net.sf.jabref.logic.search.matchers.NotMatcher;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.preferences.JabRefPreferences;
 
@@ -578,14 +576,11 @@ public class GroupSelector extends SidePaneComponent implements TreeSelectionLis
     }
 
     private void updateShownEntriesAccordingToSelectedGroups() {
-        final MatcherSet searchRules = MatcherSets
-                .build(andCb.isSelected() ? MatcherSets.MatcherType.AND : MatcherSets.MatcherType.OR);
-
-        for(GroupTreeNodeViewModel node : getLeafsOfSelection()) {
-            SearchMatcher searchRule = node.getNode().getSearchRule();
-            searchRules.addRule(searchRule);
-        }
-        SearchMatcher searchRule = invCb.isSelected() ? new NotMatcher(searchRules) : searchRules;
+        // the index keeps the members of each group, so only the hierarchy and the selection have to be combined
+        List<GroupTreeNode> selectedNodes = getLeafsOfSelection().stream().map(GroupTreeNodeViewModel::getNode)
+                .collect(Collectors.toList());
+        SearchMatcher searchRule = panel.getBibDatabaseContext().getGroupMembershipIndex().getMatcher(selectedNodes,
+                andCb.isSelected(), invCb.isSelected());
         GroupingWorker worker = new GroupingWorker(searchRule);
         worker.getWorker().run();
         worker.getCallBack().update();
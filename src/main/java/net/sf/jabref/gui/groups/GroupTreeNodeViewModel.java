@@ -194,7 +194,8 @@ public class GroupTreeNodeViewModel implements Transferable, TreeNode {
                 && (JabRefGUI.getMainFrame() != null)) {
             BasePanel currentBasePanel = JabRefGUI.getMainFrame().getCurrentBasePanel();
             if (currentBasePanel != null) {
-                sb.append(" [").append(node.numberOfHits(currentBasePanel.getDatabase().getEntries())).append(']');
+                int hits = currentBasePanel.getBibDatabaseContext().getGroupMembershipIndex().getNumberOfHits(node);
+                sb.append(" [").append(hits).append(']');
             }
         }
 
@@ -1,51 +1,137 @@
 package net.sf.jabref.gui.search;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.swing.SwingWorker;
 
 import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.JabRefFrame;
-import net.sf.jabref.gui.worker.AbstractWorker;
 import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.logic.search.CancellationToken;
+import net.sf.jabref.logic.search.DatabaseSearcher;
 import net.sf.jabref.logic.search.SearchQuery;
 import net.sf.jabref.model.entry.BibEntry;
 
-class GlobalSearchWorker extends AbstractWorker {
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Searches all open databases and shows the matches in a {@link SearchResultsDialog}.
+ * <p>
+ * The databases are searched in parallel, and the matches of each database are added to the dialog as soon as the
+ * database is searched. Not reusable. Always create a new instance for each search!
+ */
+class GlobalSearchWorker extends SwingWorker<Void, GlobalSearchWorker.DatabaseMatches> {
+
+    private static final Log LOGGER = LogFactory.getLog(GlobalSearchWorker.class);
 
-    private final JabRefFrame frame;
     private final SearchQuery searchQuery;
     private final SearchResultsDialog dialog;
+    private final List<BasePanel> basePanels = new ArrayList<>();
+
+    private final CancellationToken cancellation = new CancellationToken();
+    private boolean firstEntrySelected;
+
 
     public GlobalSearchWorker(JabRefFrame frame, SearchQuery query) {
-        this.frame = Objects.requireNonNull(frame);
+        Objects.requireNonNull(frame);
         this.searchQuery = Objects.requireNonNull(query);
 
+        // the tabs are collected in the event dispatch thread, the search does not access the frame
+        for (int i = 0; i < frame.getTabbedPane().getTabCount(); i++) {
+            basePanels.add(frame.getBasePanelAt(i));
+        }
+
         dialog = new SearchResultsDialog(frame,
                 Localization.lang("Search results in all databases for %0",
                         this.searchQuery.localize()));
     }
 
-    /* (non-Javadoc)
-     * @see net.sf.jabref.Worker#run()
+    /**
+     * Shows the (still empty) dialog and starts the search.
      */
+    void start() {
+        dialog.setVisible(true);
+        execute();
+    }
+
     @Override
-    public void run() {
-        // Search all databases
-        for (int i = 0; i < frame.getTabbedPane().getTabCount(); i++) {
-            BasePanel basePanel = frame.getBasePanelAt(i);
-            List<BibEntry> matches = basePanel.getDatabase().getEntries().stream().filter(searchQuery::isMatch).collect(Collectors.toList());
-            dialog.addEntries(matches, basePanel);
+    protected Void doInBackground() throws Exception {
+        // Search all databases, each database is split into parts itself
+        CompletionService<DatabaseMatches> completionService = new ExecutorCompletionService<>(
+                ForkJoinPool.commonPool());
+        for (BasePanel basePanel : basePanels) {
+            DatabaseSearcher searcher = new DatabaseSearcher(searchQuery, basePanel.getDatabase());
+            completionService.submit(() -> new DatabaseMatches(basePanel, searcher.getMatches(cancellation,
+                    partialMatches -> {
+                        // the matches of a database are shown at once
+                    })));
+        }
+
+        // report the databases in the order they are finished
+        for (int i = 0; (i < basePanels.size()) && !cancellation.isCancelled(); i++) {
+            publish(completionService.take().get());
         }
+        return null;
     }
 
-    /* (non-Javadoc)
-     * @see net.sf.jabref.AbstractWorker#update()
+    /**
+     * Cancels this worker and stops the running search, e.g., because the query has changed. The matches found so far
+     * stay in the dialog.
      */
+    void cancelSearch() {
+        cancellation.cancel();
+        cancel(true);
+    }
+
     @Override
-    public void update() {
-        dialog.selectFirstEntry();
-        dialog.setVisible(true);
+    protected void process(List<DatabaseMatches> chunks) {
+        if (cancellation.isCancelled()) {
+            return;
+        }
+
+        for (DatabaseMatches matches : chunks) {
+            dialog.addEntries(matches.entries, matches.basePanel);
+            if (!firstEntrySelected && !matches.entries.isEmpty()) {
+                dialog.selectFirstEntry();
+                firstEntrySelected = true;
+            }
+        }
+    }
+
+    @Override
+    protected void done() {
+        if (isCancelled()) {
+            return;
+        }
+
+        try {
+            get();
+        } catch (InterruptedException | ExecutionException e) {
+            LOGGER.error("something went wrong during the global search", e);
+        }
+        if (!firstEntrySelected) {
+            // no matches, collapses the preview
+            dialog.selectFirstEntry();
+        }
     }
 
-}
\ No newline at end of file
+
+    static class DatabaseMatches {
+
+        private final BasePanel basePanel;
+        private final List<BibEntry> entries;
+
+
+        DatabaseMatches(BasePanel basePanel, List<BibEntry> entries) {
+            this.basePanel = basePanel;
+            this.entries = entries;
+        }
+    }
+}
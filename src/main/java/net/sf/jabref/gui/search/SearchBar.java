@@ -41,7 +41,6 @@ import net.sf.jabref.gui.autocompleter.AutoCompleteSupport;
 import net.sf.jabref.gui.help.HelpAction;
 import net.sf.jabref.gui.maintable.MainTableDataModel;
 import net.sf.jabref.gui.util.component.JTextFieldWithUnfocusedText;
-import net.sf.jabref.gui.worker.AbstractWorker;
 import net.sf.jabref.logic.autocompleter.AutoCompleter;
 import net.sf.jabref.logic.help.HelpFile;
 import net.sf.jabref.logic.l10n.Localization;
@@ -85,6 +84,7 @@ public class SearchBar extends JPanel {
     private AutoCompleteSupport<String> autoCompleteSupport;
     private final JLabel searchIcon;
     private SearchWorker searchWorker;
+    private GlobalSearchWorker globalSearchWorker;
 
 
     /**
@@ -165,9 +165,11 @@ public class SearchBar extends JPanel {
         globalSearch = new JButton(Localization.lang("Search globally"));
         globalSearch.setToolTipText(Localization.lang("Search in all open databases"));
         globalSearch.addActionListener(l -> {
-            AbstractWorker worker = new GlobalSearchWorker(basePanel.frame(), getSearchQuery());
-            worker.run();
-            worker.update();
+            if (globalSearchWorker != null) {
+                globalSearchWorker.cancelSearch();
+            }
+            globalSearchWorker = new GlobalSearchWorker(basePanel.frame(), getSearchQuery());
+            globalSearchWorker.start();
         });
         globalSearch.setEnabled(false);
         toolBar.add(globalSearch);
@@ -294,7 +296,12 @@ public class SearchBar extends JPanel {
      */
     private void performSearch() {
         if (searchWorker != null) {
-            searchWorker.cancel(true);
+            searchWorker.cancelSearch();
+        }
+        if (globalSearchWorker != null) {
+            // the global search is outdated, too
+            globalSearchWorker.cancelSearch();
+            globalSearchWorker = null;
         }
 
         // An empty search field should cause the search to be cleared.
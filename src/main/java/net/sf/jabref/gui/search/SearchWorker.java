@@ -1,15 +1,15 @@
 package net.sf.jabref.gui.search;
 
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
 
 import javax.swing.SwingWorker;
 
 import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.maintable.MainTableDataModel;
+import net.sf.jabref.logic.search.CancellationToken;
+import net.sf.jabref.logic.search.DatabaseSearcher;
 import net.sf.jabref.logic.search.SearchQuery;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
@@ -30,6 +30,8 @@ class SearchWorker extends SwingWorker<List<BibEntry>, Void> {
     private final SearchQuery searchQuery;
     private final SearchMode mode;
 
+    private final CancellationToken cancellation = new CancellationToken();
+
     SearchWorker(BasePanel basePanel, SearchQuery searchQuery, SearchMode mode) {
         this.basePanel = Objects.requireNonNull(basePanel);
         this.database = Objects.requireNonNull(basePanel.getDatabase());
@@ -41,9 +43,18 @@ class SearchWorker extends SwingWorker<List<BibEntry>, Void> {
     @Override
     protected List<BibEntry> doInBackground() throws Exception {
         // Search the current database
-        List<BibEntry> matchedEntries = new LinkedList<>();
-        matchedEntries.addAll(database.getEntries().stream().filter(searchQuery::isMatch).collect(Collectors.toList()));
-        return matchedEntries;
+        return new DatabaseSearcher(searchQuery, database).getMatches(cancellation, partialMatches -> {
+            // the table is updated once all entries are searched
+        });
+    }
+
+    /**
+     * Cancels this worker and stops the running search, so that an outdated search does not occupy the threads
+     * searching for the current query.
+     */
+    void cancelSearch() {
+        cancellation.cancel();
+        cancel(true);
     }
 
     @Override
@@ -15,14 +15,18 @@
 */
 package net.sf.jabref.importer;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import net.sf.jabref.Globals;
 import net.sf.jabref.importer.fileformat.BibTeXMLImporter;
@@ -54,6 +58,16 @@ public class ImportFormatReader {
 
     public static final String BIBTEX_FORMAT = "BibTeX";
 
+    /**
+     * Number of characters read from the beginning of a file of unknown format to detect the format
+     */
+    private static final int DETECTION_LENGTH = 64 * 1024;
+
+    /**
+     * Number of formats a file of unknown format is imported with, stopping after imports which gave entries
+     */
+    private static final int MAX_SUCCESSFUL_IMPORTS = 2;
+
     /**
      * All import formats.
      * Sorted accordingly to {@link ImportFormat#compareTo}, which defaults to alphabetically by the name
@@ -185,42 +199,54 @@ public class ImportFormatReader {
      * Tries to import a file by iterating through the available import filters,
      * and keeping the import that seems most promising.
      * <p/>
-     * If all fails this method attempts to read this file as bibtex.
+     * First, this method attempts to read this file as bibtex. Otherwise, the beginning of the file is read once and
+     * checked by all import filters. Only the most likely of the recognizing filters import the whole file.
      *
      * @throws IOException
      */
     public UnknownFormatImport importUnknownFormat(Path file) {
         Objects.requireNonNull(file);
+        Charset encoding = Globals.prefs.getDefaultEncoding();
 
-        // First, see if it is a BibTeX file:
+        String beginning;
         try {
-            ParserResult pr = OpenDatabaseAction.loadDatabase(file.toFile(),
-                    Globals.prefs.getDefaultEncoding());
-            if (pr.getDatabase().hasEntries() || !pr.getDatabase().hasNoStrings()) {
-                pr.setFile(file.toFile());
-                return new UnknownFormatImport(ImportFormatReader.BIBTEX_FORMAT, pr);
+            beginning = readBeginning(file, encoding);
+        } catch (IOException e) {
+            LOGGER.info("Could not read " + file, e);
+            return null;
+        }
+
+        // First, see if it is a BibTeX file. BibTeX entries and strings start with @.
+        if (beginning.indexOf('@') >= 0) {
+            try {
+                ParserResult pr = OpenDatabaseAction.loadDatabase(file.toFile(), encoding);
+                if (pr.getDatabase().hasEntries() || !pr.getDatabase().hasNoStrings()) {
+                    pr.setFile(file.toFile());
+                    return new UnknownFormatImport(ImportFormatReader.BIBTEX_FORMAT, pr);
+                }
+            } catch (IOException ignore) {
+                // Ignored
             }
-        } catch (IOException ignore) {
-            // Ignored
         }
 
         // stores ref to best result, gets updated at the next loop
         List<BibEntry> bestResult = null;
         int bestResultCount = 0;
         String bestFormatName = null;
+        int successfulImports = 0;
 
-        // Cycle through all importers:
-        for (ImportFormat imFo : getImportFormats()) {
+        // Import with the most likely formats only
+        for (ImportFormat imFo : detectFormats(file, encoding, beginning)) {
             try {
-                if(!imFo.isRecognizedFormat(file, Globals.prefs.getDefaultEncoding())) {
-                    continue;
-                }
-
-                ParserResult parserResult = imFo.importDatabase(file, Globals.prefs.getDefaultEncoding());
+                ParserResult parserResult = imFo.importDatabase(file, encoding);
                 List<BibEntry> entries = parserResult.getDatabase().getEntries();
 
                 BibDatabases.purgeEmptyEntries(entries);
                 int entryCount = entries.size();
+                if (entryCount == 0) {
+                    // The format has been recognized wrongly. Go on.
+                    continue;
+                }
 
                 if (entryCount > bestResultCount) {
                     bestResult = entries;
@@ -229,6 +255,12 @@ public class ImportFormatReader {
                 }
             } catch (IOException ex) {
                 // The import did not succeed. Go on.
+                continue;
+            }
+
+            successfulImports++;
+            if (successfulImports == MAX_SUCCESSFUL_IMPORTS) {
+                break;
             }
         }
 
@@ -240,4 +272,58 @@ public class ImportFormatReader {
 
         return null;
     }
+
+    /**
+     * Reads the beginning of the file, which is used to detect its format. The last line is dropped if it is not read
+     * completely.
+     */
+    private static String readBeginning(Path file, Charset encoding) throws IOException {
+        char[] buffer = new char[DETECTION_LENGTH];
+        int length = 0;
+        boolean complete;
+        try (BufferedReader reader = ImportFormat.getReader(file, encoding)) {
+            int read = 0;
+            while ((length < buffer.length) && (read >= 0)) {
+                read = reader.read(buffer, length, buffer.length - length);
+                length += Math.max(read, 0);
+            }
+            complete = (read < 0) || (reader.read() < 0);
+        }
+
+        String beginning = new String(buffer, 0, length);
+        int lastLineEnd = Math.max(beginning.lastIndexOf('\n'), beginning.lastIndexOf('\r'));
+        if (!complete && (lastLineEnd >= 0)) {
+            beginning = beginning.substring(0, lastLineEnd + 1);
+        }
+        return beginning;
+    }
+
+    /**
+     * Returns the formats recognizing the beginning of the file, checked by all formats in parallel. Formats having the
+     * extension of the file come first, as they are most likely the right ones. BibTeX is left out, as it has been
+     * tried already.
+     */
+    private List<ImportFormat> detectFormats(Path file, Charset encoding, String beginning) {
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return getImportFormats().parallelStream()
+                .filter(format -> !(format instanceof BibtexImporter))
+                .filter(format -> isRecognizedFormat(format, file, encoding, beginning))
+                .sorted((format1, format2) -> Boolean.compare(hasExtension(format2, fileName),
+                        hasExtension(format1, fileName)))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isRecognizedFormat(ImportFormat format, Path file, Charset encoding, String beginning) {
+        try {
+            return format.isRecognizedFormat(file, encoding, beginning);
+        } catch (IOException e) {
+            LOGGER.debug("Could not check the format " + format.getFormatName(), e);
+            return false;
+        }
+    }
+
+    private static boolean hasExtension(ImportFormat format, String fileName) {
+        List<String> extensions = format.getExtensions();
+        return (extensions != null) && extensions.stream().anyMatch(fileName::endsWith);
+    }
 }
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Optional;
 
 import javax.swing.JPanel;
@@ -30,6 +31,11 @@ import org.apache.commons.logging.LogFactory;
 public class DOItoBibTeXFetcher implements EntryFetcher {
     private static final Log LOGGER = LogFactory.getLog(DOItoBibTeXFetcher.class);
 
+    /**
+     * The BibTeX data registered for a DOI rarely changes
+     */
+    private static final Duration CACHE_TIME_TO_LIVE = Duration.ofDays(30);
+
     private final ProtectTermsFormatter protectTermsFormatter = new ProtectTermsFormatter();
     private final UnitsToLatexFormatter unitsToLatexFormatter = new UnitsToLatexFormatter();
 
@@ -86,6 +92,7 @@ public class DOItoBibTeXFetcher implements EntryFetcher {
             // BibTeX data
             URLDownload download = new URLDownload(doiURL);
             download.addParameters("Accept", "application/x-bibtex");
+            download.useDefaultCache(CACHE_TIME_TO_LIVE);
             String bibtexString = download.downloadToString(StandardCharsets.UTF_8);
             bibtexString = cleanupEncoding(bibtexString);
 
@@ -8,9 +8,9 @@ import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -23,6 +23,7 @@ import net.sf.jabref.importer.ImportInspector;
 import net.sf.jabref.importer.OutputPrinter;
 import net.sf.jabref.logic.help.HelpFile;
 import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.logic.net.URLDownload;
 import net.sf.jabref.model.entry.BibEntry;
 
 import org.apache.commons.logging.Log;
@@ -36,6 +37,11 @@ public class GVKFetcher implements EntryFetcher {
 
     private static final Log LOGGER = LogFactory.getLog(GVKFetcher.class);
 
+    /**
+     * The catalog is updated daily
+     */
+    private static final Duration CACHE_TIME_TO_LIVE = Duration.ofDays(1);
+
     private final Map<String, String> searchKeys = new HashMap<>();
 
 
@@ -159,8 +165,9 @@ public class GVKFetcher implements EntryFetcher {
         LOGGER.debug(searchstring);
         try {
             URI uri = new URI(searchstring);
-            URL url = uri.toURL();
-            try (InputStream is = url.openStream()) {
+            URLDownload download = new URLDownload(uri.toURL());
+            download.useDefaultCache(CACHE_TIME_TO_LIVE);
+            try (InputStream is = download.asInputStream()) {
                 result = (new GVKParser()).parseEntries(is);
             }
         } catch (URISyntaxException e) {
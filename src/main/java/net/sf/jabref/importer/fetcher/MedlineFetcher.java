@@ -19,8 +19,8 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -35,6 +35,7 @@ import net.sf.jabref.importer.ParserResult;
 import net.sf.jabref.importer.fileformat.MedlineImporter;
 import net.sf.jabref.logic.help.HelpFile;
 import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.logic.net.URLDownload;
 import net.sf.jabref.model.entry.BibEntry;
 
 import org.apache.commons.logging.Log;
@@ -63,6 +64,12 @@ public class MedlineFetcher implements EntryFetcher {
      */
     private static final int PACING = 20;
 
+    /**
+     * New articles are indexed daily, the articles themselves rarely change
+     */
+    private static final Duration SEARCH_CACHE_TIME_TO_LIVE = Duration.ofDays(1);
+    private static final Duration ARTICLE_CACHE_TIME_TO_LIVE = Duration.ofDays(30);
+
     private boolean shouldContinue;
     private static String toSearchTerm(String in) {
         // This can probably be simplified using simple String.replace()...
@@ -89,11 +96,11 @@ public class MedlineFetcher implements EntryFetcher {
         boolean doCount = true;
         SearchResult result = new SearchResult();
         try {
-            URL ncbi = new URL(medlineUrl + term);
+            URLDownload ncbi = new URLDownload(medlineUrl + term);
+            ncbi.useDefaultCache(SEARCH_CACHE_TIME_TO_LIVE);
             // get the ids
-            BufferedReader in = new BufferedReader(new InputStreamReader(ncbi.openStream()));
-            String inLine;
-            while ((inLine = in.readLine()) != null) {
+            String[] inLines = ncbi.downloadToString(StandardCharsets.UTF_8).split("\n");
+            for (String inLine : inLines) {
 
                 // get the count
                 Matcher idMatcher = ID_PATTERN.matcher(inLine);
@@ -236,10 +243,10 @@ public class MedlineFetcher implements EntryFetcher {
         String baseUrl = "http://eutils.ncbi.nlm.nih.gov/entrez/eutils/efetch.fcgi?db=pubmed&retmode=xml&rettype=citation&id=" +
                 id;
         try {
-            URL url = new URL(baseUrl);
-            URLConnection data = url.openConnection();
+            URLDownload data = new URLDownload(baseUrl);
+            data.useDefaultCache(ARTICLE_CACHE_TIME_TO_LIVE);
             ParserResult result = new MedlineImporter().importDatabase(
-                    new BufferedReader(new InputStreamReader(data.getInputStream())));
+                    new BufferedReader(new InputStreamReader(data.asInputStream(), StandardCharsets.UTF_8)));
             if (result.hasWarnings()) {
                 status.showMessage(result.getErrorMessage());
             }
@@ -75,7 +75,7 @@ public class BibtexImporter extends ImportFormat {
 
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
-        return BibtexParser.parse(reader);
+        return BibtexParser.parseInParallel(reader);
     }
 
     @Override
@@ -0,0 +1,176 @@
+package net.sf.jabref.importer.fileformat;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.Objects;
+
+/**
+ * Character source of the {@link BibtexParser}.
+ * <p>
+ * Besides reading and pushing back characters, the input records all characters read since the last call of
+ * {@link #dumpRecordedText()}. This recording is used to keep the original serialization of entries and strings.
+ */
+abstract class BibtexInput {
+
+    /**
+     * Creates an input reading from the given reader. At most {@code lookahead} characters can be pushed back.
+     */
+    static BibtexInput of(Reader reader, int lookahead) {
+        return new ReaderInput(reader, lookahead);
+    }
+
+    /**
+     * Creates an input reading from the given content. The recording is kept as offsets into the content and only
+     * materialized when it is dumped.
+     */
+    static BibtexInput of(CharSequence content) {
+        return new CharSequenceInput(content);
+    }
+
+    static boolean isEOFCharacter(int character) {
+        return (character == -1) || (character == 65535);
+    }
+
+    /**
+     * Reads the next character.
+     *
+     * @return the character or -1 if the end of the input is reached
+     */
+    abstract int read() throws IOException;
+
+    /**
+     * Pushes back the given character. If it is the last recorded character, it is removed from the recording.
+     */
+    abstract void unread(int character) throws IOException;
+
+    /**
+     * Returns all characters recorded since the last call of this method and starts a new recording.
+     */
+    abstract String dumpRecordedText();
+
+
+    private static class ReaderInput extends BibtexInput {
+
+        private final PushbackReader reader;
+        private final StringBuilder recording = new StringBuilder();
+
+
+        ReaderInput(Reader reader, int lookahead) {
+            this.reader = new PushbackReader(Objects.requireNonNull(reader), lookahead);
+        }
+
+        @Override
+        int read() throws IOException {
+            int character = reader.read();
+            if (!isEOFCharacter(character)) {
+                recording.append((char) character);
+            }
+            return character;
+        }
+
+        @Override
+        void unread(int character) throws IOException {
+            reader.unread(character);
+            int last = recording.length() - 1;
+            if ((last >= 0) && (recording.charAt(last) == character)) {
+                recording.setLength(last);
+            }
+        }
+
+        @Override
+        String dumpRecordedText() {
+            String result = recording.toString();
+            recording.setLength(0);
+            return result;
+        }
+    }
+
+    private static class CharSequenceInput extends BibtexInput {
+
+        private final CharSequence content;
+        private int position;
+
+        /**
+         * Start of the current recording, which is content[recordingStart, position) as long as no character differing
+         * from the content is pushed back.
+         */
+        private int recordingStart;
+
+        /**
+         * Characters which were pushed back and which cannot be restored by moving the position, last one on top
+         */
+        private final StringBuilder pushedBack = new StringBuilder();
+
+        /**
+         * Takes over the recording as soon as it cannot be expressed as a slice of the content anymore
+         */
+        private StringBuilder detachedRecording;
+
+
+        CharSequenceInput(CharSequence content) {
+            this.content = Objects.requireNonNull(content);
+        }
+
+        @Override
+        int read() {
+            int character;
+            int pushedBackCount = pushedBack.length();
+            if (pushedBackCount > 0) {
+                character = pushedBack.charAt(pushedBackCount - 1);
+                pushedBack.setLength(pushedBackCount - 1);
+            } else if (position < content.length()) {
+                character = content.charAt(position);
+                position++;
+            } else {
+                character = -1;
+            }
+
+            if ((detachedRecording != null) && !isEOFCharacter(character)) {
+                detachedRecording.append((char) character);
+            }
+            return character;
+        }
+
+        @Override
+        void unread(int character) {
+            if (detachedRecording == null) {
+                if ((pushedBack.length() == 0) && (position > recordingStart)
+                        && (content.charAt(position - 1) == character)) {
+                    // common case: simply step back
+                    position--;
+                    return;
+                }
+                if (isEOFCharacter(character)) {
+                    // EOF characters are never recorded, so the recording stays a slice of the content
+                    pushedBack.append((char) character);
+                    return;
+                }
+                detachedRecording = new StringBuilder(content.subSequence(recordingStart, position));
+            }
+
+            pushedBack.append((char) character);
+            int last = detachedRecording.length() - 1;
+            if ((last >= 0) && (detachedRecording.charAt(last) == character)) {
+                detachedRecording.setLength(last);
+            }
+        }
+
+        @Override
+        String dumpRecordedText() {
+            String result;
+            if (detachedRecording == null) {
+                result = content.subSequence(recordingStart, position).toString();
+            } else {
+                result = detachedRecording.toString();
+                if (pushedBack.length() == 0) {
+                    detachedRecording = null;
+                } else {
+                    detachedRecording.setLength(0);
+                }
+            }
+            recordingStart = position;
+            return result;
+        }
+    }
+}
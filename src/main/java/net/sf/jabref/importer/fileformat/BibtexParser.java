@@ -16,18 +16,17 @@
 package net.sf.jabref.importer.fileformat;
 
 import java.io.IOException;
-import java.io.PushbackReader;
 import java.io.Reader;
-import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 import net.sf.jabref.Globals;
 import net.sf.jabref.MetaData;
@@ -64,12 +63,22 @@ import org.apache.commons.logging.LogFactory;
  * <p>
  * ParserResult result = BibtexParser.parse(reader);
  * <p>
+ * If the complete content is already available in memory, use
+ * <p>
+ * ParserResult result = BibtexParser.parse(content);
+ * <p>
+ * which reads directly from the given char sequence and keeps the original serialization as offsets into it.
+ * <p>
+ * Large files can be parsed on several cores using
+ * <p>
+ * ParserResult result = BibtexParser.parseInParallel(reader);
+ * <p>
  * Can be used stand-alone.
  */
 public class BibtexParser {
     private static final Log LOGGER = LogFactory.getLog(BibtexParser.class);
 
-    private final PushbackReader pushbackReader;
+    private final BibtexInput input;
     private BibDatabase database;
     private Map<String, EntryType> entryTypes;
     private boolean eof;
@@ -77,14 +86,41 @@ public class BibtexParser {
     private final FieldContentParser fieldContentParser = new FieldContentParser(
             FieldContentParserPreferences.fromPreferences(Globals.prefs));
     private ParserResult parserResult;
+    private final Map<String, String> meta = new HashMap<>();
     private static final Integer LOOKAHEAD = 64;
-    private final Deque<Character> pureTextFromFile = new LinkedList<>();
+
+    /**
+     * Results of a chunk parsed for a {@link ParallelBibtexParser} in file order. They are applied to the parser merging
+     * all chunks. Null if the results are applied directly.
+     */
+    private final List<Consumer<BibtexParser>> deferredResults;
+    /**
+     * Text read after the last item of the preceding chunks. It belongs to the text read before the next item.
+     */
+    private final StringBuilder pendingText = new StringBuilder();
+    private boolean endOfInputReached;
+    private boolean endOfInputReachedInItem;
 
 
     public BibtexParser(Reader in) {
         Objects.requireNonNull(in);
 
-        pushbackReader = new PushbackReader(in, BibtexParser.LOOKAHEAD);
+        input = BibtexInput.of(in, BibtexParser.LOOKAHEAD);
+        deferredResults = null;
+    }
+
+    private BibtexParser(BibtexInput input) {
+        this.input = input;
+        deferredResults = null;
+    }
+
+    /**
+     * Creates a parser for one chunk of a larger input. The chunk has to start at the beginning of the given line.
+     */
+    BibtexParser(CharSequence chunk, int firstLine) {
+        input = BibtexInput.of(chunk);
+        line = firstLine;
+        deferredResults = new ArrayList<>();
     }
 
     /**
@@ -99,6 +135,45 @@ public class BibtexParser {
     }
 
 
+    /**
+     * Shortcut usage to create a Parser and read the given content.
+     * <p>
+     * In contrast to {@link #parse(Reader)}, the content is not copied character by character. The original
+     * serialization of the entries is taken as slices of the content.
+     *
+     * @param content the complete content to parse, e.g., a String or a CharBuffer
+     * @throws IOException
+     */
+    public static ParserResult parse(CharSequence content) throws IOException {
+        BibtexParser parser = new BibtexParser(BibtexInput.of(content));
+        return parser.parse();
+    }
+
+    /**
+     * Shortcut usage to read the input and parse it on the common {@link ForkJoinPool}.
+     * <p>
+     * The input is split into chunks at the beginning of top-level entries, which are parsed in parallel. The result is
+     * the same as the one of {@link #parse(Reader)}.
+     *
+     * @param in the Reader to read from
+     * @throws IOException
+     */
+    public static ParserResult parseInParallel(Reader in) throws IOException {
+        return parseInParallel(in, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Shortcut usage to read the input and parse it on the given pool.
+     *
+     * @param in the Reader to read from
+     * @param pool the pool parsing the chunks
+     * @throws IOException
+     * @see #parseInParallel(Reader)
+     */
+    public static ParserResult parseInParallel(Reader in, ForkJoinPool pool) throws IOException {
+        return new ParallelBibtexParser(pool).parse(in);
+    }
+
     /**
      * Parses BibtexEntries from the given string and returns the collection of all entries found.
      *
@@ -106,11 +181,10 @@ public class BibtexParser {
      * @return Returns returns an empty collection if no entries where found or if an error occurred.
      */
     public static List<BibEntry> fromString(String bibtexString) {
-        StringReader reader = new StringReader(bibtexString);
-        BibtexParser parser = new BibtexParser(reader);
+        Objects.requireNonNull(bibtexString);
 
         try {
-            return parser.parse().getDatabase().getEntries();
+            return BibtexParser.parse(bibtexString).getDatabase().getEntries();
         } catch (Exception e) {
             LOGGER.warn("BibtexParser.fromString(String): " + e.getMessage(), e);
             return Collections.emptyList();
@@ -155,12 +229,66 @@ public class BibtexParser {
         skipWhitespace();
 
         try {
-            return parseFileContent();
+            parseFileContent();
+            return finishParserResult();
         } catch (KeyCollisionException kce) {
             throw new IOException("Duplicate ID in bibtex file: " + kce);
         }
     }
 
+    /**
+     * Parses the chunk given in the constructor. The results are not applied to a database but returned in file order.
+     *
+     * @return the results, which are applied to the parser given to them
+     * @throws IOException
+     * @see #merge(List)
+     */
+    List<Consumer<BibtexParser>> parseChunk() throws IOException {
+        initializeParserResult();
+        skipWhitespace();
+        parseFileContent();
+        return deferredResults;
+    }
+
+    /**
+     * Returns whether parsing a top-level item of the chunk read up to the end of the input. In this case, the item
+     * might have been parsed differently if the following content had been available.
+     */
+    boolean isEndOfInputReachedInItem() {
+        return endOfInputReachedInItem;
+    }
+
+    /**
+     * Applies the results of all chunks in the given order and returns the combined result.
+     */
+    static ParserResult merge(List<List<Consumer<BibtexParser>>> chunkResults) throws IOException {
+        BibtexParser parser = new BibtexParser(BibtexInput.of(""));
+        parser.initializeParserResult();
+        try {
+            for (List<Consumer<BibtexParser>> results : chunkResults) {
+                results.forEach(result -> result.accept(parser));
+            }
+            return parser.finishParserResult();
+        } catch (KeyCollisionException kce) {
+            throw new IOException("Duplicate ID in bibtex file: " + kce);
+        }
+    }
+
+    /**
+     * Applies the given result to this parser or defers it if a chunk is parsed.
+     */
+    private void apply(Consumer<BibtexParser> result) {
+        if (deferredResults == null) {
+            result.accept(this);
+        } else {
+            deferredResults.add(result);
+        }
+    }
+
+    private void addWarning(String warning) {
+        apply(parser -> parser.parserResult.addWarning(warning));
+    }
+
 
     private void initializeParserResult() {
         database = new BibDatabase();
@@ -168,14 +296,13 @@ public class BibtexParser {
         parserResult = new ParserResult(database, null, entryTypes);
     }
 
-    private ParserResult parseFileContent() throws IOException {
-        Map<String, String> meta = new HashMap<>();
-
+    private void parseFileContent() throws IOException {
         while (!eof) {
             boolean found = consumeUncritically('@');
             if (!found) {
                 break;
             }
+            endOfInputReached = false;
 
             skipWhitespace();
 
@@ -183,23 +310,34 @@ public class BibtexParser {
             String entryType = parseTextToken().toLowerCase().trim();
 
             if ("preamble".equals(entryType)) {
-                database.setPreamble(parsePreamble());
+                String preamble = parsePreamble();
                 // Consume new line which signals end of preamble
                 skipOneNewline();
                 // the preamble is saved verbatim anyways, so the text read so far can be dropped
-                dumpTextReadSoFarToString();
+                String textReadSoFar = getPureTextFromFile();
+                apply(parser -> {
+                    parser.database.setPreamble(preamble);
+                    parser.dumpTextReadSoFarToString(textReadSoFar);
+                });
             } else if ("string".equals(entryType)) {
                 parseBibtexString();
             } else if ("comment".equals(entryType)) {
-                parseJabRefComment(meta);
+                parseJabRefComment();
             } else {
                 // Not a comment, preamble, or string. Thus, it is an entry
                 parseAndAddEntry(entryType);
             }
 
+            endOfInputReachedInItem |= endOfInputReached;
             skipWhitespace();
         }
 
+        // the remaining text belongs to the next item of a following chunk or is the epilog
+        String remainingText = getPureTextFromFile();
+        apply(parser -> parser.pendingText.append(remainingText));
+    }
+
+    private ParserResult finishParserResult() {
         // Instantiate meta data:
         try {
             parserResult.setMetaData(MetaData.parse(meta));
@@ -213,7 +351,7 @@ public class BibtexParser {
     }
 
     private void parseRemainingContent() {
-        database.setEpilog(dumpTextReadSoFarToString().trim());
+        database.setEpilog(dumpTextReadSoFarToString(getPureTextFromFile()).trim());
     }
 
     private void parseAndAddEntry(String type) {
@@ -225,24 +363,28 @@ public class BibtexParser {
          */
         try {
             BibEntry entry = parseEntry(type);
-
-            boolean duplicateKey = database.insertEntry(entry);
-            entry.setParsedSerialization(dumpTextReadSoFarToString());
-            if (duplicateKey) {
-                parserResult.addDuplicateKey(entry.getCiteKey());
-            } else if ((entry.getCiteKey() == null) || entry.getCiteKey().isEmpty()) {
-                parserResult.addWarning(Localization.lang("Empty BibTeX key") + ": " + entry.getAuthorTitleYear(40)
-                        + " (" + Localization.lang("Grouping may not work for this entry.") + ")");
-            }
+            String textReadSoFar = getPureTextFromFile();
+            apply(parser -> parser.addEntry(entry, textReadSoFar));
         } catch (IOException ex) {
             LOGGER.warn("Could not parse entry", ex);
-            parserResult.addWarning(Localization.lang("Error occurred when parsing entry") + ": '"
+            addWarning(Localization.lang("Error occurred when parsing entry") + ": '"
                     + ex.getMessage() + "'. " + Localization.lang("Skipped entry."));
 
         }
     }
 
-    private void parseJabRefComment(Map<String, String> meta) throws IOException {
+    private void addEntry(BibEntry entry, String textReadSoFar) {
+        boolean duplicateKey = database.insertEntry(entry);
+        entry.setParsedSerialization(dumpTextReadSoFarToString(textReadSoFar));
+        if (duplicateKey) {
+            parserResult.addDuplicateKey(entry.getCiteKey());
+        } else if ((entry.getCiteKey() == null) || entry.getCiteKey().isEmpty()) {
+            parserResult.addWarning(Localization.lang("Empty BibTeX key") + ": " + entry.getAuthorTitleYear(40)
+                    + " (" + Localization.lang("Grouping may not work for this entry.") + ")");
+        }
+    }
+
+    private void parseJabRefComment() throws IOException {
         StringBuilder buffer = null;
         try {
             buffer = parseBracketedTextExactly();
@@ -273,10 +415,15 @@ public class BibtexParser {
                     // will have been inserted
                     // to prevent too long lines when the file was
                     // saved, and are not part of the data.
-                    meta.put(rest.substring(0, pos), rest.substring(pos + 1));
+                    String key = rest.substring(0, pos);
+                    String value = rest.substring(pos + 1);
 
                     // meta comments are always re-written by JabRef and not stored in the file
-                    dumpTextReadSoFarToString();
+                    String textReadSoFar = getPureTextFromFile();
+                    apply(parser -> {
+                        parser.meta.put(key, value);
+                        parser.dumpTextReadSoFarToString(textReadSoFar);
+                    });
                 }
             }
         } else if (comment.substring(0, Math.min(comment.length(), CustomEntryType.ENTRYTYPE_FLAG.length()))
@@ -285,14 +432,15 @@ public class BibtexParser {
             // "@comment"
             Optional<CustomEntryType> typ = CustomEntryType.parse(comment);
             if (typ.isPresent()) {
-                entryTypes.put(typ.get().getName(), typ.get());
+                apply(parser -> parser.entryTypes.put(typ.get().getName(), typ.get()));
             } else {
-                parserResult.addWarning(Localization.lang("Ill-formed entrytype comment in BIB file") + ": " +
+                addWarning(Localization.lang("Ill-formed entrytype comment in BIB file") + ": " +
                         comment);
             }
 
             // custom entry types are always re-written by JabRef and not stored in the file
-            dumpTextReadSoFarToString();
+            String textReadSoFar = getPureTextFromFile();
+            apply(parser -> parser.dumpTextReadSoFarToString(textReadSoFar));
         }
 
     }
@@ -300,7 +448,12 @@ public class BibtexParser {
 
     private void parseBibtexString() throws IOException {
         BibtexString bibtexString = parseString();
-        bibtexString.setParsedSerialization(dumpTextReadSoFarToString());
+        String textReadSoFar = getPureTextFromFile();
+        apply(parser -> parser.addString(bibtexString, textReadSoFar));
+    }
+
+    private void addString(BibtexString bibtexString, String textReadSoFar) {
+        bibtexString.setParsedSerialization(dumpTextReadSoFarToString(textReadSoFar));
         try {
             database.addString(bibtexString);
         } catch (KeyCollisionException ex) {
@@ -313,10 +466,16 @@ public class BibtexParser {
      * Puts all text that has been read from the reader, including newlines, etc., since the last call of this method into a string.
      * Removes the JabRef file header, if it is found
      *
+     * @param textReadSoFar the text read since the last call of {@link #getPureTextFromFile()}, which is preceded by
+     *                      the pending text of preceding chunks
      * @return the text read so far
      */
-    private String dumpTextReadSoFarToString() {
-        String result = getPureTextFromFile();
+    private String dumpTextReadSoFarToString(String textReadSoFar) {
+        String result = textReadSoFar;
+        if (pendingText.length() > 0) {
+            result = pendingText.append(textReadSoFar).toString();
+            pendingText.setLength(0);
+        }
         int indexOfAt = result.indexOf("@");
 
         // if there is no entry found, simply return the content (necessary to parse text remaining after the last entry)
@@ -343,12 +502,7 @@ public class BibtexParser {
     }
 
     private String getPureTextFromFile() {
-        StringBuilder entry = new StringBuilder();
-        while (!pureTextFromFile.isEmpty()) {
-            entry.append(pureTextFromFile.pollFirst());
-        }
-
-        return entry.toString();
+        return input.dumpRecordedText();
     }
 
     /**
@@ -415,7 +569,7 @@ public class BibtexParser {
     }
 
     private boolean isEOFCharacter(int character) {
-        return (character == -1) || (character == 65535);
+        return BibtexInput.isEOFCharacter(character);
     }
 
     private String skipAndRecordWhitespace(int character) throws IOException {
@@ -451,13 +605,12 @@ public class BibtexParser {
     }
 
     private int read() throws IOException {
-        int character = pushbackReader.read();
+        int character = input.read();
 
-        if (!isEOFCharacter(character)) {
-            pureTextFromFile.offerLast((char) character);
-        }
         if (character == '\n') {
             line++;
+        } else if (isEOFCharacter(character)) {
+            endOfInputReached = true;
         }
         return character;
     }
@@ -466,10 +619,7 @@ public class BibtexParser {
         if (character == '\n') {
             line--;
         }
-        pushbackReader.unread(character);
-        if (pureTextFromFile.getLast() == character) {
-            pureTextFromFile.pollLast();
-        }
+        input.unread(character);
     }
 
     private BibtexString parseString() throws IOException {
@@ -688,7 +838,7 @@ public class BibtexParser {
                         }
 
                         // Finished, now reverse newKey and remove whitespaces:
-                        parserResult.addWarning(Localization.lang("Line %0: Found corrupted BibTeX key.",
+                        addWarning(Localization.lang("Line %0: Found corrupted BibTeX key.",
                                 String.valueOf(line)));
                         key = newKey.reverse();
                     }
@@ -696,12 +846,12 @@ public class BibtexParser {
                 break;
 
             case ',':
-                parserResult.addWarning(Localization.lang("Line %0: Found corrupted BibTeX key (contains whitespaces).",
+                addWarning(Localization.lang("Line %0: Found corrupted BibTeX key (contains whitespaces).",
                         String.valueOf(line)));
                 break;
 
             case '\n':
-                parserResult.addWarning(Localization.lang("Line %0: Found corrupted BibTeX key (comma missing).",
+                addWarning(Localization.lang("Line %0: Found corrupted BibTeX key (comma missing).",
                         String.valueOf(line)));
                 break;
 
@@ -20,6 +20,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -59,6 +60,20 @@ public abstract class ImportFormat implements Comparable<ImportFormat> {
         }
     }
 
+    /**
+     * Check whether the file is in the correct format for this importer, given the beginning of the file which has
+     * already been read. The beginning is shared by all importers when the format of a file is unknown.
+     *
+     * Importers which cannot decide on the text, e.g., for binary formats, check the file itself.
+     *
+     * @param beginning the first lines of the file, read with the given encoding
+     */
+    public boolean isRecognizedFormat(Path filePath, Charset encoding, String beginning) throws IOException {
+        try (BufferedReader bufferedReader = new BufferedReader(new StringReader(beginning))) {
+            return isRecognizedFormat(bufferedReader);
+        }
+    }
+
     /**
      * Parse the database in the source.
      *
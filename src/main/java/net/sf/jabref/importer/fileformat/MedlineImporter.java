@@ -24,10 +24,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.JAXBIntrospector;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
@@ -70,9 +73,7 @@ import net.sf.jabref.importer.fileformat.medline.PubDate;
 import net.sf.jabref.importer.fileformat.medline.PublicationType;
 import net.sf.jabref.importer.fileformat.medline.Publisher;
 import net.sf.jabref.importer.fileformat.medline.PubmedArticle;
-import net.sf.jabref.importer.fileformat.medline.PubmedArticleSet;
 import net.sf.jabref.importer.fileformat.medline.PubmedBookArticle;
-import net.sf.jabref.importer.fileformat.medline.PubmedBookArticleSet;
 import net.sf.jabref.importer.fileformat.medline.PubmedBookData;
 import net.sf.jabref.importer.fileformat.medline.QualifierName;
 import net.sf.jabref.importer.fileformat.medline.Section;
@@ -100,6 +101,17 @@ public class MedlineImporter extends ImportFormat {
 
     private static final Locale ENGLISH = Locale.ENGLISH;
 
+    private static final String PUBMED_ARTICLE_SET = "PubmedArticleSet";
+    private static final String PUBMED_BOOK_ARTICLE_SET = "PubmedBookArticleSet";
+    private static final String PUBMED_ARTICLE = "PubmedArticle";
+    private static final String PUBMED_BOOK_ARTICLE = "PubmedBookArticle";
+
+    // Number of articles converted in parallel, limits the memory needed for large documents
+    private static final int PARALLEL_BATCH_SIZE = 100;
+
+    // created once, as this takes long and the context can be used by several threads at once
+    private static JAXBContext context;
+
 
     @Override
     public String getFormatName() {
@@ -144,51 +156,87 @@ public class MedlineImporter extends ImportFormat {
         List<BibEntry> bibItems = new ArrayList<>();
 
         try {
-            JAXBContext context = JAXBContext.newInstance("net.sf.jabref.importer.fileformat.medline");
-            XMLInputFactory xmlInputFactory = XMLInputFactory.newFactory();
-            XMLStreamReader xmlStreamReader = xmlInputFactory.createXMLStreamReader(reader);
+            importEntries(reader, bibItems::add);
+        } catch (JAXBException | XMLStreamException e) {
+            LOGGER.debug("could not parse document", e);
+            return ParserResult.fromErrorMessage(e.getLocalizedMessage());
+        }
+        return new ParserResult(bibItems);
+    }
 
-            //go to the root element
-            while (!xmlStreamReader.isStartElement()) {
-                xmlStreamReader.next();
-            }
+    /**
+     * Imports the entries of the given document one after the other. Articles of article sets are unmarshalled
+     * separately, so that only a few of them are kept in memory at once, regardless of the size of the document. The
+     * articles are converted to entries in parallel and passed to the consumer in the order of the document.
+     */
+    public void importEntries(BufferedReader reader, Consumer<BibEntry> entryConsumer)
+            throws JAXBException, XMLStreamException {
+        Objects.requireNonNull(reader);
+        Objects.requireNonNull(entryConsumer);
 
-            Unmarshaller unmarshaller = context.createUnmarshaller();
-            Object unmarshalledObject = unmarshaller.unmarshal(xmlStreamReader);
+        XMLInputFactory xmlInputFactory = XMLInputFactory.newFactory();
+        XMLStreamReader xmlStreamReader = xmlInputFactory.createXMLStreamReader(reader);
 
-            //check whether we have an article set, an article, a book article or a book article set
-            if (unmarshalledObject instanceof PubmedArticleSet) {
-                PubmedArticleSet articleSet = (PubmedArticleSet) unmarshalledObject;
-                for (Object article : articleSet.getPubmedArticleOrPubmedBookArticle()) {
-                    if (article instanceof PubmedArticle) {
-                        PubmedArticle currentArticle = (PubmedArticle) article;
-                        parseArticle(currentArticle, bibItems);
-                    }
-                    if (article instanceof PubmedBookArticle) {
-                        PubmedBookArticle currentArticle = (PubmedBookArticle) article;
-                        parseBookArticle(currentArticle, bibItems);
-                    }
+        //go to the root element
+        while (!xmlStreamReader.isStartElement()) {
+            xmlStreamReader.next();
+        }
+
+        Unmarshaller unmarshaller = getContext().createUnmarshaller();
+
+        //check whether we have an article set, an article, a book article or a book article set
+        String rootElement = xmlStreamReader.getLocalName();
+        if (!PUBMED_ARTICLE_SET.equals(rootElement) && !PUBMED_BOOK_ARTICLE_SET.equals(rootElement)) {
+            Object article = JAXBIntrospector.getValue(unmarshaller.unmarshal(xmlStreamReader));
+            if ((article instanceof PubmedArticle) || (article instanceof PubmedBookArticle)) {
+                entryConsumer.accept(parseArticleOrBookArticle(article));
+            }
+            return;
+        }
+
+        List<Object> articles = new ArrayList<>(PARALLEL_BATCH_SIZE);
+        xmlStreamReader.next();
+        while (xmlStreamReader.hasNext()) {
+            if (xmlStreamReader.isStartElement() && (PUBMED_ARTICLE.equals(xmlStreamReader.getLocalName())
+                    || PUBMED_BOOK_ARTICLE.equals(xmlStreamReader.getLocalName()))) {
+                // moves the reader behind the end of the article
+                articles.add(JAXBIntrospector.getValue(unmarshaller.unmarshal(xmlStreamReader)));
+                if (articles.size() == PARALLEL_BATCH_SIZE) {
+                    parseArticles(articles, entryConsumer);
                 }
-            } else if (unmarshalledObject instanceof PubmedArticle) {
-                PubmedArticle article = (PubmedArticle) unmarshalledObject;
-                parseArticle(article, bibItems);
-            } else if (unmarshalledObject instanceof PubmedBookArticle) {
-                PubmedBookArticle currentArticle = (PubmedBookArticle) unmarshalledObject;
-                parseBookArticle(currentArticle, bibItems);
             } else {
-                PubmedBookArticleSet bookArticleSet = (PubmedBookArticleSet) unmarshalledObject;
-                for (PubmedBookArticle bookArticle : bookArticleSet.getPubmedBookArticle()) {
-                    parseBookArticle(bookArticle, bibItems);
-                }
+                // other elements of the set, e.g., DeleteCitation, are ignored
+                xmlStreamReader.next();
             }
-        } catch (JAXBException | XMLStreamException e) {
-            LOGGER.debug("could not parse document", e);
-            return ParserResult.fromErrorMessage(e.getLocalizedMessage());
         }
-        return new ParserResult(bibItems);
+        parseArticles(articles, entryConsumer);
+    }
+
+    private static synchronized JAXBContext getContext() throws JAXBException {
+        if (context == null) {
+            context = JAXBContext.newInstance("net.sf.jabref.importer.fileformat.medline");
+        }
+        return context;
+    }
+
+    /**
+     * Converts the given articles in parallel, passes the entries to the consumer and clears the list of articles.
+     */
+    private void parseArticles(List<Object> articles, Consumer<BibEntry> entryConsumer) {
+        List<BibEntry> entries = articles.parallelStream().map(this::parseArticleOrBookArticle)
+                .collect(Collectors.toList());
+        entries.forEach(entryConsumer);
+        articles.clear();
     }
 
-    private void parseBookArticle(PubmedBookArticle currentArticle, List<BibEntry> bibItems) {
+    private BibEntry parseArticleOrBookArticle(Object article) {
+        if (article instanceof PubmedArticle) {
+            return parseArticle((PubmedArticle) article);
+        }
+        return parseBookArticle((PubmedBookArticle) article);
+    }
+
+    private BibEntry parseBookArticle(PubmedBookArticle currentArticle) {
         HashMap<String, String> fields = new HashMap<>();
         if (currentArticle.getBookDocument() != null) {
             BookDocument bookDocument = currentArticle.getBookDocument();
@@ -254,8 +302,7 @@ public class MedlineImporter extends ImportFormat {
 
         BibEntry entry = new BibEntry(IdGenerator.next(), "article");
         entry.setField(fields);
-
-        bibItems.add(entry);
+        return entry;
     }
 
     private void addBookInformation(HashMap<String, String> fields, Book book) {
@@ -324,7 +371,7 @@ public class MedlineImporter extends ImportFormat {
         return String.format("%s-%s-%s", year, month, day);
     }
 
-    private void parseArticle(PubmedArticle article, List<BibEntry> bibItems) {
+    private BibEntry parseArticle(PubmedArticle article) {
         HashMap<String, String> fields = new HashMap<>();
 
         if (article.getPubmedData() != null) {
@@ -396,8 +443,7 @@ public class MedlineImporter extends ImportFormat {
 
         BibEntry entry = new BibEntry(IdGenerator.next(), "article");
         entry.setField(fields);
-
-        bibItems.add(entry);
+        return entry;
     }
 
     private void addNotes(HashMap<String, String> fields, List<GeneralNote> generalNote) {
@@ -17,6 +17,8 @@ package net.sf.jabref.importer.fileformat;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -59,6 +61,14 @@ public class MsBibImporter extends ImportFormat {
         return (docin == null) || docin.getDocumentElement().getTagName().contains("Sources");
     }
 
+    /**
+     * The file itself is checked, as the whole document has to be parsed and the beginning is not well-formed XML.
+     */
+    @Override
+    public boolean isRecognizedFormat(Path filePath, Charset encoding, String beginning) throws IOException {
+        return isRecognizedFormat(filePath, encoding);
+    }
+
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
         Objects.requireNonNull(reader);
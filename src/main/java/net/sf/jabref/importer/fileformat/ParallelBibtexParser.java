@@ -0,0 +1,156 @@
+package net.sf.jabref.importer.fileformat;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+import net.sf.jabref.importer.ParserResult;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Parses BibTeX content on several threads.
+ * <p>
+ * The content is split into chunks at lines starting with an '@' outside of braces. Each chunk is parsed by its own
+ * {@link BibtexParser}, which records its results in file order. The results of all chunks are finally applied one
+ * after another, so warnings, duplicate keys, strings and the serialization of all entries are the same as if the
+ * content had been parsed at once.
+ * <p>
+ * If a chunk cannot be parsed on its own, e.g., because an entry reaches into the next chunk, the whole content is
+ * parsed sequentially.
+ */
+class ParallelBibtexParser {
+
+    private static final Log LOGGER = LogFactory.getLog(ParallelBibtexParser.class);
+
+    /**
+     * Contents smaller than twice this size are parsed sequentially
+     */
+    private static final int MINIMAL_CHUNK_SIZE = 256 * 1024;
+
+    /**
+     * Number of chunks per thread of the pool, allowing to balance chunks which take longer than others
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final int minimalChunkSize;
+
+
+    ParallelBibtexParser(ForkJoinPool pool) {
+        this(pool, MINIMAL_CHUNK_SIZE);
+    }
+
+    ParallelBibtexParser(ForkJoinPool pool, int minimalChunkSize) {
+        this.pool = Objects.requireNonNull(pool);
+        this.minimalChunkSize = minimalChunkSize;
+    }
+
+    public ParserResult parse(Reader reader) throws IOException {
+        String content = readFully(reader);
+
+        // the parser stops at the first EOF character, which would not be the case for the following chunks
+        if (content.indexOf(65535) >= 0) {
+            return BibtexParser.parse(content);
+        }
+
+        int chunkSize = Math.max(minimalChunkSize, content.length() / (pool.getParallelism() * CHUNKS_PER_THREAD));
+        List<Integer> boundaries = findChunkBoundaries(content, chunkSize);
+        if (boundaries.size() <= 2) {
+            return BibtexParser.parse(content);
+        }
+
+        List<BibtexParser> chunkParsers = new ArrayList<>(boundaries.size() - 1);
+        List<ForkJoinTask<List<Consumer<BibtexParser>>>> tasks = new ArrayList<>(boundaries.size() - 1);
+        int line = 1;
+        for (int i = 0; i < (boundaries.size() - 1); i++) {
+            int start = boundaries.get(i);
+            int end = boundaries.get(i + 1);
+            BibtexParser chunkParser = new BibtexParser(content.subSequence(start, end), line);
+            chunkParsers.add(chunkParser);
+            tasks.add(pool.submit(chunkParser::parseChunk));
+            line += countLines(content, start, end);
+        }
+
+        List<List<Consumer<BibtexParser>>> chunkResults = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            try {
+                List<Consumer<BibtexParser>> results = tasks.get(i).get();
+                boolean lastChunk = i == (tasks.size() - 1);
+                if (!lastChunk && chunkParsers.get(i).isEndOfInputReachedInItem()) {
+                    LOGGER.debug("Chunk " + i + " ends inside of an item, parsing sequentially");
+                    tasks.forEach(task -> task.cancel(false));
+                    return BibtexParser.parse(content);
+                }
+                chunkResults.add(results);
+            } catch (ExecutionException e) {
+                // a chunk might fail because it is cut off, the sequential parser reports the actual problem
+                LOGGER.debug("Could not parse chunk " + i + ", parsing sequentially", e.getCause());
+                tasks.forEach(task -> task.cancel(false));
+                return BibtexParser.parse(content);
+            } catch (InterruptedException e) {
+                tasks.forEach(task -> task.cancel(false));
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while parsing");
+            }
+        }
+
+        return BibtexParser.merge(chunkResults);
+    }
+
+    /**
+     * Returns the start offsets of the chunks followed by the length of the content. A chunk starts at a line beginning
+     * with an '@' after at least {@code chunkSize} characters of the preceding chunk, if all braces before it are
+     * closed.
+     */
+    static List<Integer> findChunkBoundaries(CharSequence content, int chunkSize) {
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(0);
+        int braceLevel = 0;
+        int lastBoundary = 0;
+        int length = content.length();
+        for (int i = 0; i < length; i++) {
+            char character = content.charAt(i);
+            if (character == '{') {
+                braceLevel++;
+            } else if (character == '}') {
+                // unbalanced braces in text between entries are ignored by the parser
+                braceLevel = Math.max(0, braceLevel - 1);
+            } else if ((character == '\n') && (braceLevel == 0) && ((i + 1) < length) && (content.charAt(i + 1) == '@')
+                    && ((i + 1 - lastBoundary) >= chunkSize)) {
+                lastBoundary = i + 1;
+                boundaries.add(lastBoundary);
+            }
+        }
+        boundaries.add(length);
+        return boundaries;
+    }
+
+    private static int countLines(CharSequence content, int start, int end) {
+        int lines = 0;
+        for (int i = start; i < end; i++) {
+            if (content.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private static String readFully(Reader reader) throws IOException {
+        StringBuilder content = new StringBuilder();
+        char[] buffer = new char[8192];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            content.append(buffer, 0, read);
+        }
+        return content.toString();
+    }
+}
@@ -79,6 +79,14 @@ public class PdfXmpImporter extends ImportFormat {
         return XMPUtil.hasMetadata(filePath, Globals.prefs);
     }
 
+    /**
+     * The beginning of the file is ignored, as the metadata is read from the pdf.
+     */
+    @Override
+    public boolean isRecognizedFormat(Path filePath, Charset defaultEncoding, String beginning) throws IOException {
+        return isRecognizedFormat(filePath, defaultEncoding);
+    }
+
     @Override
     public String getId() {
         return "xmp";
@@ -14,16 +14,16 @@
 package net.sf.jabref.logic.autocompleter;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
+
+import net.sf.jabref.model.entry.BibEntry;
 
 /**
  * Delivers possible completions for a given string.
+ * <p>
+ * Counts how often each word occurs in the added entries, so that entries can be removed and changed again. The most
+ * frequent and recently selected words are completed first.
  *
  * @author kahlert, cordes, olly98
  * @see AutoCompleterFactory
@@ -31,22 +31,10 @@ import java.util.TreeSet;
 public abstract class AbstractAutoCompleter implements AutoCompleter<String> {
 
     private static final int SHORTEST_WORD_TO_ADD = 4;
+    private static final int MAXIMUM_NUMBER_OF_COMPLETIONS = 50;
     private final AutoCompletePreferences preferences;
 
-    /**
-     * Stores the strings as is.
-     */
-    private final TreeSet<String> indexCaseSensitive = new TreeSet<>();
-
-    /**
-     * Stores strings in lowercase.
-     */
-    private final TreeSet<String> indexCaseInsensitive = new TreeSet<>();
-
-    /**
-     * Stores for a lowercase string the possible expanded strings.
-     */
-    private final Map<String, Set<String>> possibleStringsForSearchString = new HashMap<>();
+    private final CompletionIndex index = new CompletionIndex();
 
 
     public AbstractAutoCompleter(AutoCompletePreferences preferences) {
@@ -66,48 +54,58 @@ public abstract class AbstractAutoCompleter implements AutoCompleter<String> {
         if (isTooShortToComplete(toComplete)) {
             return new ArrayList<>();
         }
-        String lowerCase = toComplete.toLowerCase();
-
-        if (lowerCase.equals(toComplete)) {
-            // user typed in lower case word -> we do an case-insensitive search
-            String ender = AbstractAutoCompleter.incrementLastCharacter(lowerCase);
-            SortedSet<String> subset = indexCaseInsensitive.subSet(lowerCase, ender);
-
-            // As subset only contains lower case strings,
-            // we have to to determine possible strings for each hit
-            List<String> result = new ArrayList<>();
-            for (String s : subset) {
-                result.addAll(possibleStringsForSearchString.get(s));
-            }
-            return result;
-        } else {
-            // user typed in a mix of upper case and lower case,
-            // we assume user wants to have exact search
-            String ender = AbstractAutoCompleter.incrementLastCharacter(toComplete);
-            SortedSet<String> subset = indexCaseSensitive.subSet(toComplete, ender);
-            return new ArrayList<>(subset);
-        }
+
+        // user typed in a mix of upper case and lower case,
+        // we assume user wants to have exact search
+        boolean caseSensitive = !toComplete.toLowerCase().equals(toComplete);
+        return index.complete(toComplete, caseSensitive, getMaximumNumberOfCompletions());
     }
 
     /**
-     * Increments the last character of a string.
-     *
-     * Example: incrementLastCharacter("abc") returns "abd".
+     * Returns whether the string is to short to be completed. The empty string is never completed.
      */
-    private static String incrementLastCharacter(String toIncrement) {
-        if (toIncrement.isEmpty()) {
-            return "";
-        }
-
-        char lastChar = toIncrement.charAt(toIncrement.length() - 1);
-        return toIncrement.substring(0, toIncrement.length() - 1) + Character.toString((char) (lastChar + 1));
+    private boolean isTooShortToComplete(String toCheck) {
+        return toCheck.isEmpty() || (toCheck.length() < preferences.getShortestLengthToComplete());
     }
 
     /**
-     * Returns whether the string is to short to be completed.
+     * {@inheritDoc}
+     * Adds the items of all fields returned by {@link #getFieldNames()}.
      */
-    private boolean isTooShortToComplete(String toCheck) {
-        return toCheck.length() < preferences.getShortestLengthToComplete();
+    @Override
+    public void addBibtexEntry(BibEntry entry) {
+        if (entry == null) {
+            return;
+        }
+
+        for (String fieldName : getFieldNames()) {
+            entry.getFieldOptional(fieldName).ifPresent(value -> getItems(value).forEach(this::addItemToIndex));
+        }
+    }
+
+    @Override
+    public void removeBibtexEntry(BibEntry entry) {
+        if (entry == null) {
+            return;
+        }
+
+        for (String fieldName : getFieldNames()) {
+            entry.getFieldOptional(fieldName).ifPresent(value -> getItems(value).forEach(this::removeItemFromIndex));
+        }
+    }
+
+    @Override
+    public void updateField(String fieldName, String oldValue, String newValue) {
+        if (!getFieldNames().contains(fieldName)) {
+            return;
+        }
+
+        if (oldValue != null) {
+            getItems(oldValue).forEach(this::removeItemFromIndex);
+        }
+        if (newValue != null) {
+            getItems(newValue).forEach(this::addItemToIndex);
+        }
     }
 
     @Override
@@ -116,32 +114,50 @@ public abstract class AbstractAutoCompleter implements AutoCompleter<String> {
             return;
         }
 
-        indexCaseSensitive.add(word);
+        index.add(word);
+    }
 
-        // insensitive treatment
-        // first, add the lower cased word to search index
-        // second, add a mapping from the lower cased word to the real word
-        String lowerCase = word.toLowerCase();
-        indexCaseInsensitive.add(lowerCase);
-        Set<String> set = possibleStringsForSearchString.get(lowerCase);
-        if (set == null) {
-            set = new TreeSet<>();
+    /**
+     * Removes one occurrence of the given item. The item is not completed anymore if it has no occurrences left.
+     */
+    protected void removeItemFromIndex(String word) {
+        if (word.length() < getLengthOfShortestWordToAdd()) {
+            return;
         }
-        set.add(word);
-        possibleStringsForSearchString.put(lowerCase, set);
+
+        index.remove(word);
     }
 
+    /**
+     * Returns the names of the fields whose values are stored.
+     */
+    protected abstract List<String> getFieldNames();
+
+    /**
+     * Returns the items to store for the given value of one of the fields returned by {@link #getFieldNames()}.
+     */
+    protected abstract List<String> getItems(String fieldValue);
+
     @Override
     public String getPrefix() {
         return "";
     }
 
+    /**
+     * {@inheritDoc}
+     * The item is ranked higher in further completions.
+     */
     @Override
     public String getAutoCompleteText(String item) {
+        index.select(item);
         return item;
     }
 
     protected int getLengthOfShortestWordToAdd() {
         return AbstractAutoCompleter.SHORTEST_WORD_TO_ADD;
     }
+
+    protected int getMaximumNumberOfCompletions() {
+        return AbstractAutoCompleter.MAXIMUM_NUMBER_OF_COMPLETIONS;
+    }
 }
@@ -24,6 +24,20 @@ public interface AutoCompleter<E> {
      */
     void addBibtexEntry(BibEntry entry);
 
+    /**
+     * Remove a BibEntry previously added to this AutoCompleter.
+     * Information stored for other entries as well is still completed.
+     */
+    void removeBibtexEntry(BibEntry entry);
+
+    /**
+     * Update the stored information of an added BibEntry after one of its fields has been changed.
+     *
+     * @param oldValue the value before the change, null if the field has been added
+     * @param newValue the value after the change, null if the field has been removed
+     */
+    void updateField(String fieldName, String oldValue, String newValue);
+
     /**
      * States whether the field consists of multiple values (false) or of a single value (true)
      *
@@ -5,6 +5,11 @@ import java.util.Map;
 
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.event.EntryAddedEvent;
+import net.sf.jabref.model.event.EntryRemovedEvent;
+import net.sf.jabref.model.event.FieldChangedEvent;
+
+import com.google.common.eventbus.Subscribe;
 
 class AutoCompleters {
 
@@ -16,10 +21,14 @@ class AutoCompleters {
         return autoCompleters.get(fieldName);
     }
 
+    /**
+     * Adds the words of all entries of the given database and keeps the Completers in sync with it afterwards.
+     */
     protected void addDatabase(BibDatabase database) {
         for (BibEntry entry : database.getEntries()) {
             addEntry(entry);
         }
+        database.registerListener(this);
     }
 
     /**
@@ -32,6 +41,32 @@ class AutoCompleters {
         }
     }
 
+    /**
+     * Removes the words of the given entry from the respective Completers, if any.
+     */
+    public void removeEntry(BibEntry bibEntry) {
+        for (AutoCompleter<String> autoCompleter : autoCompleters.values()) {
+            autoCompleter.removeBibtexEntry(bibEntry);
+        }
+    }
+
+    @Subscribe
+    public void listen(EntryAddedEvent event) {
+        addEntry(event.getBibEntry());
+    }
+
+    @Subscribe
+    public void listen(EntryRemovedEvent event) {
+        removeEntry(event.getBibEntry());
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        for (AutoCompleter<String> autoCompleter : autoCompleters.values()) {
+            autoCompleter.updateField(event.getFieldName(), event.getOldValue(), event.getNewValue());
+        }
+    }
+
     protected void put(String field, AutoCompleter<String> autoCompleter) {
         autoCompleters.put(field, autoCompleter);
     }
@@ -15,6 +15,9 @@
 */
 package net.sf.jabref.logic.autocompleter;
 
+import java.util.Collections;
+import java.util.List;
+
 import net.sf.jabref.model.entry.BibEntry;
 
 /**
@@ -38,15 +41,13 @@ class BibtexKeyAutoCompleter extends AbstractAutoCompleter {
      * The bibtex key of the entry will be added to the index.
      */
     @Override
-    public void addBibtexEntry(BibEntry entry) {
-        if (entry == null) {
-            return;
-        }
-
-        String key = entry.getCiteKey();
-        if (key != null) {
-            addItemToIndex(key.trim());
-        }
+    protected List<String> getFieldNames() {
+        return Collections.singletonList(BibEntry.KEY_FIELD);
+    }
+
+    @Override
+    protected List<String> getItems(String key) {
+        return Collections.singletonList(key.trim());
     }
 
     @Override
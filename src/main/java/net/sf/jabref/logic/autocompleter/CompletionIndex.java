@@ -0,0 +1,199 @@
+package net.sf.jabref.logic.autocompleter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Index of the words known to an auto completer, counting how often each word occurs.
+ * <p>
+ * The words are kept in one sorted array, ordered case insensitively, so that all words starting with a given prefix
+ * form a contiguous range for both case sensitive and case insensitive completion. The number of occurrences and the
+ * time of the last selection of each word are stored in parallel arrays. Words whose number of occurrences drops to zero
+ * are no longer completed and are dropped when the array is rebuilt.
+ * <p>
+ * New words are collected in a small map and merged into the array before the next completion, so that filling the
+ * index with a whole database does not shift the array for every single word.
+ */
+class CompletionIndex {
+
+    private static final Comparator<String> ORDER = String.CASE_INSENSITIVE_ORDER
+            .thenComparing(Comparator.naturalOrder());
+
+    private String[] words = new String[0];
+    private int[] occurrences = new int[0];
+    private int[] lastSelections = new int[0];
+
+    /**
+     * Number of words in the array without occurrences
+     */
+    private int unusedWords;
+
+    /**
+     * word -> number of occurrences of words not yet merged into the array
+     */
+    private final Map<String, Integer> newWords = new HashMap<>();
+
+    private int selectionCounter;
+
+
+    public synchronized void add(String word) {
+        int index = Arrays.binarySearch(words, word, ORDER);
+        if (index >= 0) {
+            if (occurrences[index] == 0) {
+                unusedWords--;
+            }
+            occurrences[index]++;
+        } else {
+            newWords.merge(word, 1, Integer::sum);
+        }
+    }
+
+    public synchronized void remove(String word) {
+        int index = Arrays.binarySearch(words, word, ORDER);
+        if (index >= 0) {
+            if (occurrences[index] > 0) {
+                occurrences[index]--;
+                if (occurrences[index] == 0) {
+                    unusedWords++;
+                }
+            }
+        } else {
+            newWords.computeIfPresent(word, (key, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    /**
+     * Records that the given word has been selected by the user, so that it is ranked higher than words with the same
+     * number of occurrences.
+     */
+    public synchronized void select(String word) {
+        merge();
+        int index = Arrays.binarySearch(words, word, ORDER);
+        if (index >= 0) {
+            lastSelections[index] = ++selectionCounter;
+        }
+    }
+
+    /**
+     * Returns the words starting with the given prefix, the most frequent ones first. Words occurring equally often are
+     * ordered by their last selection and then alphabetically.
+     *
+     * @param caseSensitive whether the case of the prefix has to match
+     * @param limit the maximum number of returned words
+     */
+    public synchronized List<String> complete(String prefix, boolean caseSensitive, int limit) {
+        merge();
+
+        Comparator<Integer> ranking = (i, j) -> {
+            if (occurrences[i] != occurrences[j]) {
+                return Integer.compare(occurrences[j], occurrences[i]);
+            }
+            if (lastSelections[i] != lastSelections[j]) {
+                return Integer.compare(lastSelections[j], lastSelections[i]);
+            }
+            return Integer.compare(i, j);
+        };
+
+        // keeps the best words found so far, the worst of them at the head
+        PriorityQueue<Integer> best = new PriorityQueue<>(ranking.reversed());
+        for (int i = lowerBound(prefix); (i < words.length) && startsWithIgnoreCase(words[i], prefix); i++) {
+            if ((occurrences[i] == 0) || (caseSensitive && !words[i].startsWith(prefix))) {
+                continue;
+            }
+            best.add(i);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Integer> indices = new ArrayList<>(best);
+        indices.sort(ranking);
+        List<String> result = new ArrayList<>(indices.size());
+        for (int index : indices) {
+            result.add(words[index]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the first word not ordered before the given prefix.
+     */
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = words.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(words[middle], prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Checks whether the word starts with the prefix in the sense of {@link String#CASE_INSENSITIVE_ORDER}.
+     */
+    private static boolean startsWithIgnoreCase(String word, String prefix) {
+        if (word.length() < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (fold(word.charAt(i)) != fold(prefix.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Merges the new words into the array and drops the words without occurrences if they make up a large part of it.
+     */
+    private void merge() {
+        if (newWords.isEmpty() && (unusedWords <= (words.length / 4))) {
+            return;
+        }
+
+        String[] added = newWords.keySet().toArray(new String[newWords.size()]);
+        Arrays.sort(added, ORDER);
+
+        int size = (words.length - unusedWords) + added.length;
+        String[] mergedWords = new String[size];
+        int[] mergedOccurrences = new int[size];
+        int[] mergedLastSelections = new int[size];
+
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < size; k++) {
+            while ((i < words.length) && (occurrences[i] == 0)) {
+                i++;
+            }
+            if ((j >= added.length) || ((i < words.length) && (ORDER.compare(words[i], added[j]) < 0))) {
+                mergedWords[k] = words[i];
+                mergedOccurrences[k] = occurrences[i];
+                mergedLastSelections[k] = lastSelections[i];
+                i++;
+            } else {
+                mergedWords[k] = added[j];
+                mergedOccurrences[k] = newWords.get(added[j]);
+                j++;
+            }
+        }
+
+        words = mergedWords;
+        occurrences = mergedOccurrences;
+        lastSelections = mergedLastSelections;
+        unusedWords = 0;
+        newWords.clear();
+    }
+}
@@ -15,11 +15,12 @@
 */
 package net.sf.jabref.logic.autocompleter;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.StringTokenizer;
 
-import net.sf.jabref.model.entry.BibEntry;
-
 /**
  * Delivers possible completions for a given string.
  * Stores all words in the given field which are separated by SEPARATING_CHARS.
@@ -46,21 +47,22 @@ class DefaultAutoCompleter extends AbstractAutoCompleter {
         return false;
     }
 
+    @Override
+    protected List<String> getFieldNames() {
+        return Collections.singletonList(fieldName);
+    }
+
     /**
      * {@inheritDoc}
      * Stores all words in the given field which are separated by SEPARATING_CHARS.
      */
     @Override
-    public void addBibtexEntry(BibEntry entry) {
-        if (entry == null) {
-            return;
+    protected List<String> getItems(String fieldValue) {
+        List<String> words = new ArrayList<>();
+        StringTokenizer tok = new StringTokenizer(fieldValue, SEPARATING_CHARS);
+        while (tok.hasMoreTokens()) {
+            words.add(tok.nextToken());
         }
-
-        entry.getFieldOptional(fieldName).ifPresent(fieldValue -> {
-            StringTokenizer tok = new StringTokenizer(fieldValue, SEPARATING_CHARS);
-            while (tok.hasMoreTokens()) {
-                addItemToIndex(tok.nextToken());
-            }
-        });
+        return words;
     }
 }
@@ -15,10 +15,10 @@
 */
 package net.sf.jabref.logic.autocompleter;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
-import net.sf.jabref.model.entry.BibEntry;
-
 /**
  * Delivers possible completions for a given string.
  * Stores the full original value of one field of the given BibtexEntries.
@@ -43,16 +43,17 @@ class EntireFieldAutoCompleter extends AbstractAutoCompleter {
         return true;
     }
 
+    @Override
+    protected List<String> getFieldNames() {
+        return Collections.singletonList(fieldName);
+    }
+
     /**
      * {@inheritDoc}
      * Stores the full original value of the given field.
      */
     @Override
-    public void addBibtexEntry(BibEntry entry) {
-        if (entry == null) {
-            return;
-        }
-
-        entry.getFieldOptional(fieldName).ifPresent(fieldValue -> addItemToIndex(fieldValue.trim()));
+    protected List<String> getItems(String fieldValue) {
+        return Collections.singletonList(fieldValue.trim());
     }
 }
@@ -22,7 +22,6 @@ import java.util.Objects;
 
 import net.sf.jabref.model.entry.Author;
 import net.sf.jabref.model.entry.AuthorList;
-import net.sf.jabref.model.entry.BibEntry;
 
 /**
  * Delivers possible completions for a given string.
@@ -86,18 +85,18 @@ class NameFieldAutoCompleter extends AbstractAutoCompleter {
     }
 
     @Override
-    public void addBibtexEntry(BibEntry entry) {
-        if (entry == null) {
-            return;
-        }
-        for (String fieldName : fieldNames) {
-            entry.getFieldOptional(fieldName).ifPresent(fieldValue ->  {
-                AuthorList authorList = AuthorList.parse(fieldValue);
-                for (Author author : authorList.getAuthors()) {
-                    handleAuthor(author);
-                }
-            });
+    protected List<String> getFieldNames() {
+        return fieldNames;
+    }
+
+    @Override
+    protected List<String> getItems(String fieldValue) {
+        List<String> names = new ArrayList<>();
+        AuthorList authorList = AuthorList.parse(fieldValue);
+        for (Author author : authorList.getAuthors()) {
+            handleAuthor(author, names);
         }
+        return names;
     }
 
     /**
@@ -118,21 +117,21 @@ class NameFieldAutoCompleter extends AbstractAutoCompleter {
         return result;
     }
 
-    private void handleAuthor(Author author) {
+    private void handleAuthor(Author author, List<String> names) {
         if (lastNameOnlyAndSeparationBySpace) {
-            addItemToIndex(author.getLastOnly());
+            names.add(author.getLastOnly());
         } else {
             if (autoCompLF) {
                 switch (autoCompFirstnameMode) {
                 case ONLY_ABBREVIATED:
-                    addItemToIndex(author.getLastFirst(true));
+                    names.add(author.getLastFirst(true));
                     break;
                 case ONLY_FULL:
-                    addItemToIndex(author.getLastFirst(false));
+                    names.add(author.getLastFirst(false));
                     break;
                 case BOTH:
-                    addItemToIndex(author.getLastFirst(true));
-                    addItemToIndex(author.getLastFirst(false));
+                    names.add(author.getLastFirst(true));
+                    names.add(author.getLastFirst(false));
                     break;
                 default:
                     break;
@@ -141,14 +140,14 @@ class NameFieldAutoCompleter extends AbstractAutoCompleter {
             if (autoCompFF) {
                 switch (autoCompFirstnameMode) {
                 case ONLY_ABBREVIATED:
-                    addItemToIndex(author.getFirstLast(true));
+                    names.add(author.getFirstLast(true));
                     break;
                 case ONLY_FULL:
-                    addItemToIndex(author.getFirstLast(false));
+                    names.add(author.getFirstLast(false));
                     break;
                 case BOTH:
-                    addItemToIndex(author.getFirstLast(true));
-                    addItemToIndex(author.getFirstLast(false));
+                    names.add(author.getFirstLast(true));
+                    names.add(author.getFirstLast(false));
                     break;
                 default:
                     break;
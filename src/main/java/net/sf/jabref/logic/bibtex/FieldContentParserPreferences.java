@@ -2,6 +2,7 @@ package net.sf.jabref.logic.bibtex;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import net.sf.jabref.preferences.JabRefPreferences;
 
@@ -27,4 +28,22 @@ public class FieldContentParserPreferences {
         return new FieldContentParserPreferences(
                 jabRefPreferences.getStringList(JabRefPreferences.NON_WRAPPABLE_FIELDS));
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if ((o == null) || (getClass() != o.getClass())) {
+            return false;
+        }
+
+        FieldContentParserPreferences that = (FieldContentParserPreferences) o;
+        return Objects.equals(nonWrappableFields, that.nonWrappableFields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(nonWrappableFields);
+    }
 }
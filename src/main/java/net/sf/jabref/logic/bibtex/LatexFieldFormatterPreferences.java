@@ -2,6 +2,7 @@ package net.sf.jabref.logic.bibtex;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import net.sf.jabref.preferences.JabRefPreferences;
 
@@ -61,4 +62,27 @@ public class LatexFieldFormatterPreferences {
     public FieldContentParserPreferences getFieldContentParserPreferences() {
         return fieldContentParserPreferences;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if ((o == null) || (getClass() != o.getClass())) {
+            return false;
+        }
+
+        LatexFieldFormatterPreferences that = (LatexFieldFormatterPreferences) o;
+        return (resolveStringsAllFields == that.resolveStringsAllFields)
+                && (valueDelimiterStartOfValue == that.valueDelimiterStartOfValue)
+                && (valueDelimiterEndOfValue == that.valueDelimiterEndOfValue) && (lineLength == that.lineLength)
+                && Objects.equals(doNotResolveStringsFor, that.doNotResolveStringsFor)
+                && Objects.equals(fieldContentParserPreferences, that.fieldContentParserPreferences);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(resolveStringsAllFields, valueDelimiterStartOfValue, valueDelimiterEndOfValue,
+                doNotResolveStringsFor, lineLength, fieldContentParserPreferences);
+    }
 }
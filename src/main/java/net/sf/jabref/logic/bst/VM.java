@@ -20,10 +20,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EmptyStackException;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.Stack;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -65,7 +69,7 @@ public class VM implements Warn {
 
     private Map<String, BstFunction> functions = new HashMap<>();
 
-    private Stack<Object> stack = new Stack<>();
+    private Stack<Object> stack = new OperandStack();
 
     public static final Integer FALSE = 0;
 
@@ -77,6 +81,23 @@ public class VM implements Warn {
 
     private final CommonTree tree;
 
+    /**
+     * FUNCTION commands -> their compiled bodies, which are reused by all runs
+     */
+    private final Map<Tree, StackFunction> compiledFunctions = new IdentityHashMap<>();
+
+    /**
+     * Names of the fields and entry variables declared by the ENTRY and READ commands, all entries have them
+     */
+    private final Set<String> entryFields = new HashSet<>();
+    private final Set<String> entryStrings = new HashSet<>();
+    private final Set<String> entryIntegers = new HashSet<>();
+
+    /**
+     * Incremented whenever names are declared, so that the names resolved by compiled functions are looked up again
+     */
+    private int declarationVersion;
+
     private StringBuilder bbl;
 
     private String preamble;
@@ -370,8 +391,7 @@ public class VM implements Warn {
             Object f2 = stack.pop();
             Object i = stack.pop();
 
-            if (!((f1 instanceof Identifier) || (f1 instanceof Tree))
-                    && ((f2 instanceof Identifier) || (f2 instanceof Tree)) && (i instanceof Integer)) {
+            if (!isFunctionLiteral(f1) && isFunctionLiteral(f2) && (i instanceof Integer)) {
                 throw new VMException("Expecting two functions and an integer for if$.");
             }
 
@@ -632,6 +652,12 @@ public class VM implements Warn {
             VM.this.bbl.append(s);
         });
 
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            Tree child = tree.getChild(i);
+            if (child.getType() == BstParser.FUNCTION) {
+                compiledFunctions.put(child, new StackFunction(child.getChild(1)));
+            }
+        }
     }
 
     private void textLengthFunction() {
@@ -721,8 +747,7 @@ public class VM implements Warn {
         Object f2 = stack.pop();
         Object f1 = stack.pop();
 
-        if (!((f1 instanceof Identifier) || (f1 instanceof Tree))
-                && ((f2 instanceof Identifier) || (f2 instanceof Tree))) {
+        if (!isFunctionLiteral(f1) && isFunctionLiteral(f2)) {
             throw new VMException("Expecting two functions for while$.");
         }
 
@@ -869,7 +894,12 @@ public class VM implements Warn {
         functions = new HashMap<>();
         functions.putAll(buildInFunctions);
 
-        stack = new Stack<>();
+        entryFields.clear();
+        entryStrings.clear();
+        entryIntegers.clear();
+        declarationVersion++;
+
+        stack = new OperandStack();
 
         // Create entries
         entries = new ArrayList<>(bibtex.size());
@@ -945,6 +975,8 @@ public class VM implements Warn {
                 e.getFields().put(FieldName.CROSSREF, null);
             }
         }
+        entryFields.add(FieldName.CROSSREF);
+        declarationVersion++;
     }
 
     /**
@@ -963,6 +995,7 @@ public class VM implements Warn {
         String name = child.getChild(0).getText();
         String replacement = child.getChild(1).getText();
         functions.put(name, new MacroFunction(replacement));
+        declarationVersion++;
     }
 
 
@@ -1001,6 +1034,7 @@ public class VM implements Warn {
             for (BstEntry entry : entries) {
                 entry.getFields().put(name, null);
             }
+            entryFields.add(name);
         }
 
         // Integers
@@ -1012,6 +1046,7 @@ public class VM implements Warn {
             for (BstEntry entry : entries) {
                 entry.localIntegers.put(name, 0);
             }
+            entryIntegers.add(name);
         }
         // Strings
         t = child.getChild(2);
@@ -1021,10 +1056,13 @@ public class VM implements Warn {
             for (BstEntry entry : entries) {
                 entry.localStrings.put(name, null);
             }
+            entryStrings.add(name);
         }
         for (BstEntry entry : entries) {
             entry.localStrings.put("sort.key$", null);
         }
+        entryStrings.add("sort.key$");
+        declarationVersion++;
     }
 
     private void reverse(Tree child) {
@@ -1054,26 +1092,44 @@ public class VM implements Warn {
     }
 
     private void executeInContext(Object o, BstEntry context) {
-        if (o instanceof Tree) {
+        if (o instanceof StackFunction) {
+            ((StackFunction) o).execute(context);
+        } else if (o instanceof Tree) {
             Tree t = (Tree) o;
             new StackFunction(t).execute(context);
+        } else if (o instanceof CompiledIdentifier) {
+            ((CompiledIdentifier) o).reference.execute(context);
         } else if (o instanceof Identifier) {
             execute(((Identifier) o).getName(), context);
         }
     }
 
+    private static boolean isFunctionLiteral(Object o) {
+        return (o instanceof Identifier) || (o instanceof StackFunction) || (o instanceof Tree);
+    }
+
     private void execute(Tree child) {
         execute(child.getChild(0).getText(), null);
     }
 
 
+    /**
+     * A function of the style. Its body is compiled once into a sequence of instructions: literals are converted when
+     * compiling, and names are resolved when executed first.
+     */
     public class StackFunction implements BstFunction {
 
         private final Tree localTree;
 
+        private final BstFunction[] instructions;
+
 
         public StackFunction(Tree stack) {
             localTree = stack;
+            instructions = new BstFunction[stack.getChildCount()];
+            for (int i = 0; i < instructions.length; i++) {
+                instructions[i] = compile(stack.getChild(i));
+            }
         }
 
         public Tree getTree() {
@@ -1082,31 +1138,11 @@ public class VM implements Warn {
 
         @Override
         public void execute(BstEntry context) {
-
-            for (int i = 0; i < localTree.getChildCount(); i++) {
-
-                Tree c = localTree.getChild(i);
+            for (int i = 0; i < instructions.length; i++) {
                 try {
-
-                    switch (c.getType()) {
-                    case BstParser.STRING:
-                        String s = c.getText();
-                        push(s.substring(1, s.length() - 1));
-                        break;
-                    case BstParser.INTEGER:
-                        push(Integer.parseInt(c.getText().substring(1)));
-                        break;
-                    case BstParser.QUOTED:
-                        push(new Identifier(c.getText().substring(1)));
-                        break;
-                    case BstParser.STACK:
-                        push(c);
-                        break;
-                    default:
-                        VM.this.execute(c.getText(), context);
-                        break;
-                    }
+                    instructions[i].execute(context);
                 } catch (VMException e) {
+                    Tree c = localTree.getChild(i);
                     if (file == null) {
                         LOGGER.error("ERROR " + e.getMessage() + " (" + c.getLine() + ")");
                     } else {
@@ -1116,13 +1152,134 @@ public class VM implements Warn {
                     throw e;
                 }
             }
+        }
+    }
+
+    private BstFunction compile(Tree c) {
+        switch (c.getType()) {
+        case BstParser.STRING:
+            String s = c.getText();
+            String string = s.substring(1, s.length() - 1);
+            return context -> push(string);
+        case BstParser.INTEGER:
+            Integer integer = Integer.valueOf(c.getText().substring(1));
+            return context -> push(integer);
+        case BstParser.QUOTED:
+            Identifier identifier = new CompiledIdentifier(c.getText().substring(1));
+            return context -> push(identifier);
+        case BstParser.STACK:
+            StackFunction function = new StackFunction(c);
+            return context -> stack.push(function);
+        default:
+            return new NameReference(c.getText());
+        }
+    }
+
+    private enum NameKind {
+        FIELD,
+        ENTRY_STRING,
+        ENTRY_INTEGER,
+        STRING,
+        INTEGER,
+        FUNCTION,
+        UNKNOWN
+    }
+
+    /**
+     * A variable or function used by a compiled function. The name is looked up with the same precedence as
+     * {@link #execute(String, BstEntry)} and the result is kept until names are declared again.
+     */
+    private class NameReference implements BstFunction {
+
+        private final String name;
+
+        private int resolvedVersion = -1;
+
+        private NameKind kind;
+
+        private BstFunction function;
+
+
+        public NameReference(String name) {
+            this.name = name;
+        }
+
+        private void resolve() {
+            function = null;
+            if (entryFields.contains(name)) {
+                kind = NameKind.FIELD;
+            } else if (entryStrings.contains(name)) {
+                kind = NameKind.ENTRY_STRING;
+            } else if (entryIntegers.contains(name)) {
+                kind = NameKind.ENTRY_INTEGER;
+            } else if (strings.containsKey(name)) {
+                kind = NameKind.STRING;
+            } else if (integers.containsKey(name)) {
+                kind = NameKind.INTEGER;
+            } else if (functions.containsKey(name)) {
+                kind = NameKind.FUNCTION;
+                function = functions.get(name);
+            } else {
+                kind = NameKind.UNKNOWN;
+            }
+            resolvedVersion = declarationVersion;
+        }
+
+        @Override
+        public void execute(BstEntry context) {
+            if (resolvedVersion != declarationVersion) {
+                resolve();
+            }
+
+            switch (kind) {
+            case FIELD:
+                if (context != null) {
+                    stack.push(context.fields.get(name));
+                    return;
+                }
+                break;
+            case ENTRY_STRING:
+                if (context != null) {
+                    stack.push(context.localStrings.get(name));
+                    return;
+                }
+                break;
+            case ENTRY_INTEGER:
+                if (context != null) {
+                    stack.push(context.localIntegers.get(name));
+                    return;
+                }
+                break;
+            case STRING:
+                stack.push(strings.get(name));
+                return;
+            case INTEGER:
+                stack.push(integers.get(name));
+                return;
+            case FUNCTION:
+                function.execute(context);
+                return;
+            default:
+                break;
+            }
 
+            // entry variables outside of an entry and unknown names
+            VM.this.execute(name, context);
         }
     }
 
+    /**
+     * A quoted name in a compiled function, which keeps the resolved name if it is executed by if$ or while$.
+     */
+    private class CompiledIdentifier extends Identifier {
+
+        private final NameReference reference;
+
 
-    private void push(Tree t) {
-        stack.push(t);
+        public CompiledIdentifier(String name) {
+            super(name);
+            reference = new NameReference(name);
+        }
     }
 
     private void execute(String name, BstEntry context) {
@@ -1162,8 +1319,9 @@ public class VM implements Warn {
 
     private void function(Tree child) {
         String name = child.getChild(0).getText();
-        Tree localStack = child.getChild(1);
-        functions.put(name, new StackFunction(localStack));
+        StackFunction function = compiledFunctions.computeIfAbsent(child, f -> new StackFunction(f.getChild(1)));
+        functions.put(name, function);
+        declarationVersion++;
 
     }
 
@@ -1183,6 +1341,7 @@ public class VM implements Warn {
             String name = t.getChild(i).getText();
             integers.put(name, 0);
         }
+        declarationVersion++;
     }
 
     /**
@@ -1199,6 +1358,7 @@ public class VM implements Warn {
             String name = t.getChild(i).getText();
             strings.put(name, null);
         }
+        declarationVersion++;
     }
 
 
@@ -1227,6 +1387,54 @@ public class VM implements Warn {
     }
 
 
+    /**
+     * Operand stack of the VM. A VM is used by one thread at a time, so the operations executed by each instruction do
+     * not need the synchronization of {@link Stack}.
+     */
+    private static class OperandStack extends Stack<Object> {
+
+        @Override
+        public Object push(Object item) {
+            if (elementCount == elementData.length) {
+                ensureCapacity(elementCount + 1);
+            }
+            elementData[elementCount++] = item;
+            modCount++;
+            return item;
+        }
+
+        @Override
+        public Object pop() {
+            Object item = peek();
+            elementData[--elementCount] = null;
+            modCount++;
+            return item;
+        }
+
+        @Override
+        public Object peek() {
+            if (elementCount == 0) {
+                throw new EmptyStackException();
+            }
+            return elementData[elementCount - 1];
+        }
+
+        @Override
+        public boolean empty() {
+            return elementCount == 0;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return elementCount == 0;
+        }
+
+        @Override
+        public int size() {
+            return elementCount;
+        }
+    }
+
     private void push(Integer integer) {
         stack.push(integer);
     }
@@ -18,6 +18,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import net.sf.jabref.BibDatabaseContext;
 import net.sf.jabref.logic.journals.JournalAbbreviationLoader;
@@ -26,6 +32,9 @@ import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.FieldName;
 import net.sf.jabref.preferences.JabRefPreferences;
 
+/**
+ * Runs the cleanup jobs selected by a {@link CleanupPreset} on entries.
+ */
 public class CleanupWorker {
 
     private final BibDatabaseContext databaseContext;
@@ -51,14 +60,114 @@ public class CleanupWorker {
 
         List<CleanupJob> jobs = determineCleanupActions(preset);
 
+        List<FieldChange> changes = runJobs(jobs, entry);
+        countUnsuccessfulRenames(jobs);
+        return changes;
+    }
+
+    /**
+     * Cleans up the given entries, several entries at the same time.
+     * <p>
+     * The jobs of an entry run in the same order as for a single entry. Jobs only changing fields run in parallel,
+     * jobs accessing files run one after another on a separate thread, so that the jobs of other entries proceed
+     * meanwhile. The jobs work on copies of the entries, the entries themselves are changed in the calling thread.
+     *
+     * @return the changes of all entries, in the order of the given entries
+     */
+    public List<FieldChange> cleanupEntries(CleanupPreset preset, List<BibEntry> entries) {
+        Objects.requireNonNull(preset);
+        Objects.requireNonNull(entries);
+
+        // one thread, so that files of different entries are not moved or renamed at the same time
+        ExecutorService fileExecutor = Executors.newSingleThreadExecutor();
+        try {
+            List<List<CleanupJob>> jobsOfEntries = new ArrayList<>(entries.size());
+            List<CompletableFuture<List<FieldChange>>> cleanups = new ArrayList<>(entries.size());
+            for (BibEntry entry : entries) {
+                // the jobs are not thread-safe, each entry gets its own
+                List<CleanupJob> jobs = determineCleanupActions(preset);
+                jobsOfEntries.add(jobs);
+                cleanups.add(runJobsAsync(jobs, (BibEntry) entry.clone(), fileExecutor));
+            }
+
+            List<FieldChange> changes = new ArrayList<>();
+            for (int i = 0; i < entries.size(); i++) {
+                changes.addAll(applyChanges(entries.get(i), cleanups.get(i).join()));
+                countUnsuccessfulRenames(jobsOfEntries.get(i));
+            }
+            return changes;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            fileExecutor.shutdown();
+        }
+    }
+
+    private static List<FieldChange> runJobs(List<CleanupJob> jobs, BibEntry entry) {
         List<FieldChange> changes = new ArrayList<>();
         for (CleanupJob job : jobs) {
             changes.addAll(job.cleanup(entry));
         }
+        return changes;
+    }
 
+    /**
+     * Runs the consecutive jobs of the same kind as one step, the steps of an entry run one after another.
+     */
+    private static CompletableFuture<List<FieldChange>> runJobsAsync(List<CleanupJob> jobs, BibEntry entry,
+            Executor fileExecutor) {
+        CompletableFuture<List<FieldChange>> cleanup = CompletableFuture.completedFuture(new ArrayList<>());
+        int start = 0;
+        while (start < jobs.size()) {
+            boolean accessesFiles = accessesFiles(jobs.get(start));
+            int end = start + 1;
+            while ((end < jobs.size()) && (accessesFiles(jobs.get(end)) == accessesFiles)) {
+                end++;
+            }
+
+            List<CleanupJob> step = jobs.subList(start, end);
+            Executor executor = accessesFiles ? fileExecutor : ForkJoinPool.commonPool();
+            cleanup = cleanup.thenApplyAsync(changes -> {
+                changes.addAll(runJobs(step, entry));
+                return changes;
+            }, executor);
+            start = end;
+        }
+        return cleanup;
+    }
+
+    private static boolean accessesFiles(CleanupJob job) {
+        return (job instanceof MoveFilesCleanup) || (job instanceof RelativePathsCleanup)
+                || (job instanceof RenamePdfCleanup);
+    }
+
+    /**
+     * Applies the changes made to a copy of the entry to the entry itself.
+     */
+    private static List<FieldChange> applyChanges(BibEntry entry, List<FieldChange> changesOfCopy) {
+        List<FieldChange> changes = new ArrayList<>(changesOfCopy.size());
+        for (FieldChange change : changesOfCopy) {
+            if (change.getNewValue() == null) {
+                entry.clearField(change.getField());
+            } else {
+                entry.setField(change.getField(), change.getNewValue());
+            }
+            changes.add(new FieldChange(entry, change.getField(), change.getOldValue(), change.getNewValue()));
+        }
         return changes;
     }
 
+    private void countUnsuccessfulRenames(List<CleanupJob> jobs) {
+        for (CleanupJob job : jobs) {
+            if (job instanceof RenamePdfCleanup) {
+                unsuccessfulRenames += ((RenamePdfCleanup) job).getUnsuccessfulRenames();
+            }
+        }
+    }
+
     private List<CleanupJob> determineCleanupActions(CleanupPreset preset) {
         List<CleanupJob> jobs = new ArrayList<>();
 
@@ -81,10 +190,8 @@ public class CleanupWorker {
             jobs.add(new RelativePathsCleanup(databaseContext));
         }
         if (preset.isRenamePDF()) {
-            RenamePdfCleanup cleaner = new RenamePdfCleanup(preset.isRenamePdfOnlyRelativePaths(), databaseContext,
-                    repositoryLoader, prefs);
-            jobs.add(cleaner);
-            unsuccessfulRenames += cleaner.getUnsuccessfulRenames();
+            jobs.add(new RenamePdfCleanup(preset.isRenamePdfOnlyRelativePaths(), databaseContext, repositoryLoader,
+                    prefs));
         }
         if (preset.isConvertToBiblatex()) {
             jobs.add(new BiblatexCleanup());
@@ -19,6 +19,7 @@ package net.sf.jabref.logic.exporter;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -151,6 +152,16 @@ public abstract class BibDatabaseWriter<E extends SaveSession> {
         return Optional.ofNullable(preferences.getSaveOrder());
     }
 
+    /**
+     * Returns all settings which influence the serialization of entries apart from the entries themselves.
+     */
+    private static List<Object> getSerializationSettings(BibDatabaseContext bibDatabaseContext,
+            SavePreferences preferences) {
+        return Arrays.asList(bibDatabaseContext.getMode(), preferences.isReformatFile(),
+                preferences.getLatexFieldFormatterPreferences(),
+                bibDatabaseContext.getMetaData().getSaveActions().map(FieldFormatterCleanups::getAsStringList));
+    }
+
     /**
      * Saves the complete database.
      */
@@ -184,7 +195,15 @@ public abstract class BibDatabaseWriter<E extends SaveSession> {
 
         // Write database entries.
         List<BibEntry> sortedEntries = getSortedEntries(bibDatabaseContext, entries, preferences);
-        List<FieldChange> saveActionChanges = applySaveActions(sortedEntries, bibDatabaseContext.getMetaData());
+        IncrementalSaveState saveState = bibDatabaseContext.getIncrementalSaveState();
+        List<BibEntry> entriesToFormat = sortedEntries;
+        if (preferences.isIncrementalSave()) {
+            saveState.startSave(getSerializationSettings(bibDatabaseContext, preferences),
+                    bibDatabaseContext.getDatabase().getEntries());
+            entriesToFormat = sortedEntries.stream().filter(entry -> !saveState.isUpToDate(entry))
+                    .collect(Collectors.toList());
+        }
+        List<FieldChange> saveActionChanges = applySaveActions(entriesToFormat, bibDatabaseContext.getMetaData());
         session.addFieldChanges(saveActionChanges);
 
         for (BibEntry entry : sortedEntries) {
@@ -198,8 +217,26 @@ public abstract class BibDatabaseWriter<E extends SaveSession> {
                         entryType -> typesToWrite.put(entryType.getName(), entryType));
             }
 
-            writeEntry(entry, bibDatabaseContext.getMode(), preferences.isReformatFile(),
-                    preferences.getLatexFieldFormatterPreferences());
+            if (!preferences.isIncrementalSave()) {
+                writeEntry(entry, bibDatabaseContext.getMode(), preferences.isReformatFile(),
+                        preferences.getLatexFieldFormatterPreferences());
+            } else if (saveState.isUpToDate(entry)) {
+                // unchanged since the last save, so the serialization written then is still valid
+                writeEntry(entry, bibDatabaseContext.getMode(), false, preferences.getLatexFieldFormatterPreferences());
+            } else {
+                // unchanged entries are copied verbatim and thus do not depend on the settings of this save
+                boolean formatted = preferences.isReformatFile() || entry.hasChanged();
+                String serialization = serializeEntry(entry, bibDatabaseContext.getMode(),
+                        preferences.isReformatFile(), preferences.getLatexFieldFormatterPreferences());
+                try {
+                    session.getWriter().write(serialization);
+                } catch (IOException e) {
+                    throw new SaveException(e, entry);
+                }
+                if (formatted) {
+                    saveState.markWritten(entry, serialization);
+                }
+            }
         }
 
         if (preferences.getSaveType() != SavePreferences.DatabaseSaveType.PLAIN_BIBTEX) {
@@ -226,6 +263,12 @@ public abstract class BibDatabaseWriter<E extends SaveSession> {
     protected abstract void writeEntry(BibEntry entry, BibDatabaseMode mode, Boolean isReformatFile,
             LatexFieldFormatterPreferences latexFieldFormatterPreferences) throws SaveException;
 
+    /**
+     * Returns the text {@link #writeEntry} would write for the given entry.
+     */
+    protected abstract String serializeEntry(BibEntry entry, BibDatabaseMode mode, Boolean isReformatFile,
+            LatexFieldFormatterPreferences latexFieldFormatterPreferences) throws SaveException;
+
     protected abstract void writeEpilogue(String epilogue) throws SaveException;
 
     /**
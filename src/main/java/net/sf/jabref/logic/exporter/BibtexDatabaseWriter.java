@@ -16,6 +16,7 @@
 package net.sf.jabref.logic.exporter;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.Map;
@@ -160,15 +161,33 @@ public class BibtexDatabaseWriter<E extends SaveSession> extends BibDatabaseWrit
     @Override
     protected void writeEntry(BibEntry entry, BibDatabaseMode mode, Boolean isReformatFile,
             LatexFieldFormatterPreferences latexFieldFormatterPreferences) throws SaveException {
+        writeEntry(entry, mode, isReformatFile, latexFieldFormatterPreferences, getWriter());
+    }
+
+    private void writeEntry(BibEntry entry, BibDatabaseMode mode, Boolean isReformatFile,
+            LatexFieldFormatterPreferences latexFieldFormatterPreferences, Writer writer) throws SaveException {
         BibEntryWriter bibtexEntryWriter = new BibEntryWriter(
                 new LatexFieldFormatter(latexFieldFormatterPreferences), true);
         try {
-            bibtexEntryWriter.write(entry, getWriter(), mode, isReformatFile);
+            bibtexEntryWriter.write(entry, writer, mode, isReformatFile);
         } catch (IOException e) {
             throw new SaveException(e, entry);
         }
     }
 
+    @Override
+    protected String serializeEntry(BibEntry entry, BibDatabaseMode mode, Boolean isReformatFile,
+            LatexFieldFormatterPreferences latexFieldFormatterPreferences) throws SaveException {
+        // avoid copying the serialization of unchanged entries
+        if (!isReformatFile && !entry.hasChanged()) {
+            return entry.getParsedSerialization();
+        }
+
+        StringWriter writer = new StringWriter();
+        writeEntry(entry, mode, isReformatFile, latexFieldFormatterPreferences, writer);
+        return writer.toString();
+    }
+
     private Writer getWriter() {
         return getActiveSession().getWriter();
     }
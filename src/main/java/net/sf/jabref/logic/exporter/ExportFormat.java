@@ -30,12 +30,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import net.sf.jabref.BibDatabaseContext;
 import net.sf.jabref.Globals;
 import net.sf.jabref.logic.layout.Layout;
 import net.sf.jabref.logic.layout.LayoutFormatterPreferences;
 import net.sf.jabref.logic.layout.LayoutHelper;
+import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 
 import org.apache.commons.logging.Log;
@@ -57,6 +59,9 @@ public class ExportFormat implements IExportFormat {
     private boolean customExport;
     private static final String LAYOUT_PREFIX = "/resource/layout/";
 
+    // Number of entries formatted in parallel before they are written, limits the memory needed for large databases
+    private static final int PARALLEL_BATCH_SIZE = 500;
+
     private static final Log LOGGER = LogFactory.getLog(ExportFormat.class);
 
     /**
@@ -257,23 +262,17 @@ public class ExportFormat implements IExportFormat {
                     LOGGER.warn(missingFormatters);
                 }
             }
+            // Get the layout of each type once
             Map<String, Layout> layouts = new HashMap<>();
-            Layout layout;
-
-            ExportFormats.entryNumber = 0;
             for (BibEntry entry : sorted) {
-                ExportFormats.entryNumber++; // Increment entry counter.
-                // Get the layout
                 String type = entry.getType();
-                if (layouts.containsKey(type)) {
-                    layout = layouts.get(type);
-                } else {
+                if (!layouts.containsKey(type)) {
+                    Layout layout;
                     try (Reader reader = getReader(lfFileName + '.' + type + ".layout")) {
                         // We try to get a type-specific layout for this entry.
                         layoutHelper = new LayoutHelper(reader, LayoutFormatterPreferences
                                 .fromPreferences(Globals.prefs, Globals.journalAbbreviationLoader));
                         layout = layoutHelper.getLayoutFromText();
-                        layouts.put(type, layout);
                         if (layout != null) {
                             missingFormatters.addAll(layout.getMissingFormatters());
                         }
@@ -284,12 +283,12 @@ public class ExportFormat implements IExportFormat {
                         // go with the default one.
                         layout = defLayout;
                     }
+                    layouts.put(type, layout);
                 }
-
-                // Write the entry
-                ps.write(layout.doLayout(entry, databaseContext.getDatabase()));
             }
 
+            writeEntries(ps, sorted, layouts, databaseContext.getDatabase());
+
             // Print footer
 
             // changed section - begin (arudert)
@@ -322,6 +321,32 @@ public class ExportFormat implements IExportFormat {
 
     }
 
+    /**
+     * Writes the entries in the given order. If the layouts format each entry independently of the others, batches of
+     * entries are formatted in parallel. Otherwise, each entry is written as it is formatted.
+     */
+    private static void writeEntries(VerifyingWriter ps, List<BibEntry> sorted, Map<String, Layout> layouts,
+            BibDatabase database) throws IOException {
+        ExportFormats.entryNumber = 0;
+        if (layouts.values().stream().allMatch(Layout::isEntryIndependent)) {
+            for (int start = 0; start < sorted.size(); start += PARALLEL_BATCH_SIZE) {
+                List<String> formattedEntries = sorted.subList(start,
+                        Math.min(start + PARALLEL_BATCH_SIZE, sorted.size())).parallelStream()
+                        .map(entry -> layouts.get(entry.getType()).doLayout(entry, database))
+                        .collect(Collectors.toList());
+                for (String formattedEntry : formattedEntries) {
+                    ExportFormats.entryNumber++;
+                    ps.write(formattedEntry);
+                }
+            }
+        } else {
+            for (BibEntry entry : sorted) {
+                ExportFormats.entryNumber++; // Increment entry counter.
+                layouts.get(entry.getType()).doLayout(entry, database, ps);
+            }
+        }
+    }
+
     @Override
     public void performExport(final BibDatabaseContext databaseContext, Path file, final Charset encoding,
             List<BibEntry> entries) throws Exception {
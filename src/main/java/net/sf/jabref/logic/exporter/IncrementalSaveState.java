@@ -0,0 +1,67 @@
+package net.sf.jabref.logic.exporter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Remembers the entries formatted by the incremental saves of a database.
+ * <p>
+ * After an entry has been formatted and written, its serialization is stored as parsed serialization of the entry,
+ * which marks the entry as unchanged. As long as the entry does not change and the settings influencing the serialization (database
+ * mode, reformatting, field formatting and save actions) stay the same, the next incremental save writes this
+ * serialization verbatim and does not apply the save actions again. This relies on the save actions giving the same
+ * result when applied twice.
+ * <p>
+ * Entries copied verbatim from their original text are not remembered, as a full save keeps their text regardless of
+ * the settings.
+ */
+public class IncrementalSaveState {
+
+    private final Set<BibEntry> writtenEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+    private List<Object> settings = Collections.emptyList();
+
+
+    /**
+     * Forgets all written entries if the given settings differ from the ones of the last save and entries which are no
+     * longer part of the database.
+     *
+     * @param settings the settings influencing the serialization of entries
+     * @param entries  all entries of the database
+     */
+    synchronized void startSave(List<Object> settings, Collection<BibEntry> entries) {
+        if (!this.settings.equals(settings)) {
+            // serializations written with other settings are outdated, so these entries have to be formatted again
+            for (BibEntry entry : writtenEntries) {
+                entry.setChanged(true);
+            }
+            writtenEntries.clear();
+            this.settings = settings;
+        }
+
+        Set<BibEntry> databaseEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+        databaseEntries.addAll(entries);
+        writtenEntries.retainAll(databaseEntries);
+    }
+
+    /**
+     * Returns whether the given entry has not changed since it was written by the last incremental save.
+     */
+    synchronized boolean isUpToDate(BibEntry entry) {
+        return !entry.hasChanged() && writtenEntries.contains(entry);
+    }
+
+    /**
+     * Remembers that the given entry has been formatted to the given serialization.
+     */
+    synchronized void markWritten(BibEntry entry, String serialization) {
+        if (entry.hasChanged() || !serialization.equals(entry.getParsedSerialization())) {
+            entry.setParsedSerialization(serialization);
+        }
+        writtenEntries.add(entry);
+    }
+}
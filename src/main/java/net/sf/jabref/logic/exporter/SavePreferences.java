@@ -19,14 +19,15 @@ public class SavePreferences {
     private final DatabaseSaveType saveType;
     private final boolean takeMetadataSaveOrderInAccount;
     private final LatexFieldFormatterPreferences latexFieldFormatterPreferences;
+    private final boolean incrementalSave;
 
     public SavePreferences() {
-        this(true, null, null, false, DatabaseSaveType.ALL, true, false, new LatexFieldFormatterPreferences());
+        this(true, null, null, false, DatabaseSaveType.ALL, true, false, new LatexFieldFormatterPreferences(), false);
     }
 
     public SavePreferences(Boolean saveInOriginalOrder, SaveOrderConfig saveOrder, Charset encoding, Boolean makeBackup,
             DatabaseSaveType saveType, Boolean takeMetadataSaveOrderInAccount, Boolean reformatFile,
-            LatexFieldFormatterPreferences latexFieldFormatterPreferences) {
+            LatexFieldFormatterPreferences latexFieldFormatterPreferences, Boolean incrementalSave) {
         this.saveInOriginalOrder = saveInOriginalOrder;
         this.saveOrder = saveOrder;
         this.encoding = encoding;
@@ -35,6 +36,7 @@ public class SavePreferences {
         this.takeMetadataSaveOrderInAccount = takeMetadataSaveOrderInAccount;
         this.reformatFile = reformatFile;
         this.latexFieldFormatterPreferences = latexFieldFormatterPreferences;
+        this.incrementalSave = incrementalSave;
     }
 
     public static SavePreferences loadForExportFromPreferences(JabRefPreferences preferences) {
@@ -55,7 +57,7 @@ public class SavePreferences {
         LatexFieldFormatterPreferences latexFieldFormatterPreferences = LatexFieldFormatterPreferences
                 .fromPreferences(preferences);
         return new SavePreferences(saveInOriginalOrder, saveOrder, encoding, makeBackup, saveType,
-                takeMetadataSaveOrderInAccount, reformatFile, latexFieldFormatterPreferences);
+                takeMetadataSaveOrderInAccount, reformatFile, latexFieldFormatterPreferences, false);
     }
 
     public static SavePreferences loadForSaveFromPreferences(JabRefPreferences preferences) {
@@ -69,7 +71,7 @@ public class SavePreferences {
         LatexFieldFormatterPreferences latexFieldFormatterPreferences = LatexFieldFormatterPreferences
                 .fromPreferences(preferences);
         return new SavePreferences(saveInOriginalOrder, saveOrder, encoding, makeBackup, saveType,
-                takeMetadataSaveOrderInAccount, reformatFile, latexFieldFormatterPreferences);
+                takeMetadataSaveOrderInAccount, reformatFile, latexFieldFormatterPreferences, true);
     }
 
     public Boolean getTakeMetadataSaveOrderInAccount() {
@@ -86,7 +88,8 @@ public class SavePreferences {
 
     public SavePreferences withSaveInOriginalOrder(Boolean saveInOriginalOrder) {
         return new SavePreferences(saveInOriginalOrder, this.saveOrder, this.encoding, this.makeBackup, this.saveType,
-                this.takeMetadataSaveOrderInAccount, this.reformatFile, this.latexFieldFormatterPreferences);
+                this.takeMetadataSaveOrderInAccount, this.reformatFile, this.latexFieldFormatterPreferences,
+                this.incrementalSave);
     }
 
     public boolean getMakeBackup() {
@@ -95,7 +98,8 @@ public class SavePreferences {
 
     public SavePreferences withMakeBackup(Boolean makeBackup) {
         return new SavePreferences(this.saveInOriginalOrder, this.saveOrder, this.encoding, makeBackup, this.saveType,
-                this.takeMetadataSaveOrderInAccount, this.reformatFile, this.latexFieldFormatterPreferences);
+                this.takeMetadataSaveOrderInAccount, this.reformatFile, this.latexFieldFormatterPreferences,
+                this.incrementalSave);
     }
 
     public Charset getEncoding() {
@@ -104,7 +108,22 @@ public class SavePreferences {
 
     public SavePreferences withEncoding(Charset encoding) {
         return new SavePreferences(this.saveInOriginalOrder, this.saveOrder, encoding, this.makeBackup, this.saveType,
-                this.takeMetadataSaveOrderInAccount, this.reformatFile, this.latexFieldFormatterPreferences);
+                this.takeMetadataSaveOrderInAccount, this.reformatFile, this.latexFieldFormatterPreferences,
+                this.incrementalSave);
+    }
+
+    /**
+     * Returns whether only entries changed since the last incremental save of the database are formatted. The
+     * serialization of all other entries is written as it was.
+     */
+    public boolean isIncrementalSave() {
+        return incrementalSave;
+    }
+
+    public SavePreferences withIncrementalSave(Boolean incrementalSave) {
+        return new SavePreferences(this.saveInOriginalOrder, this.saveOrder, this.encoding, this.makeBackup,
+                this.saveType, this.takeMetadataSaveOrderInAccount, this.reformatFile,
+                this.latexFieldFormatterPreferences, incrementalSave);
     }
 
     public DatabaseSaveType getSaveType() {
@@ -113,7 +132,8 @@ public class SavePreferences {
 
     public SavePreferences withSaveType(DatabaseSaveType saveType) {
         return new SavePreferences(this.saveInOriginalOrder, this.saveOrder, this.encoding, this.makeBackup, saveType,
-                this.takeMetadataSaveOrderInAccount, this.reformatFile, this.latexFieldFormatterPreferences);
+                this.takeMetadataSaveOrderInAccount, this.reformatFile, this.latexFieldFormatterPreferences,
+                this.incrementalSave);
     }
 
     public Boolean isReformatFile() {
@@ -122,7 +142,8 @@ public class SavePreferences {
 
     public SavePreferences withReformatFile(boolean reformatFile) {
         return new SavePreferences(this.saveInOriginalOrder, this.saveOrder, this.encoding, this.makeBackup,
-                this.saveType, this.takeMetadataSaveOrderInAccount, reformatFile, this.latexFieldFormatterPreferences);
+                this.saveType, this.takeMetadataSaveOrderInAccount, reformatFile, this.latexFieldFormatterPreferences,
+                this.incrementalSave);
     }
 
     public Charset getEncodingOrDefault() {
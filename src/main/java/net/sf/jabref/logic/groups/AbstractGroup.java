@@ -177,6 +177,16 @@ public abstract class AbstractGroup implements SearchMatcher {
      */
     public abstract boolean isDynamic();
 
+    /**
+     * Returns whether a change of the given field may change whether an entry is contained in this group. Groups whose
+     * membership depends on specific fields only should override this method, by default every field counts.
+     *
+     * @param fieldName the name of the changed field, or the type header if the entry type changed
+     */
+    public boolean dependsOnField(String fieldName) {
+        return true;
+    }
+
     /**
      * Returns the group's hierarchical context.
      */
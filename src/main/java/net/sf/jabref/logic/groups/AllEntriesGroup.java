@@ -88,6 +88,11 @@ public class AllEntriesGroup extends AbstractGroup {
         return false;
     }
 
+    @Override
+    public boolean dependsOnField(String fieldName) {
+        return false;
+    }
+
     @Override
     public String getDescription() {
         return Localization.lang("This group contains all entries. It cannot be edited or removed.");
@@ -0,0 +1,182 @@
+package net.sf.jabref.logic.groups;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import net.sf.jabref.logic.search.SearchMatcher;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.event.EntryAddedEvent;
+import net.sf.jabref.model.event.EntryRemovedEvent;
+import net.sf.jabref.model.event.FieldChangedEvent;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Index of the entries contained in each group of a database.
+ * <p>
+ * Every entry of the database gets an ordinal and the members of a group are stored as a bit set over these ordinals.
+ * The members of a group are determined by evaluating {@link AbstractGroup#contains(BibEntry)} for all entries when
+ * the group is requested the first time. Afterwards, the index follows the events of the database: added entries are
+ * evaluated for all indexed groups, a changed field is only evaluated again for the groups depending on this field
+ * (see {@link AbstractGroup#dependsOnField(String)}).
+ * <p>
+ * The hierarchical contexts of the groups tree are combined with bit set operations, giving the same result as
+ * {@link GroupTreeNode#getSearchRule()}.
+ */
+public class GroupMembershipIndex {
+
+    /**
+     * group -> ordinals of the entries contained in the group. Groups are compared by identity and removed when they
+     * are no longer used.
+     */
+    private final Map<AbstractGroup, BitSet> members = new MapMaker().weakKeys().makeMap();
+
+    private final Map<BibEntry, Integer> ordinals = new IdentityHashMap<>();
+    private final List<BibEntry> entriesByOrdinal = new ArrayList<>();
+    private final BitSet usedOrdinals = new BitSet();
+
+
+    /**
+     * Indexes the entries of the given database and follows its changes.
+     */
+    public GroupMembershipIndex(BibDatabase database) {
+        for (BibEntry entry : database.getEntries()) {
+            addEntry(entry);
+        }
+        database.registerListener(this);
+    }
+
+    /**
+     * Returns the number of entries contained in the given node, taking the hierarchical context into account.
+     */
+    public synchronized int getNumberOfHits(GroupTreeNode node) {
+        return getMatches(node, node.getGroup().getHierarchicalContext()).cardinality();
+    }
+
+    /**
+     * Returns a matcher for the entries contained in all (or any) of the given nodes, taking the hierarchical context of
+     * each node into account. The matcher reflects the memberships at the time it was created.
+     *
+     * @param requireAll whether an entry has to be contained in all nodes or in any node
+     * @param invert     whether the matcher accepts the entries not matched by the nodes instead
+     */
+    public synchronized SearchMatcher getMatcher(List<GroupTreeNode> nodes, boolean requireAll, boolean invert) {
+        BitSet matches = new BitSet();
+        if (requireAll) {
+            matches.or(usedOrdinals);
+        }
+        for (GroupTreeNode node : nodes) {
+            BitSet nodeMatches = getMatches(node, node.getGroup().getHierarchicalContext());
+            if (requireAll) {
+                matches.and(nodeMatches);
+            } else {
+                matches.or(nodeMatches);
+            }
+        }
+        if (invert) {
+            matches.xor(usedOrdinals);
+        }
+
+        Map<BibEntry, Integer> snapshot = new IdentityHashMap<>(ordinals);
+        return entry -> {
+            Integer ordinal = snapshot.get(entry);
+            return (ordinal != null) && matches.get(ordinal);
+        };
+    }
+
+    private BitSet getMatches(GroupTreeNode node, GroupHierarchyType originalContext) {
+        GroupHierarchyType context = node.getGroup().getHierarchicalContext();
+        BitSet matches = (BitSet) getMembers(node.getGroup()).clone();
+        if ((context == GroupHierarchyType.INCLUDING) && (originalContext != GroupHierarchyType.REFINING)) {
+            for (GroupTreeNode child : node.getChildren()) {
+                matches.or(getMatches(child, originalContext));
+            }
+        } else if ((context == GroupHierarchyType.REFINING) && !node.isRoot()
+                && (originalContext != GroupHierarchyType.INCLUDING)) {
+            matches.and(getMatches(node.getParent().get(), originalContext));
+        }
+        return matches;
+    }
+
+    private BitSet getMembers(AbstractGroup group) {
+        BitSet groupMembers = members.get(group);
+        if (groupMembers == null) {
+            groupMembers = new BitSet();
+            for (int ordinal = usedOrdinals.nextSetBit(0); ordinal >= 0;
+                    ordinal = usedOrdinals.nextSetBit(ordinal + 1)) {
+                if (group.contains(entriesByOrdinal.get(ordinal))) {
+                    groupMembers.set(ordinal);
+                }
+            }
+            members.put(group, groupMembers);
+        }
+        return groupMembers;
+    }
+
+    private synchronized void addEntry(BibEntry entry) {
+        if (ordinals.containsKey(entry)) {
+            return;
+        }
+
+        // reuse the ordinals of removed entries, so that the bit sets do not grow
+        int ordinal = usedOrdinals.nextClearBit(0);
+        usedOrdinals.set(ordinal);
+        ordinals.put(entry, ordinal);
+        if (ordinal < entriesByOrdinal.size()) {
+            entriesByOrdinal.set(ordinal, entry);
+        } else {
+            entriesByOrdinal.add(entry);
+        }
+
+        for (Map.Entry<AbstractGroup, BitSet> group : members.entrySet()) {
+            group.getValue().set(ordinal, group.getKey().contains(entry));
+        }
+    }
+
+    private synchronized void removeEntry(BibEntry entry) {
+        Integer ordinal = ordinals.remove(entry);
+        if (ordinal == null) {
+            return;
+        }
+
+        usedOrdinals.clear(ordinal);
+        entriesByOrdinal.set(ordinal, null);
+        for (BitSet groupMembers : members.values()) {
+            groupMembers.clear(ordinal);
+        }
+    }
+
+    private synchronized void updateEntry(BibEntry entry, String fieldName) {
+        Integer ordinal = ordinals.get(entry);
+        if (ordinal == null) {
+            return;
+        }
+
+        for (Map.Entry<AbstractGroup, BitSet> group : members.entrySet()) {
+            if (group.getKey().dependsOnField(fieldName)) {
+                group.getValue().set(ordinal, group.getKey().contains(entry));
+            }
+        }
+    }
+
+    @Subscribe
+    public void listen(EntryAddedEvent event) {
+        addEntry(event.getBibEntry());
+    }
+
+    @Subscribe
+    public void listen(EntryRemovedEvent event) {
+        removeEntry(event.getBibEntry());
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        updateEntry(Objects.requireNonNull(event.getBibEntry()), event.getFieldName());
+    }
+}
@@ -338,6 +338,11 @@ public class KeywordGroup extends AbstractGroup {
         return true;
     }
 
+    @Override
+    public boolean dependsOnField(String fieldName) {
+        return searchField.equalsIgnoreCase(fieldName);
+    }
+
     @Override
     public String getDescription() {
         return KeywordGroup.getDescriptionForPreview(searchField, searchExpression, caseSensitive, regExp);
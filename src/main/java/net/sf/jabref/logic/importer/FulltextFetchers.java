@@ -21,7 +21,16 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 
 import net.sf.jabref.importer.fetcher.CrossRef;
 import net.sf.jabref.logic.importer.fetcher.ACS;
@@ -35,15 +44,39 @@ import net.sf.jabref.logic.util.DOI;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.FieldName;
 
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 /**
  * Utility class for trying to resolve URLs to full-text PDF for articles.
+ * <p>
+ * The fetchers are asked concurrently, the first fetcher finding a PDF wins. Each fetcher queries its own site, so
+ * the requests of each fetcher are limited to protect the site (and to avoid being blocked by it). The DOI lookup at
+ * CrossRef preceding the fetchers is limited in the same way.
+ * <p>
+ * The limit is an approximation of a limit per host: one permit is taken per call of a fetcher, although some fetchers
+ * (e.g., {@link DoiResolution} and {@link GoogleScholar}) send several requests per call, and the check of the content
+ * type of a found URL is not limited. The limiters are shared by all entries looked up at the same time.
  */
 public class FulltextFetchers {
     private static final Log LOGGER = LogFactory.getLog(FulltextFetchers.class);
 
+    /**
+     * Maximal number of entries looked up at the same time
+     */
+    private static final int PARALLEL_ENTRIES = 4;
+
+    /**
+     * Maximal number of requests per second sent by one fetcher, shared by all lookups
+     */
+    private static final double REQUESTS_PER_SECOND = 2.0;
+
+    /**
+     * fetcher class (or CrossRef for the DOI lookup) -> limiter of the requests to the site of the fetcher
+     */
+    private static final Map<Class<?>, RateLimiter> RATE_LIMITERS = new ConcurrentHashMap<>();
+
     private final List<FulltextFetcher> finders = new ArrayList<>();
 
     public FulltextFetchers() {
@@ -64,25 +97,114 @@ public class FulltextFetchers {
     }
 
     public Optional<URL> findFullTextPDF(BibEntry entry) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, finders.size()));
+        try {
+            return findFullTextPDF(entry, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Looks up the full-text PDFs of the given entries, several entries at the same time.
+     *
+     * @param progress called from the lookup threads with each entry and its result as soon as the entry is finished
+     * @return the URL of the full-text PDF of each entry, in the order of the given entries
+     */
+    public List<Optional<URL>> findFullTextPDFs(List<BibEntry> entries,
+            BiConsumer<BibEntry, Optional<URL>> progress) {
+        List<Optional<URL>> results = new ArrayList<>(entries.size());
+        if (entries.isEmpty()) {
+            return results;
+        }
+
+        // separate pools, so that the entry lookups waiting for the fetchers do not occupy the threads of the fetchers
+        int parallelEntries = Math.min(PARALLEL_ENTRIES, entries.size());
+        ExecutorService entryExecutor = Executors.newFixedThreadPool(parallelEntries);
+        ExecutorService fetcherExecutor = Executors.newFixedThreadPool(Math.max(1, parallelEntries * finders.size()));
+        try {
+            List<Future<Optional<URL>>> lookups = new ArrayList<>(entries.size());
+            for (BibEntry entry : entries) {
+                lookups.add(entryExecutor.submit(() -> {
+                    Optional<URL> result = findFullTextPDF(entry, fetcherExecutor);
+                    progress.accept(entry, result);
+                    return result;
+                }));
+            }
+
+            for (Future<Optional<URL>> lookup : lookups) {
+                try {
+                    results.add(lookup.get());
+                } catch (ExecutionException e) {
+                    LOGGER.warn("Failed to find fulltext PDF", e);
+                    results.add(Optional.empty());
+                }
+            }
+        } catch (InterruptedException e) {
+            LOGGER.debug("Looking for fulltext PDFs interrupted", e);
+            Thread.currentThread().interrupt();
+        } finally {
+            entryExecutor.shutdownNow();
+            fetcherExecutor.shutdownNow();
+        }
+        return results;
+    }
+
+    private Optional<URL> findFullTextPDF(BibEntry entry, ExecutorService executor) {
         // for accuracy, fetch DOI first but do not modify entry
         BibEntry clonedEntry = (BibEntry) entry.clone();
         Optional<String> doi = clonedEntry.getFieldOptional(FieldName.DOI);
 
         if (!doi.isPresent() || !DOI.build(doi.get()).isPresent()) {
+            acquireRequestPermit(CrossRef.class);
             CrossRef.findDOI(clonedEntry).ifPresent(e -> clonedEntry.setField(FieldName.DOI, e.getDOI()));
         }
 
+        CompletionService<Optional<URL>> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Optional<URL>>> lookups = new ArrayList<>();
         for (FulltextFetcher finder : finders) {
-            try {
-                Optional<URL> result = finder.findFullText(clonedEntry);
+            lookups.add(completionService.submit(() -> findFullTextPDF(finder, clonedEntry)));
+        }
 
-                if (result.isPresent() && MimeTypeDetector.isPdfContentType(result.get().toString())) {
-                    return result;
+        try {
+            for (int i = 0; i < lookups.size(); i++) {
+                try {
+                    Optional<URL> result = completionService.take().get();
+                    if (result.isPresent()) {
+                        return result;
+                    }
+                } catch (ExecutionException e) {
+                    LOGGER.debug("Failed to find fulltext PDF", e);
                 }
-            } catch (IOException e) {
-                LOGGER.debug("Failed to find fulltext PDF at given URL", e);
             }
+        } catch (InterruptedException e) {
+            LOGGER.debug("Looking for fulltext PDF interrupted", e);
+            Thread.currentThread().interrupt();
+        } finally {
+            // the other fetchers are no longer needed
+            lookups.forEach(lookup -> lookup.cancel(true));
         }
         return Optional.empty();
     }
+
+    private static Optional<URL> findFullTextPDF(FulltextFetcher finder, BibEntry entry) {
+        acquireRequestPermit(finder.getClass());
+        try {
+            Optional<URL> result = finder.findFullText(entry);
+
+            if (result.isPresent() && MimeTypeDetector.isPdfContentType(result.get().toString())) {
+                return result;
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Failed to find fulltext PDF at given URL", e);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Waits until the given fetcher may send another request
+     */
+    private static void acquireRequestPermit(Class<?> fetcher) {
+        RATE_LIMITERS.computeIfAbsent(fetcher, key -> RateLimiter.create(REQUESTS_PER_SECOND)).acquire();
+    }
 }
@@ -0,0 +1,121 @@
+package net.sf.jabref.logic.integrity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.BibDatabaseContext;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.event.EntryAddedEvent;
+import net.sf.jabref.model.event.EntryRemovedEvent;
+import net.sf.jabref.model.event.FieldChangedEvent;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Integrity check of a database which is repeated, e.g., each time the user asks for it.
+ * <p>
+ * The messages of each entry are kept, and only the entries added or changed since the previous check are checked
+ * again. The changes are taken from the events of the database. Linked files are checked every time, as they may be
+ * moved or deleted without a change of the entry.
+ */
+public class IncrementalIntegrityCheck {
+
+    private final BibDatabaseContext bibDatabaseContext;
+    private final BibDatabase database;
+    private final IntegrityCheck integrityCheck;
+
+    /**
+     * entry -> messages of the content of the entry, see {@link IntegrityCheck#checkEntryContent(BibEntry)}
+     */
+    private final Map<BibEntry, List<IntegrityMessage>> contentMessages = new IdentityHashMap<>();
+    private final Set<BibEntry> changedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean biblatexMode;
+
+
+    /**
+     * Creates a check of the given database, the first check checks all entries.
+     */
+    public IncrementalIntegrityCheck(BibDatabaseContext bibDatabaseContext) {
+        this.bibDatabaseContext = Objects.requireNonNull(bibDatabaseContext);
+        this.database = bibDatabaseContext.getDatabase();
+        this.integrityCheck = new IntegrityCheck(bibDatabaseContext);
+        this.biblatexMode = bibDatabaseContext.isBiblatexMode();
+
+        database.registerListener(this);
+        synchronized (this) {
+            changedEntries.addAll(database.getEntries());
+        }
+    }
+
+    /**
+     * Checks the entries changed since the previous check and returns the messages of all entries in database order.
+     */
+    public List<IntegrityMessage> check() {
+        // the copy is a snapshot, so that entries may be added or removed during the check
+        List<BibEntry> entries = new ArrayList<>(database.getEntries());
+
+        List<BibEntry> entriesToCheck;
+        synchronized (this) {
+            if (biblatexMode != bibDatabaseContext.isBiblatexMode()) {
+                // other checkers apply
+                biblatexMode = bibDatabaseContext.isBiblatexMode();
+                contentMessages.clear();
+                changedEntries.addAll(entries);
+            }
+            entriesToCheck = new ArrayList<>(changedEntries);
+            changedEntries.clear();
+        }
+
+        // events are not blocked by the running check, entries changed meanwhile are checked again next time
+        Map<BibEntry, List<IntegrityMessage>> newMessages = entriesToCheck.parallelStream()
+                .collect(Collectors.toMap(Function.identity(), integrityCheck::checkEntryContent,
+                        (first, second) -> first, IdentityHashMap::new));
+        List<List<IntegrityMessage>> fileMessages = entries.parallelStream()
+                .map(integrityCheck::checkLinkedFiles)
+                .collect(Collectors.toList());
+
+        List<IntegrityMessage> result = new ArrayList<>();
+        synchronized (this) {
+            contentMessages.putAll(newMessages);
+
+            // forget the entries removed from the database
+            Set<BibEntry> currentEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+            currentEntries.addAll(entries);
+            contentMessages.keySet().retainAll(currentEntries);
+
+            for (int i = 0; i < entries.size(); i++) {
+                result.addAll(contentMessages.getOrDefault(entries.get(i), Collections.emptyList()));
+                result.addAll(fileMessages.get(i));
+            }
+        }
+        return result;
+    }
+
+    private synchronized void markChanged(BibEntry entry) {
+        changedEntries.add(entry);
+    }
+
+    @Subscribe
+    public void listen(EntryAddedEvent event) {
+        markChanged(event.getBibEntry());
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryRemovedEvent event) {
+        changedEntries.remove(event.getBibEntry());
+        contentMessages.remove(event.getBibEntry());
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        markChanged(event.getBibEntry());
+    }
+}
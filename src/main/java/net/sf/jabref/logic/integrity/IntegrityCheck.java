@@ -2,6 +2,7 @@ package net.sf.jabref.logic.integrity;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -23,56 +24,102 @@ import net.sf.jabref.model.entry.FileField;
 import net.sf.jabref.model.entry.InternalBibtexFields;
 import net.sf.jabref.model.entry.ParsedFileField;
 
+/**
+ * Checks the entries of a database for common problems.
+ * <p>
+ * The checkers are stateless and shared by all checks, the entries are checked in parallel. See
+ * {@link IncrementalIntegrityCheck} for repeated checks of a database.
+ */
 public class IntegrityCheck {
 
+    /**
+     * Checkers depending on the content of the entry only, for BibTeX databases
+     */
+    private static final List<Checker> BIBTEX_CHECKERS = Collections.unmodifiableList(Arrays.asList(
+            new AuthorNameChecker(),
+            new TitleChecker(),
+            new PagesChecker(),
+            new BracketChecker(FieldName.TITLE),
+            new YearChecker(),
+            new UrlChecker(),
+            new TypeChecker(),
+            new AbbreviationChecker(FieldName.JOURNAL),
+            new AbbreviationChecker(FieldName.BOOKTITLE),
+            new BibStringChecker(),
+            new HTMLCharacterChecker(),
+            new BooktitleChecker(),
+            new ISSNChecker(),
+            new ISBNChecker()));
+
+    /**
+     * Checkers depending on the content of the entry only, for BibLaTeX databases
+     */
+    private static final List<Checker> BIBLATEX_CHECKERS = Collections.unmodifiableList(Arrays.asList(
+            new AuthorNameChecker(),
+            new BiblatexPagesChecker(),
+            new BracketChecker(FieldName.TITLE),
+            new YearChecker(),
+            new UrlChecker(),
+            new TypeChecker(),
+            new AbbreviationChecker(FieldName.JOURNAL),
+            new AbbreviationChecker(FieldName.BOOKTITLE),
+            new BibStringChecker(),
+            new HTMLCharacterChecker(),
+            new BooktitleChecker(),
+            new ISSNChecker(),
+            new ISBNChecker()));
+
     private final BibDatabaseContext bibDatabaseContext;
+    private final Checker fileChecker;
 
     public IntegrityCheck(BibDatabaseContext bibDatabaseContext) {
         this.bibDatabaseContext = Objects.requireNonNull(bibDatabaseContext);
+        this.fileChecker = new FileChecker(bibDatabaseContext);
     }
 
     public List<IntegrityMessage> checkBibtexDatabase() {
-        List<IntegrityMessage> result = new ArrayList<>();
+        // the copy is a snapshot, so that entries may be added or removed during the check
+        List<BibEntry> entries = new ArrayList<>(bibDatabaseContext.getDatabase().getEntries());
 
-        for (BibEntry entry : bibDatabaseContext.getDatabase().getEntries()) {
-            result.addAll(checkBibtexEntry(entry));
-        }
-
-        return result;
+        return entries.parallelStream()
+                .map(this::checkBibtexEntry)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
     }
 
     private List<IntegrityMessage> checkBibtexEntry(BibEntry entry) {
         List<IntegrityMessage> result = new ArrayList<>();
+        result.addAll(checkEntryContent(entry));
+        result.addAll(checkLinkedFiles(entry));
+        return result;
+    }
 
+    /**
+     * Checks the problems which only depend on the content of the given entry, so that the result stays valid as long
+     * as the entry (and the mode of the database) does not change.
+     */
+    List<IntegrityMessage> checkEntryContent(BibEntry entry) {
         if (entry == null) {
-            return result;
+            return Collections.emptyList();
         }
 
-        result.addAll(new AuthorNameChecker().check(entry));
-
-        if (!bibDatabaseContext.isBiblatexMode()) {
-            result.addAll(new TitleChecker().check(entry));
-            result.addAll(new PagesChecker().check(entry));
-        } else {
-            result.addAll(new BiblatexPagesChecker().check(entry));
+        List<IntegrityMessage> result = new ArrayList<>();
+        for (Checker checker : bibDatabaseContext.isBiblatexMode() ? BIBLATEX_CHECKERS : BIBTEX_CHECKERS) {
+            result.addAll(checker.check(entry));
         }
-
-        result.addAll(new BracketChecker(FieldName.TITLE).check(entry));
-        result.addAll(new YearChecker().check(entry));
-        result.addAll(new UrlChecker().check(entry));
-        result.addAll(new FileChecker(bibDatabaseContext).check(entry));
-        result.addAll(new TypeChecker().check(entry));
-        result.addAll(new AbbreviationChecker(FieldName.JOURNAL).check(entry));
-        result.addAll(new AbbreviationChecker(FieldName.BOOKTITLE).check(entry));
-        result.addAll(new BibStringChecker().check(entry));
-        result.addAll(new HTMLCharacterChecker().check(entry));
-        result.addAll(new BooktitleChecker().check(entry));
-        result.addAll(new ISSNChecker().check(entry));
-        result.addAll(new ISBNChecker().check(entry));
-
         return result;
     }
 
+    /**
+     * Checks whether the files linked by the given entry exist. The result depends on the file system.
+     */
+    List<IntegrityMessage> checkLinkedFiles(BibEntry entry) {
+        if (entry == null) {
+            return Collections.emptyList();
+        }
+        return fileChecker.check(entry);
+    }
+
 
     @FunctionalInterface
     public interface Checker {
@@ -402,11 +449,11 @@ public class IntegrityCheck {
         public List<IntegrityMessage> check(BibEntry entry) {
             List<IntegrityMessage> results = new ArrayList<>();
 
-            Map<String, String> fields = entry.getFieldMap();
-            // the url field should not be checked for hashes, as they are legal in this field
-            fields.remove(FieldName.URL);
-
-            for (Map.Entry<String, String> field : fields.entrySet()) {
+            for (Map.Entry<String, String> field : entry.getFieldMap().entrySet()) {
+                // the url field should not be checked for hashes, as they are legal in this field
+                if (FieldName.URL.equals(field.getKey())) {
+                    continue;
+                }
                 Matcher hashMatcher = UNESCAPED_HASH.matcher(field.getValue());
                 int hashCount = 0;
                 while (hashMatcher.find()) {
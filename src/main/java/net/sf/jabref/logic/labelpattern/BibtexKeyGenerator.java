@@ -0,0 +1,137 @@
+package net.sf.jabref.logic.labelpattern;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Generates unique BibTeX keys for the entries of a database according to the label patterns.
+ * <p>
+ * The pattern of each entry type is compiled once, see {@link CompiledLabelPattern}. Keys of many entries are
+ * generated in parallel, and afterwards made unique one entry after the other in the given order. Thus, the keys are
+ * the same as if they were generated for each entry separately.
+ */
+public class BibtexKeyGenerator {
+
+    private final AbstractLabelPattern labelPattern;
+    private final BibDatabase database;
+    private final LabelPatternPreferences preferences;
+    private final Pattern keyPatternRegex;
+
+    /**
+     * entry type -> compiled pattern
+     */
+    private final Map<String, CompiledLabelPattern> compiledPatterns = new ConcurrentHashMap<>();
+
+
+    /**
+     * @param database the database which will contain the entries, its keys are avoided
+     */
+    public BibtexKeyGenerator(AbstractLabelPattern labelPattern, BibDatabase database,
+            LabelPatternPreferences preferences) {
+        this.labelPattern = Objects.requireNonNull(labelPattern);
+        this.database = Objects.requireNonNull(database);
+        this.preferences = Objects.requireNonNull(preferences);
+
+        String regex = preferences.getKeyPatternRegex();
+        if ((regex == null) || regex.trim().isEmpty()) {
+            keyPatternRegex = null;
+        } else {
+            keyPatternRegex = Pattern.compile(regex);
+        }
+    }
+
+    /**
+     * Generates the key of the given entry without making it unique. Can be called by several threads at once.
+     */
+    public String generateKey(BibEntry entry) {
+        CompiledLabelPattern pattern = compiledPatterns.computeIfAbsent(entry.getType(),
+                type -> new CompiledLabelPattern(labelPattern.getValue(type)));
+
+        // Remove all illegal characters from the key.
+        String key = LabelPatternUtil.checkLegalKey(pattern.makeLabel(entry, database),
+                preferences.isEnforceLegalKey());
+
+        // Remove Regular Expressions while generating Keys
+        if (keyPatternRegex != null) {
+            key = keyPatternRegex.matcher(key).replaceAll(preferences.getKeyPatternReplacement());
+        }
+        return key;
+    }
+
+    /**
+     * Generates a unique key for the given entry and sets it.
+     */
+    public void generateAndSetKey(BibEntry entry) {
+        setUniqueKey(entry, generateKey(entry));
+    }
+
+    /**
+     * Generates unique keys for the given entries and sets them. The keys are generated in parallel, and then made
+     * unique in the order of the entries.
+     */
+    public void generateAndSetKeys(List<BibEntry> entries) {
+        List<String> keys = entries.parallelStream().map(this::generateKey).collect(Collectors.toList());
+        for (int i = 0; i < entries.size(); i++) {
+            setUniqueKey(entries.get(i), keys.get(i));
+        }
+    }
+
+    /**
+     * Inserts the given entries into the database and sets a unique key for each entry right after its insertion. Thus,
+     * the keys of the entries inserted later, e.g. imported keys, are not avoided. The keys are generated in parallel
+     * beforehand, as they do not depend on the other entries of the database.
+     */
+    public void insertAndGenerateKeys(List<BibEntry> entries) {
+        List<String> keys = entries.parallelStream().map(this::generateKey).collect(Collectors.toList());
+        for (int i = 0; i < entries.size(); i++) {
+            database.insertEntry(entries.get(i));
+            setUniqueKey(entries.get(i), keys.get(i));
+        }
+    }
+
+    /**
+     * Sets the given key, or the key with the first letter making it unique in the database.
+     */
+    private void setUniqueKey(BibEntry entry, String key) {
+        String oldKey = entry.getCiteKey();
+        String uniqueKey = key;
+
+        if (preferences.isAlwaysAddLetter() || (getOccurrencesOfOtherEntries(key, oldKey) != 0)) {
+            // The key is already in use, so we must modify it.
+            int number = 0;
+            if (!preferences.isAlwaysAddLetter() && !preferences.isFirstLetterA()) {
+                number = 1;
+            }
+
+            uniqueKey = key + LabelPatternUtil.getAddition(number);
+            while (getOccurrencesOfOtherEntries(uniqueKey, oldKey) > 0) {
+                number++;
+                uniqueKey = key + LabelPatternUtil.getAddition(number);
+            }
+        }
+
+        if (!uniqueKey.equals(oldKey)) {
+            if (database.containsEntryWithId(entry.getId())) {
+                database.setCiteKeyForEntry(entry, uniqueKey);
+            } else {
+                // entry does not (yet) exist in the database, just update the entry
+                entry.setCiteKey(uniqueKey);
+            }
+        }
+    }
+
+    private int getOccurrencesOfOtherEntries(String key, String oldKey) {
+        int occurrences = database.getNumberOfKeyOccurrences(key);
+        if (Objects.equals(oldKey, key)) {
+            occurrences--; // No change, so we can accept one dupe.
+        }
+        return occurrences;
+    }
+}
@@ -0,0 +1,74 @@
+package net.sf.jabref.logic.labelpattern;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * The label pattern of an entry type, analyzed once to generate the labels of many entries.
+ * <p>
+ * The literal parts of the pattern are kept as they are, the field markers are converted into functions together with
+ * their modifiers. Objects of this class are immutable and can be used by several threads at once.
+ */
+public class CompiledLabelPattern {
+
+    private static final Log LOGGER = LogFactory.getLog(CompiledLabelPattern.class);
+
+    private final List<BiFunction<BibEntry, BibDatabase, String>> parts;
+
+
+    /**
+     * @param pattern the pattern as returned by {@link AbstractLabelPattern#getValue(String)}: the complete pattern
+     *                followed by its tokens
+     */
+    public CompiledLabelPattern(List<String> pattern) {
+        List<BiFunction<BibEntry, BibDatabase, String>> compiledParts = new ArrayList<>();
+        boolean field = false;
+        for (String token : pattern.subList(Math.min(1, pattern.size()), pattern.size())) {
+            if ("[".equals(token)) {
+                field = true;
+            } else if ("]".equals(token)) {
+                field = false;
+            } else if (field) {
+                compiledParts.add(compileFieldMarker(token));
+            } else {
+                compiledParts.add((entry, database) -> token);
+            }
+        }
+        this.parts = Collections.unmodifiableList(compiledParts);
+    }
+
+    private static BiFunction<BibEntry, BibDatabase, String> compileFieldMarker(String marker) {
+        // check whether there is a modifier on the end such as ":lower"
+        String[] modifiers = LabelPatternUtil.parseFieldMarker(marker);
+        BiFunction<BibEntry, BibDatabase, String> label = LabelPatternUtil.compileFieldMarker(modifiers[0]);
+        if (modifiers.length > 1) {
+            return (entry, database) -> LabelPatternUtil.applyModifiers(label.apply(entry, database), modifiers, 1);
+        }
+        return label;
+    }
+
+    /**
+     * Generates the label of the given entry. The label is neither checked for illegal characters nor made unique.
+     *
+     * @param database the database to resolve strings with, may be null
+     */
+    public String makeLabel(BibEntry entry, BibDatabase database) {
+        StringBuilder label = new StringBuilder();
+        try {
+            for (BiFunction<BibEntry, BibDatabase, String> part : parts) {
+                label.append(part.apply(entry, database));
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Cannot make label", e);
+        }
+        return label.toString();
+    }
+}
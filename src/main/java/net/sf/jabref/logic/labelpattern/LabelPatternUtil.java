@@ -20,9 +20,9 @@ package net.sf.jabref.logic.labelpattern;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.function.BiFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -57,23 +57,12 @@ public class LabelPatternUtil {
 
     private static final int CHARS_OF_FIRST = 5;
 
-    private static BibDatabase database;
-
 
     public static void updateDefaultPattern(LabelPatternPreferences labelPatternPreferences) {
         defaultLabelPattern = LabelPatternUtil
                 .split(labelPatternPreferences.getDefaultLabelPattern());
     }
 
-    /**
-     * Required for LabelPatternUtilTest
-     *
-     * @param db the DB to use as global database
-     */
-    public static void setDataBase(BibDatabase db) {
-        database = db;
-    }
-
     private static String normalize(String content) {
         List<String> tokens = new ArrayList<>();
         int b = 0;
@@ -424,119 +413,7 @@ public class LabelPatternUtil {
      */
     public static void makeLabel(MetaData metaData, BibDatabase dBase, BibEntry entry,
             LabelPatternPreferences labelPatternPreferences) {
-        database = dBase;
-        String key;
-        StringBuilder stringBuilder = new StringBuilder();
-        boolean forceUpper = false;
-        boolean forceLower = false;
-
-        try {
-            // get the type of entry
-            String entryType = entry.getType();
-            // Get the arrayList corresponding to the type
-            List<String> typeList = new ArrayList<>(metaData.getLabelPattern().getValue(entryType));
-            if (!typeList.isEmpty()) {
-                typeList.remove(0);
-            }
-            boolean field = false;
-            for (String typeListEntry : typeList) {
-                if ("[".equals(typeListEntry)) {
-                    field = true;
-                } else if ("]".equals(typeListEntry)) {
-                    field = false;
-                } else if (field) {
-                    // check whether there is a modifier on the end such as
-                    // ":lower"
-                    String[] parts = parseFieldMarker(typeListEntry);
-
-                    String label = makeLabel(entry, parts[0]);
-
-                    // apply modifier if present
-                    if (parts.length > 1) {
-                        label = applyModifiers(label, parts, 1);
-                    }
-
-                    stringBuilder.append(label);
-
-                } else {
-                    stringBuilder.append(typeListEntry);
-                }
-            }
-        } catch (Exception e) {
-            LOGGER.warn("Cannot make label", e);
-        }
-
-        // Remove all illegal characters from the key.
-        key = checkLegalKey(stringBuilder.toString(), labelPatternPreferences.isEnforceLegalKey());
-
-        // Remove Regular Expressions while generating Keys
-        String regex = labelPatternPreferences.getKeyPatternRegex();
-        if ((regex != null) && !regex.trim().isEmpty()) {
-            String replacement = labelPatternPreferences.getKeyPatternReplacement();
-            key = key.replaceAll(regex, replacement);
-        }
-
-        if (forceUpper) {
-            key = key.toUpperCase();
-        }
-        if (forceLower) {
-            key = key.toLowerCase();
-        }
-
-        String oldKey = entry.getCiteKey();
-        int occurrences = database.getNumberOfKeyOccurrences(key);
-
-        if (Objects.equals(oldKey, key)) {
-            occurrences--; // No change, so we can accept one dupe.
-        }
-
-        boolean alwaysAddLetter = labelPatternPreferences.isAlwaysAddLetter();
-        boolean firstLetterA = labelPatternPreferences.isFirstLetterA();
-
-        if (!alwaysAddLetter && (occurrences == 0)) {
-            // No dupes found, so we can just go ahead.
-            if (!key.equals(oldKey)) {
-                if (!database.containsEntryWithId(entry.getId())) {
-                    // entry does not (yet) exist in the database, just update the entry
-                    entry.setCiteKey(key);
-                } else {
-                    database.setCiteKeyForEntry(entry, key);
-                }
-            }
-
-        } else {
-            // The key is already in use, so we must modify it.
-            int number = 0;
-            if (!alwaysAddLetter && !firstLetterA) {
-                number = 1;
-            }
-
-            String moddedKey = key + getAddition(number);
-            occurrences = database.getNumberOfKeyOccurrences(moddedKey);
-
-            if (Objects.equals(oldKey, moddedKey)) {
-                occurrences--;
-            }
-
-            while (occurrences > 0) {
-                number++;
-                moddedKey = key + getAddition(number);
-
-                occurrences = database.getNumberOfKeyOccurrences(moddedKey);
-                if (Objects.equals(oldKey, moddedKey)) {
-                    occurrences--;
-                }
-            }
-
-            if (!moddedKey.equals(oldKey)) {
-                if (!database.containsEntryWithId(entry.getId())) {
-                    // entry does not (yet) exist in the database, just update the entry
-                    entry.setCiteKey(moddedKey);
-                } else {
-                    database.setCiteKeyForEntry(entry, moddedKey);
-                }
-            }
-        }
+        new BibtexKeyGenerator(metaData.getLabelPattern(), dBase, labelPatternPreferences).generateAndSetKey(entry);
     }
 
     /**
@@ -584,164 +461,161 @@ public class LabelPatternUtil {
         return resultingLabel;
     }
 
-    public static String makeLabel(BibEntry entry, String value) {
-        String val = value;
-        try {
-            if (val.startsWith("auth") || val.startsWith("pureauth")) {
-
-                /*
-                 * For label code "auth...": if there is no author, but there
-                 * are editor(s) (e.g. for an Edited Book), use the editor(s)
-                 * instead. (saw27@mrao.cam.ac.uk). This is what most people
-                 * want, but in case somebody really needs a field which expands
-                 * to nothing if there is no author (e.g. someone who uses both
-                 * "auth" and "ed" in the same label), we provide an alternative
-                 * form "pureauth..." which does not do this fallback
-                 * substitution of editor.
-                 */
-                String authString = entry.getField(FieldName.AUTHOR);
-                if (authString != null) {
-                    authString = normalize(database.resolveForStrings(authString));
-                }
+    /**
+     * Generates the label of the given field marker, e.g. "auth3", for the given entry.
+     *
+     * @param database the database to resolve strings with, may be null
+     */
+    public static String makeLabel(BibEntry entry, String value, BibDatabase database) {
+        return compileFieldMarker(value).apply(entry, database);
+    }
 
-                if (val.startsWith("pure")) {
-                    // remove the "pure" prefix so the remaining
-                    // code in this section functions correctly
-                    val = val.substring(4);
-                }
+    /**
+     * Converts a field marker without modifiers, e.g. "auth3", into a function generating the label of an entry. The
+     * marker is analyzed once, so that the function can be applied to many entries quickly. The function is
+     * thread-safe, the database is only used to resolve strings and may be null. Invalid markers, e.g. with a number
+     * too large, generate an empty label.
+     */
+    static BiFunction<BibEntry, BibDatabase, String> compileFieldMarker(String value) {
+        BiFunction<BibEntry, BibDatabase, String> function;
+        try {
+            function = compileFieldMarkerWithoutFallback(value);
+        } catch (NumberFormatException ex) {
+            LOGGER.warn("Cannot make label, invalid field marker '" + value + "'", ex);
+            return (entry, database) -> "";
+        }
+        return (entry, database) -> {
+            try {
+                return function.apply(entry, database);
+            } catch (NullPointerException ex) {
+                LOGGER.debug("Problem making label", ex);
+                return "";
+            }
+        };
+    }
 
-                if ((authString == null) || authString.isEmpty()) {
-                    authString = entry.getField(FieldName.EDITOR);
-                    if (authString == null) {
-                        authString = "";
-                    } else {
-                        authString = normalize(database.resolveForStrings(authString));
-                    }
-                }
+    private static BiFunction<BibEntry, BibDatabase, String> compileFieldMarkerWithoutFallback(String value) {
+        String val = value;
+        if (val.startsWith("auth") || val.startsWith("pureauth")) {
+
+            /*
+             * For label code "auth...": if there is no author, but there
+             * are editor(s) (e.g. for an Edited Book), use the editor(s)
+             * instead. (saw27@mrao.cam.ac.uk). This is what most people
+             * want, but in case somebody really needs a field which expands
+             * to nothing if there is no author (e.g. someone who uses both
+             * "auth" and "ed" in the same label), we provide an alternative
+             * form "pureauth..." which does not do this fallback
+             * substitution of editor.
+             */
+            if (val.startsWith("pure")) {
+                // remove the "pure" prefix so the remaining
+                // code in this section functions correctly
+                val = val.substring(4);
+            }
 
-                // Gather all author-related checks, so we don't
-                // have to check all the time.
-                if ("auth".equals(val)) {
-                    return firstAuthor(authString);
-                } else if ("authForeIni".equals(val)) {
-                    return firstAuthorForenameInitials(authString);
-                } else if ("authFirstFull".equals(val)) {
-                    return firstAuthorVonAndLast(authString);
-                } else if ("authors".equals(val)) {
-                    return allAuthors(authString);
-                } else if ("authorsAlpha".equals(val)) {
-                    return authorsAlpha(authString);
-                }
-                // Last author's last name
-                else if ("authorLast".equals(val)) {
-                    return lastAuthor(authString);
-                } else if ("authorLastForeIni".equals(val)) {
-                    return lastAuthorForenameInitials(authString);
-                } else if ("authorIni".equals(val)) {
-                    return oneAuthorPlusIni(authString);
-                } else if (val.matches("authIni[\\d]+")) {
-                    int num = Integer.parseInt(val.substring(7));
-                    String s = authIniN(authString, num);
-                    return s == null ? "" : s;
-                } else if ("auth.auth.ea".equals(val)) {
-                    String s = authAuthEa(authString);
-                    return s == null ? "" : s;
-                } else if ("auth.etal".equals(val)) {
-                    String s = authEtal(authString, ".", ".etal");
-                    return s == null ? "" : s;
-                } else if ("authEtAl".equals(val)) {
-                    String s = authEtal(authString, "", "EtAl");
-                    return s == null ? "" : s;
-                } else if ("authshort".equals(val)) {
-                    String s = authshort(authString);
-                    return s == null ? "" : s;
-                } else if (val.matches("auth[\\d]+_[\\d]+")) {
-                    String[] nums = val.substring(4).split("_");
-                    String s = authNofMth(authString, Integer.parseInt(nums[0]),
-                            Integer.parseInt(nums[1]));
-                    return s == null ? "" : s;
-                } else if (val.matches("auth\\d+")) {
-                    // authN. First N chars of the first author's last
-                    // name.
-
-                    String fa = firstAuthor(authString);
-                    if (fa == null) {
-                        return "";
-                    }
-                    int num = Integer.parseInt(val.substring(4));
-                    if (num > fa.length()) {
-                        num = fa.length();
-                    }
-                    return fa.substring(0, num);
-                } else if (val.matches("authors\\d+")) {
-                    String s = nAuthors(authString, Integer.parseInt(val.substring(7)));
-                    return s == null ? "" : s;
-                } else {
-                    // This "auth" business was a dead end, so just
-                    // use it literally:
-                    return getField(entry, val);
-                }
-            } else if (val.startsWith("ed")) {
-                // Gather all markers starting with "ed" here, so we
-                // don't have to check all the time.
-                if ("edtr".equals(val)) {
-                    return firstAuthor(entry.getField(FieldName.EDITOR));
-                } else if ("edtrForeIni".equals(val)) {
-                    return firstAuthorForenameInitials(entry.getField(FieldName.EDITOR));
-                } else if ("editors".equals(val)) {
-                    return allAuthors(entry.getField(FieldName.EDITOR));
-                    // Last author's last name
-                } else if ("editorLast".equals(val)) {
-                    return lastAuthor(entry.getField(FieldName.EDITOR));
-                } else if ("editorLastForeIni".equals(val)) {
-                    return lastAuthorForenameInitials(entry.getField(FieldName.EDITOR));
-                } else if ("editorIni".equals(val)) {
-                    return oneAuthorPlusIni(entry.getField(FieldName.EDITOR));
-                } else if (val.matches("edtrIni[\\d]+")) {
-                    int num = Integer.parseInt(val.substring(7));
-                    String s = authIniN(entry.getField(FieldName.EDITOR), num);
-                    return s == null ? "" : s;
-                } else if (val.matches("edtr[\\d]+_[\\d]+")) {
-                    String[] nums = val.substring(4).split("_");
-                    String s = authNofMth(entry.getField(FieldName.EDITOR),
-                            Integer.parseInt(nums[0]),
-                            Integer.parseInt(nums[1]) - 1);
-                    return s == null ? "" : s;
-                } else if ("edtr.edtr.ea".equals(val)) {
-                    String s = authAuthEa(entry.getField(FieldName.EDITOR));
-                    return s == null ? "" : s;
-                } else if ("edtrshort".equals(val)) {
-                    String s = authshort(entry.getField(FieldName.EDITOR));
-                    return s == null ? "" : s;
-                }
+            // Gather all author-related checks, so we don't
+            // have to check all the time.
+            if ("auth".equals(val)) {
+                return (entry, db) -> firstAuthor(getAuthorsOrEditors(entry, db));
+            } else if ("authForeIni".equals(val)) {
+                return (entry, db) -> firstAuthorForenameInitials(getAuthorsOrEditors(entry, db));
+            } else if ("authFirstFull".equals(val)) {
+                return (entry, db) -> firstAuthorVonAndLast(getAuthorsOrEditors(entry, db));
+            } else if ("authors".equals(val)) {
+                return (entry, db) -> allAuthors(getAuthorsOrEditors(entry, db));
+            } else if ("authorsAlpha".equals(val)) {
+                return (entry, db) -> authorsAlpha(getAuthorsOrEditors(entry, db));
+            }
+            // Last author's last name
+            else if ("authorLast".equals(val)) {
+                return (entry, db) -> lastAuthor(getAuthorsOrEditors(entry, db));
+            } else if ("authorLastForeIni".equals(val)) {
+                return (entry, db) -> lastAuthorForenameInitials(getAuthorsOrEditors(entry, db));
+            } else if ("authorIni".equals(val)) {
+                return (entry, db) -> oneAuthorPlusIni(getAuthorsOrEditors(entry, db));
+            } else if (val.matches("authIni[\\d]+")) {
+                int num = Integer.parseInt(val.substring(7));
+                return (entry, db) -> nullToEmpty(authIniN(getAuthorsOrEditors(entry, db), num));
+            } else if ("auth.auth.ea".equals(val)) {
+                return (entry, db) -> nullToEmpty(authAuthEa(getAuthorsOrEditors(entry, db)));
+            } else if ("auth.etal".equals(val)) {
+                return (entry, db) -> nullToEmpty(authEtal(getAuthorsOrEditors(entry, db), ".", ".etal"));
+            } else if ("authEtAl".equals(val)) {
+                return (entry, db) -> nullToEmpty(authEtal(getAuthorsOrEditors(entry, db), "", "EtAl"));
+            } else if ("authshort".equals(val)) {
+                return (entry, db) -> nullToEmpty(authshort(getAuthorsOrEditors(entry, db)));
+            } else if (val.matches("auth[\\d]+_[\\d]+")) {
+                String[] nums = val.substring(4).split("_");
+                int n = Integer.parseInt(nums[0]);
+                int m = Integer.parseInt(nums[1]);
+                return (entry, db) -> nullToEmpty(authNofMth(getAuthorsOrEditors(entry, db), n, m));
+            } else if (val.matches("auth\\d+")) {
                 // authN. First N chars of the first author's last
                 // name.
-                else if (val.matches("edtr\\d+")) {
-                    String fa = firstAuthor(entry.getField(FieldName.EDITOR));
-                    if (fa == null) {
-                        return "";
-                    }
-                    int num = Integer.parseInt(val.substring(4));
-                    if (num > fa.length()) {
-                        num = fa.length();
-                    }
-                    return fa.substring(0, num);
-                } else {
-                    // This "ed" business was a dead end, so just
-                    // use it literally:
-                    return getField(entry, val);
-                }
-            } else if ("firstpage".equals(val)) {
-                return firstPage(entry.getField(FieldName.PAGES));
-            } else if ("lastpage".equals(val)) {
-                return lastPage(entry.getField(FieldName.PAGES));
-            } else if ("shorttitle".equals(val)) {
-                return getTitleWords(3, entry.getField(FieldName.TITLE));
-            } else if ("shorttitleINI".equals(val)) {
-                return keepLettersAndDigitsOnly(applyModifiers(getTitleWordsWithSpaces(3, entry.getField(FieldName.TITLE)), new String[] {"abbr"}, 0));
-            } else if ("veryshorttitle".equals(val)) {
-                return getTitleWords(1, entry.getField(FieldName.TITLE));
-            } else if ("shortyear".equals(val)) {
+                int num = Integer.parseInt(val.substring(4));
+                return (entry, db) -> prefix(firstAuthor(getAuthorsOrEditors(entry, db)), num);
+            } else if (val.matches("authors\\d+")) {
+                int num = Integer.parseInt(val.substring(7));
+                return (entry, db) -> nullToEmpty(nAuthors(getAuthorsOrEditors(entry, db), num));
+            } else {
+                // This "auth" business was a dead end, so just
+                // use it literally:
+                String field = val;
+                return (entry, db) -> getField(entry, field);
+            }
+        } else if (val.startsWith("ed")) {
+            // Gather all markers starting with "ed" here, so we
+            // don't have to check all the time.
+            if ("edtr".equals(val)) {
+                return (entry, db) -> firstAuthor(entry.getField(FieldName.EDITOR));
+            } else if ("edtrForeIni".equals(val)) {
+                return (entry, db) -> firstAuthorForenameInitials(entry.getField(FieldName.EDITOR));
+            } else if ("editors".equals(val)) {
+                return (entry, db) -> allAuthors(entry.getField(FieldName.EDITOR));
+                // Last author's last name
+            } else if ("editorLast".equals(val)) {
+                return (entry, db) -> lastAuthor(entry.getField(FieldName.EDITOR));
+            } else if ("editorLastForeIni".equals(val)) {
+                return (entry, db) -> lastAuthorForenameInitials(entry.getField(FieldName.EDITOR));
+            } else if ("editorIni".equals(val)) {
+                return (entry, db) -> oneAuthorPlusIni(entry.getField(FieldName.EDITOR));
+            } else if (val.matches("edtrIni[\\d]+")) {
+                int num = Integer.parseInt(val.substring(7));
+                return (entry, db) -> nullToEmpty(authIniN(entry.getField(FieldName.EDITOR), num));
+            } else if (val.matches("edtr[\\d]+_[\\d]+")) {
+                String[] nums = val.substring(4).split("_");
+                int n = Integer.parseInt(nums[0]);
+                int m = Integer.parseInt(nums[1]) - 1;
+                return (entry, db) -> nullToEmpty(authNofMth(entry.getField(FieldName.EDITOR), n, m));
+            } else if ("edtr.edtr.ea".equals(val)) {
+                return (entry, db) -> nullToEmpty(authAuthEa(entry.getField(FieldName.EDITOR)));
+            } else if ("edtrshort".equals(val)) {
+                return (entry, db) -> nullToEmpty(authshort(entry.getField(FieldName.EDITOR)));
+            }
+            // authN. First N chars of the first author's last
+            // name.
+            else if (val.matches("edtr\\d+")) {
+                int num = Integer.parseInt(val.substring(4));
+                return (entry, db) -> prefix(firstAuthor(entry.getField(FieldName.EDITOR)), num);
+            } else {
+                // This "ed" business was a dead end, so just
+                // use it literally:
+                return (entry, db) -> getField(entry, value);
+            }
+        } else if ("firstpage".equals(val)) {
+            return (entry, db) -> firstPage(entry.getField(FieldName.PAGES));
+        } else if ("lastpage".equals(val)) {
+            return (entry, db) -> lastPage(entry.getField(FieldName.PAGES));
+        } else if ("shorttitle".equals(val)) {
+            return (entry, db) -> getTitleWords(3, entry.getField(FieldName.TITLE));
+        } else if ("shorttitleINI".equals(val)) {
+            return (entry, db) -> keepLettersAndDigitsOnly(applyModifiers(
+                    getTitleWordsWithSpaces(3, entry.getField(FieldName.TITLE)), new String[] {"abbr"}, 0));
+        } else if ("veryshorttitle".equals(val)) {
+            return (entry, db) -> getTitleWords(1, entry.getField(FieldName.TITLE));
+        } else if ("shortyear".equals(val)) {
+            return (entry, db) -> {
                 String ss = entry.getFieldOrAlias(FieldName.YEAR).orElse("");
                 if (ss.isEmpty()) {
                     return ss;
@@ -752,32 +626,35 @@ public class LabelPatternUtil {
                 } else {
                     return ss;
                 }
-            } else if (val.matches("keyword\\d+")) {
-                // according to LabelPattern.php, it returns keyword number n
-                int num = Integer.parseInt(val.substring(7));
+            };
+        } else if (val.matches("keyword\\d+")) {
+            // according to LabelPattern.php, it returns keyword number n
+            int num = Integer.parseInt(val.substring(7));
+            return (entry, db) -> {
                 Set<String> separatedKeywords = entry.getKeywords();
                 if (separatedKeywords.size() < num) {
                     // not enough keywords
                     return "";
                 } else {
                     // num counts from 1 to n, but index in arrayList count from 0 to n-1
-                    return new ArrayList<>(separatedKeywords).get(num-1);
-                }
-            } else if (val.matches("keywords\\d*")) {
-                // return all keywords, not separated
-                int num;
-                if (val.length() > 8) {
-                    num = Integer.parseInt(val.substring(8));
-                } else {
-                    num = Integer.MAX_VALUE;
+                    return new ArrayList<>(separatedKeywords).get(num - 1);
                 }
+            };
+        } else if (val.matches("keywords\\d*")) {
+            // return all keywords, not separated
+            int num;
+            if (val.length() > 8) {
+                num = Integer.parseInt(val.substring(8));
+            } else {
+                num = Integer.MAX_VALUE;
+            }
+            return (entry, db) -> {
                 Set<String> separatedKeywords = entry.getKeywords();
                 StringBuilder sb = new StringBuilder();
                 int i = 0;
                 for (String keyword : separatedKeywords) {
                     // remove all spaces
-                    keyword = keyword.replaceAll("\\s+", "");
-                    sb.append(keyword);
+                    sb.append(keyword.replaceAll("\\s+", ""));
 
                     i++;
                     if (i >= num) {
@@ -785,15 +662,48 @@ public class LabelPatternUtil {
                     }
                 }
                 return sb.toString();
+            };
+        } else {
+            // we haven't seen any special demands
+            return (entry, db) -> getField(entry, value);
+        }
+    }
+
+    /**
+     * Returns the normalized authors of the entry, or its editors if there are no authors.
+     *
+     * @param database the database to resolve strings with, may be null
+     */
+    private static String getAuthorsOrEditors(BibEntry entry, BibDatabase database) {
+        String authString = entry.getField(FieldName.AUTHOR);
+        if (authString != null) {
+            authString = normalize(resolveForStrings(database, authString));
+        }
+
+        if ((authString == null) || authString.isEmpty()) {
+            authString = entry.getField(FieldName.EDITOR);
+            if (authString == null) {
+                authString = "";
             } else {
-                // we haven't seen any special demands
-                return getField(entry, val);
+                authString = normalize(resolveForStrings(database, authString));
             }
-        } catch (NullPointerException ex) {
-            LOGGER.debug("Problem making label", ex);
-            return "";
         }
+        return authString;
+    }
 
+    private static String resolveForStrings(BibDatabase database, String content) {
+        return database == null ? content : database.resolveForStrings(content);
+    }
+
+    private static String nullToEmpty(String label) {
+        return label == null ? "" : label;
+    }
+
+    private static String prefix(String label, int length) {
+        if (label == null) {
+            return "";
+        }
+        return label.substring(0, Math.min(length, label.length()));
     }
 
     /**
@@ -815,7 +725,7 @@ public class LabelPatternUtil {
      *            The appendix number.
      * @return The String to append.
      */
-    private static String getAddition(int number) {
+    static String getAddition(int number) {
         if (number >= CHARS.length()) {
             int lastChar = number % CHARS.length();
             return getAddition((number / CHARS.length()) - 1) + CHARS.substring(lastChar, lastChar + 1);
@@ -1343,7 +1253,7 @@ public class LabelPatternUtil {
      * @param arg The argument string.
      * @return An array of strings representing the parts of the marker
      */
-    private static String[] parseFieldMarker(String arg) {
+    static String[] parseFieldMarker(String arg) {
         List<String> parts = new ArrayList<>();
         StringBuilder current = new StringBuilder();
         boolean escaped = false;
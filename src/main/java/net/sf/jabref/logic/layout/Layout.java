@@ -15,6 +15,8 @@
 */
 package net.sf.jabref.logic.layout;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
@@ -130,6 +132,27 @@ public class Layout {
         return sb.toString();
     }
 
+    /**
+     * Writes the processed bibtex entry to the given writer, without building the text of the whole entry first.
+     * String references are resolved as in {@link #doLayout(BibEntry, BibDatabase, Optional)}.
+     */
+    public void doLayout(BibEntry bibtex, BibDatabase database, Writer writer) throws IOException {
+        for (LayoutEntry layoutEntry : layoutEntries) {
+            String fieldText = layoutEntry.doLayout(bibtex, database, Optional.empty());
+            if (fieldText != null) {
+                writer.write(fieldText);
+            }
+        }
+    }
+
+    /**
+     * Returns whether entries can be formatted independently of each other, e.g., in parallel. This is not the case
+     * if the layout contains group blocks or the entry number, which depend on the entries formatted before.
+     */
+    public boolean isEntryIndependent() {
+        return layoutEntries.stream().noneMatch(LayoutEntry::dependsOnOtherEntries);
+    }
+
     /**
      * Returns the processed text. If the database argument is
      * null, no string references will be resolved. Otherwise all valid
@@ -107,6 +107,10 @@ class LayoutEntry {
 
     private String text;
 
+    // Fields of a field block, split once instead of for each entry:
+    private List<String> fieldNames;
+    private boolean allFieldsRequired;
+
     private List<LayoutEntry> layoutEntries;
 
     private final int type;
@@ -150,6 +154,11 @@ class LayoutEntry {
 
         type = layoutType;
         text = blockEnd;
+        if (type == LayoutHelper.IS_FIELD_START) {
+            // split the strings along &, && or ; for AND formatter, otherwise along |, || for OR formatter
+            allFieldsRequired = text.matches(".*(;|(\\&+)).*");
+            fieldNames = Arrays.asList(text.split(allFieldsRequired ? "\\s*(;|(\\&+))\\s*" : "\\s*(\\|+)\\s*"));
+        }
         List<StringInt> blockEntries = null;
         for (StringInt parsedEntry : parsedEntries.subList(1, parsedEntries.size() - 1)) {
             switch (parsedEntry.i) {
@@ -271,11 +280,9 @@ class LayoutEntry {
         String field;
         if (type == LayoutHelper.IS_GROUP_START) {
             field = BibDatabase.getResolvedField(text, bibtex, database);
-        } else if (text.matches(".*(;|(\\&+)).*")) {
-            // split the strings along &, && or ; for AND formatter
-            String[] parts = text.split("\\s*(;|(\\&+))\\s*");
+        } else if (allFieldsRequired) {
             field = null;
-            for (String part : parts) {
+            for (String part : fieldNames) {
                 field = BibDatabase.getResolvedField(part, bibtex, database);
                 if (field == null) {
                     break;
@@ -283,10 +290,8 @@ class LayoutEntry {
 
             }
         } else {
-            // split the strings along |, ||  for OR formatter
-            String[] parts = text.split("\\s*(\\|+)\\s*");
             field = null;
-            for (String part : parts) {
+            for (String part : fieldNames) {
                 field = BibDatabase.getResolvedField(part, bibtex, database);
                 if (field != null) {
                     break;
@@ -629,6 +634,20 @@ class LayoutEntry {
         return invalidFormatter;
     }
 
+    /**
+     * Returns whether the output of this entry depends on the entries formatted before, i.e., it contains a group
+     * block or the entry number.
+     */
+    public boolean dependsOnOtherEntries() {
+        if (type == LayoutHelper.IS_GROUP_START) {
+            return true;
+        }
+        if ((option != null) && option.stream().anyMatch(formatter -> formatter instanceof Number)) {
+            return true;
+        }
+        return (layoutEntries != null) && layoutEntries.stream().anyMatch(LayoutEntry::dependsOnOtherEntries);
+    }
+
     public static List<List<String>> parseMethodsCalls(String calls) {
 
         List<List<String>> result = new ArrayList<>();
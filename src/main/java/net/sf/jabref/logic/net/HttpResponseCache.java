@@ -0,0 +1,312 @@
+package net.sf.jabref.logic.net;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.hash.Hashing;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Size-bounded cache of HTTP responses on disk, used by {@link URLDownload#setCache(HttpResponseCache, Duration)}.
+ * <p>
+ * Each response is stored in a file named after the hash of its key, which consists of the normalized URL and the
+ * request headers. Responses survive restarts of JabRef. When the cache grows beyond its maximum size, the least
+ * recently used responses are deleted.
+ * <p>
+ * The cache does not decide whether a response is fresh, the time to live is chosen by each fetcher. Stale responses
+ * are revalidated with a conditional request using their ETag or last modification date.
+ */
+public class HttpResponseCache {
+
+    private static final Log LOGGER = LogFactory.getLog(HttpResponseCache.class);
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 50L * 1024 * 1024;
+    private static final int FORMAT_VERSION = 1;
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private static HttpResponseCache defaultCache;
+
+    private final Path directory;
+    private final long maximumSize;
+
+    /**
+     * file name -> size of the file, in the order of the last use
+     */
+    private final Map<String, Long> fileSizes = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+
+    /**
+     * @param directory   the directory storing the responses, created if it does not exist
+     * @param maximumSize the maximal number of bytes stored in the directory
+     */
+    public HttpResponseCache(Path directory, long maximumSize) throws IOException {
+        this.directory = Objects.requireNonNull(directory);
+        this.maximumSize = maximumSize;
+        Files.createDirectories(directory);
+        loadFileSizes();
+    }
+
+    /**
+     * Returns the cache shared by all fetchers, stored in the home directory of the user.
+     *
+     * @return the shared cache or an empty optional if its directory cannot be used
+     */
+    public static synchronized Optional<HttpResponseCache> getDefault() {
+        if (defaultCache == null) {
+            try {
+                defaultCache = new HttpResponseCache(
+                        Paths.get(System.getProperty("user.home"), ".jabref", "http-cache"), DEFAULT_MAXIMUM_SIZE);
+            } catch (IOException e) {
+                LOGGER.warn("Cannot use the HTTP cache directory, responses are not cached", e);
+                return Optional.empty();
+            }
+        }
+        return Optional.of(defaultCache);
+    }
+
+    /**
+     * Normalizes the given URL, so that URLs addressing the same resource share responses: scheme and host are lower
+     * case, the default port and the fragment are removed and the query parameters are sorted.
+     */
+    public static String normalize(URL url) {
+        StringBuilder normalized = new StringBuilder();
+        normalized.append(url.getProtocol().toLowerCase(Locale.ROOT)).append("://");
+        normalized.append(url.getHost().toLowerCase(Locale.ROOT));
+        if ((url.getPort() != -1) && (url.getPort() != url.getDefaultPort())) {
+            normalized.append(':').append(url.getPort());
+        }
+        normalized.append(url.getPath().isEmpty() ? "/" : url.getPath());
+        if ((url.getQuery() != null) && !url.getQuery().isEmpty()) {
+            String[] parameters = url.getQuery().split("&");
+            Arrays.sort(parameters);
+            normalized.append('?').append(String.join("&", parameters));
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Returns the response stored for the given key.
+     */
+    synchronized Optional<CachedResponse> get(String key) {
+        String fileName = getFileName(key);
+        // marks the response as recently used
+        if (fileSizes.get(fileName) == null) {
+            return Optional.empty();
+        }
+
+        Path file = directory.resolve(fileName);
+        if (!file.toFile().setLastModified(System.currentTimeMillis())) {
+            LOGGER.debug("Cannot mark cached response as used: " + file);
+        }
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != FORMAT_VERSION) {
+                remove(fileName);
+                return Optional.empty();
+            }
+            String storedKey = input.readUTF();
+            if (!storedKey.equals(key)) {
+                // collision of hashes, the response belongs to another request
+                return Optional.empty();
+            }
+            Instant storedAt = Instant.ofEpochMilli(input.readLong());
+            String eTag = input.readUTF();
+            String lastModified = input.readUTF();
+            String contentType = input.readUTF();
+            byte[] body = new byte[input.readInt()];
+            input.readFully(body);
+            return Optional.of(new CachedResponse(storedAt, eTag, lastModified, contentType, body));
+        } catch (IOException e) {
+            LOGGER.debug("Cannot read cached response, removing it", e);
+            remove(fileName);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the response for the given key, replacing a previous response. The least recently used responses are
+     * removed if the cache gets too large.
+     */
+    synchronized void put(String key, CachedResponse response) {
+        String fileName = getFileName(key);
+        Path file = directory.resolve(fileName);
+        Path temporaryFile = directory.resolve(fileName + TEMPORARY_SUFFIX);
+        try {
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                output.writeInt(FORMAT_VERSION);
+                output.writeUTF(key);
+                output.writeLong(response.getStoredAt().toEpochMilli());
+                output.writeUTF(response.getETag());
+                output.writeUTF(response.getLastModified());
+                output.writeUTF(response.getContentType());
+                output.writeInt(response.getBody().length);
+                output.write(response.getBody());
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot store response in HTTP cache", e);
+            try {
+                Files.deleteIfExists(temporaryFile);
+            } catch (IOException ignored) {
+                // Ignored
+            }
+            return;
+        }
+
+        Long previousSize = fileSizes.remove(fileName);
+        if (previousSize != null) {
+            size -= previousSize;
+        }
+        long fileSize = file.toFile().length();
+        fileSizes.put(fileName, fileSize);
+        size += fileSize;
+        evict();
+    }
+
+    /**
+     * Removes all responses.
+     */
+    public synchronized void clear() {
+        for (String fileName : new ArrayList<>(fileSizes.keySet())) {
+            remove(fileName);
+        }
+    }
+
+    /**
+     * Returns the number of bytes used by the stored responses.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> leastRecentlyUsed = fileSizes.entrySet().iterator();
+        while ((size > maximumSize) && leastRecentlyUsed.hasNext()) {
+            Map.Entry<String, Long> file = leastRecentlyUsed.next();
+            try {
+                Files.deleteIfExists(directory.resolve(file.getKey()));
+            } catch (IOException e) {
+                LOGGER.debug("Cannot delete cached response", e);
+            }
+            size -= file.getValue();
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    private void remove(String fileName) {
+        Long fileSize = fileSizes.remove(fileName);
+        if (fileSize != null) {
+            size -= fileSize;
+        }
+        try {
+            Files.deleteIfExists(directory.resolve(fileName));
+        } catch (IOException e) {
+            LOGGER.debug("Cannot delete cached response", e);
+        }
+    }
+
+    private void loadFileSizes() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (file.getFileName().toString().endsWith(TEMPORARY_SUFFIX)) {
+                    // left over by an interrupted write
+                    Files.deleteIfExists(file);
+                } else {
+                    files.add(file);
+                }
+            }
+        }
+
+        // the modification time of a file is the time of its last use in an earlier session
+        files.sort(Comparator.comparingLong(file -> file.toFile().lastModified()));
+        for (Path file : files) {
+            long fileSize = file.toFile().length();
+            fileSizes.put(file.getFileName().toString(), fileSize);
+            size += fileSize;
+        }
+        evict();
+    }
+
+    private static String getFileName(String key) {
+        return Hashing.sha1().hashString(key, StandardCharsets.UTF_8).toString();
+    }
+
+
+    /**
+     * A response stored in the cache. Headers the server did not send are empty strings.
+     */
+    static class CachedResponse {
+
+        private final Instant storedAt;
+        private final String eTag;
+        private final String lastModified;
+        private final String contentType;
+        private final byte[] body;
+
+
+        CachedResponse(Instant storedAt, String eTag, String lastModified, String contentType, byte[] body) {
+            this.storedAt = Objects.requireNonNull(storedAt);
+            this.eTag = Objects.toString(eTag, "");
+            this.lastModified = Objects.toString(lastModified, "");
+            this.contentType = Objects.toString(contentType, "");
+            this.body = Objects.requireNonNull(body);
+        }
+
+        Instant getStoredAt() {
+            return storedAt;
+        }
+
+        String getETag() {
+            return eTag;
+        }
+
+        String getLastModified() {
+            return lastModified;
+        }
+
+        String getContentType() {
+            return contentType;
+        }
+
+        byte[] getBody() {
+            return body;
+        }
+
+        boolean isFresh(Duration timeToLive) {
+            return storedAt.plus(timeToLive).isAfter(Instant.now());
+        }
+
+        /**
+         * Returns this response as confirmed by the server now.
+         */
+        CachedResponse revalidated() {
+            return new CachedResponse(Instant.now(), eTag, lastModified, contentType, body);
+        }
+    }
+}
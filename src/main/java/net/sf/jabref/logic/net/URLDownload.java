@@ -18,6 +18,7 @@ package net.sf.jabref.logic.net;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -29,13 +30,23 @@ import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.net.CookieHandler;
+import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.charset.Charset;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
 
+import net.sf.jabref.logic.net.HttpResponseCache.CachedResponse;
+
+import com.google.common.io.ByteStreams;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -48,7 +59,8 @@ import org.apache.commons.logging.LogFactory;
  * dl.downloadToFile(FILE); // available in FILE
  * String contentType = dl.determineMimeType();
  *
- * Each call to a public method creates a new HTTP connection. Nothing is cached.
+ * Each call to a public method sends a new HTTP request, the underlying connections are kept alive and reused by
+ * Java. Nothing is cached unless a cache is set with {@link #setCache(HttpResponseCache, Duration)}.
  *
  * @author Erik Putrycz erik.putrycz-at-nrc-cnrc.gc.ca
  * @author Simon Harrer
@@ -63,6 +75,9 @@ public class URLDownload {
 
     private String postData = "";
 
+    private HttpResponseCache cache;
+    private Duration timeToLive;
+
     /**
      * @param address the URL to download from
      * @throws MalformedURLException if no protocol is specified in the address, or an unknown protocol is found
@@ -122,11 +137,39 @@ public class URLDownload {
         }
     }
 
+    /**
+     * Answers {@link #downloadToString(Charset)} and {@link #downloadToFile(File)} from the given cache. Responses
+     * younger than the time to live are used without contacting the server, older responses are only downloaded again
+     * if the server reports a change. Requests posting data are never cached.
+     *
+     * @param timeToLive how long a response stays valid, depends on how often the content of the source changes
+     */
+    public void setCache(HttpResponseCache cache, Duration timeToLive) {
+        this.cache = Objects.requireNonNull(cache);
+        this.timeToLive = Objects.requireNonNull(timeToLive);
+    }
+
+    /**
+     * Uses the shared cache of {@link HttpResponseCache#getDefault()}, if available.
+     *
+     * @see #setCache(HttpResponseCache, Duration)
+     */
+    public void useDefaultCache(Duration timeToLive) {
+        HttpResponseCache.getDefault().ifPresent(defaultCache -> setCache(defaultCache, timeToLive));
+    }
+
     private URLConnection openConnection() throws IOException {
+        return openConnection(Collections.emptyMap());
+    }
+
+    private URLConnection openConnection(Map<String, String> additionalParameters) throws IOException {
         URLConnection connection = source.openConnection();
         for (Map.Entry<String, String> entry : parameters.entrySet()) {
             connection.setRequestProperty(entry.getKey(), entry.getValue());
         }
+        for (Map.Entry<String, String> entry : additionalParameters.entrySet()) {
+            connection.setRequestProperty(entry.getKey(), entry.getValue());
+        }
         if (!postData.isEmpty()) {
             connection.setDoOutput(true);
             try (DataOutputStream wr = new DataOutputStream(connection.getOutputStream())) {
@@ -148,7 +191,7 @@ public class URLDownload {
 
     public String downloadToString(Charset encoding) throws IOException {
 
-        try (InputStream input = new BufferedInputStream(openConnection().getInputStream());
+        try (InputStream input = openInputStream();
              Writer output = new StringWriter()) {
             copy(input, output, encoding);
             return output.toString();
@@ -173,7 +216,7 @@ public class URLDownload {
 
     public void downloadToFile(File destination) throws IOException {
 
-        try (InputStream input = new BufferedInputStream(openConnection().getInputStream());
+        try (InputStream input = openInputStream();
              OutputStream output = new BufferedOutputStream(new FileOutputStream(destination))) {
             copy(input, output);
         } catch (IOException e) {
@@ -182,6 +225,60 @@ public class URLDownload {
         }
     }
 
+    /**
+     * Opens the content of the source for reading, e.g., by a parser. The caller has to close the stream.
+     */
+    public InputStream asInputStream() throws IOException {
+        return openInputStream();
+    }
+
+    private InputStream openInputStream() throws IOException {
+        if ((cache == null) || !postData.isEmpty()) {
+            return new BufferedInputStream(openConnection().getInputStream());
+        }
+        return new ByteArrayInputStream(downloadWithCache());
+    }
+
+    private byte[] downloadWithCache() throws IOException {
+        String key = getCacheKey();
+        Optional<CachedResponse> cachedResponse = cache.get(key);
+        if (cachedResponse.isPresent() && cachedResponse.get().isFresh(timeToLive)) {
+            LOGGER.debug("Using cached response for " + source);
+            return cachedResponse.get().getBody();
+        }
+
+        // ask the server whether the cached response is still up to date
+        Map<String, String> conditions = new HashMap<>();
+        cachedResponse.ifPresent(response -> {
+            if (!response.getETag().isEmpty()) {
+                conditions.put("If-None-Match", response.getETag());
+            }
+            if (!response.getLastModified().isEmpty()) {
+                conditions.put("If-Modified-Since", response.getLastModified());
+            }
+        });
+        URLConnection connection = openConnection(conditions);
+        if (cachedResponse.isPresent() && (connection instanceof HttpURLConnection)
+                && (((HttpURLConnection) connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED)) {
+            LOGGER.debug("Cached response for " + source + " is still valid");
+            cache.put(key, cachedResponse.get().revalidated());
+            return cachedResponse.get().getBody();
+        }
+
+        byte[] body;
+        try (InputStream input = connection.getInputStream()) {
+            body = ByteStreams.toByteArray(input);
+        }
+        cache.put(key, new CachedResponse(Instant.now(), connection.getHeaderField("ETag"),
+                connection.getHeaderField("Last-Modified"), connection.getContentType(), body));
+        return body;
+    }
+
+    private String getCacheKey() {
+        // the headers may change the response, e.g., the format requested by "Accept"
+        return HttpResponseCache.normalize(source) + ' ' + new TreeMap<>(parameters);
+    }
+
     private void copy(InputStream in, OutputStream out) throws IOException {
         try (InputStream monitorInputStream = monitorInputStream(in)) {
             byte[] buffer = new byte[512];
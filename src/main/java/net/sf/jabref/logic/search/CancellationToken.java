@@ -0,0 +1,20 @@
+package net.sf.jabref.logic.search;
+
+/**
+ * Allows to stop a running search early, e.g., when the search query was changed while the search was running.
+ * <p>
+ * A token is cancelled once and stays cancelled. It may be cancelled from any thread.
+ */
+public class CancellationToken {
+
+    private volatile boolean cancelled;
+
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
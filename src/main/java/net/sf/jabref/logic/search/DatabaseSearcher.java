@@ -15,34 +15,82 @@
 */
 package net.sf.jabref.logic.search;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabases;
+import net.sf.jabref.model.database.FieldIndex;
 import net.sf.jabref.model.entry.BibEntry;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 /**
+ * Searches a database for the entries matching a query.
+ * <p>
+ * The entries to verify are taken from a snapshot of the database and split into parts, which are searched in
+ * parallel on a {@link ForkJoinPool}. Small databases are searched in the calling thread.
+ *
  * @author Silberer, Zirn
  */
 public class DatabaseSearcher {
 
+    /**
+     * Minimal number of entries searched by one task, smaller parts do not pay off the overhead of scheduling them
+     */
+    private static final int MINIMAL_PART_SIZE = 512;
+
+    /**
+     * Each thread of the pool gets several parts, so that threads finishing early can take over work of others
+     */
+    private static final int PARTS_PER_THREAD = 4;
+
     private final SearchQuery query;
     private final BibDatabase database;
+    private final ForkJoinPool pool;
+    private final int minimalPartSize;
 
     private static final Log LOGGER = LogFactory.getLog(DatabaseSearcher.class);
 
     public DatabaseSearcher(SearchQuery query, BibDatabase database) {
+        this(query, database, ForkJoinPool.commonPool());
+    }
+
+    public DatabaseSearcher(SearchQuery query, BibDatabase database, ForkJoinPool pool) {
+        this(query, database, pool, MINIMAL_PART_SIZE);
+    }
+
+    DatabaseSearcher(SearchQuery query, BibDatabase database, ForkJoinPool pool, int minimalPartSize) {
         this.query = Objects.requireNonNull(query);
         this.database = Objects.requireNonNull(database);
+        this.pool = Objects.requireNonNull(pool);
+        this.minimalPartSize = minimalPartSize;
     }
 
     public List<BibEntry> getMatches() {
+        return getMatches(new CancellationToken(), partialMatches -> {
+            // only the complete result is of interest
+        });
+    }
+
+    /**
+     * Searches the database and reports the matches progressively.
+     *
+     * @param cancellation   stops the search as soon as it is cancelled, the result of a cancelled search is empty
+     * @param partialMatches called in the calling thread with the matches of each part of the database as soon as the
+     *                       part and all parts before it were searched. Together, the partial matches are the complete
+     *                       result in database order.
+     * @return all matching entries in database order
+     */
+    public List<BibEntry> getMatches(CancellationToken cancellation, Consumer<List<BibEntry>> partialMatches) {
+        Objects.requireNonNull(cancellation);
+        Objects.requireNonNull(partialMatches);
         LOGGER.debug("Search term: " + query);
 
         if (!query.isValid()) {
@@ -50,8 +98,55 @@ public class DatabaseSearcher {
             return Collections.emptyList();
         }
 
-        List<BibEntry> matchEntries = database.getEntries().stream().filter(query::isMatch).collect(Collectors.toList());
-        return BibDatabases.purgeEmptyEntries(matchEntries);
+        // only verify the entries which may match according to the index
+        // the copy is a snapshot, so that entries may be added or removed during the search
+        FieldIndex index = database.getFieldIndex();
+        List<BibEntry> candidates = new ArrayList<>(
+                query.getCandidates(index).map(index::sortInDatabaseOrder).orElseGet(database::getEntries));
+
+        int partSize = Math.max(minimalPartSize,
+                (candidates.size() / (pool.getParallelism() * PARTS_PER_THREAD)) + 1);
+        List<ForkJoinTask<List<BibEntry>>> tasks = new ArrayList<>();
+        for (int start = partSize; start < candidates.size(); start += partSize) {
+            List<BibEntry> part = candidates.subList(start, Math.min(start + partSize, candidates.size()));
+            tasks.add(pool.submit(() -> search(part, cancellation)));
+        }
+
+        // the first part is searched in the calling thread, which would wait otherwise
+        List<BibEntry> matches = new ArrayList<>();
+        List<BibEntry> firstPart = candidates.subList(0, Math.min(partSize, candidates.size()));
+        reportPartialMatches(search(firstPart, cancellation), matches, cancellation, partialMatches);
+        for (ForkJoinTask<List<BibEntry>> task : tasks) {
+            reportPartialMatches(task.join(), matches, cancellation, partialMatches);
+        }
+
+        if (cancellation.isCancelled()) {
+            LOGGER.debug("Search cancelled: " + query);
+            return Collections.emptyList();
+        }
+        return matches;
+    }
+
+    private List<BibEntry> search(List<BibEntry> entries, CancellationToken cancellation) {
+        List<BibEntry> matches = new ArrayList<>();
+        for (BibEntry entry : entries) {
+            if (cancellation.isCancelled()) {
+                return Collections.emptyList();
+            }
+            if (query.isMatch(entry)) {
+                matches.add(entry);
+            }
+        }
+        return BibDatabases.purgeEmptyEntries(matches);
+    }
+
+    private static void reportPartialMatches(List<BibEntry> partMatches, List<BibEntry> matches,
+            CancellationToken cancellation, Consumer<List<BibEntry>> partialMatches) {
+        if (cancellation.isCancelled()) {
+            return;
+        }
+        matches.addAll(partMatches);
+        partialMatches.accept(Collections.unmodifiableList(partMatches));
     }
 
 }
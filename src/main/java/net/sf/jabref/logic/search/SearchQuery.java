@@ -1,6 +1,9 @@
 package net.sf.jabref.logic.search;
 
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.search.rules.ContainBasedSearchRule;
@@ -9,6 +12,7 @@ import net.sf.jabref.logic.search.rules.SearchRule;
 import net.sf.jabref.logic.search.rules.SearchRules;
 import net.sf.jabref.logic.search.rules.describer.SearchDescriber;
 import net.sf.jabref.logic.search.rules.describer.SearchDescribers;
+import net.sf.jabref.model.database.FieldIndex;
 import net.sf.jabref.model.entry.BibEntry;
 
 public class SearchQuery implements SearchMatcher {
@@ -17,6 +21,7 @@ public class SearchQuery implements SearchMatcher {
     private final boolean caseSensitive;
     private final boolean regularExpression;
     private final SearchRule rule;
+    private final Predicate<BibEntry> compiledRule;
     private final String description;
 
     public SearchQuery(String query, boolean caseSensitive, boolean regularExpression) {
@@ -24,6 +29,7 @@ public class SearchQuery implements SearchMatcher {
         this.caseSensitive = caseSensitive;
         this.regularExpression = regularExpression;
         this.rule = Objects.requireNonNull(getSearchRule());
+        this.compiledRule = rule.compile(query);
         this.description = Objects.requireNonNull(getSearchDescriber().getDescription());
     }
 
@@ -34,7 +40,16 @@ public class SearchQuery implements SearchMatcher {
 
     @Override
     public boolean isMatch(BibEntry entry) {
-        return this.getRule().applyRule(getQuery(), entry);
+        return compiledRule.test(entry);
+    }
+
+    /**
+     * Returns the entries of the given index which may match this query.
+     *
+     * @see SearchRule#getCandidates(String, FieldIndex)
+     */
+    public Optional<Set<BibEntry>> getCandidates(FieldIndex index) {
+        return this.getRule().getCandidates(getQuery(), index);
     }
 
     public boolean isValid() {
@@ -50,7 +65,7 @@ public class SearchQuery implements SearchMatcher {
     }
 
     private SearchDescriber getSearchDescriber() {
-        return SearchDescribers.getSearchDescriberFor(getSearchRule(), getQuery());
+        return SearchDescribers.getSearchDescriberFor(getRule(), getQuery());
     }
 
     private String getCaseSensitiveDescription() {
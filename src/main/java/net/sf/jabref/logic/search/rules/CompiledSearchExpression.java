@@ -0,0 +1,188 @@
+package net.sf.jabref.logic.search.rules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * A search expression compiled into a tree of predicates, which is evaluated for each entry without walking the parse
+ * tree or compiling patterns again.
+ * <p>
+ * Every node estimates the cost of its evaluation and the probability of matching an entry. The operands of AND and
+ * OR are evaluated in the order which most likely allows to short-circuit the evaluation early: cheap operands which
+ * likely decide the result come first.
+ */
+abstract class CompiledSearchExpression implements Predicate<BibEntry> {
+
+    /**
+     * Relative cost of evaluating this expression for an entry
+     */
+    abstract double getCost();
+
+    /**
+     * Estimated probability that an entry matches this expression
+     */
+    abstract double getSelectivity();
+
+    static CompiledSearchExpression comparison(GrammarBasedSearchRule.Comparator comparator) {
+        return new ComparisonExpression(comparator);
+    }
+
+    static CompiledSearchExpression not(CompiledSearchExpression expression) {
+        return new NotExpression(expression);
+    }
+
+    static CompiledSearchExpression and(CompiledSearchExpression left, CompiledSearchExpression right) {
+        return new AndExpression(flatten(AndExpression.class, left, right));
+    }
+
+    static CompiledSearchExpression or(CompiledSearchExpression left, CompiledSearchExpression right) {
+        return new OrExpression(flatten(OrExpression.class, left, right));
+    }
+
+    /**
+     * Collects the operands of nested expressions of the same type, so that all of them can be reordered together
+     */
+    private static List<CompiledSearchExpression> flatten(Class<? extends JunctionExpression> type,
+            CompiledSearchExpression left, CompiledSearchExpression right) {
+        List<CompiledSearchExpression> operands = new ArrayList<>();
+        for (CompiledSearchExpression expression : new CompiledSearchExpression[] {left, right}) {
+            if (type.isInstance(expression)) {
+                Collections.addAll(operands, ((JunctionExpression) expression).operands);
+            } else {
+                operands.add(expression);
+            }
+        }
+        return operands;
+    }
+
+
+    private static class ComparisonExpression extends CompiledSearchExpression {
+
+        private final GrammarBasedSearchRule.Comparator comparator;
+
+        ComparisonExpression(GrammarBasedSearchRule.Comparator comparator) {
+            this.comparator = Objects.requireNonNull(comparator);
+        }
+
+        @Override
+        public boolean test(BibEntry entry) {
+            return comparator.compare(entry);
+        }
+
+        @Override
+        double getCost() {
+            return comparator.getCost();
+        }
+
+        @Override
+        double getSelectivity() {
+            return comparator.getSelectivity();
+        }
+    }
+
+    private static class NotExpression extends CompiledSearchExpression {
+
+        private final CompiledSearchExpression expression;
+
+        NotExpression(CompiledSearchExpression expression) {
+            this.expression = Objects.requireNonNull(expression);
+        }
+
+        @Override
+        public boolean test(BibEntry entry) {
+            return !expression.test(entry);
+        }
+
+        @Override
+        double getCost() {
+            return expression.getCost();
+        }
+
+        @Override
+        double getSelectivity() {
+            return 1 - expression.getSelectivity();
+        }
+    }
+
+    private abstract static class JunctionExpression extends CompiledSearchExpression {
+
+        protected final CompiledSearchExpression[] operands;
+        private final double cost;
+        private final double selectivity;
+
+        /**
+         * @param deciding the result of an operand which decides the result of the whole expression
+         */
+        JunctionExpression(List<CompiledSearchExpression> operands, boolean deciding) {
+            // an operand decides with the probability p (or 1 - p), so the expected cost of evaluating the operands in
+            // order is minimal if they are sorted by cost / p
+            List<CompiledSearchExpression> sorted = new ArrayList<>(operands);
+            sorted.sort(Comparator.comparingDouble(
+                    operand -> operand.getCost() / Math.max(getDecidingProbability(operand, deciding), 0.001)));
+            this.operands = sorted.toArray(new CompiledSearchExpression[sorted.size()]);
+
+            double expectedCost = 0;
+            double probabilityOfReaching = 1;
+            for (CompiledSearchExpression operand : this.operands) {
+                expectedCost += probabilityOfReaching * operand.getCost();
+                probabilityOfReaching *= 1 - getDecidingProbability(operand, deciding);
+            }
+            this.cost = expectedCost;
+            this.selectivity = deciding ? 1 - probabilityOfReaching : probabilityOfReaching;
+        }
+
+        private static double getDecidingProbability(CompiledSearchExpression operand, boolean deciding) {
+            return deciding ? operand.getSelectivity() : 1 - operand.getSelectivity();
+        }
+
+        @Override
+        double getCost() {
+            return cost;
+        }
+
+        @Override
+        double getSelectivity() {
+            return selectivity;
+        }
+    }
+
+    private static class AndExpression extends JunctionExpression {
+
+        AndExpression(List<CompiledSearchExpression> operands) {
+            super(operands, false);
+        }
+
+        @Override
+        public boolean test(BibEntry entry) {
+            for (CompiledSearchExpression operand : operands) {
+                if (!operand.test(entry)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class OrExpression extends JunctionExpression {
+
+        OrExpression(List<CompiledSearchExpression> operands) {
+            super(operands, true);
+        }
+
+        @Override
+        public boolean test(BibEntry entry) {
+            for (CompiledSearchExpression operand : operands) {
+                if (operand.test(entry)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -15,19 +15,23 @@
 */
 package net.sf.jabref.logic.search.rules;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 
-import net.sf.jabref.logic.layout.format.RemoveLatexCommands;
+import net.sf.jabref.model.database.FieldIndex;
 import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.FieldNormalization;
 
 /**
  * Search rule for contain-based search.
  */
 public class ContainBasedSearchRule implements SearchRule {
 
-    private static final RemoveLatexCommands REMOVE_LATEX_COMMANDS = new RemoveLatexCommands();
-
     private final boolean caseSensitive;
 
     public ContainBasedSearchRule(boolean caseSensitive) {
@@ -45,18 +49,29 @@ public class ContainBasedSearchRule implements SearchRule {
 
     @Override
     public boolean applyRule(String query, BibEntry bibEntry) {
+        return compile(query).test(bibEntry);
+    }
 
+    @Override
+    public Predicate<BibEntry> compile(String query) {
         String searchString = query;
         if (!caseSensitive) {
-            searchString = searchString.toLowerCase();
+            searchString = searchString.toLowerCase(Locale.ROOT);
         }
 
-        List<String> unmatchedWords = new SentenceAnalyzer(searchString).getWords();
+        List<String> words = new SentenceAnalyzer(searchString).getWords();
+        return bibEntry -> containsAllWords(bibEntry, words);
+    }
 
-        for (String fieldContent : bibEntry.getFieldValues()) {
-            String formattedFieldContent = ContainBasedSearchRule.REMOVE_LATEX_COMMANDS.format(fieldContent);
-            if (!caseSensitive) {
-                formattedFieldContent = formattedFieldContent.toLowerCase();
+    private boolean containsAllWords(BibEntry bibEntry, List<String> words) {
+        List<String> unmatchedWords = new ArrayList<>(words);
+
+        FieldNormalization normalization = caseSensitive ? FieldNormalization.LATEX_FREE
+                : FieldNormalization.LATEX_FREE_LOWER_CASE;
+        for (String field : bibEntry.getFieldMap().keySet()) {
+            String formattedFieldContent = bibEntry.getNormalizedField(field, normalization);
+            if (formattedFieldContent == null) {
+                continue;
             }
 
             Iterator<String> unmatchedWordsIterator = unmatchedWords.iterator();
@@ -75,4 +90,27 @@ public class ContainBasedSearchRule implements SearchRule {
         return false; // Didn't match all words.
     }
 
+    @Override
+    public Optional<Set<BibEntry>> getCandidates(String query, FieldIndex index) {
+        List<String> words = new SentenceAnalyzer(query).getWords();
+        if (words.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // every word has to occur in some field
+        Set<BibEntry> candidates = null;
+        for (String word : words) {
+            Set<BibEntry> entriesContainingWord = index.getEntriesContaining(word);
+            if (candidates == null) {
+                candidates = entriesContainingWord;
+            } else {
+                candidates.retainAll(entriesContainingWord);
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+        return Optional.of(candidates);
+    }
+
 }
@@ -15,14 +15,16 @@
 */
 package net.sf.jabref.logic.search.rules;
 
-import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
+import net.sf.jabref.model.database.FieldIndex;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.search.SearchBaseVisitor;
 import net.sf.jabref.search.SearchLexer;
@@ -51,6 +53,7 @@ public class GrammarBasedSearchRule implements SearchRule {
 
     private ParseTree tree;
     private String query;
+    private Predicate<BibEntry> compiledTree;
 
 
     public static class ThrowingErrorListener extends BaseErrorListener {
@@ -95,6 +98,12 @@ public class GrammarBasedSearchRule implements SearchRule {
             return;
         }
 
+        tree = parse(query);
+        compiledTree = compileTree(tree);
+        this.query = query;
+    }
+
+    private static ParseTree parse(String query) throws ParseCancellationException {
         SearchLexer lexer = new SearchLexer(new ANTLRInputStream(query));
         lexer.removeErrorListeners(); // no infos on file system
         lexer.addErrorListener(ThrowingErrorListener.INSTANCE);
@@ -102,20 +111,61 @@ public class GrammarBasedSearchRule implements SearchRule {
         parser.removeErrorListeners(); // no infos on file system
         parser.addErrorListener(ThrowingErrorListener.INSTANCE);
         parser.setErrorHandler(new BailErrorStrategy()); // ParseCancelationException on parse errors
-        tree = parser.start();
-        this.query = query;
+        return parser.start();
+    }
+
+    private Predicate<BibEntry> compileTree(ParseTree parseTree) {
+        try {
+            return new CompilingVisitor(caseSensitiveSearch, regExpSearch).visit(parseTree);
+        } catch (Exception e) {
+            // e.g., an invalid regular expression, which matches no entry
+            LOGGER.debug("Search failed", e);
+            return entry -> false;
+        }
     }
 
     @Override
     public boolean applyRule(String query, BibEntry bibEntry) {
         try {
-            return new BibtexSearchVisitor(caseSensitiveSearch, regExpSearch, bibEntry).visit(tree);
+            return compiledTree.test(bibEntry);
         } catch (Exception e) {
             LOGGER.debug("Search failed", e);
             return false;
         }
     }
 
+    @Override
+    public Predicate<BibEntry> compile(String query) {
+        // parses into a tree of its own, so that compiling does not interfere with the state used by applyRule
+        Predicate<BibEntry> compiled;
+        try {
+            compiled = compileTree(parse(query));
+        } catch (ParseCancellationException e) {
+            return entry -> false;
+        }
+        return entry -> {
+            try {
+                return compiled.test(entry);
+            } catch (Exception e) {
+                LOGGER.debug("Search failed", e);
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Optional<Set<BibEntry>> getCandidates(String query, FieldIndex index) {
+        if (regExpSearch) {
+            return Optional.empty();
+        }
+        try {
+            return new CandidateVisitor(index).visit(parse(query));
+        } catch (Exception e) {
+            LOGGER.debug("Could not determine search candidates", e);
+            return Optional.empty();
+        }
+    }
+
     @Override
     public boolean validateSearchStrings(String query) {
         try {
@@ -145,46 +195,91 @@ public class GrammarBasedSearchRule implements SearchRule {
         private final ComparisonOperator operator;
         private final Pattern fieldPattern;
         private final Pattern valuePattern;
+        private final boolean caseSensitive;
+
+        /**
+         * the searched field in the lower case used by {@link BibEntry}, null if the field is a regular expression
+         */
+        private final String literalField;
+
+        /**
+         * the searched value, lower case if the search is case insensitive, null if the value is a regular expression
+         */
+        private final String literalValue;
+
+        private final boolean matchesEntryType;
+
+        /**
+         * field name -> whether the field pattern matches it, field names are few, so matching once is sufficient
+         */
+        private final Map<String, Boolean> matchingFieldNames = new ConcurrentHashMap<>();
+
 
         public Comparator(String field, String value, ComparisonOperator operator, boolean caseSensitive, boolean regex) {
             this.operator = operator;
+            this.caseSensitive = caseSensitive;
 
             int option = caseSensitive ? 0 : Pattern.CASE_INSENSITIVE;
             this.fieldPattern = Pattern.compile(regex ? field : "\\Q" + field + "\\E", option);
             this.valuePattern = Pattern.compile(regex ? value : "\\Q" + value + "\\E", option);
+            this.matchesEntryType = fieldPattern.matcher(BibEntry.TYPE_HEADER).matches();
+
+            // patterns ignore the case of ASCII characters only and field names are stored in lower case
+            if (regex || field.contains("\\E") || !isAscii(field)) {
+                this.literalField = null;
+            } else if (caseSensitive) {
+                this.literalField = field.equals(toAsciiLowerCase(field)) ? field : null;
+            } else {
+                this.literalField = toAsciiLowerCase(field);
+            }
+            if (regex || value.contains("\\E")) {
+                this.literalValue = null;
+            } else {
+                this.literalValue = caseSensitive ? value : toAsciiLowerCase(value);
+            }
         }
 
         public boolean compare(BibEntry entry) {
             // special case for searching for entrytype=phdthesis
-            if (fieldPattern.matcher("entrytype").matches()) {
+            if (matchesEntryType) {
                 return matchFieldValue(entry.getType());
             }
 
             // specification of fieldsKeys to search is done in the search expression itself
-            Set<String> fieldsKeys = entry.getFieldNames();
-
-            List<String> matchedFieldKeys = fieldsKeys.stream().filter(matchFieldKey()).collect(Collectors.toList());
-
-            for (String field : matchedFieldKeys) {
-                String fieldValue = entry.getField(field);
+            if (literalField != null) {
+                String fieldValue = entry.getFieldMap().get(literalField);
                 if (fieldValue == null) {
-                    continue; // paranoia
+                    // special case of asdf!=whatever and entry does not contain asdf
+                    return operator == ComparisonOperator.DOES_NOT_CONTAIN;
+                }
+                return matchFieldValue(fieldValue);
+            }
+
+            boolean matchedFieldKey = false;
+            for (Map.Entry<String, String> field : entry.getFieldMap().entrySet()) {
+                if (!matchesFieldKey(field.getKey()) || (field.getValue() == null)) {
+                    continue;
                 }
+                matchedFieldKey = true;
 
-                if (matchFieldValue(fieldValue)) {
+                if (matchFieldValue(field.getValue())) {
                     return true;
                 }
             }
 
             // special case of asdf!=whatever and entry does not contain asdf
-            return matchedFieldKeys.isEmpty() && (operator == ComparisonOperator.DOES_NOT_CONTAIN);
+            return !matchedFieldKey && (operator == ComparisonOperator.DOES_NOT_CONTAIN);
         }
 
-        private Predicate<String> matchFieldKey() {
-            return s -> fieldPattern.matcher(s).matches();
+        private boolean matchesFieldKey(String fieldKey) {
+            return matchingFieldNames.computeIfAbsent(fieldKey, key -> fieldPattern.matcher(key).matches());
         }
 
         public boolean matchFieldValue(String content) {
+            if (literalValue != null) {
+                return matchLiteralFieldValue(content);
+            }
+
             Matcher matcher = valuePattern.matcher(content);
             if (operator == ComparisonOperator.CONTAINS) {
                 return matcher.find();
@@ -197,63 +292,197 @@ public class GrammarBasedSearchRule implements SearchRule {
             }
         }
 
+        private boolean matchLiteralFieldValue(String content) {
+            if (operator == ComparisonOperator.CONTAINS) {
+                return indexOf(content) >= 0;
+            } else if (operator == ComparisonOperator.EXACT) {
+                return (content.length() == literalValue.length()) && (indexOf(content) == 0);
+            } else if (operator == ComparisonOperator.DOES_NOT_CONTAIN) {
+                return indexOf(content) < 0;
+            } else {
+                throw new IllegalStateException("MUST NOT HAPPEN");
+            }
+        }
+
+        /**
+         * Returns the position of the literal value in the given content, ignoring the case of ASCII characters if the
+         * search is case insensitive (like {@link Pattern#CASE_INSENSITIVE})
+         */
+        private int indexOf(String content) {
+            if (caseSensitive) {
+                return content.indexOf(literalValue);
+            }
+
+            int last = content.length() - literalValue.length();
+            for (int start = 0; start <= last; start++) {
+                int i = 0;
+                while ((i < literalValue.length())
+                        && (toAsciiLowerCase(content.charAt(start + i)) == literalValue.charAt(i))) {
+                    i++;
+                }
+                if (i == literalValue.length()) {
+                    return start;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the relative cost of comparing an entry: looking up a single field is cheaper than matching all
+         * field names, literals are cheaper than regular expressions.
+         */
+        double getCost() {
+            double cost = (matchesEntryType || (literalField != null)) ? 1 : 4;
+            return literalValue == null ? cost * 2 : cost;
+        }
+
+        /**
+         * Returns the estimated probability that an entry matches: exact matches are rarer than contained values,
+         * longer values are rarer than shorter ones.
+         */
+        double getSelectivity() {
+            String value = valuePattern.pattern();
+            double containsSelectivity = Math.min(0.5, 1.0 / Math.max(1, value.length()));
+            if (operator == ComparisonOperator.EXACT) {
+                return containsSelectivity / 4;
+            } else if (operator == ComparisonOperator.CONTAINS) {
+                return containsSelectivity;
+            } else {
+                return 1 - containsSelectivity;
+            }
+        }
+
+        private static boolean isAscii(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) > 127) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static char toAsciiLowerCase(char character) {
+            return ((character >= 'A') && (character <= 'Z')) ? (char) (character + ('a' - 'A')) : character;
+        }
+
+        private static String toAsciiLowerCase(String text) {
+            StringBuilder result = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                result.append(toAsciiLowerCase(text.charAt(i)));
+            }
+            return result.toString();
+        }
     }
 
     /**
-     * Search results in boolean. It may be later on converted to an int.
+     * Compiles the parse tree into a {@link CompiledSearchExpression}, which is evaluated for each entry.
      */
-    static class BibtexSearchVisitor extends SearchBaseVisitor<Boolean> {
+    static class CompilingVisitor extends SearchBaseVisitor<CompiledSearchExpression> {
 
         private final boolean caseSensitive;
         private final boolean regex;
 
-        private final BibEntry entry;
-
-        public BibtexSearchVisitor(boolean caseSensitive, boolean regex, BibEntry bibEntry) {
+        public CompilingVisitor(boolean caseSensitive, boolean regex) {
             this.caseSensitive = caseSensitive;
             this.regex = regex;
-            this.entry = bibEntry;
         }
 
-        public boolean comparison(String field, ComparisonOperator operator, String value) {
-            return new Comparator(field, value, operator, caseSensitive, regex).compare(entry);
+        @Override
+        public CompiledSearchExpression visitStart(SearchParser.StartContext ctx) {
+            return visit(ctx.expression());
         }
 
         @Override
-        public Boolean visitStart(SearchParser.StartContext ctx) {
-            return visit(ctx.expression());
+        public CompiledSearchExpression visitComparison(SearchParser.ComparisonContext ctx) {
+            return CompiledSearchExpression.comparison(new Comparator(ctx.left.getText(), getComparisonValue(ctx),
+                    ComparisonOperator.build(ctx.operator.getText()), caseSensitive, regex));
+        }
+
+        @Override
+        public CompiledSearchExpression visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+            return CompiledSearchExpression.not(visit(ctx.expression()));
         }
 
         @Override
-        public Boolean visitComparison(SearchParser.ComparisonContext ctx) {
-            // remove possible enclosing " symbols
-            String right = ctx.right.getText();
-            if(right.startsWith("\"") && right.endsWith("\"")) {
-                right = right.substring(1, right.length() - 2);
+        public CompiledSearchExpression visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+            return visit(ctx.expression()); // ignore parenthesis
+        }
+
+        @Override
+        public CompiledSearchExpression visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+            if ("AND".equalsIgnoreCase(ctx.operator.getText())) {
+                return CompiledSearchExpression.and(visit(ctx.left), visit(ctx.right));
+            } else {
+                return CompiledSearchExpression.or(visit(ctx.left), visit(ctx.right));
             }
+        }
+    }
+
+    private static String getComparisonValue(SearchParser.ComparisonContext ctx) {
+        // remove possible enclosing " symbols
+        String right = ctx.right.getText();
+        if(right.startsWith("\"") && right.endsWith("\"")) {
+            right = right.substring(1, right.length() - 2);
+        }
+        return right;
+    }
+
+    /**
+     * Determines the candidates of a (non regex) query using a {@link FieldIndex}. Comparisons which cannot be answered
+     * by the index (negations, "entrytype", ...) result in an empty Optional, which is propagated through OR, but
+     * ignored by AND.
+     */
+    static class CandidateVisitor extends SearchBaseVisitor<Optional<Set<BibEntry>>> {
 
-            return comparison(ctx.left.getText(), ComparisonOperator.build(ctx.operator.getText()), right);
+        private final FieldIndex index;
 
+        public CandidateVisitor(FieldIndex index) {
+            this.index = Objects.requireNonNull(index);
         }
 
         @Override
-        public Boolean visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
-            return !visit(ctx.expression()); // negate
+        public Optional<Set<BibEntry>> visitStart(SearchParser.StartContext ctx) {
+            return visit(ctx.expression());
         }
 
         @Override
-        public Boolean visitParenExpression(SearchParser.ParenExpressionContext ctx) {
-            return visit(ctx.expression()); // ignore parenthesis
+        public Optional<Set<BibEntry>> visitComparison(SearchParser.ComparisonContext ctx) {
+            String field = ctx.left.getText();
+            if ((ComparisonOperator.build(ctx.operator.getText()) == ComparisonOperator.DOES_NOT_CONTAIN)
+                    || "entrytype".equalsIgnoreCase(field)) {
+                return Optional.empty();
+            }
+            return Optional.of(index.getEntriesContaining(field, getComparisonValue(ctx)));
         }
 
         @Override
-        public Boolean visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+        public Optional<Set<BibEntry>> visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Set<BibEntry>> visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+            return visit(ctx.expression());
+        }
+
+        @Override
+        public Optional<Set<BibEntry>> visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+            Optional<Set<BibEntry>> left = visit(ctx.left);
+            Optional<Set<BibEntry>> right = visit(ctx.right);
             if ("AND".equalsIgnoreCase(ctx.operator.getText())) {
-                return visit(ctx.left) && visit(ctx.right); // and
+                if (!left.isPresent()) {
+                    return right;
+                } else if (right.isPresent()) {
+                    left.get().retainAll(right.get());
+                }
+                return left;
             } else {
-                return visit(ctx.left) || visit(ctx.right); // or
+                if (left.isPresent() && right.isPresent()) {
+                    left.get().addAll(right.get());
+                    return left;
+                }
+                return Optional.empty();
             }
         }
     }
-
 }
@@ -15,20 +15,18 @@
 */
 package net.sf.jabref.logic.search.rules;
 
-import java.util.regex.Matcher;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
-import net.sf.jabref.logic.layout.format.RemoveLatexCommands;
 import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.FieldNormalization;
 
 /**
  * Search rule for regex-based search.
  */
 public class RegexBasedSearchRule implements SearchRule {
 
-    private static final RemoveLatexCommands REMOVE_LATEX_COMMANDS = new RemoveLatexCommands();
-
     private final boolean caseSensitive;
 
     public RegexBasedSearchRule(boolean caseSensitive) {
@@ -56,24 +54,28 @@ public class RegexBasedSearchRule implements SearchRule {
 
     @Override
     public boolean applyRule(String query, BibEntry bibEntry) {
+        return compile(query).test(bibEntry);
+    }
+
+    @Override
+    public Predicate<BibEntry> compile(String query) {
         Pattern pattern;
 
         try {
             pattern = Pattern.compile(query, caseSensitive ? 0 : Pattern.CASE_INSENSITIVE);
         } catch (PatternSyntaxException ex) {
-            return false;
+            return bibEntry -> false;
         }
 
-        for (String field : bibEntry.getFieldNames()) {
-            if (bibEntry.hasField(field)) {
-                String fieldContent = RegexBasedSearchRule.REMOVE_LATEX_COMMANDS.format(bibEntry.getField(field));
-                String fieldContentNoBrackets = RegexBasedSearchRule.REMOVE_LATEX_COMMANDS.format(fieldContent);
-                Matcher m = pattern.matcher(fieldContentNoBrackets);
-                if (m.find()) {
-                    return true;
-                }
-            }
+        return bibEntry -> matches(bibEntry, pattern);
+    }
 
+    private static boolean matches(BibEntry bibEntry, Pattern pattern) {
+        for (String field : bibEntry.getFieldMap().keySet()) {
+            String fieldContent = bibEntry.getNormalizedField(field, FieldNormalization.LATEX_FREE);
+            if ((fieldContent != null) && pattern.matcher(fieldContent).find()) {
+                return true;
+            }
         }
         return false;
     }
@@ -26,6 +26,11 @@ http://www.gnu.org/copyleft/gpl.ja.html
 */
 package net.sf.jabref.logic.search.rules;
 
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import net.sf.jabref.model.database.FieldIndex;
 import net.sf.jabref.model.entry.BibEntry;
 
 public interface SearchRule {
@@ -33,4 +38,23 @@ public interface SearchRule {
     boolean applyRule(String query, BibEntry bibEntry);
 
     boolean validateSearchStrings(String query);
+
+    /**
+     * Prepares the given query once, so that it can be applied to many entries without analyzing the query for each
+     * entry again. The result matches the same entries as {@link #applyRule(String, BibEntry)}.
+     */
+    default Predicate<BibEntry> compile(String query) {
+        return entry -> applyRule(query, entry);
+    }
+
+    /**
+     * Uses the given index to determine the entries which may match the query. Every entry matching the query is
+     * contained in the result, but not every returned entry matches: the candidates still have to be checked using
+     * {@link #applyRule(String, BibEntry)}.
+     *
+     * @return the candidates or an empty Optional if the index cannot narrow down the search
+     */
+    default Optional<Set<BibEntry>> getCandidates(String query, FieldIndex index) {
+        return Optional.empty();
+    }
 }
@@ -24,6 +24,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import net.sf.jabref.logic.util.OS;
+import net.sf.jabref.model.entry.LatexCommandRemover;
 
 import com.google.common.base.CharMatcher;
 import org.apache.commons.lang3.StringUtils;
@@ -31,7 +32,7 @@ import org.apache.commons.lang3.StringUtils;
 public class StringUtil {
 
     // Non-letters which are used to denote accents in LaTeX-commands, e.g., in {\"{a}}
-    public static final String SPECIAL_COMMAND_CHARS = "\"`^~'=.|";
+    public static final String SPECIAL_COMMAND_CHARS = LatexCommandRemover.SPECIAL_COMMAND_CHARS;
 
     // contains all possible line breaks, not omitting any break such as "\\n"
     private static final Pattern LINE_BREAKS = Pattern.compile("\\r\\n|\\r|\\n");
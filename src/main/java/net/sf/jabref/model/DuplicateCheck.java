@@ -23,6 +23,7 @@ import java.util.Set;
 
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.database.DuplicateCandidateIndex;
 import net.sf.jabref.model.entry.AuthorList;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.EntryType;
@@ -213,17 +214,18 @@ public class DuplicateCheck {
     }
 
     /**
-     * Goes through all entries in the given database, and if at least one of
+     * Goes through the entries in the given database, and if at least one of
      * them is a duplicate of the given entry, as per
      * Util.isDuplicate(BibEntry, BibEntry), the duplicate is returned.
      * The search is terminated when the first duplicate is found.
+     * Only the candidates of the database's {@link DuplicateCandidateIndex} are compared.
      *
      * @param database The database to search.
      * @param entry    The entry of which we are looking for duplicates.
      * @return The first duplicate entry found. null if no duplicates are found.
      */
     public static Optional<BibEntry> containsDuplicate(BibDatabase database, BibEntry entry, BibDatabaseMode bibDatabaseMode) {
-        for (BibEntry other : database.getEntries()) {
+        for (BibEntry other : database.getDuplicateCandidateIndex().getCandidates(entry)) {
             if (DuplicateCheck.isDuplicate(entry, other, bibDatabaseMode)) {
                 return Optional.of(other); // Duplicate found.
             }
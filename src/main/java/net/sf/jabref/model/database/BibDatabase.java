@@ -89,6 +89,16 @@ public class BibDatabase {
 
     private final EventBus eventBus = new EventBus();
 
+    /**
+     * inverted index of the field contents, built on first use
+     */
+    private FieldIndex fieldIndex;
+
+    /**
+     * blocking index for duplicate detection, built on first use
+     */
+    private DuplicateCandidateIndex duplicateCandidateIndex;
+
     /**
      * Returns the number of entries.
      */
@@ -122,6 +132,34 @@ public class BibDatabase {
         return Collections.unmodifiableList(entries);
     }
 
+    /**
+     * Returns the inverted index of the field contents of this database.
+     * The index is built on first access and kept in sync with the database afterwards.
+     */
+    public synchronized FieldIndex getFieldIndex() {
+        if (fieldIndex == null) {
+            fieldIndex = new FieldIndex();
+            // register first, so that no change happening while the index is filled gets lost
+            registerListener(fieldIndex);
+            fieldIndex.addEntries(entries);
+        }
+        return fieldIndex;
+    }
+
+    /**
+     * Returns the blocking index narrowing down possible duplicates of entries.
+     * The index is built on first access and kept in sync with the database afterwards.
+     */
+    public synchronized DuplicateCandidateIndex getDuplicateCandidateIndex() {
+        if (duplicateCandidateIndex == null) {
+            duplicateCandidateIndex = new DuplicateCandidateIndex();
+            // register first, so that no change happening while the index is filled gets lost
+            registerListener(duplicateCandidateIndex);
+            duplicateCandidateIndex.addEntries(entries);
+        }
+        return duplicateCandidateIndex;
+    }
+
     public Set<String> getAllVisibleFields() {
         Set<String> allFields = new TreeSet<>();
         for (BibEntry e : getEntries()) {
@@ -0,0 +1,357 @@
+package net.sf.jabref.model.database;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import net.sf.jabref.model.entry.AuthorList;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.FieldName;
+import net.sf.jabref.model.event.EntryAddedEvent;
+import net.sf.jabref.model.event.EntryRemovedEvent;
+import net.sf.jabref.model.event.FieldChangedEvent;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Blocking index narrowing down the entries which may be duplicates of each other.
+ * <p>
+ * Comparing all pairs of entries with {@link net.sf.jabref.model.DuplicateCheck#isDuplicate} is too expensive for
+ * large databases. This index assigns blocking keys to each entry and only entries sharing a key are candidates:
+ * <ul>
+ * <li>the DOI,</li>
+ * <li>the last name of the first author (or editor if there is no author) together with the year,</li>
+ * <li>the bands of a MinHash signature of the title words. Titles sharing most of their words very likely share a
+ * band.</li>
+ * </ul>
+ * All keys include the entry type, because entries of different types are never duplicates. Entries without any key
+ * are candidates of all entries of the same type. If there are many entries of this type, they are only candidates of
+ * the other entries without any key, so that a database with many incomplete entries is not compared completely.
+ * <p>
+ * Blocking trades completeness for speed: entries with few common title words, different first authors or years and
+ * no common DOI are not reported, even if the weighted field comparison would consider them duplicates.
+ * <p>
+ * The index of a {@link BibDatabase} is kept in sync by listening to its events. Other collections of entries can be
+ * indexed by adding them explicitly.
+ */
+public class DuplicateCandidateIndex {
+
+    /**
+     * With 6 bands of 4 rows, titles with a Jaccard similarity of 0.8 of their words share a band with a probability of
+     * 96%, titles with a similarity of 0.5 with 32%.
+     */
+    private static final int TITLE_BANDS = 6;
+    private static final int TITLE_ROWS_PER_BAND = 4;
+    private static final int[] TITLE_HASH_SEEDS = createSeeds(TITLE_BANDS * TITLE_ROWS_PER_BAND);
+
+    /**
+     * Maximum number of entries of a type which are all candidates of the entries of this type without any key
+     */
+    private static final int MAX_ENTRIES_OF_TYPE_COMPARED_WITHOUT_KEYS = 1000;
+
+    /**
+     * blocking key -> entries having this key
+     */
+    private final Map<String, Set<BibEntry>> blocks = new HashMap<>();
+
+    /**
+     * entry type -> entries of this type without any blocking key
+     */
+    private final Map<String, Set<BibEntry>> entriesWithoutKeys = new HashMap<>();
+
+    /**
+     * entry type -> all entries of this type
+     */
+    private final Map<String, Set<BibEntry>> entriesByType = new HashMap<>();
+
+    /**
+     * entry -> blocking keys and type the entry is indexed with, required to remove outdated keys
+     */
+    private final Map<BibEntry, Set<String>> indexedKeys = new IdentityHashMap<>();
+    private final Map<BibEntry, String> indexedTypes = new IdentityHashMap<>();
+
+    /**
+     * entry -> insertion number, used to return candidates in the order the entries were added
+     */
+    private final Map<BibEntry, Long> insertionOrder = new IdentityHashMap<>();
+    private long insertionCounter;
+
+
+    public DuplicateCandidateIndex() {
+        // empty index
+    }
+
+    public DuplicateCandidateIndex(Collection<BibEntry> entries) {
+        addEntries(entries);
+    }
+
+    public synchronized void addEntries(Collection<BibEntry> entries) {
+        for (BibEntry entry : entries) {
+            addEntry(entry);
+        }
+    }
+
+    public synchronized void addEntry(BibEntry entry) {
+        if (insertionOrder.containsKey(entry)) {
+            return;
+        }
+        insertionOrder.put(entry, insertionCounter++);
+        indexKeys(entry);
+    }
+
+    public synchronized void removeEntry(BibEntry entry) {
+        if (insertionOrder.remove(entry) != null) {
+            removeKeys(entry);
+        }
+    }
+
+    /**
+     * Recomputes the blocking keys of the given entry after its fields or type changed.
+     */
+    public synchronized void updateEntry(BibEntry entry) {
+        if (insertionOrder.containsKey(entry)) {
+            removeKeys(entry);
+            indexKeys(entry);
+        }
+    }
+
+    /**
+     * Returns the indexed entries which may be duplicates of the given entry in the order they were added. The given
+     * entry does not have to be indexed and is never part of the result.
+     */
+    public synchronized List<BibEntry> getCandidates(BibEntry entry) {
+        Set<BibEntry> candidates = FieldIndex.newEntrySet();
+        Set<String> keys = getBlockingKeys(entry);
+        Set<BibEntry> entriesOfType = entriesByType.getOrDefault(entry.getType(), Collections.emptySet());
+        Set<BibEntry> entriesOfTypeWithoutKeys = entriesWithoutKeys.getOrDefault(entry.getType(),
+                Collections.emptySet());
+        boolean compareWithoutKeys = entriesOfType.size() <= MAX_ENTRIES_OF_TYPE_COMPARED_WITHOUT_KEYS;
+        if (keys.isEmpty()) {
+            candidates.addAll(compareWithoutKeys ? entriesOfType : entriesOfTypeWithoutKeys);
+        } else {
+            for (String key : keys) {
+                candidates.addAll(blocks.getOrDefault(key, Collections.emptySet()));
+            }
+            if (compareWithoutKeys) {
+                candidates.addAll(entriesOfTypeWithoutKeys);
+            }
+        }
+        candidates.remove(entry);
+
+        List<BibEntry> result = new ArrayList<>(candidates);
+        result.sort((e1, e2) -> Long.compare(insertionOrder.get(e1), insertionOrder.get(e2)));
+        return result;
+    }
+
+    /**
+     * Returns all pairs of indexed entries which may be duplicates. The first entry of each pair was added before the
+     * second one. The pairs are in the same order as in a nested loop over all entries in the order they were added.
+     * <p>
+     * The pairs are determined lazily, one entry after the other, so that only the candidates of the current entry are
+     * kept in memory. Entries removed meanwhile are skipped, entries added meanwhile are not paired.
+     */
+    public synchronized Iterator<BibEntry[]> getCandidatePairs() {
+        List<BibEntry> entries = new ArrayList<>(insertionOrder.keySet());
+        entries.sort((e1, e2) -> Long.compare(insertionOrder.get(e1), insertionOrder.get(e2)));
+
+        return new Iterator<BibEntry[]>() {
+
+            private final Iterator<BibEntry> firstEntries = entries.iterator();
+            private BibEntry first;
+            private Iterator<BibEntry> secondEntries = Collections.emptyIterator();
+
+
+            @Override
+            public boolean hasNext() {
+                while (!secondEntries.hasNext() && firstEntries.hasNext()) {
+                    first = firstEntries.next();
+                    secondEntries = getLaterCandidates(first).iterator();
+                }
+                return secondEntries.hasNext();
+            }
+
+            @Override
+            public BibEntry[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return new BibEntry[] {first, secondEntries.next()};
+            }
+        };
+    }
+
+    /**
+     * Returns the candidates of the given entry which were added after it.
+     */
+    private synchronized List<BibEntry> getLaterCandidates(BibEntry entry) {
+        Long position = insertionOrder.get(entry);
+        if (position == null) {
+            // removed meanwhile
+            return Collections.emptyList();
+        }
+        List<BibEntry> candidates = getCandidates(entry);
+        candidates.removeIf(candidate -> insertionOrder.get(candidate) < position);
+        return candidates;
+    }
+
+    /**
+     * Returns the number of indexed entries.
+     */
+    public synchronized int size() {
+        return insertionOrder.size();
+    }
+
+    @Subscribe
+    public void listen(EntryAddedEvent event) {
+        addEntry(event.getBibEntry());
+    }
+
+    @Subscribe
+    public void listen(EntryRemovedEvent event) {
+        removeEntry(event.getBibEntry());
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        updateEntry(event.getBibEntry());
+    }
+
+    /**
+     * Returns the blocking keys of the given entry, see the class description.
+     */
+    static Set<String> getBlockingKeys(BibEntry entry) {
+        String type = entry.getType();
+        Set<String> keys = new HashSet<>();
+
+        Optional<String> doi = entry.getFieldOptional(FieldName.DOI).map(DuplicateCandidateIndex::normalizeDoi);
+        if (doi.isPresent() && !doi.get().isEmpty()) {
+            keys.add(type + "|doi|" + doi.get());
+        }
+
+        Optional<String> persons = entry.getFieldOptional(FieldName.AUTHOR);
+        if (!persons.isPresent()) {
+            persons = entry.getFieldOptional(FieldName.EDITOR);
+        }
+        if (persons.isPresent()) {
+            AuthorList authorList = AuthorList.parse(persons.get());
+            if (!authorList.isEmpty() && (authorList.getAuthor(0).getLast() != null)) {
+                String lastName = normalizeWords(authorList.getAuthor(0).getLast());
+                String year = entry.getFieldOptional(FieldName.YEAR).map(String::trim).orElse("");
+                keys.add(type + "|person|" + lastName + '|' + year);
+            }
+        }
+
+        Optional<String> title = entry.getFieldOptional(FieldName.TITLE);
+        if (title.isPresent()) {
+            // braces only protect the case and must not split words
+            String titleWithoutBraces = title.get().replace("{", "").replace("}", "");
+            Set<String> words = new HashSet<>(FieldIndex.getTokens(titleWithoutBraces.toLowerCase(Locale.ROOT)));
+            if (!words.isEmpty()) {
+                int[] signature = getMinHashSignature(words);
+                for (int band = 0; band < TITLE_BANDS; band++) {
+                    StringBuilder key = new StringBuilder(type).append("|title").append(band);
+                    for (int row = 0; row < TITLE_ROWS_PER_BAND; row++) {
+                        key.append('|').append(signature[(band * TITLE_ROWS_PER_BAND) + row]);
+                    }
+                    keys.add(key.toString());
+                }
+            }
+        }
+
+        return keys;
+    }
+
+    private void indexKeys(BibEntry entry) {
+        String type = entry.getType();
+        Set<String> keys = getBlockingKeys(entry);
+        indexedKeys.put(entry, keys);
+        indexedTypes.put(entry, type);
+
+        entriesByType.computeIfAbsent(type, k -> FieldIndex.newEntrySet()).add(entry);
+        if (keys.isEmpty()) {
+            entriesWithoutKeys.computeIfAbsent(type, k -> FieldIndex.newEntrySet()).add(entry);
+        }
+        for (String key : keys) {
+            blocks.computeIfAbsent(key, k -> FieldIndex.newEntrySet()).add(entry);
+        }
+    }
+
+    private void removeKeys(BibEntry entry) {
+        String type = indexedTypes.remove(entry);
+        Set<String> keys = indexedKeys.remove(entry);
+
+        removeFromBlock(entriesByType, type, entry);
+        removeFromBlock(entriesWithoutKeys, type, entry);
+        for (String key : keys) {
+            removeFromBlock(blocks, key, entry);
+        }
+    }
+
+    private static void removeFromBlock(Map<String, Set<BibEntry>> blockMap, String key, BibEntry entry) {
+        Set<BibEntry> block = blockMap.get(key);
+        if (block != null) {
+            block.remove(entry);
+            if (block.isEmpty()) {
+                blockMap.remove(key);
+            }
+        }
+    }
+
+    private static int[] createSeeds(int number) {
+        Random random = new Random(0x5EED);
+        int[] seeds = new int[number];
+        for (int i = 0; i < number; i++) {
+            seeds[i] = random.nextInt();
+        }
+        return seeds;
+    }
+
+    private static int[] getMinHashSignature(Set<String> words) {
+        int[] signature = new int[TITLE_HASH_SEEDS.length];
+        for (int i = 0; i < TITLE_HASH_SEEDS.length; i++) {
+            int minimum = Integer.MAX_VALUE;
+            for (String word : words) {
+                minimum = Math.min(minimum, hash(word.hashCode() ^ TITLE_HASH_SEEDS[i]));
+            }
+            signature[i] = minimum;
+        }
+        return signature;
+    }
+
+    /**
+     * Mixes the bits of the given value (finalizer of MurmurHash3), so that each seed gives an independent order
+     */
+    private static int hash(int value) {
+        int h = value;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static String normalizeDoi(String doi) {
+        String result = doi.trim().toLowerCase(Locale.ROOT);
+        int start = result.indexOf("10.");
+        if (start > 0) {
+            result = result.substring(start);
+        }
+        return result;
+    }
+
+    private static String normalizeWords(String text) {
+        return String.join(" ", FieldIndex.getTokens(text.toLowerCase(Locale.ROOT)));
+    }
+}
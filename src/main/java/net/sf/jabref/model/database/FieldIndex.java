@@ -0,0 +1,375 @@
+package net.sf.jabref.model.database;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.LatexCommandRemover;
+import net.sf.jabref.model.event.EntryAddedEvent;
+import net.sf.jabref.model.event.EntryRemovedEvent;
+import net.sf.jabref.model.event.FieldChangedEvent;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Inverted index mapping the tokens of each field to the entries containing them.
+ * <p>
+ * Field values are split into tokens at every character which is neither a letter nor a digit. Both the raw value and
+ * the value with LaTeX commands removed are indexed in lower case. A term can only be contained in a field value if
+ * each of its token parts is contained in an indexed token of that field. Hence, the lookup methods return a superset
+ * of the entries really containing the term and the caller has to verify the returned candidates.
+ * <p>
+ * The matching tokens of a part are looked up without scanning all tokens where possible: a part enclosed by
+ * delimiters in the term has to be a whole token, a part preceded by a delimiter has to be a prefix of a token (sorted
+ * vocabulary) and other parts of at least three characters are looked up via the trigrams of the tokens. Only shorter
+ * parts require a scan of the vocabulary.
+ * <p>
+ * The index is owned by a {@link BibDatabase} and kept in sync by listening to its events.
+ */
+public class FieldIndex {
+
+    /**
+     * field name -> token -> entries having the token in this field
+     */
+    private final Map<String, Map<String, Set<BibEntry>>> postings = new HashMap<>();
+
+    /**
+     * token -> number of fields having postings for the token, sorted for prefix lookups
+     */
+    private final TreeMap<String, Integer> vocabulary = new TreeMap<>();
+
+    /**
+     * trigram -> tokens of the vocabulary containing the trigram, used for substring lookups
+     */
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+
+    /**
+     * entry -> field name -> indexed tokens, required to remove outdated postings
+     */
+    private final Map<BibEntry, Map<String, Set<String>>> indexedTokens = new IdentityHashMap<>();
+
+    /**
+     * entry -> insertion number, used to restore the order of {@link BibDatabase#getEntries()}
+     */
+    private final Map<BibEntry, Long> insertionOrder = new IdentityHashMap<>();
+    private long insertionCounter;
+
+
+    FieldIndex() {
+        // instances are created by BibDatabase only
+    }
+
+    /**
+     * Returns all indexed entries which contain the given term (as a substring) in at least one field. The check is
+     * case insensitive.
+     */
+    public synchronized Set<BibEntry> getEntriesContaining(String term) {
+        return getEntriesContaining(postings.keySet(), term);
+    }
+
+    /**
+     * Returns all indexed entries which contain the given term (as a substring) in the given field. The check is case
+     * insensitive.
+     */
+    public synchronized Set<BibEntry> getEntriesContaining(String field, String term) {
+        return getEntriesContaining(Collections.singleton(toLowerCase(field)), term);
+    }
+
+    /**
+     * Returns the given entries in the order they have in the owning database. Entries which are not indexed are
+     * dropped.
+     */
+    public synchronized List<BibEntry> sortInDatabaseOrder(Collection<BibEntry> entries) {
+        List<BibEntry> result = new ArrayList<>(entries.size());
+        for (BibEntry entry : entries) {
+            if (insertionOrder.containsKey(entry)) {
+                result.add(entry);
+            }
+        }
+        result.sort((e1, e2) -> Long.compare(insertionOrder.get(e1), insertionOrder.get(e2)));
+        return result;
+    }
+
+    /**
+     * Returns the number of indexed entries.
+     */
+    public synchronized int size() {
+        return insertionOrder.size();
+    }
+
+    /**
+     * Returns a new identity-based set which may be used to combine the results of this index.
+     */
+    public static Set<BibEntry> newEntrySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Splits the given term into the parts which are used to look up the index. An empty list is returned if the term
+     * consists of delimiters only.
+     */
+    public static List<String> getTokens(String term) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < term.length(); i++) {
+            if (Character.isLetterOrDigit(term.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(term.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(term.substring(start));
+        }
+        return tokens;
+    }
+
+    synchronized void addEntries(Collection<BibEntry> entries) {
+        for (BibEntry entry : entries) {
+            addEntry(entry);
+        }
+    }
+
+    @Subscribe
+    public void listen(EntryAddedEvent event) {
+        addEntry(event.getBibEntry());
+    }
+
+    @Subscribe
+    public void listen(EntryRemovedEvent event) {
+        removeEntry(event.getBibEntry());
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        updateField(event.getBibEntry(), event.getFieldName());
+    }
+
+    private Set<BibEntry> getEntriesContaining(Collection<String> fields, String term) {
+        Objects.requireNonNull(term);
+
+        // the tokens matching each part of the term, a part has to match a token of the same field
+        List<Set<String>> tokensOfParts = new ArrayList<>();
+        String lowerCaseTerm = term.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCaseTerm.length(); i++) {
+            if ((i < lowerCaseTerm.length()) && Character.isLetterOrDigit(lowerCaseTerm.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                Set<String> tokens = getMatchingTokens(lowerCaseTerm.substring(start, i), start > 0,
+                        i < lowerCaseTerm.length());
+                if (tokens.isEmpty()) {
+                    return newEntrySet();
+                }
+                tokensOfParts.add(tokens);
+                start = -1;
+            }
+        }
+
+        Set<BibEntry> result = newEntrySet();
+        if (tokensOfParts.isEmpty()) {
+            // no way to narrow down the result
+            result.addAll(insertionOrder.keySet());
+            return result;
+        }
+
+        // collect the entries of the most selective part and filter them by the other parts
+        tokensOfParts.sort((tokens1, tokens2) -> Integer.compare(tokens1.size(), tokens2.size()));
+        for (String field : fields) {
+            Map<String, Set<BibEntry>> fieldPostings = postings.get(field);
+            if (fieldPostings == null) {
+                continue;
+            }
+            for (String token : tokensOfParts.get(0)) {
+                Set<BibEntry> entries = fieldPostings.get(token);
+                if (entries != null) {
+                    result.addAll(entries);
+                }
+            }
+        }
+        for (Set<String> tokens : tokensOfParts.subList(1, tokensOfParts.size())) {
+            result.removeIf(entry -> !hasAnyToken(entry, fields, tokens));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the indexed tokens containing the given part.
+     *
+     * @param startsToken whether the part is preceded by a delimiter and hence has to be at the start of a token
+     * @param endsToken whether the part is followed by a delimiter and hence has to be at the end of a token
+     */
+    private Set<String> getMatchingTokens(String part, boolean startsToken, boolean endsToken) {
+        if (startsToken && endsToken) {
+            return vocabulary.containsKey(part) ? Collections.singleton(part) : Collections.emptySet();
+        }
+
+        Set<String> result = new HashSet<>();
+        if (startsToken) {
+            for (String token : vocabulary.tailMap(part).keySet()) {
+                if (!token.startsWith(part)) {
+                    break;
+                }
+                result.add(token);
+            }
+            return result;
+        }
+
+        Collection<String> candidates = vocabulary.keySet();
+        for (String trigram : getTrigrams(part)) {
+            Set<String> tokens = trigrams.get(trigram);
+            if (tokens == null) {
+                return result;
+            }
+            if (tokens.size() < candidates.size()) {
+                candidates = tokens;
+            }
+        }
+        for (String token : candidates) {
+            if (endsToken ? token.endsWith(part) : token.contains(part)) {
+                result.add(token);
+            }
+        }
+        return result;
+    }
+
+    private boolean hasAnyToken(BibEntry entry, Collection<String> fields, Set<String> tokens) {
+        for (Map.Entry<String, Set<String>> tokensOfField : indexedTokens.get(entry).entrySet()) {
+            if (fields.contains(tokensOfField.getKey())
+                    && !Collections.disjoint(tokensOfField.getValue(), tokens)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void addEntry(BibEntry entry) {
+        if (insertionOrder.containsKey(entry)) {
+            return;
+        }
+        insertionOrder.put(entry, insertionCounter++);
+        indexedTokens.put(entry, new HashMap<>());
+        for (String field : entry.getFieldNames()) {
+            updateField(entry, field);
+        }
+    }
+
+    private synchronized void removeEntry(BibEntry entry) {
+        Map<String, Set<String>> tokensOfEntry = indexedTokens.remove(entry);
+        if (tokensOfEntry == null) {
+            return;
+        }
+        insertionOrder.remove(entry);
+        tokensOfEntry.forEach((field, tokens) -> removePostings(entry, field, tokens));
+    }
+
+    private synchronized void updateField(BibEntry entry, String field) {
+        Map<String, Set<String>> tokensOfEntry = indexedTokens.get(entry);
+        if (tokensOfEntry == null) {
+            // entry is not part of the database (anymore)
+            return;
+        }
+
+        String fieldName = toLowerCase(field);
+        Set<String> oldTokens = tokensOfEntry.remove(fieldName);
+        if (oldTokens != null) {
+            removePostings(entry, fieldName, oldTokens);
+        }
+
+        Optional<String> value = entry.getFieldOptional(fieldName);
+        if (!value.isPresent()) {
+            return;
+        }
+
+        Set<String> newTokens = getIndexTokens(value.get());
+        tokensOfEntry.put(fieldName, newTokens);
+        Map<String, Set<BibEntry>> fieldPostings = postings.computeIfAbsent(fieldName, k -> new HashMap<>());
+        for (String token : newTokens) {
+            Set<BibEntry> entries = fieldPostings.get(token);
+            if (entries == null) {
+                entries = newEntrySet();
+                fieldPostings.put(token, entries);
+                addToVocabulary(token);
+            }
+            entries.add(entry);
+        }
+    }
+
+    private void removePostings(BibEntry entry, String field, Set<String> tokens) {
+        Map<String, Set<BibEntry>> fieldPostings = postings.get(field);
+        if (fieldPostings == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Set<BibEntry> entries = fieldPostings.get(token);
+            if (entries != null) {
+                entries.remove(entry);
+                if (entries.isEmpty()) {
+                    fieldPostings.remove(token);
+                    removeFromVocabulary(token);
+                }
+            }
+        }
+        if (fieldPostings.isEmpty()) {
+            postings.remove(field);
+        }
+    }
+
+    private void addToVocabulary(String token) {
+        if (vocabulary.merge(token, 1, Integer::sum) == 1) {
+            for (String trigram : getTrigrams(token)) {
+                trigrams.computeIfAbsent(trigram, k -> new HashSet<>()).add(token);
+            }
+        }
+    }
+
+    private void removeFromVocabulary(String token) {
+        int count = vocabulary.get(token);
+        if (count > 1) {
+            vocabulary.put(token, count - 1);
+            return;
+        }
+        vocabulary.remove(token);
+        for (String trigram : getTrigrams(token)) {
+            Set<String> tokens = trigrams.get(trigram);
+            tokens.remove(token);
+            if (tokens.isEmpty()) {
+                trigrams.remove(trigram);
+            }
+        }
+    }
+
+    private static Set<String> getTrigrams(String token) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; (i + 3) <= token.length(); i++) {
+            result.add(token.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static Set<String> getIndexTokens(String value) {
+        Set<String> tokens = new HashSet<>(getTokens(value.toLowerCase(Locale.ROOT)));
+        tokens.addAll(getTokens(LatexCommandRemover.removeLatexCommands(value).toLowerCase(Locale.ROOT)));
+        return tokens;
+    }
+
+    private static String toLowerCase(String fieldName) {
+        return Objects.requireNonNull(fieldName).toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -18,9 +18,13 @@ package net.sf.jabref.model.entry;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.WeakHashMap;
 import java.util.stream.Collectors;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+
 /**
  * This is an immutable class representing information of either <CODE>author</CODE>
  * or <CODE>editor</CODE> field in bibtex record.
@@ -143,7 +147,12 @@ public class AuthorList {
     private final String[] authorsLastFirst = new String[4];
     private final String[] authorsLastFirstFirstLast = new String[2];
 
-    private static final WeakHashMap<String, AuthorList> AUTHOR_CACHE = new WeakHashMap<>();
+    /**
+     * Default maximal number of parsed author strings kept in the cache
+     */
+    public static final int DEFAULT_CACHE_SIZE = 10000;
+
+    private static volatile LoadingCache<String, AuthorList> authorCache = createCache(DEFAULT_CACHE_SIZE);
 
     /**
      * Creates a new list of authors.
@@ -172,13 +181,31 @@ public class AuthorList {
     public static AuthorList parse(String authors) {
         Objects.requireNonNull(authors);
 
-        AuthorList authorList = AUTHOR_CACHE.get(authors);
-        if (authorList == null) {
-            AuthorListParser parser = new AuthorListParser();
-            authorList = parser.parse(authors);
-            AUTHOR_CACHE.put(authors, authorList);
+        return authorCache.getUnchecked(authors);
+    }
+
+    private static LoadingCache<String, AuthorList> createCache(int maximumSize) {
+        // the cache is shared by all threads (e.g., table rendering, search and export) and evicts the author strings
+        // used least recently
+        return CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats()
+                .build(CacheLoader.from(authors -> new AuthorListParser().parse(authors)));
+    }
+
+    /**
+     * Sets the maximal number of parsed author strings kept in the cache. The cache and its statistics are reset.
+     */
+    public static void setCacheSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("The cache size must not be negative");
         }
-        return authorList;
+        authorCache = createCache(maximumSize);
+    }
+
+    /**
+     * Returns the number of hits and misses of the cache used by {@link #parse(String)} since the cache was created.
+     */
+    public static CacheStats getCacheStatistics() {
+        return authorCache.stats();
     }
 
     /**
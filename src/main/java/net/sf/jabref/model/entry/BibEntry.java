@@ -33,6 +33,9 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import net.sf.jabref.model.FieldChange;
 import net.sf.jabref.model.database.BibDatabase;
@@ -51,13 +54,22 @@ public class BibEntry implements Cloneable {
     protected static final String ID_FIELD = "id";
     public static final String DEFAULT_TYPE = "misc";
 
+    // Start of an item in a serialization, the type is the first group
+    private static final Pattern ITEM_START = Pattern.compile("@\\s*([^\\s{(]+)\\s*[{(]");
+
     private String id;
     private String type;
-    private Map<String, String> fields = new HashMap<>();
+    private CompactFieldMap fields = new CompactFieldMap();
     /*
-     * Map to store the words in every field
+     * Map to store the words in every field, created when first used
      */
-    private final Map<String, Set<String>> fieldsAsWords = new HashMap<>();
+    private Map<String, Set<String>> fieldsAsWords;
+
+    /*
+     * Map to store the normalized values of every field, see getNormalizedField.
+     * Searches may run in parallel, so the map is concurrent. Created when first used.
+     */
+    private volatile Map<String, String[]> normalizedFields;
 
     // Search and grouping status is stored in boolean fields for quick reference:
     private boolean searchHit;
@@ -73,7 +85,10 @@ public class BibEntry implements Cloneable {
     private boolean changed;
 
 
-    private final EventBus eventBus = new EventBus();
+    /*
+     * Created when the first listener is registered, most entries only have the database as listener
+     */
+    private volatile EventBus eventBus;
 
 
     /**
@@ -115,7 +130,7 @@ public class BibEntry implements Cloneable {
     public void setId(String id) {
         Objects.requireNonNull(id, "Every BibEntry must have an ID");
 
-        eventBus.post(new FieldChangedEvent(this, BibEntry.ID_FIELD, id));
+        postEvent(new FieldChangedEvent(this, BibEntry.ID_FIELD, id));
         this.id = id;
         changed = true;
     }
@@ -172,9 +187,9 @@ public class BibEntry implements Cloneable {
         // We set the type before throwing the changeEvent, to enable
         // the change listener to access the new value if the change
         // sets off a change in database sorting etc.
-        this.type = newType.toLowerCase(Locale.ENGLISH);
+        this.type = CompactFieldMap.deduplicate(newType.toLowerCase(Locale.ENGLISH));
         changed = true;
-        eventBus.post(new FieldChangedEvent(this, TYPE_HEADER, newType));
+        postEvent(new FieldChangedEvent(this, TYPE_HEADER, newType));
     }
 
     /**
@@ -364,11 +379,11 @@ public class BibEntry implements Cloneable {
 
         changed = true;
 
-        fields.put(fieldName, value);
-        fieldsAsWords.remove(fieldName);
+        fields.putField(fieldName, value);
+        invalidateCaches(fieldName);
 
         FieldChange change = new FieldChange(this, fieldName, oldValue, value);
-        eventBus.post(new FieldChangedEvent(change));
+        postEvent(new FieldChangedEvent(change));
         return Optional.of(change);
     }
 
@@ -392,10 +407,10 @@ public class BibEntry implements Cloneable {
 
         changed = true;
 
-        fields.remove(fieldName);
-        fieldsAsWords.remove(fieldName);
+        fields.removeField(fieldName);
+        invalidateCaches(fieldName);
         FieldChange change = new FieldChange(this, fieldName, oldValue.get(), null);
-        eventBus.post(new FieldChangedEvent(change));
+        postEvent(new FieldChangedEvent(change));
         return Optional.of(change);
     }
 
@@ -447,7 +462,7 @@ public class BibEntry implements Cloneable {
     @Override
     public Object clone() {
         BibEntry clone = new BibEntry(id, type);
-        clone.fields = new HashMap<>(fields);
+        clone.fields = new CompactFieldMap(fields);
         return clone;
     }
 
@@ -612,14 +627,37 @@ public class BibEntry implements Cloneable {
         return Objects.hash(type, fields);
     }
 
-    public void registerListener(Object object) {
+    public synchronized void registerListener(Object object) {
+        if (eventBus == null) {
+            eventBus = new EventBus();
+        }
         this.eventBus.register(object);
     }
 
-    public void unregisterListener(Object object) {
+    public synchronized void unregisterListener(Object object) {
+        if (eventBus == null) {
+            throw new IllegalArgumentException("missing event subscriber for an annotated method. Is " + object
+                    + " registered?");
+        }
         this.eventBus.unregister(object);
     }
 
+    private void postEvent(Object event) {
+        EventBus currentEventBus = eventBus;
+        if (currentEventBus != null) {
+            currentEventBus.post(event);
+        }
+    }
+
+    private void invalidateCaches(String fieldName) {
+        if (fieldsAsWords != null) {
+            fieldsAsWords.remove(fieldName);
+        }
+        if (normalizedFields != null) {
+            normalizedFields.remove(fieldName);
+        }
+    }
+
     public BibEntry withField(String field, String value) {
         setField(field, value);
         return this;
@@ -634,7 +672,7 @@ public class BibEntry implements Cloneable {
 
             try {
                 // get the text before the entry
-                String prolog = parsedSerialization.substring(0, parsedSerialization.lastIndexOf('@'));
+                String prolog = parsedSerialization.substring(0, getStartOfEntry(parsedSerialization));
 
                 // delete trailing whitespaces (between entry and text)
                 prolog = prolog.replaceFirst("\\s+$", "");
@@ -650,8 +688,25 @@ public class BibEntry implements Cloneable {
         return "";
     }
 
+    /**
+     * Returns the position of the '@' starting the entry in the given serialization. User comments before the entry
+     * may contain @Comment items and field values may contain '@' characters.
+     */
+    private static int getStartOfEntry(String serialization) {
+        Matcher matcher = ITEM_START.matcher(serialization);
+        while (matcher.find()) {
+            if (!"comment".equalsIgnoreCase(matcher.group(1))) {
+                return matcher.start();
+            }
+        }
+        return serialization.lastIndexOf('@');
+    }
+
     public Set<String> getFieldAsWords(String field) {
         String fieldName = toLowerCase(field);
+        if (fieldsAsWords == null) {
+            fieldsAsWords = new HashMap<>();
+        }
         Set<String> storedList = fieldsAsWords.get(fieldName);
         if (storedList != null) {
             return storedList;
@@ -666,4 +721,43 @@ public class BibEntry implements Cloneable {
             }
         }
     }
+
+    /**
+     * Returns the normalized value of the given field. The normalized value is computed once and kept until the field
+     * changes, so that repeated searches do not normalize the field again.
+     *
+     * @return the normalized value or null if the field is not set
+     */
+    public String getNormalizedField(String field, FieldNormalization normalization) {
+        String fieldName = toLowerCase(field);
+        String fieldValue = fields.get(fieldName);
+        if (fieldValue == null) {
+            return null;
+        }
+
+        // the first element is the value the normalizations were computed of, so that a value normalized during a
+        // concurrent change of the field is not mistaken for the normalization of the new value
+        Map<String, String[]> currentNormalizedFields = normalizedFields;
+        if (currentNormalizedFields == null) {
+            synchronized (this) {
+                if (normalizedFields == null) {
+                    normalizedFields = new ConcurrentHashMap<>();
+                }
+                currentNormalizedFields = normalizedFields;
+            }
+        }
+        String[] normalizedValues = currentNormalizedFields.get(fieldName);
+        if ((normalizedValues == null) || (normalizedValues[0] != fieldValue)) {
+            normalizedValues = new String[FieldNormalization.values().length + 1];
+            normalizedValues[0] = fieldValue;
+            currentNormalizedFields.put(fieldName, normalizedValues);
+        }
+        String normalizedValue = normalizedValues[normalization.ordinal() + 1];
+        if (normalizedValue == null) {
+            // concurrent searches may compute the same value twice, which does no harm
+            normalizedValue = normalization.normalize(fieldValue);
+            normalizedValues[normalization.ordinal() + 1] = normalizedValue;
+        }
+        return normalizedValue;
+    }
 }
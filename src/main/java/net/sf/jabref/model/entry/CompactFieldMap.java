@@ -0,0 +1,268 @@
+package net.sf.jabref.model.entry;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Memory-compact storage of the fields of a {@link BibEntry}.
+ * <p>
+ * The field names and values are stored alternately in a single array. Field names are taken from a table shared by all
+ * entries, so that each name is stored once and names are compared by identity. The values of fields which are often
+ * equal for many entries (like journal, publisher and year) are deduplicated.
+ * <p>
+ * The map is read-only for users of {@link BibEntry#getFieldMap()}, it is changed by the entry only. A change replaces
+ * the array, so that concurrent readers always see a consistent state. The names are lower case and iterated in the
+ * order they were added.
+ */
+class CompactFieldMap extends AbstractMap<String, String> {
+
+    /**
+     * Shared instances of the field names. Weak, so that the names of fields which are no longer set in any entry (e.g.,
+     * of a closed database) can be garbage collected. A name in use is referenced by an entry and hence always
+     * resolves to the same instance.
+     */
+    private static final Interner<String> FIELD_NAMES = Interners.newWeakInterner();
+
+    /**
+     * Values of these fields repeat across entries, so they are deduplicated
+     */
+    private static final Set<String> FIELDS_WITH_COMMON_VALUES = new HashSet<>(
+            Arrays.asList(FieldName.ADDRESS, FieldName.BOOKTITLE, FieldName.EDITION, FieldName.HOWPUBLISHED,
+                    FieldName.INSTITUTION, FieldName.JOURNAL, FieldName.JOURNALTITLE, FieldName.LANGUAGE,
+                    FieldName.LOCATION, FieldName.MONTH, FieldName.ORGANIZATION, FieldName.OWNER,
+                    FieldName.PUBLISHER, FieldName.SCHOOL, FieldName.SERIES, FieldName.TYPE, FieldName.VOLUME,
+                    FieldName.YEAR));
+
+    /**
+     * Weak, so that values no longer used by any entry can be garbage collected
+     */
+    private static final Interner<String> COMMON_VALUES = Interners.newWeakInterner();
+
+    private static final String[] EMPTY = new String[0];
+
+    /**
+     * name of the first field, value of the first field, name of the second field, ...
+     */
+    private volatile String[] slots = EMPTY;
+
+
+    CompactFieldMap() {
+        // empty map
+    }
+
+    CompactFieldMap(Map<String, String> fields) {
+        String[] newSlots = new String[2 * fields.size()];
+        int i = 0;
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            String name = getSharedName(field.getKey());
+            newSlots[i++] = name;
+            newSlots[i++] = deduplicate(name, field.getValue());
+        }
+        slots = newSlots;
+    }
+
+    /**
+     * Returns the shared instance of the given value if it is the value of a field whose values repeat across entries.
+     */
+    static String deduplicate(String fieldName, String value) {
+        if (FIELDS_WITH_COMMON_VALUES.contains(fieldName)) {
+            return COMMON_VALUES.intern(value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the shared instance of the given value, used for values like entry types.
+     */
+    static String deduplicate(String value) {
+        return COMMON_VALUES.intern(value);
+    }
+
+    private static String getSharedName(String name) {
+        return FIELD_NAMES.intern(name);
+    }
+
+    private static int indexOf(String[] slots, Object name) {
+        if (!(name instanceof String)) {
+            return -1;
+        }
+        String sharedName = getSharedName((String) name);
+        for (int i = 0; i < slots.length; i += 2) {
+            if (slots[i] == sharedName) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String get(Object name) {
+        String[] current = slots;
+        int index = indexOf(current, name);
+        return index < 0 ? null : current[index + 1];
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+        return indexOf(slots, name) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return slots.length / 2;
+    }
+
+    /**
+     * Sets the given field, the name has to be lower case.
+     *
+     * @return the previous value or null if the field was not set
+     */
+    synchronized String putField(String name, String value) {
+        String[] current = slots;
+        int index = indexOf(current, name);
+        String[] newSlots;
+        if (index < 0) {
+            index = current.length;
+            newSlots = Arrays.copyOf(current, current.length + 2);
+            newSlots[index] = getSharedName(name);
+        } else {
+            newSlots = current.clone();
+        }
+        String oldValue = newSlots[index + 1];
+        newSlots[index + 1] = deduplicate(newSlots[index], value);
+        slots = newSlots;
+        return oldValue;
+    }
+
+    /**
+     * Removes the given field, the name has to be lower case.
+     *
+     * @return the previous value or null if the field was not set
+     */
+    synchronized String removeField(String name) {
+        String[] current = slots;
+        int index = indexOf(current, name);
+        if (index < 0) {
+            return null;
+        }
+        String[] newSlots = new String[current.length - 2];
+        System.arraycopy(current, 0, newSlots, 0, index);
+        System.arraycopy(current, index + 2, newSlots, index, current.length - index - 2);
+        slots = newSlots;
+        return current[index + 1];
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        return new AbstractSet<Map.Entry<String, String>>() {
+
+            @Override
+            public Iterator<Map.Entry<String, String>> iterator() {
+                return new SlotIterator<Map.Entry<String, String>>() {
+
+                    @Override
+                    Map.Entry<String, String> get(String[] current, int index) {
+                        return new SimpleImmutableEntry<>(current[index], current[index + 1]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CompactFieldMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<String> keySet() {
+        // does not create an entry for every field like the default implementation
+        return new AbstractSet<String>() {
+
+            @Override
+            public Iterator<String> iterator() {
+                return new SlotIterator<String>() {
+
+                    @Override
+                    String get(String[] current, int index) {
+                        return current[index];
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object name) {
+                return containsKey(name);
+            }
+
+            @Override
+            public int size() {
+                return CompactFieldMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Collection<String> values() {
+        return new AbstractCollection<String>() {
+
+            @Override
+            public Iterator<String> iterator() {
+                return new SlotIterator<String>() {
+
+                    @Override
+                    String get(String[] current, int index) {
+                        return current[index + 1];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CompactFieldMap.this.size();
+            }
+        };
+    }
+
+
+    /**
+     * Iterates over the fields present when the iterator was created
+     */
+    private abstract class SlotIterator<T> implements Iterator<T> {
+
+        private final String[] current = slots;
+        private int index;
+
+
+        /**
+         * Returns the element for the field whose name is at the given index
+         */
+        abstract T get(String[] current, int index);
+
+        @Override
+        public boolean hasNext() {
+            return index < current.length;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T element = get(current, index);
+            index += 2;
+            return element;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package net.sf.jabref.model.entry;
+
+import java.util.Locale;
+
+/**
+ * Normalized views of field values used for searching, see {@link BibEntry#getNormalizedField(String, FieldNormalization)}.
+ */
+public enum FieldNormalization {
+
+    /**
+     * LaTeX commands and braces removed
+     */
+    LATEX_FREE,
+
+    /**
+     * LaTeX commands and braces removed, in lower case
+     */
+    LATEX_FREE_LOWER_CASE;
+
+    /**
+     * Normalizes the given text, e.g., a search term, the same way as field values.
+     */
+    public String normalize(String text) {
+        String result = LatexCommandRemover.removeLatexCommands(text);
+        if (this == LATEX_FREE) {
+            return result;
+        }
+
+        return result.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,65 @@
+package net.sf.jabref.model.entry;
+
+/**
+ * Removes LaTeX commands and braces from field values, e.g., "M{\"u}ller" becomes "Muller".
+ */
+public class LatexCommandRemover {
+
+    /**
+     * Non-letters which are used to denote accents in LaTeX-commands, e.g., in {\"{a}}
+     */
+    public static final String SPECIAL_COMMAND_CHARS = "\"`^~'=.|";
+
+
+    private LatexCommandRemover() {
+    }
+
+    public static String removeLatexCommands(String field) {
+
+        StringBuilder sb = new StringBuilder("");
+        StringBuilder currentCommand = null;
+        char c;
+        boolean escaped = false;
+        boolean incommand = false;
+        int i;
+        for (i = 0; i < field.length(); i++) {
+            c = field.charAt(i);
+            if (escaped && (c == '\\')) {
+                sb.append('\\');
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+                incommand = true;
+                currentCommand = new StringBuilder();
+            } else if (!incommand && ((c == '{') || (c == '}'))) {
+                // Swallow the brace.
+            } else if (Character.isLetter(c) || SPECIAL_COMMAND_CHARS.contains(String.valueOf(c))) {
+                escaped = false;
+                if (incommand) {
+                    currentCommand.append(c);
+                    if ((currentCommand.length() == 1)
+                            && SPECIAL_COMMAND_CHARS.contains(currentCommand.toString())) {
+                        // This indicates that we are in a command of the type \^o or \~{n}
+                        incommand = false;
+                        escaped = false;
+
+                    }
+                } else {
+                    sb.append(c);
+                }
+            } else {
+                if (!incommand || (!Character.isWhitespace(c) && (c != '{'))) {
+                    sb.append(c);
+                } else {
+                    if (c != '{') {
+                        sb.append(c);
+                    }
+                }
+                incommand = false;
+                escaped = false;
+            }
+        }
+
+        return sb.toString();
+    }
+}
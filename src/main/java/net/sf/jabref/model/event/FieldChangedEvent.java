@@ -10,6 +10,7 @@ public class FieldChangedEvent extends EntryChangedEvent {
 
     private final String fieldName;
     private final String newValue;
+    private final String oldValue;
 
     /**
      * @param bibEntry Affected BibEntry object
@@ -17,13 +18,24 @@ public class FieldChangedEvent extends EntryChangedEvent {
      * @param newValue new field value
      */
     public FieldChangedEvent(BibEntry bibEntry, String fieldName, String newValue) {
+        this(bibEntry, fieldName, newValue, null);
+    }
+
+    /**
+     * @param bibEntry Affected BibEntry object
+     * @param fieldName Name of field which has been changed
+     * @param newValue new field value, null if the field has been removed
+     * @param oldValue old field value, null if the field has been added
+     */
+    public FieldChangedEvent(BibEntry bibEntry, String fieldName, String newValue, String oldValue) {
         super(bibEntry);
         this.fieldName = fieldName;
         this.newValue = newValue;
+        this.oldValue = oldValue;
     }
 
     public FieldChangedEvent(FieldChange fieldChange) {
-        this(fieldChange.getEntry(), fieldChange.getField(), fieldChange.getNewValue());
+        this(fieldChange.getEntry(), fieldChange.getField(), fieldChange.getNewValue(), fieldChange.getOldValue());
     }
 
     public String getFieldName() {
@@ -34,4 +46,8 @@ public class FieldChangedEvent extends EntryChangedEvent {
         return newValue;
     }
 
+    public String getOldValue() {
+        return oldValue;
+    }
+
 }
@@ -2,6 +2,7 @@ package net.sf.jabref.sql;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 
 public interface Database {
 
@@ -20,4 +21,15 @@ public interface Database {
 
     DatabaseType getType();
 
+    /**
+     * Inserts the given rows into the columns of the table. By default, the rows are sent to the database in batches of
+     * prepared statements, databases supporting a bulk load may override this.
+     *
+     * @param batchSize the number of rows sent to the database at once
+     */
+    default void insertRows(Connection connection, String table, List<String> columns, List<Object[]> rows,
+            int batchSize) throws SQLException {
+        SQLUtil.insertRows(connection, table, columns, rows, batchSize);
+    }
+
 }
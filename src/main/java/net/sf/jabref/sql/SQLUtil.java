@@ -16,6 +16,7 @@
 package net.sf.jabref.sql;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
@@ -23,6 +24,7 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import net.sf.jabref.model.entry.InternalBibtexFields;
 
@@ -190,6 +192,39 @@ final public class SQLUtil {
         SQLUtil.executeQuery(out, dml);
     }
 
+    /**
+     * Inserts the given rows into the columns of the table using a prepared statement. The rows are sent to the
+     * database in batches of the given size.
+     *
+     * @param conn      The Connection object to which the rows should be sent
+     * @param table     The name of the table
+     * @param columns   The names of the columns
+     * @param rows      The values of each row, in the order of the columns
+     * @param batchSize The number of rows sent at once
+     */
+    public static void insertRows(Connection conn, String table, List<String> columns, List<Object[]> rows,
+            int batchSize) throws SQLException {
+        String insert = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ')';
+        try (PreparedStatement statement = conn.prepareStatement(insert)) {
+            int rowsInBatch = 0;
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    statement.setObject(i + 1, row[i]);
+                }
+                statement.addBatch();
+                rowsInBatch++;
+                if (rowsInBatch == batchSize) {
+                    statement.executeBatch();
+                    rowsInBatch = 0;
+                }
+            }
+            if (rowsInBatch > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
     /**
      * This routine returns the JDBC url corresponding to the DBStrings input.
      *
@@ -112,12 +112,16 @@ public class MySQL implements Database {
     }
 
     private static final String OPT_ALLOW_MULTI_QUERIES = "?allowMultiQueries=true";
+    // sends a batch of inserts as a single statement with many rows
+    private static final String OPT_REWRITE_BATCHED_STATEMENTS = "&rewriteBatchedStatements=true";
+    // reads result sets with a fetch size in parts, otherwise the driver loads them into memory completely
+    private static final String OPT_USE_CURSOR_FETCH = "&useCursorFetch=true";
 
     @Override
     public Connection connectAndEnsureDatabaseExists(DBStrings dbStrings)
             throws SQLException, IllegalAccessException, ClassNotFoundException, InstantiationException {
 
-        dbStrings.setDbParameters(OPT_ALLOW_MULTI_QUERIES);
+        dbStrings.setDbParameters(OPT_ALLOW_MULTI_QUERIES + OPT_REWRITE_BATCHED_STATEMENTS + OPT_USE_CURSOR_FETCH);
         String url = SQLUtil.createJDBCurl(dbStrings, false);
 
         Connection conn = connect(url, dbStrings.getDbPreferences().getUsername(), dbStrings.getPassword());
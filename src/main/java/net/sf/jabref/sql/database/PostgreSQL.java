@@ -1,8 +1,10 @@
 package net.sf.jabref.sql.database;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.List;
 
 import net.sf.jabref.model.entry.IdGenerator;
 import net.sf.jabref.sql.DBStrings;
@@ -10,6 +12,9 @@ import net.sf.jabref.sql.Database;
 import net.sf.jabref.sql.DatabaseType;
 import net.sf.jabref.sql.SQLUtil;
 
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
 public class PostgreSQL implements Database {
 
     public static final String DRIVER = "org.postgresql.Driver";
@@ -130,6 +135,54 @@ public class PostgreSQL implements Database {
         return DatabaseType.POSTGRESQL;
     }
 
+    /**
+     * Inserts the rows with a single COPY command, which is much faster than separate INSERT statements. The rows are
+     * sent to the server in CSV format, batchSize rows at a time.
+     */
+    @Override
+    public void insertRows(Connection connection, String table, List<String> columns, List<Object[]> rows,
+            int batchSize) throws SQLException {
+        if (!connection.isWrapperFor(PGConnection.class)) {
+            // e.g., a connection pool hiding the driver
+            SQLUtil.insertRows(connection, table, columns, rows, batchSize);
+            return;
+        }
+
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)");
+        try {
+            StringBuilder csv = new StringBuilder();
+            for (int i = 0; i < rows.size(); i++) {
+                appendCsvRow(csv, rows.get(i));
+                if ((((i + 1) % batchSize) == 0) || ((i + 1) == rows.size())) {
+                    byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+                    copyIn.writeToCopy(bytes, 0, bytes.length);
+                    csv.setLength(0);
+                }
+            }
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void appendCsvRow(StringBuilder csv, Object[] row) {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            // an unquoted empty value is NULL, a quoted one is the empty string
+            if (row[i] instanceof String) {
+                csv.append('"').append(((String) row[i]).replace("\"", "\"\"")).append('"');
+            } else if (row[i] != null) {
+                csv.append(row[i]);
+            }
+        }
+        csv.append('\n');
+    }
+
     private void createPLPGSQLFunction(Connection conn) throws SQLException {
         SQLUtil.processQuery(
                 conn,
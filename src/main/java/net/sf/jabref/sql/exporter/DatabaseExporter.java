@@ -21,10 +21,13 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Vector;
-import java.util.stream.Collectors;
 
 import javax.swing.JOptionPane;
 
@@ -70,8 +73,11 @@ public class DatabaseExporter {
 
     private static final Log LOGGER = LogFactory.getLog(DatabaseExporter.class);
 
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
     private final List<String> dbNames = new ArrayList<>();
     private final Database database;
+    private int batchSize = DEFAULT_BATCH_SIZE;
 
     private DBStrings dbStrings;
 
@@ -80,7 +86,18 @@ public class DatabaseExporter {
     }
 
     /**
-     * Method for the exportDatabase methods.
+     * Sets the number of rows sent to the database at once.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batch size must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Method for the exportDatabase methods. The export is a single transaction, if it fails, the database stays as it
+     * was.
      *
      * @param databaseContext the database to export
      * @param entriesToExport The list of the entries to export.
@@ -94,14 +111,24 @@ public class DatabaseExporter {
         List<BibEntry> entries = BibDatabaseWriter.getSortedEntries(databaseContext, entriesToExport, savePrefs);
         GroupTreeNode gtn = databaseContext.getMetaData().getGroups();
 
-        final int databaseID = DatabaseUtil.getDatabaseIDByName(databaseContext, out, dbName);
-        DatabaseUtil.removeAllRecordsForAGivenDB(out, databaseID);
-        populateEntryTypesTable(out, databaseContext.getMode());
-        populateEntriesTable(databaseID, entries, out);
-        populateStringTable(databaseContext.getDatabase(), out, databaseID);
-        populateGroupTypesTable(out);
-        populateGroupsTable(gtn, 0, 1, out, databaseID);
-        populateEntryGroupsTable(gtn, 0, 1, out, databaseID);
+        boolean autoCommit = out.getAutoCommit();
+        out.setAutoCommit(false);
+        try {
+            final int databaseID = DatabaseUtil.getDatabaseIDByName(databaseContext, out, dbName);
+            DatabaseUtil.removeAllRecordsForAGivenDB(out, databaseID);
+            populateEntryTypesTable(out, databaseContext.getMode());
+            populateEntriesTable(databaseID, entries, out);
+            populateStringTable(databaseContext.getDatabase(), out, databaseID);
+            populateGroupTypesTable(out);
+            populateGroupsTable(gtn, 0, 1, out, databaseID);
+            populateEntryGroupsTable(gtn, 0, 1, out, databaseID);
+            out.commit();
+        } catch (SQLException ex) {
+            out.rollback();
+            throw ex;
+        } finally {
+            out.setAutoCommit(autoCommit);
+        }
     }
 
     /**
@@ -115,23 +142,34 @@ public class DatabaseExporter {
      */
     private void populateEntriesTable(final int database_id, List<BibEntry> entries, Connection connection)
             throws SQLException {
-        for (BibEntry entry : entries) {
-            try (PreparedStatement statement = connection.prepareStatement(
-                    "INSERT INTO entries (jabref_eid, entry_types_id, cite_key, " + SQLUtil.getFieldStr() + ", database_id) "
-                            + "VALUES (?, (SELECT entry_types_id FROM entry_types WHERE label= ? ), ?, " + SQLUtil.getAllFields().stream().map(s -> "?").collect(Collectors.joining(", ")) + ", ?);")) {
-                statement.setString(1, entry.getId());
-                statement.setString(2, entry.getType());
-                statement.setString(3, entry.getCiteKey());
-                int value = 4;
-                for (String field : SQLUtil.getAllFields()) {
-                    statement.setString(value, entry.getField(field));
-                    value++;
-                }
-                statement.setInt(value, database_id);
+        // look up the ids of the types once instead of for each entry
+        Map<String, Integer> entryTypeIds = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT entry_types_id, label FROM entry_types")) {
+            while (rs.next()) {
+                entryTypeIds.put(rs.getString("label").toLowerCase(Locale.ROOT), rs.getInt("entry_types_id"));
+            }
+        }
 
-                statement.execute();
+        List<String> columns = new ArrayList<>(Arrays.asList("jabref_eid", "entry_types_id", "cite_key"));
+        columns.addAll(Arrays.asList(SQLUtil.getFieldStr().split(", ")));
+        columns.add("database_id");
+
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (BibEntry entry : entries) {
+            Object[] row = new Object[columns.size()];
+            row[0] = entry.getId();
+            row[1] = entryTypeIds.get(entry.getType().toLowerCase(Locale.ROOT));
+            row[2] = entry.getCiteKey();
+            int value = 3;
+            for (String field : SQLUtil.getAllFields()) {
+                row[value] = entry.getField(field);
+                value++;
             }
+            row[value] = database_id;
+            rows.add(row);
         }
+        database.insertRows(connection, "entries", columns, rows, batchSize);
     }
 
     /**
@@ -306,7 +344,7 @@ public class DatabaseExporter {
      * @param out The output (PrintSream or Connection) object to which the DML should be written.
      * @throws SQLException
      */
-    private static void populateGroupTypesTable(Connection out) throws SQLException {
+    private void populateGroupTypesTable(Connection out) throws SQLException {
         int quantity = 0;
 
         try (Statement sm = out.createStatement();
@@ -317,37 +355,34 @@ public class DatabaseExporter {
 
         if (quantity == 0) {
             String[] typeNames = new String[] {AllEntriesGroup.ID, ExplicitGroup.ID, KeywordGroup.ID, SearchGroup.ID};
+            List<Object[]> rows = new ArrayList<>(typeNames.length);
             for (String typeName : typeNames) {
-                String insert = "INSERT INTO group_types (label) VALUES ('" + typeName + "');";
-                SQLUtil.processQuery(out, insert);
+                rows.add(new Object[] {typeName});
             }
+            database.insertRows(out, "group_types", Collections.singletonList("label"), rows, batchSize);
         }
     }
 
     /**
      * Generates the SQL required to populate the strings table with jabref data.
      *
-     * @param database    BibDatabase object used from where the strings will be exported
+     * @param bibDatabase BibDatabase object used from where the strings will be exported
      * @param out         The output (PrintStream or Connection) object to which the DML should be written.
      * @param database_id ID of Jabref database related to the entries to be exported This information can be gathered
      *                    using getDatabaseIDByPath(metaData, out)
      * @throws SQLException
      */
-    private static void populateStringTable(BibDatabase database, Connection out, final int database_id)
+    private void populateStringTable(BibDatabase bibDatabase, Connection out, final int database_id)
             throws SQLException {
-        String insert = "INSERT INTO strings (label, content, database_id) VALUES (";
-
-        if (database.getPreamble() != null) {
-            String dml = insert + "'@PREAMBLE', " + '\'' + StringUtil.quote(database.getPreamble(), "'", '\\') + "', "
-                    + '\'' + database_id + "');";
-            SQLUtil.processQuery(out, dml);
+        List<Object[]> rows = new ArrayList<>();
+        if (bibDatabase.getPreamble() != null) {
+            rows.add(new Object[] {"@PREAMBLE", bibDatabase.getPreamble(), database_id});
         }
-        for (String key : database.getStringKeySet()) {
-            BibtexString string = database.getString(key);
-            String dml = insert + '\'' + StringUtil.quote(string.getName(), "'", '\\') + "', " + '\''
-                    + StringUtil.quote(string.getContent(), "'", '\\') + "', " + '\'' + database_id + '\'' + ");";
-            SQLUtil.processQuery(out, dml);
+        for (String key : bibDatabase.getStringKeySet()) {
+            BibtexString string = bibDatabase.getString(key);
+            rows.add(new Object[] {string.getName(), string.getContent(), database_id});
         }
+        database.insertRows(out, "strings", Arrays.asList("label", "content", "database_id"), rows, batchSize);
     }
 
     /**
@@ -78,6 +78,9 @@ public class DatabaseImporter {
     );
 
 
+    // Number of rows read from the database at once, so that large tables are not loaded into memory at once
+    private static final int FETCH_SIZE = 1000;
+
     private final Database database;
 
     public DatabaseImporter(Database database) {
@@ -117,8 +120,27 @@ public class DatabaseImporter {
     public List<DBImporterResult> performImport(DBStrings dbs, List<String> listOfDBs, BibDatabaseMode mode)
             throws IllegalAccessException, InstantiationException, ClassNotFoundException, SQLException
     {
-        List<DBImporterResult> result = new ArrayList<>();
         try (Connection conn = this.connectToDB(dbs)) {
+            return performImport(conn, listOfDBs, mode);
+        }
+    }
+
+    /**
+     * Imports the given databases using an existing connection. The entries are read in parts of a fixed size, which
+     * requires a transaction for some drivers, e.g., PostgreSQL.
+     *
+     * @param conn      Connection object to the database
+     * @param listOfDBs the names of the databases to import
+     * @param mode      the mode of the entry types
+     * @return the imported databases
+     * @throws SQLException
+     */
+    public List<DBImporterResult> performImport(Connection conn, List<String> listOfDBs, BibDatabaseMode mode)
+            throws SQLException {
+        List<DBImporterResult> result = new ArrayList<>();
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
 
             Iterator<String> itLista = listOfDBs.iterator();
             StringJoiner stringJoiner = new StringJoiner(",", "(", ")");
@@ -150,23 +172,33 @@ public class DatabaseImporter {
                     final String database_id = rsDatabase.getString("database_id");
                     // Read the entries and create BibEntry instances:
                     HashMap<String, BibEntry> entries = new HashMap<>();
-                    try (Statement entryStatement = conn.createStatement();
-                            ResultSet rsEntries = entryStatement.executeQuery(SQLUtil.queryAllFromTable(
-                                    "entries WHERE database_id= '" + database_id + "';"))) {
-                        while (rsEntries.next()) {
-                            String id = rsEntries.getString("entries_id");
-                            BibEntry entry = new BibEntry(IdGenerator.next(), types.get(rsEntries.getString("entry_types_id")).getName());
-                            entry.setCiteKey(rsEntries.getString("cite_key"));
-                            for (String col : colNames) {
-                                String value = rsEntries.getString(col);
-                                if (value != null) {
-                                    col = col.charAt(col.length() - 1) == '_' ? col.substring(0,
-                                            col.length() - 1) : col;
-                                    entry.setField(col, value);
+                    try (Statement entryStatement = conn.createStatement()) {
+                        entryStatement.setFetchSize(FETCH_SIZE);
+                        try (ResultSet rsEntries = entryStatement.executeQuery(SQLUtil.queryAllFromTable(
+                                "entries WHERE database_id= '" + database_id + "';"))) {
+                            // look up the columns once instead of for each entry
+                            int[] columnIndices = new int[colNames.size()];
+                            List<String> fieldNames = new ArrayList<>(colNames.size());
+                            for (int i = 0; i < colNames.size(); i++) {
+                                String col = colNames.get(i);
+                                columnIndices[i] = rsEntries.findColumn(col);
+                                fieldNames.add(col.charAt(col.length() - 1) == '_' ? col.substring(0,
+                                        col.length() - 1) : col);
+                            }
+
+                            while (rsEntries.next()) {
+                                String id = rsEntries.getString("entries_id");
+                                BibEntry entry = new BibEntry(IdGenerator.next(), types.get(rsEntries.getString("entry_types_id")).getName());
+                                entry.setCiteKey(rsEntries.getString("cite_key"));
+                                for (int i = 0; i < columnIndices.length; i++) {
+                                    String value = rsEntries.getString(columnIndices[i]);
+                                    if (value != null) {
+                                        entry.setField(fieldNames.get(i), value);
+                                    }
                                 }
+                                entries.put(id, entry);
+                                database.insertEntry(entry);
                             }
-                            entries.put(id, entry);
-                            database.insertEntry(entry);
                         }
                     }
                     // Import strings and preamble:
@@ -191,6 +223,8 @@ public class DatabaseImporter {
                     result.add(new DBImporterResult(database, metaData, rsDatabase.getString("database_name")));
                 }
             }
+        } finally {
+            conn.setAutoCommit(autoCommit);
         }
 
         return result;
@@ -214,11 +248,13 @@ public class DatabaseImporter {
         Map<String, GroupTreeNode> groups = new HashMap<>();
         LinkedHashMap<GroupTreeNode, String> parentIds = new LinkedHashMap<>();
         GroupTreeNode rootNode = GroupTreeNode.fromGroup(new AllEntriesGroup());
+        boolean hasGroups = false;
 
         String query = SQLUtil.queryAllFromTable("groups WHERE database_id='" + database_id + "' ORDER BY groups_id");
         try (Statement statement = conn.createStatement();
              ResultSet rsGroups = statement.executeQuery(query)) {
             while (rsGroups.next()) {
+                hasGroups = true;
                 AbstractGroup group = null;
                 String typeId = findGroupTypeName(rsGroups.getString("group_types_id"), conn);
                 try {
@@ -258,35 +294,40 @@ public class DatabaseImporter {
                     parentIds.put(node, rsGroups.getString("parent_id"));
                     groups.put(rsGroups.getString("groups_id"), node);
                 }
+            }
+        }
+        if (!hasGroups) {
+            return;
+        }
 
-                // Ok, we have collected a map of all groups and their parent IDs,
-                // and another map of all group IDs and their group nodes.
-                // Now we need to build the groups tree:
-                for (Map.Entry<GroupTreeNode, String> groupTreeNodeStringEntry : parentIds.entrySet()) {
-                    String parentId = groupTreeNodeStringEntry.getValue();
-                    GroupTreeNode parent = groups.get(parentId);
-                    if (parent == null) {
-                        // TODO: missing parent
-                    } else {
-                        groupTreeNodeStringEntry.getKey().moveTo(parent);
-                    }
-                }
+        // Ok, we have collected a map of all groups and their parent IDs,
+        // and another map of all group IDs and their group nodes.
+        // Now we need to build the groups tree:
+        for (Map.Entry<GroupTreeNode, String> groupTreeNodeStringEntry : parentIds.entrySet()) {
+            String parentId = groupTreeNodeStringEntry.getValue();
+            GroupTreeNode parent = groups.get(parentId);
+            if (parent == null) {
+                // TODO: missing parent
+            } else {
+                groupTreeNodeStringEntry.getKey().moveTo(parent);
+            }
+        }
 
-                try (Statement entryGroup = conn.createStatement();
-                        ResultSet rsEntryGroup = entryGroup.executeQuery(SQLUtil.queryAllFromTable("entry_group"))) {
-                    while (rsEntryGroup.next()) {
-                        String entryId = rsEntryGroup.getString("entries_id");
-                        String groupId = rsEntryGroup.getString("groups_id");
-                        GroupTreeNode node = groups.get(groupId);
-                        if ((node != null) && (node.getGroup() instanceof ExplicitGroup)) {
-                            ExplicitGroup expGroup = (ExplicitGroup) node.getGroup();
-                            expGroup.add(entries.get(entryId));
-                        }
+        try (Statement entryGroup = conn.createStatement()) {
+            entryGroup.setFetchSize(FETCH_SIZE);
+            try (ResultSet rsEntryGroup = entryGroup.executeQuery(SQLUtil.queryAllFromTable("entry_group"))) {
+                while (rsEntryGroup.next()) {
+                    String entryId = rsEntryGroup.getString("entries_id");
+                    String groupId = rsEntryGroup.getString("groups_id");
+                    GroupTreeNode node = groups.get(groupId);
+                    if ((node != null) && (node.getGroup() instanceof ExplicitGroup)) {
+                        ExplicitGroup expGroup = (ExplicitGroup) node.getGroup();
+                        expGroup.add(entries.get(entryId));
                     }
                 }
-                metaData.setGroups(rootNode);
             }
         }
+        metaData.setGroups(rootNode);
     }
 
     /**
@@ -0,0 +1,118 @@
+package net.sf.jabref.collab;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EntryDiffTest {
+
+    private static BibEntry entry(String key, String title) {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey(key);
+        entry.setField("author", "Einstein, Albert");
+        entry.setField("year", "1916");
+        entry.setField("title", title);
+        return entry;
+    }
+
+    private static List<BibEntry> copy(List<BibEntry> entries) {
+        List<BibEntry> copies = new ArrayList<>();
+        for (BibEntry entry : entries) {
+            copies.add((BibEntry) entry.clone());
+        }
+        return copies;
+    }
+
+    @Test
+    public void reorderedEntriesAreNoDifference() {
+        List<BibEntry> tmp = Arrays.asList(entry("a", "First"), entry("b", "Second"), entry("c", "Third"));
+        List<BibEntry> disk = copy(tmp);
+        Collections.reverse(disk);
+
+        assertEquals(Collections.emptyList(), EntryDiff.compare(copy(tmp), tmp, disk));
+    }
+
+    @Test
+    public void modifiedEntryIsMatchedByKey() {
+        List<BibEntry> tmp = Arrays.asList(entry("a", "First"), entry("b", "Second"));
+        List<BibEntry> mem = copy(tmp);
+        List<BibEntry> disk = copy(tmp);
+        disk.get(1).setField("title", "Completely different");
+        disk.get(1).setField("year", "2016");
+
+        List<EntryDiff.Difference> differences = EntryDiff.compare(mem, tmp, disk);
+
+        assertEquals(1, differences.size());
+        EntryDiff.Difference difference = differences.get(0);
+        assertSame(mem.get(1), difference.getMemEntry().get());
+        assertSame(tmp.get(1), difference.getTmpEntry().get());
+        assertSame(disk.get(1), difference.getDiskEntry().get());
+    }
+
+    @Test
+    public void entryWithChangedKeyIsMatchedBySimilarity() {
+        List<BibEntry> tmp = Arrays.asList(entry("a", "First"), entry("b", "Second"));
+        List<BibEntry> disk = copy(tmp);
+        disk.get(0).setCiteKey("Einstein1916");
+
+        List<EntryDiff.Difference> differences = EntryDiff.compare(copy(tmp), tmp, disk);
+
+        assertEquals(1, differences.size());
+        assertSame(tmp.get(0), differences.get(0).getTmpEntry().get());
+        assertSame(disk.get(0), differences.get(0).getDiskEntry().get());
+    }
+
+    @Test
+    public void deletedAndAddedEntriesAreFound() {
+        List<BibEntry> tmp = Arrays.asList(entry("a", "First"), entry("b", "Second"));
+        List<BibEntry> mem = copy(tmp);
+        List<BibEntry> disk = new ArrayList<>(copy(tmp.subList(0, 1)));
+        BibEntry added = new BibEntry();
+        added.setCiteKey("new");
+        added.setField("journal", "Annalen der Physik");
+        disk.add(added);
+
+        List<EntryDiff.Difference> differences = EntryDiff.compare(mem, tmp, disk);
+
+        assertEquals(2, differences.size());
+        assertTrue(differences.get(0).isDeleted());
+        assertSame(mem.get(1), differences.get(0).getMemEntry().get());
+        assertSame(tmp.get(1), differences.get(0).getTmpEntry().get());
+        assertTrue(differences.get(1).isAdded());
+        assertFalse(differences.get(1).getMemEntry().isPresent());
+        assertSame(added, differences.get(1).getDiskEntry().get());
+    }
+
+    @Test
+    public void entryAddedInMemoryAndOnDiskIsNoDifference() {
+        List<BibEntry> tmp = Collections.singletonList(entry("a", "First"));
+        List<BibEntry> mem = new ArrayList<>(copy(tmp));
+        mem.add(entry("b", "Second"));
+        List<BibEntry> disk = new ArrayList<>(copy(tmp));
+        disk.add(entry("b", "Second"));
+
+        assertEquals(Collections.emptyList(), EntryDiff.compare(mem, tmp, disk));
+    }
+
+    @Test
+    public void identicalEntriesAreMatchedOneByOne() {
+        List<BibEntry> tmp = Arrays.asList(entry("a", "First"), entry("a", "First"));
+        List<BibEntry> disk = copy(tmp.subList(0, 1));
+
+        List<EntryDiff.Difference> differences = EntryDiff.compare(copy(tmp), tmp, disk);
+
+        assertEquals(1, differences.size());
+        assertTrue(differences.get(0).isDeleted());
+        assertSame(tmp.get(1), differences.get(0).getTmpEntry().get());
+    }
+}
@@ -0,0 +1,148 @@
+package net.sf.jabref.collab;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FileUpdateMonitorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private FileUpdateMonitor monitor;
+    private Thread monitorThread;
+    private File file;
+    private CountingListener listener;
+
+
+    @Before
+    public void setUp() throws IOException {
+        monitor = new FileUpdateMonitor();
+        monitorThread = new Thread(monitor);
+        monitorThread.start();
+
+        file = temporaryFolder.newFile("test.bib");
+        listener = new CountingListener();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        monitorThread.interrupt();
+        monitorThread.join();
+    }
+
+    @Test
+    public void burstOfChangesIsReportedOnce() throws Exception {
+        monitor.addUpdateListener(listener, file);
+
+        for (int i = 0; i < 10; i++) {
+            write(file, i);
+        }
+
+        assertTrue(listener.updated.await(10, TimeUnit.SECONDS));
+        Thread.sleep(1000);
+        assertEquals(1, listener.updates.get());
+    }
+
+    @Test
+    public void removedFileIsReported() throws Exception {
+        monitor.addUpdateListener(listener, file);
+
+        Files.delete(file.toPath());
+
+        assertTrue(listener.removed.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void changesOfOtherFilesInDirectoryAreIgnored() throws Exception {
+        monitor.addUpdateListener(listener, file);
+        CountingListener otherListener = new CountingListener();
+        File otherFile = temporaryFolder.newFile("other.bib");
+        monitor.addUpdateListener(otherListener, otherFile);
+
+        write(otherFile, 1);
+
+        assertTrue(otherListener.updated.await(10, TimeUnit.SECONDS));
+        assertEquals(0, listener.updates.get());
+    }
+
+    @Test
+    public void removedListenerIsNotNotified() throws Exception {
+        String handle = monitor.addUpdateListener(listener, file);
+        monitor.removeUpdateListener(handle);
+
+        write(file, 1);
+
+        assertFalse(listener.updated.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void updatedTimeStampHidesOwnChange() throws Exception {
+        String handle = monitor.addUpdateListener(listener, file);
+
+        write(file, 1);
+        monitor.updateTimeStamp(handle);
+
+        assertFalse(monitor.hasBeenModified(handle));
+        assertFalse(listener.updated.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void changesAreReportedAfterDirectoryHasBeenRecreated() throws Exception {
+        File directory = temporaryFolder.newFolder("directory");
+        File fileInDirectory = new File(directory, "test.bib");
+        write(fileInDirectory, 1);
+        monitor.addUpdateListener(listener, fileInDirectory);
+
+        Files.delete(fileInDirectory.toPath());
+        Files.delete(directory.toPath());
+        assertTrue(listener.removed.await(10, TimeUnit.SECONDS));
+        Thread.sleep(1000);
+        Files.createDirectory(directory.toPath());
+        write(fileInDirectory, 5);
+
+        assertTrue(listener.updated.await(10, TimeUnit.SECONDS));
+    }
+
+    private static void write(File file, int length) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i <= length; i++) {
+            content.append("@article{key").append(i).append(",}\n");
+        }
+        Files.write(file.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    private static class CountingListener implements FileUpdateListener {
+
+        private final AtomicInteger updates = new AtomicInteger();
+        private final CountDownLatch updated = new CountDownLatch(1);
+        private final CountDownLatch removed = new CountDownLatch(1);
+
+
+        @Override
+        public void fileUpdated() {
+            updates.incrementAndGet();
+            updated.countDown();
+        }
+
+        @Override
+        public void fileRemoved() {
+            removed.countDown();
+        }
+    }
+}
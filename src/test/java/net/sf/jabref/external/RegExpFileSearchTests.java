@@ -31,6 +31,8 @@ import net.sf.jabref.logic.layout.format.NameFormatter;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.BibtexEntryTypes;
+import net.sf.jabref.model.entry.BibtexString;
+import net.sf.jabref.model.entry.IdGenerator;
 import net.sf.jabref.preferences.JabRefPreferences;
 
 import org.junit.After;
@@ -115,6 +117,15 @@ public class RegExpFileSearchTests {
         assertEquals("HipKro03", RegExpFileSearch.getFieldAndFormat("[bibtexkey:]", entry, database));
     }
 
+    @Test
+    public void fieldMarkerResolvesStringsOfDatabase() {
+        database.addString(new BibtexString(IdGenerator.next(), "einstein", "Albert Einstein"));
+        BibEntry entryWithString = new BibEntry(IdGenerator.next(), "article");
+        entryWithString.setField("author", "#einstein#");
+
+        assertEquals("Einstein", RegExpFileSearch.getFieldAndFormat("[auth]", entryWithString, database));
+    }
+
     @Test
     @Ignore
     public void testUserFieldAndFormat() {
@@ -2,6 +2,8 @@ package net.sf.jabref.importer;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -9,13 +11,20 @@ import net.sf.jabref.Globals;
 import net.sf.jabref.preferences.JabRefPreferences;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class ImportFormatReaderTestParameterless {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private ImportFormatReader reader;
 
     @Before
@@ -43,4 +52,42 @@ public class ImportFormatReaderTestParameterless {
         reader.importFromFile("someunknownformat", Paths.get("somepath"));
         fail();
     }
+
+    @Test
+    public void testImportUnknownFormatOfLargeFileImportsAllEntries() throws Exception {
+        Path entry = Paths.get(ImportFormatReaderTestParameterless.class.getResource("fileformat/RisImporterTest1.ris")
+                .toURI());
+        String content = new String(Files.readAllBytes(entry), StandardCharsets.UTF_8);
+        StringBuilder largeContent = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            largeContent.append(content).append('\n');
+        }
+        Path file = temporaryFolder.newFile("large.txt").toPath();
+        Files.write(file, largeContent.toString().getBytes(StandardCharsets.UTF_8));
+
+        ImportFormatReader.UnknownFormatImport unknownFormat = reader.importUnknownFormat(file);
+        assertEquals("RIS", unknownFormat.format);
+        assertEquals(500, unknownFormat.parserResult.getDatabase().getEntryCount());
+    }
+
+    @Test
+    public void testImportUnknownFormatOfLargeMsBibFile() throws Exception {
+        Path entry = Paths.get(ImportFormatReaderTestParameterless.class
+                .getResource("fileformat/MsBibImporterTest1.xml").toURI());
+        String content = new String(Files.readAllBytes(entry), StandardCharsets.UTF_8);
+        int sourceStart = content.indexOf("<b:Source>");
+        int sourceEnd = content.indexOf("</b:Sources>");
+        StringBuilder largeContent = new StringBuilder(content.substring(0, sourceStart));
+        for (int i = 0; i < 100; i++) {
+            largeContent.append(content.substring(sourceStart, sourceEnd));
+        }
+        largeContent.append(content.substring(sourceEnd));
+        Path file = temporaryFolder.newFile("large.xml").toPath();
+        Files.write(file, largeContent.toString().getBytes(StandardCharsets.UTF_8));
+        assertTrue(Files.size(file) > (64 * 1024));
+
+        ImportFormatReader.UnknownFormatImport unknownFormat = reader.importUnknownFormat(file);
+        assertEquals("MSBib", unknownFormat.format);
+        assertEquals(100, unknownFormat.parserResult.getDatabase().getEntryCount());
+    }
 }
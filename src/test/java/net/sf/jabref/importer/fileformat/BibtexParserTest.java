@@ -1631,4 +1631,52 @@ public class BibtexParserTest {
         assertEquals(bibtexEntry, entry.getParsedSerialization());
     }
 
+    @Test
+    public void parseCharSequenceSetsParsedSerialization() throws IOException {
+        String firstEntry = "% some comment" + OS.NEWLINE
+                + "@article{canh05,"
+                + "  author = {Crowston, K. and Annabi, H.},"
+                + OS.NEWLINE
+                + "  title = {Title A}}"
+                + OS.NEWLINE;
+        String secondEntry = "@inProceedings{foo," + "  author={Norton Bar}}";
+
+        ParserResult result = BibtexParser.parse(firstEntry + secondEntry + OS.NEWLINE + "epilog");
+
+        List<BibEntry> entries = result.getDatabase().getEntries();
+        assertEquals(2, entries.size());
+        assertEquals(firstEntry, entries.get(0).getParsedSerialization());
+        assertEquals(secondEntry + OS.NEWLINE, entries.get(1).getParsedSerialization());
+        assertEquals("epilog", result.getDatabase().getEpilog());
+    }
+
+    @Test
+    public void parseCharSequenceEqualsParseReader() throws IOException {
+        // @formatter:off
+        String bibtex = "@preamble{some preamble}" + OS.NEWLINE +
+                "@String{aaa = \"Test\"}" + OS.NEWLINE +
+                "@Comment{@article{myarticle,}}" + OS.NEWLINE +
+                "@article{test" + OS.NEWLINE +
+                "  author = {Foo Bar}," + OS.NEWLINE +
+                "  journal = aaa # {Journal}" + OS.NEWLINE +
+                "}" + OS.NEWLINE +
+                "@article{key with spaces, title = {Title}}" + OS.NEWLINE +
+                "@article{broken, title = {Title}" + OS.NEWLINE +
+                "@article{last, title = \"Last {title}\"}";
+        // @formatter:on
+
+        ParserResult fromReader = BibtexParser.parse(new StringReader(bibtex));
+        ParserResult fromCharSequence = BibtexParser.parse(bibtex);
+
+        List<BibEntry> expectedEntries = fromReader.getDatabase().getEntries();
+        List<BibEntry> actualEntries = fromCharSequence.getDatabase().getEntries();
+        assertEquals(expectedEntries, actualEntries);
+        for (int i = 0; i < expectedEntries.size(); i++) {
+            assertEquals(expectedEntries.get(i).getParsedSerialization(),
+                    actualEntries.get(i).getParsedSerialization());
+        }
+        assertEquals(fromReader.warnings(), fromCharSequence.warnings());
+        assertEquals(fromReader.getDatabase().getPreamble(), fromCharSequence.getDatabase().getPreamble());
+        assertEquals(fromReader.getDatabase().getEpilog(), fromCharSequence.getDatabase().getEpilog());
+    }
 }
@@ -1,7 +1,10 @@
 package net.sf.jabref.importer.fileformat;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.StringReader;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -11,6 +14,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import net.sf.jabref.Globals;
+import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.preferences.JabRefPreferences;
 
 import org.junit.Assert;
@@ -91,4 +95,27 @@ public class MedlineImporterTest {
             Assert.assertFalse(file.toString(), importer.isRecognizedFormat(file, Charset.defaultCharset()));
         }
     }
+
+    @Test
+    public void importEntriesOfLargeArticleSetInOrder() throws Exception {
+        String document = new String(
+                Files.readAllBytes(Paths.get(FILEFORMAT_PATH, "MedlineImporterTestArticleID.xml")),
+                StandardCharsets.UTF_8);
+        String article = document.substring(document.indexOf("<PubmedArticle>"),
+                document.indexOf("</PubmedArticle>") + "</PubmedArticle>".length());
+
+        StringBuilder articleSet = new StringBuilder("<PubmedArticleSet>\n");
+        for (int i = 0; i < 250; i++) {
+            articleSet.append(article.replace("26711635", String.valueOf(i))).append('\n');
+        }
+        articleSet.append("</PubmedArticleSet>\n");
+
+        List<BibEntry> entries = new ArrayList<>();
+        importer.importEntries(new BufferedReader(new StringReader(articleSet.toString())), entries::add);
+
+        assertEquals(250, entries.size());
+        for (int i = 0; i < 250; i++) {
+            assertEquals(String.valueOf(i), entries.get(i).getField("pmid"));
+        }
+    }
 }
@@ -0,0 +1,129 @@
+package net.sf.jabref.importer.fileformat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.importer.ParserResult;
+import net.sf.jabref.logic.util.OS;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.BibtexString;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ParallelBibtexParserTest {
+
+    /**
+     * Every line starting with an '@' outside of braces starts a new chunk
+     */
+    private final ParallelBibtexParser parser = new ParallelBibtexParser(ForkJoinPool.commonPool(), 1);
+
+
+    @BeforeClass
+    public static void setUp() {
+        Globals.prefs = JabRefPreferences.getInstance();
+    }
+
+    @Test
+    public void findChunkBoundariesSplitsAtLinesStartingWithAt() {
+        String content = "@article{a}\n@article{b}\n";
+
+        assertEquals(Arrays.asList(0, 12, 24), ParallelBibtexParser.findChunkBoundaries(content, 1));
+    }
+
+    @Test
+    public void findChunkBoundariesDoesNotSplitInsideBraces() {
+        String content = "@article{a, abstract = {text\n@ line start}}\n@article{b}";
+
+        assertEquals(Arrays.asList(0, 44, 55), ParallelBibtexParser.findChunkBoundaries(content, 1));
+    }
+
+    @Test
+    public void findChunkBoundariesRespectsChunkSize() {
+        String content = "@article{a}\n@article{b}\n@article{c}\n";
+
+        assertEquals(Arrays.asList(0, 24, 36), ParallelBibtexParser.findChunkBoundaries(content, 20));
+    }
+
+    @Test
+    public void parseKeepsEntriesStringsAndSerializationInFileOrder() throws IOException {
+        // @formatter:off
+        String bibtex = "% Encoding: UTF-8" + OS.NEWLINE + OS.NEWLINE +
+                "@Preamble{some preamble}" + OS.NEWLINE +
+                "@String{aaa = \"Test\"}" + OS.NEWLINE +
+                "@Comment{@article{myarticle,}}" + OS.NEWLINE +
+                "some text between entries" + OS.NEWLINE +
+                "@article{test," + OS.NEWLINE +
+                "  author = {Foo Bar}," + OS.NEWLINE +
+                "  journal = aaa # {Journal}" + OS.NEWLINE +
+                "}" + OS.NEWLINE +
+                "@String{aaa = \"Duplicate\"}" + OS.NEWLINE +
+                "@article{test, title = {Duplicate key}}" + OS.NEWLINE +
+                "@article{, title = {No key}}" + OS.NEWLINE +
+                "@article{last, title = \"Last {title}\"}" + OS.NEWLINE +
+                "@Comment{jabref-meta: databaseType:bibtex;}" + OS.NEWLINE +
+                "epilog";
+        // @formatter:on
+
+        assertSameResult(BibtexParser.parse(new StringReader(bibtex)), parser.parse(new StringReader(bibtex)));
+    }
+
+    @Test
+    public void parseReportsErrorsWithLineOfWholeInput() throws IOException {
+        // @formatter:off
+        String bibtex = "@article{first, title = {Title}}" + OS.NEWLINE +
+                "@article{second," + OS.NEWLINE +
+                "  title = {Title} {Missing comma}" + OS.NEWLINE +
+                "}" + OS.NEWLINE +
+                "@article{third" + OS.NEWLINE +
+                "  author = {Foo Bar}}" + OS.NEWLINE;
+        // @formatter:on
+
+        ParserResult result = parser.parse(new StringReader(bibtex));
+
+        assertSameResult(BibtexParser.parse(new StringReader(bibtex)), result);
+        assertEquals(3, result.getDatabase().getEntryCount());
+    }
+
+    @Test
+    public void parseFallsBackIfEntryReachesIntoNextChunk() throws IOException {
+        // the unbalanced quote makes the entry end in the following line, which starts a chunk
+        String bibtex = "@article{first, title = \"Title}}\n@article{second, title = {Title}}\" }\n@article{third}";
+
+        assertSameResult(BibtexParser.parse(new StringReader(bibtex)), parser.parse(new StringReader(bibtex)));
+    }
+
+    private static void assertSameResult(ParserResult expected, ParserResult actual) {
+        List<BibEntry> expectedEntries = expected.getDatabase().getEntries();
+        List<BibEntry> actualEntries = actual.getDatabase().getEntries();
+        assertEquals(expectedEntries, actualEntries);
+        for (int i = 0; i < expectedEntries.size(); i++) {
+            assertEquals(expectedEntries.get(i).getParsedSerialization(),
+                    actualEntries.get(i).getParsedSerialization());
+        }
+        assertEquals(getStringSerializations(expected), getStringSerializations(actual));
+        assertEquals(expected.warnings(), actual.warnings());
+        assertArrayEquals(expected.getDuplicateKeys(), actual.getDuplicateKeys());
+        assertEquals(expected.getDatabase().getPreamble(), actual.getDatabase().getPreamble());
+        assertEquals(expected.getDatabase().getEpilog(), actual.getDatabase().getEpilog());
+        assertEquals(expected.getMetaData().getAsStringMap(), actual.getMetaData().getAsStringMap());
+    }
+
+    private static Map<String, String> getStringSerializations(ParserResult result) {
+        Map<String, String> serializations = new HashMap<>();
+        for (BibtexString string : result.getDatabase().getStringValues()) {
+            serializations.put(string.getName(), string.getParsedSerialization());
+        }
+        return serializations;
+    }
+}
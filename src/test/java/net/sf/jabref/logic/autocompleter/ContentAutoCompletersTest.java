@@ -0,0 +1,57 @@
+package net.sf.jabref.logic.autocompleter;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+
+public class ContentAutoCompletersTest {
+
+    private BibDatabase database;
+    private ContentAutoCompleters autoCompleters;
+
+
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+        autoCompleters = new ContentAutoCompleters();
+        autoCompleters.put("field", new EntireFieldAutoCompleter("field", mock(AutoCompletePreferences.class)));
+        autoCompleters.addDatabase(database);
+    }
+
+    @Test
+    public void addedEntryIsCompleted() {
+        BibEntry entry = new BibEntry();
+        entry.setField("field", "testValue");
+        database.insertEntry(entry);
+
+        Assert.assertEquals(Arrays.asList("testValue"), autoCompleters.get("field").complete("test"));
+    }
+
+    @Test
+    public void changedFieldIsCompletedWithNewValue() {
+        BibEntry entry = new BibEntry();
+        entry.setField("field", "testValue");
+        database.insertEntry(entry);
+        entry.setField("field", "testChanged");
+
+        Assert.assertEquals(Arrays.asList("testChanged"), autoCompleters.get("field").complete("test"));
+    }
+
+    @Test
+    public void removedEntryIsNotCompleted() {
+        BibEntry entry = new BibEntry();
+        entry.setField("field", "testValue");
+        database.insertEntry(entry);
+        database.removeEntry(entry);
+
+        Assert.assertEquals(Collections.emptyList(), autoCompleters.get("field").complete("test"));
+    }
+}
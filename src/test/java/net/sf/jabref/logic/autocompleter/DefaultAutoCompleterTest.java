@@ -204,4 +204,95 @@ public class DefaultAutoCompleterTest {
         List<String> result = autoCompleter.complete("lue");
         Assert.assertEquals(Collections.emptyList(), result);
     }
+
+    @Test
+    public void completeAfterRemovingEntryReturnsNothing() {
+        AutoCompletePreferences preferences = mock(AutoCompletePreferences.class);
+        DefaultAutoCompleter autoCompleter = new DefaultAutoCompleter("field", preferences);
+
+        BibEntry entry = new BibEntry();
+        entry.setField("field", "testValue");
+        autoCompleter.addBibtexEntry(entry);
+        autoCompleter.removeBibtexEntry(entry);
+
+        List<String> result = autoCompleter.complete("test");
+        Assert.assertEquals(Collections.emptyList(), result);
+    }
+
+    @Test
+    public void completeAfterRemovingOneOfTwoEntriesReturnsSharedWord() {
+        AutoCompletePreferences preferences = mock(AutoCompletePreferences.class);
+        DefaultAutoCompleter autoCompleter = new DefaultAutoCompleter("field", preferences);
+
+        BibEntry entryOne = new BibEntry();
+        entryOne.setField("field", "testValue testOne");
+        autoCompleter.addBibtexEntry(entryOne);
+        BibEntry entryTwo = new BibEntry();
+        entryTwo.setField("field", "testValue");
+        autoCompleter.addBibtexEntry(entryTwo);
+        autoCompleter.removeBibtexEntry(entryOne);
+
+        List<String> result = autoCompleter.complete("test");
+        Assert.assertEquals(Arrays.asList("testValue"), result);
+    }
+
+    @Test
+    public void completeAfterUpdatingFieldReturnsNewValue() {
+        AutoCompletePreferences preferences = mock(AutoCompletePreferences.class);
+        DefaultAutoCompleter autoCompleter = new DefaultAutoCompleter("field", preferences);
+
+        BibEntry entry = new BibEntry();
+        entry.setField("field", "testValue");
+        autoCompleter.addBibtexEntry(entry);
+        autoCompleter.updateField("field", "testValue", "testChanged");
+
+        List<String> result = autoCompleter.complete("test");
+        Assert.assertEquals(Arrays.asList("testChanged"), result);
+    }
+
+    @Test
+    public void completeReturnsMostFrequentResultFirst() {
+        AutoCompletePreferences preferences = mock(AutoCompletePreferences.class);
+        DefaultAutoCompleter autoCompleter = new DefaultAutoCompleter("field", preferences);
+
+        BibEntry entryOne = new BibEntry();
+        entryOne.setField("field", "testValueOne testValueTwo");
+        autoCompleter.addBibtexEntry(entryOne);
+        BibEntry entryTwo = new BibEntry();
+        entryTwo.setField("field", "testValueTwo");
+        autoCompleter.addBibtexEntry(entryTwo);
+
+        List<String> result = autoCompleter.complete("testValue");
+        Assert.assertEquals(Arrays.asList("testValueTwo", "testValueOne"), result);
+    }
+
+    @Test
+    public void completeReturnsSelectedResultFirst() {
+        AutoCompletePreferences preferences = mock(AutoCompletePreferences.class);
+        DefaultAutoCompleter autoCompleter = new DefaultAutoCompleter("field", preferences);
+
+        BibEntry entry = new BibEntry();
+        entry.setField("field", "testValueOne testValueTwo");
+        autoCompleter.addBibtexEntry(entry);
+        autoCompleter.getAutoCompleteText("testValueTwo");
+
+        List<String> result = autoCompleter.complete("testValue");
+        Assert.assertEquals(Arrays.asList("testValueTwo", "testValueOne"), result);
+    }
+
+    @Test
+    public void completeReturnsLimitedNumberOfResults() {
+        AutoCompletePreferences preferences = mock(AutoCompletePreferences.class);
+        DefaultAutoCompleter autoCompleter = new DefaultAutoCompleter("field", preferences);
+
+        for (int i = 0; i < 1000; i++) {
+            autoCompleter.addItemToIndex("testValue" + i);
+        }
+        autoCompleter.addItemToIndex("testValue999");
+
+        List<String> result = autoCompleter.complete("test");
+        Assert.assertEquals(autoCompleter.getMaximumNumberOfCompletions(), result.size());
+        Assert.assertEquals("testValue999", result.get(0));
+        Assert.assertEquals("testValue0", result.get(1));
+    }
 }
@@ -670,6 +670,30 @@ public class TestVM {
         Assert.assertTrue(vm.run(v).contains("J.-P. Sartre"));
     }
 
+    @Test
+    public void testVMReusedForOtherEntries() throws RecognitionException, IOException {
+        VM vm = new VM(new File("src/test/resources/net/sf/jabref/logic/bst/abbrv.bst"));
+        List<BibEntry> sartre = new ArrayList<>();
+        sartre.add(TestVM.bibtexString2BibtexEntry("@article{canh05, author = \"Jean-Paul Sartre\" }"));
+        List<BibEntry> crowston = new ArrayList<>();
+        crowston.add(t1BibtexEntry());
+
+        String first = vm.run(crowston);
+        Assert.assertTrue(vm.run(sartre).contains("J.-P. Sartre"));
+        Assert.assertEquals(first, vm.run(crowston));
+    }
+
+    @Test
+    public void testVMVariableDeclaredAfterFunction() throws RecognitionException {
+        VM vm = new VM("FUNCTION {get}{ a } STRINGS { a } FUNCTION {set}{ \"text\" 'a := } "
+                + "EXECUTE {set} EXECUTE {get}");
+
+        vm.run(new ArrayList<>());
+
+        Assert.assertEquals("text", vm.getStack().pop());
+        Assert.assertEquals(0, vm.getStack().size());
+    }
+
     private BibEntry t1BibtexEntry() throws IOException {
         return TestVM.bibtexString2BibtexEntry(t1BibtexString());
     }
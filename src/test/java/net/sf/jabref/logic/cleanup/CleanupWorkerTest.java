@@ -323,4 +323,58 @@ public class CleanupWorkerTest {
         worker.cleanup(preset, entry);
         Assert.assertEquals(Optional.of("01"), entry.getFieldOptional("month"));
     }
+
+    @Test
+    public void cleanupOfSeveralEntriesReturnsChangesInOrderOfEntries() {
+        CleanupPreset preset = new CleanupPreset(CleanupPreset.CleanupStep.CLEAN_UP_DOI);
+        List<BibEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setField("url", "http://dx.doi.org/10.1016/0001-8708(80)90035-" + i);
+            entries.add(entry);
+        }
+
+        List<FieldChange> changes = worker.cleanupEntries(preset, entries);
+
+        Assert.assertEquals(100, changes.size());
+        for (int i = 0; i < entries.size(); i++) {
+            Assert.assertSame(entries.get(i), changes.get(2 * i).getEntry());
+            Assert.assertEquals(new FieldChange(entries.get(i), "doi", null, "10.1016/0001-8708(80)90035-" + i),
+                    changes.get(2 * i));
+            Assert.assertEquals(Optional.empty(), entries.get(i).getFieldOptional("url"));
+        }
+    }
+
+    @Test
+    public void cleanupOfSeveralEntriesEqualsCleanupOfEachEntry() throws IOException {
+        CleanupPreset preset = new CleanupPreset(
+                EnumSet.of(CleanupPreset.CleanupStep.CLEAN_UP_DOI, CleanupPreset.CleanupStep.MAKE_PATHS_RELATIVE,
+                        CleanupPreset.CleanupStep.CONVERT_TO_BIBLATEX),
+                new FieldFormatterCleanups(true,
+                        Collections.singletonList(new FieldFormatterCleanup("pages", new NormalizePagesFormatter()))));
+        List<BibEntry> entries = new ArrayList<>();
+        List<BibEntry> expectedEntries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setField("url", "http://dx.doi.org/10.1016/0001-8708(80)90035-" + i);
+            entry.setField("journal", "Journal " + i);
+            entry.setField("pages", i + "-" + (i + 10));
+            File tempFile = bibFolder.newFile();
+            entry.setField("file", FileField.getStringRepresentation(new ParsedFileField("", tempFile.getAbsolutePath(), "")));
+            entries.add(entry);
+            expectedEntries.add((BibEntry) entry.clone());
+        }
+
+        List<FieldChange> changes = worker.cleanupEntries(preset, entries);
+
+        List<FieldChange> expectedChanges = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            for (FieldChange change : worker.cleanup(preset, expectedEntries.get(i))) {
+                expectedChanges.add(new FieldChange(entries.get(i), change.getField(), change.getOldValue(),
+                        change.getNewValue()));
+            }
+            Assert.assertEquals(expectedEntries.get(i).getFieldMap(), entries.get(i).getFieldMap());
+        }
+        Assert.assertEquals(expectedChanges, changes);
+    }
 }
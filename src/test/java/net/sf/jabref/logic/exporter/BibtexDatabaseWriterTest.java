@@ -1,11 +1,13 @@
 package net.sf.jabref.logic.exporter;
 
+import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.Scanner;
 
 import net.sf.jabref.BibDatabaseContext;
@@ -40,6 +42,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class BibtexDatabaseWriterTest {
 
@@ -587,4 +591,91 @@ public class BibtexDatabaseWriterTest {
                 , session.getStringValue());
     }
 
+    @Test
+    public void incrementalSaveWritesSameResultAsFullSave() throws Exception {
+        Path testBibtexFile = Paths.get("src/test/resources/testbib/complex.bib");
+        Charset encoding = StandardCharsets.UTF_8;
+        ParserResult fullResult = BibtexParser.parse(ImportFormat.getReader(testBibtexFile, encoding));
+        ParserResult incrementalResult = BibtexParser.parse(ImportFormat.getReader(testBibtexFile, encoding));
+        FieldFormatterCleanups saveActions = new FieldFormatterCleanups(true,
+                Collections.singletonList(new FieldFormatterCleanup("title", new LowerCaseFormatter())));
+        fullResult.getMetaData().setSaveActions(saveActions);
+        incrementalResult.getMetaData().setSaveActions(saveActions);
+        BibDatabaseContext fullContext = new BibDatabaseContext(fullResult.getDatabase(), fullResult.getMetaData(),
+                new Defaults(BibDatabaseMode.BIBTEX));
+        BibDatabaseContext incrementalContext = new BibDatabaseContext(incrementalResult.getDatabase(),
+                incrementalResult.getMetaData(), new Defaults(BibDatabaseMode.BIBTEX));
+        SavePreferences preferences = new SavePreferences().withEncoding(encoding);
+
+        for (int i = 0; i < 2; i++) {
+            fullResult.getDatabase().getEntries().get(i).setField("author", "Mr. Author");
+            incrementalResult.getDatabase().getEntries().get(i).setField("author", "Mr. Author");
+
+            StringSaveSession fullSession = databaseWriter.saveDatabase(fullContext, preferences);
+            StringSaveSession incrementalSession = databaseWriter.saveDatabase(incrementalContext,
+                    preferences.withIncrementalSave(true));
+
+            assertEquals(fullSession.getStringValue(), incrementalSession.getStringValue());
+        }
+    }
+
+    @Test
+    public void incrementalSaveWritesSameResultAsFullSaveAfterSettingsChanged() throws Exception {
+        String bibtex = "@Article{key1, author=\"Smith, John\",   title = {A Title}}" + OS.NEWLINE + OS.NEWLINE
+                + "@Article{key2, author=\"Doe, Jane\",   title = {Another Title}}" + OS.NEWLINE;
+        ParserResult fullResult = BibtexParser.parse(new StringReader(bibtex));
+        ParserResult incrementalResult = BibtexParser.parse(new StringReader(bibtex));
+        BibDatabaseContext fullContext = new BibDatabaseContext(fullResult.getDatabase(), fullResult.getMetaData(),
+                new Defaults(BibDatabaseMode.BIBTEX));
+        BibDatabaseContext incrementalContext = new BibDatabaseContext(incrementalResult.getDatabase(),
+                incrementalResult.getMetaData(), new Defaults(BibDatabaseMode.BIBTEX));
+        fullResult.getDatabase().getEntries().get(1).setField("year", "2000");
+        incrementalResult.getDatabase().getEntries().get(1).setField("year", "2000");
+        SavePreferences preferences = new SavePreferences();
+        databaseWriter.saveDatabase(fullContext, preferences);
+        databaseWriter.saveDatabase(incrementalContext, preferences.withIncrementalSave(true));
+
+        fullContext.setMode(BibDatabaseMode.BIBLATEX);
+        incrementalContext.setMode(BibDatabaseMode.BIBLATEX);
+        StringSaveSession fullSession = databaseWriter.saveDatabase(fullContext, preferences);
+        StringSaveSession incrementalSession = databaseWriter.saveDatabase(incrementalContext,
+                preferences.withIncrementalSave(true));
+
+        assertEquals(fullSession.getStringValue(), incrementalSession.getStringValue());
+        assertTrue(incrementalSession.getStringValue().contains("author=\"Smith, John\",   title = {A Title}"));
+    }
+
+    @Test
+    public void incrementalSaveKeepsSerializationOfWrittenEntry() throws Exception {
+        BibEntry entry = new BibEntry();
+        entry.setType(BibtexEntryTypes.ARTICLE);
+        entry.setField("author", "Mr. author");
+        database.insertEntry(entry);
+
+        SavePreferences preferences = new SavePreferences().withIncrementalSave(true);
+        StringSaveSession session = databaseWriter.saveDatabase(bibtexContext, preferences);
+
+        assertFalse(entry.hasChanged());
+        assertEquals(OS.NEWLINE + "@Article{," + OS.NEWLINE + "  author = {Mr. author}," + OS.NEWLINE + "}"
+                + OS.NEWLINE, entry.getParsedSerialization());
+        assertEquals(session.getStringValue(), databaseWriter.saveDatabase(bibtexContext, preferences).getStringValue());
+    }
+
+    @Test
+    public void incrementalSaveAppliesChangedSaveActionsToUnchangedEntries() throws Exception {
+        BibEntry entry = new BibEntry();
+        entry.setType(BibtexEntryTypes.ARTICLE);
+        entry.setField("title", "Title");
+        database.insertEntry(entry);
+        SavePreferences preferences = new SavePreferences().withIncrementalSave(true);
+        databaseWriter.saveDatabase(bibtexContext, preferences);
+
+        metaData.setSaveActions(new FieldFormatterCleanups(true,
+                Collections.singletonList(new FieldFormatterCleanup("title", new LowerCaseFormatter()))));
+        databaseWriter.saveDatabase(bibtexContext, preferences);
+
+        assertEquals(Optional.of("title"), entry.getFieldOptional("title"));
+        assertEquals(OS.NEWLINE + "@Article{," + OS.NEWLINE + "  title = {title}," + OS.NEWLINE + "}" + OS.NEWLINE,
+                entry.getParsedSerialization());
+    }
 }
@@ -0,0 +1,135 @@
+package net.sf.jabref.logic.exporter;
+
+import java.io.File;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.jabref.BibDatabaseContext;
+import net.sf.jabref.Globals;
+import net.sf.jabref.MetaData;
+import net.sf.jabref.logic.journals.JournalAbbreviationLoader;
+import net.sf.jabref.logic.layout.LayoutFormatterPreferences;
+import net.sf.jabref.logic.layout.LayoutHelper;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Exports more entries than are formatted in one parallel batch through custom layouts, with and without entry
+ * dependent parts.
+ */
+public class CustomLayoutExportFormatTest {
+
+    private static final int NUMBER_OF_ENTRIES = 1234;
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private BibDatabaseContext databaseContext;
+    private List<BibEntry> entries;
+
+
+    @Before
+    public void setUp() {
+        Globals.prefs = JabRefPreferences.getInstance();
+        Globals.journalAbbreviationLoader = new JournalAbbreviationLoader();
+        LayoutHelper.setCurrentGroup(null);
+
+        databaseContext = new BibDatabaseContext(new BibDatabase(), new MetaData());
+        entries = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_ENTRIES; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setType("article");
+            entry.setCiteKey(String.format("key%04d", i));
+            entry.setField("author", String.format("Author%04d, First", i));
+            entry.setField("year", String.valueOf(1990 + (i / 100)));
+            databaseContext.getDatabase().insertEntry(entry);
+            entries.add(entry);
+        }
+    }
+
+    private List<String> export(String layout) throws Exception {
+        File layoutFile = testFolder.newFile("test.layout");
+        Files.write(layoutFile.toPath(), layout.getBytes(StandardCharsets.UTF_8));
+        ExportFormat exportFormat = new ExportFormat("Test", "test",
+                new File(testFolder.getRoot(), "test").getPath(), null, ".txt");
+        exportFormat.setCustomExport(true);
+
+        File outFile = testFolder.newFile("out.txt");
+        exportFormat.performExport(databaseContext, outFile.getPath(), StandardCharsets.UTF_8, entries);
+        return Files.readAllLines(outFile.toPath(), StandardCharsets.UTF_8);
+    }
+
+    private List<BibEntry> getEntriesInExportOrder() {
+        return BibDatabaseWriter.getSortedEntries(databaseContext, entries,
+                SavePreferences.loadForExportFromPreferences(Globals.prefs));
+    }
+
+    private static boolean isEntryIndependent(String layout) throws Exception {
+        return new LayoutHelper(new StringReader(layout),
+                LayoutFormatterPreferences.fromPreferences(Globals.prefs, Globals.journalAbbreviationLoader))
+                .getLayoutFromText().isEntryIndependent();
+    }
+
+    @Test
+    public void entryIndependentLayoutWritesEntriesInOrder() throws Exception {
+        String layout = "\\bibtexkey \\year\n";
+        assertTrue(isEntryIndependent(layout));
+
+        List<String> expected = new ArrayList<>();
+        for (BibEntry entry : getEntriesInExportOrder()) {
+            expected.add(entry.getCiteKey() + " " + entry.getField("year"));
+        }
+        assertEquals(expected, export(layout));
+        assertEquals(NUMBER_OF_ENTRIES, ExportFormats.entryNumber);
+    }
+
+    @Test
+    public void entryNumberLayoutNumbersEntriesInOrder() throws Exception {
+        String layout = "\\format[Number]{\\bibtexkey} \\bibtexkey\n";
+        assertFalse(isEntryIndependent(layout));
+
+        List<String> expected = new ArrayList<>();
+        for (BibEntry entry : getEntriesInExportOrder()) {
+            expected.add((expected.size() + 1) + " " + entry.getCiteKey());
+        }
+        assertEquals(expected, export(layout));
+    }
+
+    @Test
+    public void groupLayoutWritesHeaderWhenValueChanges() throws Exception {
+        String layout = "\\begingroup{year}== \\year ==\n\\endgroup{year}\\bibtexkey\n";
+        assertFalse(isEntryIndependent(layout));
+
+        List<String> expected = new ArrayList<>();
+        String currentYear = null;
+        for (BibEntry entry : getEntriesInExportOrder()) {
+            if (!entry.getField("year").equals(currentYear)) {
+                currentYear = entry.getField("year");
+                expected.add("== " + currentYear + " ==");
+            }
+            expected.add(entry.getCiteKey());
+        }
+        assertEquals(expected, export(layout));
+    }
+
+    @Test
+    public void entryIndependentLayoutWithoutEntriesWritesNothing() throws Exception {
+        entries = Collections.emptyList();
+
+        assertEquals(Collections.emptyList(), export("\\bibtexkey\n"));
+    }
+}
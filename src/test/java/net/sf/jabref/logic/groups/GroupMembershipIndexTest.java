@@ -0,0 +1,106 @@
+package net.sf.jabref.logic.groups;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.logic.search.SearchMatcher;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class GroupMembershipIndexTest {
+
+    private BibDatabase database;
+    private BibEntry physics;
+    private BibEntry physicsAndChemistry;
+    private BibEntry einstein;
+    private GroupTreeNode root;
+    private GroupTreeNode physicsNode;
+    private GroupTreeNode chemistryNode;
+    private GroupTreeNode einsteinNode;
+
+
+    @Before
+    public void setUp() throws Exception {
+        Globals.prefs = JabRefPreferences.getInstance();
+
+        database = new BibDatabase();
+        physics = new BibEntry().withField("keywords", "physics");
+        physicsAndChemistry = new BibEntry().withField("keywords", "physics, chemistry");
+        einstein = new BibEntry().withField("author", "Einstein");
+        database.insertEntry(physics);
+        database.insertEntry(physicsAndChemistry);
+        database.insertEntry(einstein);
+
+        // Root
+        //     A Physics, including
+        //         B Chemistry, independent
+        //         B Einstein (search), refining
+        root = GroupTreeNode.fromGroup(new AllEntriesGroup());
+        physicsNode = root.addSubgroup(new KeywordGroup("Physics", "keywords", "physics", false, false,
+                GroupHierarchyType.INCLUDING, Globals.prefs));
+        chemistryNode = physicsNode.addSubgroup(new KeywordGroup("Chemistry", "keywords", "chemistry", false, false,
+                GroupHierarchyType.INDEPENDENT, Globals.prefs));
+        einsteinNode = physicsNode.addSubgroup(
+                new SearchGroup("Einstein", "author = einstein", false, false, GroupHierarchyType.REFINING));
+    }
+
+    private List<BibEntry> getMatches(SearchMatcher matcher) {
+        return database.getEntries().stream().filter(matcher::isMatch).collect(Collectors.toList());
+    }
+
+    @Test
+    public void numberOfHitsEqualsEvaluationOfSearchRule() {
+        GroupMembershipIndex index = new GroupMembershipIndex(database);
+
+        for (GroupTreeNode node : Arrays.asList(root, physicsNode, chemistryNode, einsteinNode)) {
+            assertEquals(node.getName(), node.numberOfHits(database.getEntries()), index.getNumberOfHits(node));
+        }
+    }
+
+    @Test
+    public void matcherCombinesSelectedNodes() {
+        GroupMembershipIndex index = new GroupMembershipIndex(database);
+        List<GroupTreeNode> nodes = Arrays.asList(chemistryNode, einsteinNode);
+
+        assertEquals(Collections.emptyList(), getMatches(index.getMatcher(nodes, true, false)));
+        assertEquals(Collections.singletonList(physicsAndChemistry), getMatches(index.getMatcher(nodes, false, false)));
+        assertEquals(Arrays.asList(physics, einstein), getMatches(index.getMatcher(nodes, false, true)));
+    }
+
+    @Test
+    public void followsChangedFields() {
+        GroupMembershipIndex index = new GroupMembershipIndex(database);
+        assertEquals(1, index.getNumberOfHits(chemistryNode));
+
+        einstein.setField("keywords", "chemistry, physics");
+        physicsAndChemistry.clearField("keywords");
+
+        assertEquals(Collections.singletonList(einstein),
+                getMatches(index.getMatcher(Collections.singletonList(chemistryNode), false, false)));
+        assertEquals(1, index.getNumberOfHits(einsteinNode));
+    }
+
+    @Test
+    public void followsAddedAndRemovedEntries() {
+        GroupMembershipIndex index = new GroupMembershipIndex(database);
+        // the refining subgroup does not restrict the including parent
+        assertEquals(3, index.getNumberOfHits(physicsNode));
+
+        database.removeEntry(physics);
+        BibEntry added = new BibEntry().withField("keywords", "physics");
+        database.insertEntry(added);
+
+        assertEquals(Arrays.asList(physicsAndChemistry, einstein, added),
+                getMatches(index.getMatcher(Collections.singletonList(physicsNode), false, false)));
+        assertEquals(3, index.getNumberOfHits(root));
+    }
+}
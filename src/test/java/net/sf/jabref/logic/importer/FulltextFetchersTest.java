@@ -17,19 +17,27 @@
 
 package net.sf.jabref.logic.importer;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sf.jabref.model.entry.BibEntry;
 
+import com.sun.net.httpserver.HttpServer;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class FulltextFetchersTest {
     private BibEntry entry;
@@ -63,4 +71,63 @@ public class FulltextFetchersTest {
 
         assertEquals(Optional.empty(), fetcher.findFullTextPDF(entry));
     }
+
+    @Test(timeout = 10000)
+    public void firstFoundPdfWins() throws IOException {
+        // stub server declaring every document a PDF
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/pdf");
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            URL pdfUrl = new URL("http://localhost:" + server.getAddress().getPort() + "/paper.pdf");
+            CountDownLatch never = new CountDownLatch(1);
+            FulltextFetcher hangingFinder = e -> {
+                try {
+                    never.await();
+                } catch (InterruptedException ignored) {
+                    // cancelled as another fetcher found the document
+                }
+                return Optional.empty();
+            };
+            FulltextFetcher finder = e -> Optional.of(pdfUrl);
+            FulltextFetchers fetcher = new FulltextFetchers(Arrays.asList(hangingFinder, finder));
+
+            assertEquals(Optional.of(pdfUrl), fetcher.findFullTextPDF(entry));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void failingFetchersFindNothing() {
+        FulltextFetcher emptyFinder = e -> Optional.empty();
+        FulltextFetcher failingFinder = e -> {
+            throw new IOException("not reachable");
+        };
+        FulltextFetchers fetcher = new FulltextFetchers(Arrays.asList(emptyFinder, failingFinder));
+
+        assertEquals(Optional.empty(), fetcher.findFullTextPDF(entry));
+    }
+
+    @Test
+    public void findFullTextPDFsReportsEveryEntryInOrder() {
+        List<BibEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            entries.add(new BibEntry());
+        }
+        FulltextFetcher emptyFinder = e -> Optional.empty();
+        FulltextFetchers fetcher = new FulltextFetchers(Arrays.asList(emptyFinder));
+
+        AtomicInteger reported = new AtomicInteger();
+        List<Optional<URL>> results = fetcher.findFullTextPDFs(entries,
+                (entry, result) -> reported.incrementAndGet());
+
+        assertEquals(5, reported.get());
+        assertEquals(5, results.size());
+        assertTrue(results.stream().noneMatch(Optional::isPresent));
+    }
 }
@@ -0,0 +1,102 @@
+package net.sf.jabref.logic.integrity;
+
+import java.util.List;
+
+import net.sf.jabref.BibDatabaseContext;
+import net.sf.jabref.Defaults;
+import net.sf.jabref.Globals;
+import net.sf.jabref.MetaData;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalIntegrityCheckTest {
+
+    private BibDatabase database;
+    private BibDatabaseContext context;
+    private BibEntry wrongYear;
+    private BibEntry wrongUrl;
+
+
+    @Before
+    public void setUp() {
+        Globals.prefs = JabRefPreferences.getInstance();
+
+        database = new BibDatabase();
+        wrongYear = new BibEntry().withField("year", "abc");
+        wrongUrl = new BibEntry().withField("url", "www.google.com");
+        database.insertEntry(wrongYear);
+        database.insertEntry(new BibEntry().withField("year", "2014"));
+        database.insertEntry(wrongUrl);
+        MetaData metaData = new MetaData();
+        metaData.setMode(BibDatabaseMode.BIBTEX);
+        context = new BibDatabaseContext(database, metaData, new Defaults());
+    }
+
+    @Test
+    public void firstCheckFindsSameProblemsAsFullCheck() {
+        List<IntegrityMessage> messages = new IncrementalIntegrityCheck(context).check();
+
+        assertEquals(new IntegrityCheck(context).checkBibtexDatabase().toString(), messages.toString());
+        assertEquals(2, messages.size());
+        assertSame(wrongYear, messages.get(0).getEntry());
+        assertSame(wrongUrl, messages.get(1).getEntry());
+    }
+
+    @Test
+    public void unchangedEntriesAreNotCheckedAgain() {
+        IncrementalIntegrityCheck check = new IncrementalIntegrityCheck(context);
+        List<IntegrityMessage> first = check.check();
+        List<IntegrityMessage> second = check.check();
+
+        assertSame(first.get(0), second.get(0));
+        assertSame(first.get(1), second.get(1));
+    }
+
+    @Test
+    public void changedEntryIsCheckedAgain() {
+        IncrementalIntegrityCheck check = new IncrementalIntegrityCheck(context);
+        check.check();
+
+        wrongYear.setField("year", "2015");
+        List<IntegrityMessage> messages = check.check();
+
+        assertEquals(1, messages.size());
+        assertSame(wrongUrl, messages.get(0).getEntry());
+    }
+
+    @Test
+    public void addedAndRemovedEntriesAreConsidered() {
+        IncrementalIntegrityCheck check = new IncrementalIntegrityCheck(context);
+        check.check();
+
+        database.removeEntry(wrongUrl);
+        BibEntry added = new BibEntry().withField("year", "86");
+        database.insertEntry(added);
+        List<IntegrityMessage> messages = check.check();
+
+        assertEquals(2, messages.size());
+        assertSame(wrongYear, messages.get(0).getEntry());
+        assertSame(added, messages.get(1).getEntry());
+    }
+
+    @Test
+    public void changedModeChecksAllEntriesAgain() {
+        BibEntry pages = new BibEntry().withField("pages", "1-2");
+        database.insertEntry(pages);
+        IncrementalIntegrityCheck check = new IncrementalIntegrityCheck(context);
+        assertTrue(check.check().stream().anyMatch(message -> message.getEntry() == pages));
+
+        context.setMode(BibDatabaseMode.BIBLATEX);
+
+        assertTrue(check.check().stream().noneMatch(message -> message.getEntry() == pages));
+    }
+}
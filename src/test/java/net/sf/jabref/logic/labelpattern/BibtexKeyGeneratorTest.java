@@ -0,0 +1,159 @@
+package net.sf.jabref.logic.labelpattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.BibtexString;
+import net.sf.jabref.model.entry.IdGenerator;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BibtexKeyGeneratorTest {
+
+    private BibDatabase database;
+    private GlobalLabelPattern labelPattern;
+
+
+    @BeforeClass
+    public static void setUpGlobalsPrefs() {
+        Globals.prefs = JabRefPreferences.getInstance();
+    }
+
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+        labelPattern = new GlobalLabelPattern();
+        labelPattern.setDefaultValue("[auth][year]");
+    }
+
+    private static BibEntry entry(String author, String year) {
+        BibEntry entry = new BibEntry(IdGenerator.next(), "article");
+        entry.setField("author", author);
+        entry.setField("year", year);
+        return entry;
+    }
+
+    private BibtexKeyGenerator generator(boolean alwaysAddLetter, boolean firstLetterA) {
+        return new BibtexKeyGenerator(labelPattern, database,
+                new LabelPatternPreferences("[auth][year]", "", "", alwaysAddLetter, firstLetterA, true));
+    }
+
+    @Test
+    public void compiledPatternAppliesModifiers() {
+        CompiledLabelPattern pattern = new CompiledLabelPattern(
+                LabelPatternUtil.split("[auth:lower]-[year]"));
+
+        assertEquals("einstein-1916", pattern.makeLabel(entry("Albert Einstein", "1916"), database));
+    }
+
+    @Test
+    public void compiledPatternResolvesStrings() {
+        database.addString(new BibtexString(IdGenerator.next(), "einstein", "Albert Einstein"));
+        CompiledLabelPattern pattern = new CompiledLabelPattern(LabelPatternUtil.split("[auth][year]"));
+
+        assertEquals("Einstein1916", pattern.makeLabel(entry("#einstein#", "1916"), database));
+    }
+
+    @Test
+    public void invalidFieldMarkerGeneratesEmptyPart() {
+        labelPattern.setDefaultValue("[auth99999999999][year]");
+        BibEntry entry = entry("Albert Einstein", "1916");
+        database.insertEntry(entry);
+
+        generator(false, false).generateAndSetKeys(Arrays.asList(entry));
+
+        assertEquals("1916", entry.getCiteKey());
+    }
+
+    @Test
+    public void collidingKeysGetLettersInOrderOfEntries() {
+        List<BibEntry> entries = Arrays.asList(entry("Albert Einstein", "1916"), entry("Max Planck", "1900"),
+                entry("Albert Einstein", "1916"), entry("Albert Einstein", "1916"));
+        entries.forEach(database::insertEntry);
+
+        generator(false, false).generateAndSetKeys(entries);
+
+        assertEquals("Einstein1916", entries.get(0).getCiteKey());
+        assertEquals("Planck1900", entries.get(1).getCiteKey());
+        assertEquals("Einstein1916b", entries.get(2).getCiteKey());
+        assertEquals("Einstein1916c", entries.get(3).getCiteKey());
+    }
+
+    @Test
+    public void keysOfManyEntriesEqualKeysGeneratedOneByOne() {
+        List<BibEntry> entries = new ArrayList<>();
+        List<BibEntry> copies = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            BibEntry entry = entry("Author" + (i % 7) + ", First", String.valueOf(1990 + (i % 5)));
+            entries.add(entry);
+            copies.add((BibEntry) entry.clone());
+        }
+        entries.forEach(database::insertEntry);
+        generator(true, true).generateAndSetKeys(entries);
+
+        database = new BibDatabase();
+        copies.forEach(database::insertEntry);
+        BibtexKeyGenerator generator = generator(true, true);
+        copies.forEach(generator::generateAndSetKey);
+
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(copies.get(i).getCiteKey(), entries.get(i).getCiteKey());
+        }
+    }
+
+    @Test
+    public void insertedEntriesDoNotAvoidKeysOfEntriesInsertedLater() {
+        BibEntry generated = entry("Albert Einstein", "1916");
+        BibEntry imported = entry("Albert Einstein", "1916");
+        imported.setCiteKey("Einstein1916");
+
+        generator(false, false).insertAndGenerateKeys(Arrays.asList(generated, imported));
+
+        assertEquals("Einstein1916", generated.getCiteKey());
+        assertEquals("Einstein1916b", imported.getCiteKey());
+    }
+
+    @Test
+    public void insertedKeysOfManyEntriesEqualKeysGeneratedOneByOne() {
+        List<BibEntry> entries = new ArrayList<>();
+        List<BibEntry> copies = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            BibEntry entry = entry("Author" + (i % 7) + ", First", String.valueOf(1990 + (i % 5)));
+            if ((i % 3) == 0) {
+                entry.setCiteKey("Author" + (i % 7) + (1990 + (i % 5)));
+            }
+            entries.add(entry);
+            copies.add((BibEntry) entry.clone());
+        }
+        generator(false, false).insertAndGenerateKeys(entries);
+
+        database = new BibDatabase();
+        BibtexKeyGenerator generator = generator(false, false);
+        for (BibEntry copy : copies) {
+            database.insertEntry(copy);
+            generator.generateAndSetKey(copy);
+        }
+
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(copies.get(i).getCiteKey(), entries.get(i).getCiteKey());
+        }
+    }
+
+    @Test
+    public void entriesNotInDatabaseGetKeys() {
+        BibEntry entry = entry("Albert Einstein", "1916");
+
+        generator(false, true).generateAndSetKeys(Arrays.asList(entry));
+
+        assertEquals("Einstein1916", entry.getCiteKey());
+    }
+}
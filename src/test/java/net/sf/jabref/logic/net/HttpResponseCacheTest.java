@@ -0,0 +1,147 @@
+package net.sf.jabref.logic.net;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.jabref.logic.net.HttpResponseCache.CachedResponse;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HttpResponseCacheTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private HttpServer server;
+    private URL url;
+    private HttpResponseCache cache;
+    private final List<String> receivedConditions = new ArrayList<>();
+    private String content = "first version";
+
+
+    @Before
+    public void setUp() throws IOException {
+        // stub server answering conditional requests with the ETag of the current content
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/resource", this::respond);
+        server.start();
+        url = new URL("http://localhost:" + server.getAddress().getPort() + "/resource?b=2&a=1");
+
+        cache = new HttpResponseCache(temporaryFolder.getRoot().toPath(), 1024 * 1024);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private synchronized void respond(HttpExchange exchange) throws IOException {
+        String condition = exchange.getRequestHeaders().getFirst("If-None-Match");
+        receivedConditions.add(String.valueOf(condition));
+        String eTag = content.startsWith("first") ? ETAG : "\"v2\"";
+        exchange.getResponseHeaders().add("ETag", eTag);
+        if (eTag.equals(condition)) {
+            exchange.sendResponseHeaders(304, -1);
+        } else {
+            byte[] body = content.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+        exchange.close();
+    }
+
+    private String download(HttpResponseCache responseCache, Duration timeToLive) throws IOException {
+        URLDownload download = new URLDownload(url);
+        download.setCache(responseCache, timeToLive);
+        return download.downloadToString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void freshResponseIsAnsweredFromCache() throws IOException {
+        assertEquals("first version\n", download(cache, Duration.ofHours(1)));
+        assertEquals("first version\n", download(cache, Duration.ofHours(1)));
+
+        assertEquals(1, receivedConditions.size());
+    }
+
+    @Test
+    public void responsesSurviveRestart() throws IOException {
+        download(cache, Duration.ofHours(1));
+
+        HttpResponseCache restartedCache = new HttpResponseCache(temporaryFolder.getRoot().toPath(), 1024 * 1024);
+        assertEquals("first version\n", download(restartedCache, Duration.ofHours(1)));
+        assertEquals(1, receivedConditions.size());
+    }
+
+    @Test
+    public void staleResponseIsRevalidated() throws IOException {
+        download(cache, Duration.ZERO);
+        assertEquals("first version\n", download(cache, Duration.ZERO));
+
+        assertEquals(2, receivedConditions.size());
+        assertEquals(ETAG, receivedConditions.get(1));
+    }
+
+    @Test
+    public void changedResponseIsDownloadedAgain() throws IOException {
+        download(cache, Duration.ZERO);
+        content = "second version";
+
+        assertEquals("second version\n", download(cache, Duration.ZERO));
+        assertEquals("second version\n", download(cache, Duration.ofHours(1)));
+        assertEquals(2, receivedConditions.size());
+    }
+
+    @Test
+    public void postedDataIsNotCached() throws IOException {
+        URLDownload download = new URLDownload(url);
+        download.setCache(cache, Duration.ofHours(1));
+        download.setPostData("query=test");
+        download.downloadToString(StandardCharsets.UTF_8);
+
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void leastRecentlyUsedResponsesAreRemoved() throws IOException {
+        HttpResponseCache smallCache = new HttpResponseCache(temporaryFolder.newFolder().toPath(), 3000);
+        byte[] body = new byte[1000];
+        smallCache.put("first", new CachedResponse(Instant.now(), "", "", "", body));
+        smallCache.put("second", new CachedResponse(Instant.now(), "", "", "", body));
+        smallCache.get("first");
+        smallCache.put("third", new CachedResponse(Instant.now(), "", "", "", body));
+
+        assertTrue(smallCache.getSize() <= 3000);
+        assertTrue(smallCache.get("first").isPresent());
+        assertFalse(smallCache.get("second").isPresent());
+        assertTrue(smallCache.get("third").isPresent());
+    }
+
+    @Test
+    public void normalizeRemovesIrrelevantDifferences() throws IOException {
+        assertEquals("http://example.org/path?a=1&b=2",
+                HttpResponseCache.normalize(new URL("HTTP://Example.ORG:80/path?b=2&a=1#section")));
+        assertEquals("http://example.org:8080/", HttpResponseCache.normalize(new URL("http://example.org:8080")));
+    }
+}
@@ -1,7 +1,10 @@
 package net.sf.jabref.logic.search;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
@@ -9,6 +12,7 @@ import net.sf.jabref.model.entry.BibEntry;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class DatabaseSearcherTest {
 
@@ -58,4 +62,109 @@ public class DatabaseSearcherTest {
         List<BibEntry> matches = new DatabaseSearcher(new SearchQuery("harrer", true, true), database).getMatches();
         assertEquals(Collections.singletonList(entry), matches);
     }
+
+    @Test
+    public void testGetDatabaseFromMatchesKeepsDatabaseOrder() {
+        BibDatabase database = new BibDatabase();
+        BibEntry first = new BibEntry();
+        first.setField("title", "Second search");
+        BibEntry second = new BibEntry();
+        second.setField("title", "First search");
+        database.insertEntry(first);
+        database.insertEntry(second);
+        List<BibEntry> matches = new DatabaseSearcher(new SearchQuery("search", false, false), database).getMatches();
+        assertEquals(Arrays.asList(first, second), matches);
+    }
+
+    @Test
+    public void testGetDatabaseFromMatchesGrammarBasedSearch() {
+        BibDatabase database = new BibDatabase();
+        BibEntry entry = new BibEntry();
+        entry.setField("author", "harrer");
+        entry.setField("title", "testing");
+        BibEntry other = new BibEntry();
+        other.setField("author", "testing");
+        database.insertEntry(entry);
+        database.insertEntry(other);
+        List<BibEntry> matches = new DatabaseSearcher(new SearchQuery("title = test and author = harrer", false, false),
+                database).getMatches();
+        assertEquals(Collections.singletonList(entry), matches);
+    }
+
+    @Test
+    public void testGetDatabaseFromMatchesGrammarBasedSearchWithNegation() {
+        BibDatabase database = new BibDatabase();
+        BibEntry entry = new BibEntry();
+        entry.setField("author", "harrer");
+        BibEntry other = new BibEntry();
+        other.setField("author", "testing");
+        database.insertEntry(entry);
+        database.insertEntry(other);
+        List<BibEntry> matches = new DatabaseSearcher(new SearchQuery("author = harrer or not author = harrer", false,
+                false), database).getMatches();
+        assertEquals(Arrays.asList(entry, other), matches);
+    }
+
+    @Test
+    public void testGetDatabaseFromMatchesFollowsChanges() {
+        BibDatabase database = new BibDatabase();
+        BibEntry entry = new BibEntry();
+        entry.setField("author", "harrer");
+        database.insertEntry(entry);
+        SearchQuery query = new SearchQuery("kopp", false, false);
+        assertEquals(Collections.emptyList(), new DatabaseSearcher(query, database).getMatches());
+
+        entry.setField("author", "kopp");
+        assertEquals(Collections.singletonList(entry), new DatabaseSearcher(query, database).getMatches());
+    }
+
+    @Test
+    public void testGetMatchesSearchesPartsInParallelAndKeepsDatabaseOrder() {
+        BibDatabase database = new BibDatabase();
+        List<BibEntry> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setField("title", (i % 3) == 0 ? "match " + i : "other " + i);
+            database.insertEntry(entry);
+            if ((i % 3) == 0) {
+                expected.add(entry);
+            }
+        }
+
+        List<List<BibEntry>> partialMatches = new ArrayList<>();
+        List<BibEntry> matches = new DatabaseSearcher(new SearchQuery("match", false, false), database,
+                new ForkJoinPool(4), 10).getMatches(new CancellationToken(), partialMatches::add);
+
+        assertEquals(expected, matches);
+        assertTrue(partialMatches.size() > 1);
+        List<BibEntry> reported = new ArrayList<>();
+        partialMatches.forEach(reported::addAll);
+        assertEquals(expected, reported);
+    }
+
+    @Test
+    public void testGetMatchesCancelledSearchReturnsNothing() {
+        BibDatabase database = new BibDatabase();
+        for (int i = 0; i < 100; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setField("title", "match " + i);
+            database.insertEntry(entry);
+        }
+        CancellationToken cancellation = new CancellationToken();
+        List<List<BibEntry>> partialMatches = new ArrayList<>();
+        SearchQuery query = new SearchQuery("match", false, false) {
+
+            @Override
+            public boolean isMatch(BibEntry entry) {
+                cancellation.cancel();
+                return super.isMatch(entry);
+            }
+        };
+
+        List<BibEntry> matches = new DatabaseSearcher(query, database, new ForkJoinPool(4), 10)
+                .getMatches(cancellation, partialMatches::add);
+
+        assertEquals(Collections.emptyList(), matches);
+        assertEquals(Collections.emptyList(), partialMatches);
+    }
 }
@@ -0,0 +1,106 @@
+package net.sf.jabref.logic.search.rules;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GrammarBasedSearchRuleTest {
+
+    private BibEntry entry;
+
+
+    @Before
+    public void setUp() {
+        entry = new BibEntry();
+        entry.setType("article");
+        entry.setField("author", "Kevin Shields");
+        entry.setField("title", "Marine finfish larviculture in Österreich");
+        entry.setField("year", "2001");
+    }
+
+    private boolean matches(String query, boolean caseSensitive, boolean regex) {
+        GrammarBasedSearchRule rule = new GrammarBasedSearchRule(caseSensitive, regex);
+        Predicate<BibEntry> compiled = rule.compile(query);
+        boolean result = compiled.test(entry);
+        // the rule applied once gives the same result as the compiled query applied to many entries
+        assertTrue(rule.validateSearchStrings(query));
+        assertTrue(result == rule.applyRule(query, entry));
+        return result;
+    }
+
+    @Test
+    public void containsIgnoresCaseOfFieldAndValue() {
+        assertTrue(matches("Author = shields", false, false));
+        assertFalse(matches("Author = shields", true, false));
+        assertTrue(matches("author = Shields", true, false));
+    }
+
+    @Test
+    public void caseInsensitiveSearchIgnoresCaseOfAsciiCharactersOnly() {
+        assertTrue(matches("title = MARINE", false, false));
+        assertFalse(matches("title = österreich", false, false));
+    }
+
+    @Test
+    public void matchesRequiresWholeValue() {
+        assertTrue(matches("year == 2001", false, false));
+        assertFalse(matches("year == 200", false, false));
+    }
+
+    @Test
+    public void doesNotContainMatchesEntriesWithoutField() {
+        assertTrue(matches("journal != nature", false, false));
+        assertFalse(matches("author != kevin", false, false));
+    }
+
+    @Test
+    public void entryTypeIsSearchable() {
+        assertTrue(matches("entrytype = article", false, false));
+        assertFalse(matches("entrytype = book", false, false));
+    }
+
+    @Test
+    public void regularExpressionsMatchFieldsAndValues() {
+        assertTrue(matches("a.*r = shi.lds", false, true));
+        assertFalse(matches("a.*r = ^shields", false, true));
+    }
+
+    @Test
+    public void invalidRegularExpressionMatchesNothing() {
+        assertFalse(matches("author = [", false, true));
+    }
+
+    @Test
+    public void booleanOperatorsAreEvaluatedIndependentOfOrder() {
+        assertTrue(matches("year = 2001 and (title = marine or author = nobody)", false, false));
+        assertTrue(matches("(author = nobody or title = marine) and year == 2001", false, false));
+        assertFalse(matches("year = 2001 and not (title = marine or author = nobody)", false, false));
+        assertTrue(matches("journal = nature or year = 1999 or author = kevin", false, false));
+        assertFalse(matches("author = kevin and year = 2001 and title = nature", false, false));
+    }
+
+    @Test
+    public void compileAndGetCandidatesDoNotChangeValidatedQuery() {
+        BibDatabase database = new BibDatabase();
+        database.insertEntry(entry);
+        GrammarBasedSearchRule rule = new GrammarBasedSearchRule(false, false);
+        assertTrue(rule.validateSearchStrings("author = shields"));
+
+        assertFalse(rule.compile("title = nature").test(entry));
+        Optional<Set<BibEntry>> candidates = rule.getCandidates("title = nature", database.getFieldIndex());
+
+        assertTrue(candidates.get().isEmpty());
+        assertEquals("author = shields", rule.getQuery());
+        assertTrue(rule.applyRule("author = shields", entry));
+    }
+}
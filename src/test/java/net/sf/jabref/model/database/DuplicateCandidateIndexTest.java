@@ -0,0 +1,154 @@
+package net.sf.jabref.model.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DuplicateCandidateIndexTest {
+
+    private BibDatabase database;
+    private BibEntry einstein;
+    private BibEntry einsteinWithOtherTitleCase;
+    private BibEntry other;
+
+
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+        einstein = createArticle("Einstein, Albert", "Die Grundlage der allgemeinen Relativitätstheorie", "1916");
+        other = createArticle("Planck, Max", "Zur Theorie des Gesetzes der Energieverteilung", "1900");
+        einsteinWithOtherTitleCase = createArticle("A. Einstein", "Die grundlage der Allgemeinen {R}elativitätstheorie",
+                "1916");
+        database.insertEntry(einstein);
+        database.insertEntry(other);
+        database.insertEntry(einsteinWithOtherTitleCase);
+    }
+
+    private static BibEntry createArticle(String author, String title, String year) {
+        BibEntry entry = new BibEntry();
+        entry.setType("article");
+        entry.setField("author", author);
+        entry.setField("title", title);
+        entry.setField("year", year);
+        return entry;
+    }
+
+    @Test
+    public void sameFirstAuthorAndYearShareKey() {
+        BibEntry entry = createArticle("Einstein, A. and Grossmann, M.", "Something different", "1916");
+
+        assertEquals(Arrays.asList(einstein, einsteinWithOtherTitleCase),
+                database.getDuplicateCandidateIndex().getCandidates(entry));
+    }
+
+    @Test
+    public void similarTitlesShareKey() {
+        BibEntry entry = createArticle("Unknown, Author", "Die Grundlage der allgemeinen Relativitätstheorie", "2016");
+
+        assertEquals(Arrays.asList(einstein, einsteinWithOtherTitleCase),
+                database.getDuplicateCandidateIndex().getCandidates(entry));
+    }
+
+    @Test
+    public void sameDoiSharesKey() {
+        other.setField("doi", "10.1002/andp.19163540702");
+        BibEntry entry = createArticle("Unknown, Author", "Unrelated", "2016");
+        entry.setField("doi", "http://dx.doi.org/10.1002/ANDP.19163540702");
+
+        assertEquals(Collections.singletonList(other), database.getDuplicateCandidateIndex().getCandidates(entry));
+    }
+
+    @Test
+    public void differentTypeIsNoCandidate() {
+        BibEntry entry = createArticle("Einstein, Albert", "Die Grundlage der allgemeinen Relativitätstheorie", "1916");
+        entry.setType("book");
+
+        assertTrue(database.getDuplicateCandidateIndex().getCandidates(entry).isEmpty());
+    }
+
+    @Test
+    public void entryWithoutKeysIsCandidateOfAllEntriesOfSameType() {
+        BibEntry entry = new BibEntry();
+        entry.setType("article");
+        entry.setField("journal", "Annalen der Physik");
+
+        assertEquals(Arrays.asList(einstein, other, einsteinWithOtherTitleCase),
+                database.getDuplicateCandidateIndex().getCandidates(entry));
+    }
+
+    @Test
+    public void entryWithoutKeysIsOnlyCandidateOfEntriesWithoutKeysOfLargeType() {
+        List<BibEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            entries.add(createArticle("Author" + i + ", First", "Title " + i, "2000"));
+        }
+        BibEntry withoutKeys = new BibEntry();
+        withoutKeys.setType("article");
+        entries.add(withoutKeys);
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(entries);
+        BibEntry entry = new BibEntry();
+        entry.setType("article");
+        entry.setField("journal", "Annalen der Physik");
+
+        assertEquals(Collections.singletonList(withoutKeys), index.getCandidates(entry));
+        assertFalse(index.getCandidates(entries.get(0)).contains(withoutKeys));
+    }
+
+    @Test
+    public void getCandidatePairsReturnsPairsInDatabaseOrder() {
+        Iterator<BibEntry[]> pairs = database.getDuplicateCandidateIndex().getCandidatePairs();
+
+        assertTrue(pairs.hasNext());
+        BibEntry[] pair = pairs.next();
+        assertSame(einstein, pair[0]);
+        assertSame(einsteinWithOtherTitleCase, pair[1]);
+        assertFalse(pairs.hasNext());
+    }
+
+    @Test
+    public void getCandidatePairsSkipsEntriesRemovedMeanwhile() {
+        Iterator<BibEntry[]> pairs = database.getDuplicateCandidateIndex().getCandidatePairs();
+        database.removeEntry(einstein);
+
+        assertFalse(pairs.hasNext());
+    }
+
+    @Test
+    public void followsFieldChanges() {
+        DuplicateCandidateIndex index = database.getDuplicateCandidateIndex();
+        other.setField("author", "Einstein, Albert");
+        other.setField("year", "1916");
+
+        assertEquals(Arrays.asList(other, einsteinWithOtherTitleCase), index.getCandidates(einstein));
+    }
+
+    @Test
+    public void followsAddedAndRemovedEntries() {
+        DuplicateCandidateIndex index = database.getDuplicateCandidateIndex();
+        BibEntry third = createArticle("Einstein, Albert", "Another title", "1916");
+        database.insertEntry(third);
+        database.removeEntry(einsteinWithOtherTitleCase);
+
+        assertEquals(3, index.size());
+        assertEquals(Collections.singletonList(third), index.getCandidates(einstein));
+    }
+
+    @Test
+    public void indexesGivenEntries() {
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(einstein, other));
+
+        assertEquals(Collections.singletonList(einstein), index.getCandidates(einsteinWithOtherTitleCase));
+    }
+}
@@ -0,0 +1,118 @@
+package net.sf.jabref.model.database;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FieldIndexTest {
+
+    private BibDatabase database;
+    private BibEntry first;
+    private BibEntry second;
+
+
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+        first = new BibEntry();
+        first.setField("title", "An {I}ntroduction to \\textbf{Search}");
+        first.setField("author", "M{\\\"u}ller, Hans");
+        second = new BibEntry();
+        second.setField("title", "Advanced searching");
+        second.setField("journal", "Journal of Search");
+        database.insertEntry(first);
+        database.insertEntry(second);
+    }
+
+    @Test
+    public void getTokensSplitsAtNonLetters() {
+        assertEquals(Arrays.asList("e", "mail", "2016"), FieldIndex.getTokens("e-mail {2016}"));
+    }
+
+    @Test
+    public void getTokensOfDelimitersOnlyIsEmpty() {
+        assertEquals(Collections.emptyList(), FieldIndex.getTokens(" -{} "));
+    }
+
+    @Test
+    public void findsSubstringsOfTokens() {
+        assertEquals(2, database.getFieldIndex().getEntriesContaining("earch").size());
+    }
+
+    @Test
+    public void findsLatexFreeValue() {
+        assertEquals(Collections.singleton(first), database.getFieldIndex().getEntriesContaining("introduction"));
+        assertEquals(Collections.singleton(first), database.getFieldIndex().getEntriesContaining("muller"));
+    }
+
+    @Test
+    public void findsShortSubstringsOfTokens() {
+        assertEquals(Collections.singleton(first), database.getFieldIndex().getEntriesContaining("ro"));
+    }
+
+    @Test
+    public void partEnclosedByDelimitersHasToBeWholeToken() {
+        assertEquals(Collections.singleton(second), database.getFieldIndex().getEntriesContaining("journal of search"));
+        assertTrue(database.getFieldIndex().getEntriesContaining("journal o search").isEmpty());
+    }
+
+    @Test
+    public void partPrecededByDelimiterHasToStartToken() {
+        assertEquals(Collections.singleton(second), database.getFieldIndex().getEntriesContaining("advanced sea"));
+        assertTrue(database.getFieldIndex().getEntriesContaining("advanced earch").isEmpty());
+    }
+
+    @Test
+    public void partFollowedByDelimiterHasToEndToken() {
+        assertEquals(Collections.singleton(second), database.getFieldIndex().getEntriesContaining("nced searching"));
+        assertTrue(database.getFieldIndex().getEntriesContaining("advan searching").isEmpty());
+    }
+
+    @Test
+    public void restrictsLookupToField() {
+        assertEquals(Collections.singleton(second), database.getFieldIndex().getEntriesContaining("journal", "search"));
+        assertTrue(database.getFieldIndex().getEntriesContaining("year", "search").isEmpty());
+    }
+
+    @Test
+    public void followsFieldChanges() {
+        FieldIndex index = database.getFieldIndex();
+        second.setField("title", "Something else");
+        second.clearField("journal");
+
+        assertEquals(Collections.singleton(first), index.getEntriesContaining("search"));
+        assertEquals(Collections.singleton(second), index.getEntriesContaining("else"));
+        assertTrue(index.getEntriesContaining("advanced").isEmpty());
+        assertTrue(index.getEntriesContaining("vance").isEmpty());
+    }
+
+    @Test
+    public void followsAddedAndRemovedEntries() {
+        FieldIndex index = database.getFieldIndex();
+        BibEntry third = new BibEntry();
+        third.setField("title", "Search again");
+        database.insertEntry(third);
+        database.removeEntry(first);
+
+        assertEquals(2, index.size());
+        assertEquals(Arrays.asList(second, third), index.sortInDatabaseOrder(index.getEntriesContaining("search")));
+    }
+
+    @Test
+    public void ignoresChangesOfRemovedEntries() {
+        FieldIndex index = database.getFieldIndex();
+        database.removeEntry(first);
+        first.setField("title", "Search");
+
+        List<BibEntry> result = index.sortInDatabaseOrder(index.getEntriesContaining("search"));
+        assertEquals(Collections.singletonList(second), result);
+    }
+}
@@ -1,5 +1,7 @@
 package net.sf.jabref.model.entry;
 
+import com.google.common.cache.CacheStats;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -611,4 +613,35 @@ public class AuthorListTest {
         Author expected = new Author("H{e}lene", "H.", null, "Fiaux", null);
         Assert.assertEquals(new AuthorList(expected), AuthorList.parse("H{e}lene Fiaux"));
     }
+
+    @After
+    public void resetCache() {
+        AuthorList.setCacheSize(AuthorList.DEFAULT_CACHE_SIZE);
+    }
+
+    @Test
+    public void parseCountsCacheHitsAndMisses() {
+        AuthorList.setCacheSize(100);
+
+        AuthorList first = AuthorList.parse("John Smith and Black Brown, Peter");
+        AuthorList second = AuthorList.parse("John Smith and Black Brown, Peter");
+        AuthorList.parse("Tse-tung Mao");
+
+        Assert.assertSame(first, second);
+        CacheStats statistics = AuthorList.getCacheStatistics();
+        Assert.assertEquals(1, statistics.hitCount());
+        Assert.assertEquals(2, statistics.missCount());
+    }
+
+    @Test
+    public void parseWithoutCacheParsesAgain() {
+        AuthorList.setCacheSize(0);
+
+        AuthorList first = AuthorList.parse("John Smith");
+        AuthorList second = AuthorList.parse("John Smith");
+
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(0, AuthorList.getCacheStatistics().hitCount());
+    }
 }
@@ -0,0 +1,136 @@
+package net.sf.jabref.model.entry;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that entries share the field names, entry types and repeating field values with each other instead of
+ * keeping copies of them, and compares the bytes used for the fields with the bytes of the former storage, a hash map
+ * per entry.
+ * <p>
+ * The bytes are counted structurally for a 64 bit JVM with compressed references (12 byte object headers, 4 byte
+ * references, 8 byte alignment) and Java 8 strings, so the comparison does not depend on the garbage collector.
+ */
+public class BibEntryMemoryFootprintTest {
+
+    private static final int NUMBER_OF_ENTRIES = 1000;
+
+
+    // new strings, like the ones created by the parser
+    private static Map<String, String> createFields(int i) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put(new String("author"), "Author" + i + ", Firstname");
+        fields.put(new String("title"), new String("On the analysis of systems"));
+        fields.put(new String("journal"), new String("Journal of Systems"));
+        fields.put(new String("publisher"), new String("Wiley Online Library"));
+        fields.put(new String("year"), String.valueOf(1950 + (i % 70)));
+        return fields;
+    }
+
+    private static BibEntry createEntry(int i) {
+        BibEntry entry = new BibEntry(IdGenerator.next(), new String("article"));
+        createFields(i).forEach(entry::setField);
+        return entry;
+    }
+
+    private static long align(long bytes) {
+        return ((bytes + 7) / 8) * 8;
+    }
+
+    private static long getArrayBytes(int length, int elementBytes) {
+        return align(16 + ((long) length * elementBytes));
+    }
+
+    /**
+     * Counts the given strings unless they have been counted before
+     */
+    private static long getStringBytes(Collection<String> strings, Set<String> counted) {
+        long bytes = 0;
+        for (String string : strings) {
+            if (counted.add(string)) {
+                // header, reference to the char array and hash code
+                bytes += align(12 + 4 + 4) + getArrayBytes(string.length(), 2);
+            }
+        }
+        return bytes;
+    }
+
+    private static long getHashMapBytes(Map<String, String> fields, Set<String> counted) {
+        int tableLength = 16;
+        while (fields.size() > ((tableLength * 3) / 4)) {
+            tableLength *= 2;
+        }
+        // the map has 8 fields, each node a hash code and 3 references
+        return align(12 + (8 * 4)) + getArrayBytes(tableLength, 4) + (fields.size() * align(12 + (4 * 4)))
+                + getStringBytes(fields.keySet(), counted) + getStringBytes(fields.values(), counted);
+    }
+
+    private static long getCompactFieldMapBytes(Map<String, String> fields, Set<String> counted) {
+        // the map has the slot array and the key set and values views of AbstractMap
+        return align(12 + (3 * 4)) + getArrayBytes(2 * fields.size(), 4) + getStringBytes(fields.keySet(), counted)
+                + getStringBytes(fields.values(), counted);
+    }
+
+    @Test
+    public void fieldsUseLessThanHalfTheBytesOfHashMaps() {
+        Set<String> countedBefore = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<String> countedAfter = Collections.newSetFromMap(new IdentityHashMap<>());
+        long bytesBefore = 0;
+        long bytesAfter = 0;
+        for (int i = 0; i < NUMBER_OF_ENTRIES; i++) {
+            bytesBefore += getHashMapBytes(createFields(i), countedBefore);
+            bytesAfter += getCompactFieldMapBytes(createEntry(i).getFieldMap(), countedAfter);
+        }
+
+        bytesBefore /= NUMBER_OF_ENTRIES;
+        bytesAfter /= NUMBER_OF_ENTRIES;
+        assertTrue("bytes per entry before: " + bytesBefore + ", after: " + bytesAfter,
+                (2 * bytesAfter) < bytesBefore);
+    }
+
+    @Test
+    public void fieldNamesAreShared() {
+        BibEntry first = createEntry(1);
+        BibEntry second = createEntry(2);
+
+        assertEquals(first.getFieldNames(), second.getFieldNames());
+        for (String name : first.getFieldNames()) {
+            assertSame(name, second.getFieldNames().stream().filter(name::equals).findFirst().get());
+        }
+    }
+
+    @Test
+    public void entryTypesAreShared() {
+        assertSame(createEntry(1).getType(), createEntry(2).getType());
+    }
+
+    @Test
+    public void repeatingFieldValuesAreShared() {
+        BibEntry first = createEntry(1);
+        BibEntry second = createEntry(2);
+
+        assertSame(first.getField("journal"), second.getField("journal"));
+        assertSame(first.getField("publisher"), second.getField("publisher"));
+        assertSame(first.getField("year"), createEntry(1).getField("year"));
+    }
+
+    @Test
+    public void otherFieldValuesAreNotShared() {
+        BibEntry first = createEntry(1);
+        BibEntry second = createEntry(2);
+
+        assertEquals(first.getField("title"), second.getField("title"));
+        assertNotSame(first.getField("title"), second.getField("title"));
+    }
+}
@@ -1,5 +1,7 @@
 package net.sf.jabref.model.entry;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.After;
@@ -36,4 +38,66 @@ public class BibEntryTest {
 
         Assert.assertEquals(Optional.of("value"), entry.getFieldOptional("tEsT"));
     }
+
+    @Test
+    public void getUserCommentsIgnoresAtInFields() {
+        entry.setParsedSerialization("% comment\n@Article{key, email = {me@example.org (work)}}");
+
+        Assert.assertEquals("% comment", entry.getUserComments());
+    }
+
+    @Test
+    public void getUserCommentsKeepsCommentItems() {
+        entry.setParsedSerialization("@Comment{a comment}\n\n@Article{key, author = {Foo}}");
+
+        Assert.assertEquals("@Comment{a comment}", entry.getUserComments());
+    }
+
+    @Test
+    public void getNormalizedFieldRemovesLatexAndCase() {
+        entry.setField("title", "{Ö}sterreich and \\emph{ZFS}");
+
+        Assert.assertEquals("Österreich and ZFS", entry.getNormalizedField("title", FieldNormalization.LATEX_FREE));
+        Assert.assertEquals("österreich and zfs",
+                entry.getNormalizedField("TITLE", FieldNormalization.LATEX_FREE_LOWER_CASE));
+        Assert.assertNull(entry.getNormalizedField("author", FieldNormalization.LATEX_FREE));
+    }
+
+    @Test
+    public void getNormalizedFieldFollowsChanges() {
+        entry.setField("title", "First");
+        Assert.assertEquals("first", entry.getNormalizedField("title", FieldNormalization.LATEX_FREE_LOWER_CASE));
+
+        entry.setField("title", "Second");
+        Assert.assertEquals("second", entry.getNormalizedField("title", FieldNormalization.LATEX_FREE_LOWER_CASE));
+
+        entry.clearField("title");
+        Assert.assertNull(entry.getNormalizedField("title", FieldNormalization.LATEX_FREE_LOWER_CASE));
+    }
+
+    @Test
+    public void getFieldMapEqualsMapOfFields() {
+        entry.setField("title", "Title");
+        entry.setField("YEAR", "2016");
+        entry.setField("title", "Other title");
+        entry.setField("journal", "Journal");
+        entry.clearField("journal");
+
+        Map<String, String> expected = new HashMap<>();
+        expected.put("title", "Other title");
+        expected.put("year", "2016");
+        Assert.assertEquals(expected, entry.getFieldMap());
+        Assert.assertEquals(expected.hashCode(), entry.getFieldMap().hashCode());
+        Assert.assertEquals(expected.keySet(), entry.getFieldMap().keySet());
+    }
+
+    @Test
+    public void cloneHasIndependentFields() {
+        entry.setField("title", "Title");
+        BibEntry clone = (BibEntry) entry.clone();
+        clone.setField("title", "Other title");
+
+        Assert.assertEquals(Optional.of("Title"), entry.getFieldOptional("title"));
+        Assert.assertEquals(Optional.of("Other title"), clone.getFieldOptional("title"));
+    }
 }
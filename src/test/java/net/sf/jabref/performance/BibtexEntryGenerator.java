@@ -1,7 +1,16 @@
 package net.sf.jabref.performance;
 
+import java.util.Locale;
+
 public class BibtexEntryGenerator {
 
+    private static final String[] TITLE_WORDS = {"analysis", "adaptive", "algorithm", "bayesian", "boundary",
+            "channel", "cluster", "compiler", "control", "crystal", "decoding", "diffusion", "dynamics", "efficient",
+            "electron", "energy", "estimation", "evolution", "field", "flow", "framework", "graph", "inference",
+            "kernel", "learning", "lattice", "memory", "method", "model", "network", "optical", "parallel", "protein",
+            "quantum", "random", "robust", "scheduling", "signal", "spectral", "structure", "surface", "system",
+            "theory", "thermal", "transport", "wave"};
+
     public String generateBibtexEntries(int number) {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < number; i++) {
@@ -11,6 +20,22 @@ public class BibtexEntryGenerator {
         return sb.toString();
     }
 
+    /**
+     * Generates entries of different publications. Every tenth entry is a slightly modified copy of its predecessor.
+     */
+    public String generateBibtexEntriesWithDuplicates(int number) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < number; i++) {
+            if ((i % 10) == 9) {
+                sb.append(generateModifiedBibtexEntry(i - 1));
+            } else {
+                sb.append(generateDistinctBibtexEntry(i));
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
     private String generateBibtexEntry(int i) {
         return "@article{einstein1916grundlage" + i + ",\n" +
                 "  title={Die grundlage der allgemeinen relativit{\\\"a}tstheorie},\n" +
@@ -24,4 +49,39 @@ public class BibtexEntryGenerator {
                 "}\n";
     }
 
+    private String generateDistinctBibtexEntry(int i) {
+        return "@article{author" + i + ",\n" +
+                "  title={" + generateTitle(i) + "},\n" +
+                "  author={Author" + i + ", Firstname and Coauthor" + (i % 13) + ", Other},\n" +
+                "  journal={Journal " + (i % 31) + "},\n" +
+                "  volume={" + (i % 50) + "},\n" +
+                "  pages={" + i + "--" + (i + 10) + "},\n" +
+                "  year={" + (1950 + (i % 70)) + "}\n" +
+                "}\n";
+    }
+
+    /**
+     * Combines title words depending on the given number, so that titles of different entries share few words
+     */
+    private static String generateTitle(int i) {
+        StringBuilder title = new StringBuilder("On");
+        int seed = i;
+        for (int word = 0; word < 6; word++) {
+            seed = (seed * 1103515245) + 12345;
+            title.append(' ').append(TITLE_WORDS[Math.floorMod(seed >>> 8, TITLE_WORDS.length)]);
+        }
+        return title.append(' ').append(i).toString();
+    }
+
+    private String generateModifiedBibtexEntry(int i) {
+        return "@article{author" + i + "copy,\n" +
+                "  title={" + generateTitle(i).toUpperCase(Locale.ENGLISH) + "},\n" +
+                "  author={Author" + i + ", F. and Coauthor" + (i % 13) + ", O.},\n" +
+                "  journal={Journal " + (i % 31) + "},\n" +
+                "  volume={" + (i % 50) + "},\n" +
+                "  pages={" + i + "-" + (i + 10) + "},\n" +
+                "  year={" + (1950 + (i % 70)) + "}\n" +
+                "}\n";
+    }
+
 }
@@ -0,0 +1,151 @@
+package net.sf.jabref.sql;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import net.sf.jabref.BibDatabaseContext;
+import net.sf.jabref.Globals;
+import net.sf.jabref.logic.groups.AllEntriesGroup;
+import net.sf.jabref.logic.groups.GroupHierarchyType;
+import net.sf.jabref.logic.groups.GroupTreeNode;
+import net.sf.jabref.logic.groups.KeywordGroup;
+import net.sf.jabref.model.EntryTypes;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.BibtexString;
+import net.sf.jabref.preferences.JabRefPreferences;
+import net.sf.jabref.sql.database.MySQL;
+import net.sf.jabref.sql.exporter.DatabaseExporter;
+import net.sf.jabref.sql.importer.DBImporterResult;
+import net.sf.jabref.sql.importer.DatabaseImporter;
+
+import com.google.common.hash.Hashing;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Exports to and imports from an in-memory H2 database, which understands the SQL of the MySQL exporter.
+ */
+public class EmbeddedDatabaseImportExportTest {
+
+    private static final String DATABASE_NAME = "jabref";
+
+    private Connection connection;
+    private DatabaseExporter exporter;
+    private DatabaseImporter importer;
+
+
+    @BeforeClass
+    public static void setUpClass() {
+        Globals.prefs = JabRefPreferences.getInstance();
+        EntryTypes.removeAllCustomEntryTypes();
+    }
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:jabref;MODE=MySQL");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE ALIAS md5 FOR \"" + EmbeddedDatabaseImportExportTest.class.getName() + ".md5\"");
+        }
+
+        exporter = new DatabaseExporter(new MySQL());
+        exporter.createTables(connection);
+        importer = new DatabaseImporter(new MySQL());
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    public static String md5(String text) {
+        return Hashing.md5().hashUnencodedChars(text).toString();
+    }
+
+    @Test
+    public void exportedDatabaseIsImportedAgain() throws Exception {
+        BibDatabaseContext context = createContext(250);
+        // several batches
+        exporter.setBatchSize(100);
+        exporter.performExport(context, context.getDatabase().getEntries(), connection, DATABASE_NAME);
+
+        DBImporterResult result = importSingleDatabase();
+        BibDatabase database = result.getDatabaseContext().getDatabase();
+        // the entries are exported in the order of the saved database
+        assertEquals(sortByKey(context.getDatabase().getEntries()), sortByKey(database.getEntries()));
+        assertEquals("Preamble with 'quotes'", database.getPreamble());
+        assertEquals("Journal of \"Everything\" in 'one' {\\\"o}", database.getStringValues().iterator().next()
+                .getContent());
+        assertEquals(context.getMetaData().getGroups(), result.getDatabaseContext().getMetaData().getGroups());
+    }
+
+    @Test
+    public void failedExportKeepsPreviousExport() throws Exception {
+        BibDatabaseContext context = createContext(10);
+        exporter.performExport(context, context.getDatabase().getEntries(), connection, DATABASE_NAME);
+
+        BibDatabaseContext changedContext = createContext(20);
+        // too long for the column of the key
+        changedContext.getDatabase().getEntries().get(15).setCiteKey(String.join("", Collections.nCopies(101, "k")));
+        try {
+            exporter.performExport(changedContext, changedContext.getDatabase().getEntries(), connection,
+                    DATABASE_NAME);
+            fail("export of a too long key should fail");
+        } catch (SQLException expected) {
+            // expected
+        }
+
+        assertEquals(context.getDatabase().getEntries(),
+                importSingleDatabase().getDatabaseContext().getDatabase().getEntries());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void batchSizeMustBePositive() {
+        exporter.setBatchSize(0);
+    }
+
+    private static List<BibEntry> sortByKey(List<BibEntry> entries) {
+        List<BibEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparing(BibEntry::getCiteKey));
+        return sorted;
+    }
+
+    private DBImporterResult importSingleDatabase() throws SQLException {
+        List<DBImporterResult> results = importer.performImport(connection, Collections.singletonList(DATABASE_NAME),
+                Globals.prefs.getDefaultBibDatabaseMode());
+        assertEquals(1, results.size());
+        return results.get(0);
+    }
+
+    private static BibDatabaseContext createContext(int numberOfEntries) throws Exception {
+        BibDatabase database = new BibDatabase();
+        for (int i = 0; i < numberOfEntries; i++) {
+            BibEntry entry = new BibEntry("id" + i, "article");
+            entry.setCiteKey("key" + i);
+            entry.setField("author", "Albert L{\\'{u}}cia Einstein and O'Neil, " + i);
+            entry.setField("title", "Die Grundlage der allgemeinen Relativitätstheorie " + i);
+            entry.setField("journal", "#jevery#");
+            database.insertEntry(entry);
+        }
+        database.setPreamble("Preamble with 'quotes'");
+        database.addString(new BibtexString("s1", "jevery", "Journal of \"Everything\" in 'one' {\\\"o}"));
+
+        BibDatabaseContext context = new BibDatabaseContext(database);
+        GroupTreeNode root = GroupTreeNode.fromGroup(new AllEntriesGroup());
+        root.addSubgroup(new KeywordGroup("test", "author", "einstein", false, false, GroupHierarchyType.INCLUDING,
+                Globals.prefs));
+        context.getMetaData().setGroups(root);
+        return context;
+    }
+}